@@ -0,0 +1,82 @@
+package com.GIRA.Backend.Config;
+
+import com.GIRA.Backend.storage.FileSystemStorage;
+import com.GIRA.Backend.storage.InMemoryStorage;
+import com.GIRA.Backend.storage.ObjectStorage;
+import com.GIRA.Backend.storage.S3Storage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Storage backend of attachment contents, chosen by 'app.storage.backend'.
+ * <ul>
+ *   <li>{@code filesystem} (default): files under 'app.upload.dir', served with zero-copy transfer, with image
+ *   derivatives and the cold tier;</li>
+ *   <li>{@code s3}: an S3 compatible object store shared by every replica ('app.storage.s3.*');</li>
+ *   <li>{@code memory}: in memory, for tests and demos only (lost on restart).</li>
+ * </ul>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Configuration
+public class StorageConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageConfig.class);
+
+    @Value("${app.storage.backend:filesystem}")
+    private String backend;
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    @Value("${app.storage.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${app.storage.s3.region:us-east-1}")
+    private String region;
+
+    @Value("${app.storage.s3.bucket:gira}")
+    private String bucket;
+
+    @Value("${app.storage.s3.access-key:}")
+    private String accessKey;
+
+    @Value("${app.storage.s3.secret-key:}")
+    private String secretKey;
+
+    @Value("${app.storage.s3.part-size:8388608}")
+    private int partSize;
+
+    /**
+     * Creates the storage backend of attachment contents.
+     */
+    @Bean
+    public ObjectStorage objectStorage() throws IOException {
+        switch (backend.toLowerCase(Locale.ROOT)) {
+            case "s3" -> {
+                if (endpoint.isBlank() || accessKey.isBlank() || secretKey.isBlank()) {
+                    throw new IllegalStateException("app.storage.s3.endpoint, access-key and secret-key are required for the s3 backend");
+                }
+                logger.info("Attachments stored in S3 bucket {} at {} (parts of {} bytes)", bucket, endpoint, partSize);
+                return new S3Storage(URI.create(endpoint), region, bucket, accessKey, secretKey, partSize);
+            }
+            case "memory" -> {
+                logger.warn("Attachments stored in memory: they are lost on restart");
+                return new InMemoryStorage();
+            }
+            case "filesystem" -> {
+                return new FileSystemStorage(Paths.get(uploadDir));
+            }
+            default -> throw new IllegalStateException("Unknown app.storage.backend: " + backend);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.GIRA.Backend.DTO.request;
+
+import com.GIRA.Backend.Entities.Configuration;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * DTO pour la création ou la mise à jour d'un paramètre de configuration.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Data
+public class ConfigurationUpdateRequest {
+    /** Valeur du paramètre (obligatoire, validée selon le type). */
+    @NotNull(message = "La valeur est obligatoire.")
+    private String valeur;
+
+    /** Type de la valeur (optionnel, STRING par défaut à la création). */
+    private Configuration.Type type;
+
+    /** Description du paramètre (optionnelle). */
+    @Size(max = 255, message = "La description ne peut pas dépasser 255 caractères.")
+    private String description;
+}
@@ -0,0 +1,35 @@
+package com.GIRA.Backend.DTO.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * DTO pour le rejeu de réclamations historiques dans la détection d'incidents.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Data
+public class IncidentReplayRequest {
+    /** Début de la période rejouée (date de création, obligatoire). */
+    @NotNull(message = "La date de début est obligatoire.")
+    private LocalDateTime debut;
+    /** Fin de la période rejouée (exclue, obligatoire). */
+    @NotNull(message = "La date de fin est obligatoire.")
+    private LocalDateTime fin;
+    /** Facteur d'accélération (0 par défaut : rejeu sans attente). */
+    @Min(value = 0, message = "La vitesse ne peut pas être négative.")
+    @Max(value = 100000, message = "La vitesse ne peut pas dépasser 100000.")
+    private Double vitesse = 0.0;
+    /** Seuil de réclamations (facultatif, paramètre courant sinon). */
+    @Min(value = 2, message = "Le seuil doit être au moins 2.")
+    @Max(value = 1000, message = "Le seuil ne peut pas dépasser 1000.")
+    private Integer seuil;
+    /** Fenêtre glissante en minutes (facultative, paramètre courant sinon). */
+    @Min(value = 1, message = "La fenêtre doit être d'au moins une minute.")
+    @Max(value = 1440, message = "La fenêtre ne peut pas dépasser 1440 minutes (24 heures).")
+    private Integer fenetreMinutes;
+}
@@ -0,0 +1,29 @@
+package com.GIRA.Backend.DTO.request;
+
+import com.GIRA.Backend.Entities.Reclamation;
+import lombok.Data;
+import java.util.UUID;
+
+/**
+ * Terme pondéré utilisé pour la classification automatique de la priorité des réclamations.
+ * La liste des termes est stockée sous forme de tableau JSON dans la configuration 'priorite.termes'.
+ * Exemple : {@code [{"terme":"urgent*","priorite":"URGENTE","poids":10},
+ * {"terme":"bagage perdu","priorite":"HAUTE","poids":5,"categorieId":"..."}]}
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Data
+public class PrioriteTermeRequest {
+    /** Mot ou expression, terminé par '*' pour reconnaître les mots qui commencent ainsi (casse et accents ignorés). */
+    private String terme;
+
+    /** Priorité vers laquelle le terme oriente. */
+    private Reclamation.Priorite priorite;
+
+    /** Poids du terme (1 par défaut). */
+    private Integer poids;
+
+    /** Catégorie à laquelle le terme est réservé (optionnelle). */
+    private UUID categorieId;
+}
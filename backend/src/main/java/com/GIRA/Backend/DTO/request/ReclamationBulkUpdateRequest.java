@@ -0,0 +1,48 @@
+package com.GIRA.Backend.DTO.request;
+
+import com.GIRA.Backend.Entities.Reclamation;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO pour une mise à jour en masse : une seule opération appliquée à une liste de réclamations.
+ * Selon l'opération, {@code agentAssigneId}, {@code statut} ou {@code priorite} est obligatoire.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Data
+public class ReclamationBulkUpdateRequest {
+    /** Identifiants des réclamations concernées (1 à 1000). */
+    @NotEmpty(message = "La liste des réclamations est obligatoire.")
+    @Size(max = 1000, message = "Une mise à jour en masse est limitée à 1000 réclamations.")
+    private List<UUID> ids;
+
+    /** Opération à appliquer (obligatoire). */
+    @NotNull(message = "L'opération est obligatoire.")
+    private Operation operation;
+
+    /** Agent à assigner (opération ASSIGNER). */
+    private UUID agentAssigneId;
+
+    /** Nouveau statut (opération CHANGER_STATUT). */
+    private Reclamation.Statut statut;
+
+    /** Nouvelle priorité (opération CHANGER_PRIORITE). */
+    private Reclamation.Priorite priorite;
+
+    /** Commentaire ajouté à l'historique de chaque réclamation (optionnel). */
+    @Size(max = 200, message = "Le commentaire ne peut pas dépasser 200 caractères.")
+    private String commentaire;
+
+    /**
+     * Opérations disponibles en masse.
+     */
+    public enum Operation {
+        ASSIGNER, CHANGER_STATUT, CHANGER_PRIORITE
+    }
+}
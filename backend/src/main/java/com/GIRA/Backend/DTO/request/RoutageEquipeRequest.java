@@ -0,0 +1,21 @@
+package com.GIRA.Backend.DTO.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO pour la définition des membres d'une équipe de routage.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Data
+public class RoutageEquipeRequest {
+    /** Agents membres de l'équipe (obligatoire). */
+    @NotEmpty(message = "L'équipe doit contenir au moins un agent.")
+    @Size(max = 500, message = "Une équipe ne peut pas dépasser 500 agents.")
+    private List<UUID> agents;
+}
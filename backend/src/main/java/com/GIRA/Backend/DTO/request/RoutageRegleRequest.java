@@ -0,0 +1,46 @@
+package com.GIRA.Backend.DTO.request;
+
+import com.GIRA.Backend.Entities.Reclamation;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO pour la création ou la mise à jour d'une règle de routage.
+ * Les critères laissés vides acceptent toutes les valeurs ; la cible est soit une équipe, soit une liste d'agents.
+ * Ce DTO est également la forme JSON stockée dans la table configurations.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Data
+public class RoutageRegleRequest {
+    /** Ordre d'évaluation (le plus petit d'abord, 100 par défaut). */
+    @Min(value = 0, message = "L'ordre doit être positif.")
+    @Max(value = 100000, message = "L'ordre ne peut pas dépasser 100000.")
+    private Integer ordre;
+
+    /** Catégorie concernée (optionnelle). */
+    private UUID categorieId;
+
+    /** Sous-catégorie concernée (optionnelle). */
+    private UUID sousCategorieId;
+
+    /** Priorité concernée (optionnelle). */
+    private Reclamation.Priorite priorite;
+
+    /** Lieu concerné, recherché dans la description du lieu sans tenir compte de la casse ni des accents (optionnel). */
+    @Size(max = 255, message = "Le lieu ne peut pas dépasser 255 caractères.")
+    private String lieu;
+
+    /** Équipe cible (exclusif avec agents). */
+    @Size(max = 50, message = "Le nom d'équipe ne peut pas dépasser 50 caractères.")
+    private String equipe;
+
+    /** Agents cibles (exclusif avec equipe). */
+    @Size(max = 500, message = "Une règle ne peut pas cibler plus de 500 agents.")
+    private List<UUID> agents;
+}
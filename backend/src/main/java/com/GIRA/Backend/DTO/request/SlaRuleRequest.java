@@ -0,0 +1,31 @@
+package com.GIRA.Backend.DTO.request;
+
+import com.GIRA.Backend.Entities.Reclamation;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import java.util.UUID;
+
+/**
+ * DTO pour la création ou la mise à jour d'une règle SLA (catégorie x priorité).
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Data
+public class SlaRuleRequest {
+    /** Identifiant de la catégorie (obligatoire). */
+    @NotNull(message = "La catégorie est obligatoire.")
+    private UUID categorieId;
+
+    /** Priorité concernée (obligatoire). */
+    @NotNull(message = "La priorité est obligatoire.")
+    private Reclamation.Priorite priorite;
+
+    /** Délai de résolution en heures (obligatoire, 1 à 8760). */
+    @NotNull(message = "Le délai en heures est obligatoire.")
+    @Min(value = 1, message = "Le délai doit être d'au moins 1 heure.")
+    @Max(value = 8760, message = "Le délai ne peut pas dépasser 8760 heures.")
+    private Integer heures;
+}
@@ -0,0 +1,33 @@
+package com.GIRA.Backend.DTO.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.util.UUID;
+
+/**
+ * DTO d'ouverture d'un upload reprenable : le fichier est ensuite envoyé par morceaux, dans n'importe quel ordre.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Data
+public class UploadSessionRequest {
+    /** Identifiant de la réclamation associée (obligatoire). */
+    @NotNull(message = "La réclamation associée est obligatoire.")
+    private UUID reclamationId;
+    /** Nom d'origine du fichier (obligatoire). */
+    @NotBlank(message = "Le nom du fichier est obligatoire.")
+    @Size(max = 255, message = "Le nom du fichier ne peut pas dépasser 255 caractères.")
+    private String nomOriginal;
+    /** Type MIME du fichier (obligatoire). */
+    @NotBlank(message = "Le type MIME est obligatoire.")
+    @Size(max = 100, message = "Le type MIME ne peut pas dépasser 100 caractères.")
+    private String typeMime;
+    /** Taille totale du fichier en octets (obligatoire). */
+    @NotNull(message = "La taille du fichier est obligatoire.")
+    @Positive(message = "La taille du fichier doit être positive.")
+    private Long taille;
+}
@@ -0,0 +1,32 @@
+package com.GIRA.Backend.DTO.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * DTO de réponse de la migration des pièces jointes vers le stockage adressé par le contenu.
+ * Les fichiers en double ne sont plus stockés qu'une fois : {@code octetsRecuperes} est l'espace disque libéré.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Data
+@Builder
+public class BlobMigrationResponse {
+    /** Nombre de fichiers examinés. */
+    private long examines;
+    /** Nombre de fichiers déplacés dans le stockage par contenu. */
+    private long migres;
+    /** Nombre de fichiers migrés dont le contenu était déjà stocké (doublons supprimés). */
+    private long doublons;
+    /** Nombre de fichiers déjà dans le stockage par contenu. */
+    private long dejaMigres;
+    /** Nombre de fichiers absents du disque (laissés en l'état). */
+    private long manquants;
+    /** Nombre de fichiers en erreur (laissés en l'état). */
+    private long erreurs;
+    /** Espace disque libéré, en octets. */
+    private long octetsRecuperes;
+    /** Durée de la migration en millisecondes. */
+    private long dureeMs;
+}
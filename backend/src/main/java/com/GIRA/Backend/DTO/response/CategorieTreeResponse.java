@@ -0,0 +1,45 @@
+package com.GIRA.Backend.DTO.response;
+
+import lombok.Builder;
+import lombok.Value;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO immuable représentant un nœud de l'arborescence des catégories.
+ * Contient les catégories enfants et les sous-catégories actives, triées par ordre d'affichage.
+ * Les instances sont partagées entre requêtes via l'instantané en mémoire et ne doivent jamais être modifiées.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Value
+@Builder
+public class CategorieTreeResponse {
+    UUID id;
+    String nom;
+    String description;
+    String icone;
+    String couleur;
+    UUID parentId;
+    boolean actif;
+    Integer ordreAffichage;
+    Integer tempsResolutionEstime;
+    List<CategorieTreeResponse> enfants;
+    List<SousCategorieNode> sousCategories;
+
+    /**
+     * Sous-catégorie rattachée à un nœud de l'arborescence.
+     */
+    @Value
+    @Builder
+    public static class SousCategorieNode {
+        UUID id;
+        UUID categorieId;
+        String nom;
+        String description;
+        String champsRequis;
+        boolean actif;
+        Integer ordreAffichage;
+    }
+}
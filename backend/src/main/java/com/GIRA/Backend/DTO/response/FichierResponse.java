@@ -23,4 +23,8 @@ public class FichierResponse {
     private UUID reclamationId;
     private UUID uploadedBy;
     private LocalDateTime dateUpload;
+    /** Miniature de l'image (null si le fichier n'est pas une image). */
+    private String thumbnailUrl;
+    /** Aperçu réduit de l'image, pour l'affichage dans la console (null si le fichier n'est pas une image). */
+    private String previewUrl;
 } 
\ No newline at end of file
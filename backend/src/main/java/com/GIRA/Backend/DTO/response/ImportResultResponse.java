@@ -0,0 +1,45 @@
+package com.GIRA.Backend.DTO.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * DTO de réponse d'un import en masse de réclamations.
+ * Les lignes rejetées sont listées avec leur numéro de ligne dans le fichier (les premières seulement).
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Data
+@Builder
+public class ImportResultResponse {
+    /** Nombre de lignes lues. */
+    private long total;
+    /** Nombre de réclamations créées. */
+    private long importees;
+    /** Nombre de lignes rejetées. */
+    private long rejetees;
+    /** Durée de l'import en millisecondes. */
+    private long dureeMs;
+    /** Détail des lignes rejetées, limité aux premières erreurs. */
+    private List<LigneErreur> erreurs;
+    /** Vrai si toutes les erreurs ne figurent pas dans la liste. */
+    private boolean erreursTronquees;
+
+    /**
+     * Erreur d'une ligne du fichier importé.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LigneErreur {
+        /** Numéro de ligne dans le fichier (l'en-tête CSV est la ligne 1). */
+        private long ligne;
+        /** Numéro de réclamation de la ligne, s'il est renseigné. */
+        private String numero;
+        private String message;
+    }
+}
@@ -0,0 +1,27 @@
+package com.GIRA.Backend.DTO.response;
+
+import lombok.Builder;
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO de réponse pour un incident détecté (rafale de réclamations sur un même lieu et une même catégorie).
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Data
+@Builder
+public class IncidentResponse {
+    private UUID id;
+    private UUID categorieId;
+    private String categorieNom;
+    /** Lieu normalisé, ou cellule de coordonnées ({@code geo:x:y}). */
+    private String lieu;
+    private LocalDateTime debut;
+    private LocalDateTime fin;
+    private Integer nombre;
+    private List<UUID> reclamations;
+}
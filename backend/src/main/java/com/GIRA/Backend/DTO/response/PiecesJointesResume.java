@@ -0,0 +1,42 @@
+package com.GIRA.Backend.DTO.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Résumé des pièces jointes d'une réclamation : nombre de fichiers et métadonnées de chacun (nom, type,
+ * miniature). Chargé pour un ensemble de réclamations en une seule requête, sans lire les entités Fichier.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PiecesJointesResume {
+    /** Nombre de fichiers attachés à la réclamation. */
+    private int nombre;
+    /** Fichiers attachés, du plus ancien au plus récent. */
+    private List<FichierResponse> fichiers = new ArrayList<>();
+
+    /**
+     * @return le résumé d'une réclamation sans pièce jointe
+     */
+    public static PiecesJointesResume vide() {
+        return new PiecesJointesResume(0, new ArrayList<>());
+    }
+
+    /**
+     * Ajoute un fichier au résumé.
+     *
+     * @param fichier le fichier
+     */
+    public void ajouter(FichierResponse fichier) {
+        fichiers.add(fichier);
+        nombre = fichiers.size();
+    }
+}
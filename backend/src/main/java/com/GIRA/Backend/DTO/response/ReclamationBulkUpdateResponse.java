@@ -0,0 +1,53 @@
+package com.GIRA.Backend.DTO.response;
+
+import com.GIRA.Backend.DTO.request.ReclamationBulkUpdateRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO de réponse d'une mise à jour en masse : bilan global et résultat pour chaque réclamation demandée.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Data
+@Builder
+public class ReclamationBulkUpdateResponse {
+    private ReclamationBulkUpdateRequest.Operation operation;
+    /** Nombre de réclamations demandées (doublons exclus). */
+    private int demandees;
+    private int modifiees;
+    private int inchangees;
+    private int introuvables;
+    /** Résultat par réclamation, dans l'ordre de la requête. */
+    private List<Resultat> resultats;
+
+    /**
+     * Résultat de l'opération pour une réclamation.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Resultat {
+        private UUID id;
+        /** Numéro de la réclamation (null si introuvable). */
+        private String numero;
+        private Issue issue;
+    }
+
+    /**
+     * Issue de l'opération pour une réclamation.
+     */
+    public enum Issue {
+        /** La réclamation a été modifiée. */
+        MODIFIEE,
+        /** La réclamation avait déjà la valeur demandée. */
+        INCHANGEE,
+        /** Aucune réclamation avec cet identifiant. */
+        INTROUVABLE
+    }
+}
@@ -172,6 +172,24 @@ public class ReclamationListResponse implements Serializable {
     @JsonProperty("utilisateurEmail")
     private String utilisateurEmail;
 
+    /**
+     * Principal complaint of the near-duplicate cluster, if the complaint is a duplicate.
+     */
+    @JsonProperty("doublonDe")
+    private String doublonDe;
+
+    /**
+     * Number of files attached to the complaint (null when attachments were not loaded).
+     */
+    @JsonProperty("nombreFichiers")
+    private Integer nombreFichiers;
+
+    /**
+     * Attached files with their thumbnails, oldest first (null when attachments were not loaded).
+     */
+    @JsonProperty("fichiers")
+    private List<FichierResponse> fichiers;
+
     // ====== Getters and Setters ======
     
     public String getId() { return id; }
@@ -245,6 +263,15 @@ public class ReclamationListResponse implements Serializable {
     
     public String getUtilisateurEmail() { return utilisateurEmail; }
     public void setUtilisateurEmail(String utilisateurEmail) { this.utilisateurEmail = utilisateurEmail; }
+    
+    public String getDoublonDe() { return doublonDe; }
+    public void setDoublonDe(String doublonDe) { this.doublonDe = doublonDe; }
+    
+    public Integer getNombreFichiers() { return nombreFichiers; }
+    public void setNombreFichiers(Integer nombreFichiers) { this.nombreFichiers = nombreFichiers; }
+    
+    public List<FichierResponse> getFichiers() { return fichiers; }
+    public void setFichiers(List<FichierResponse> fichiers) { this.fichiers = fichiers; }
 
     /**
      * Creates a ReclamationListResponse from a Reclamation entity.
@@ -268,6 +295,7 @@ public class ReclamationListResponse implements Serializable {
         response.setCommentaireSatisfaction(reclamation.getCommentaireSatisfaction());
         response.setMetadonnees(reclamation.getMetadonnees());
         response.setActif(reclamation.isActif());
+        response.setDoublonDe(reclamation.getDoublonDe() != null ? reclamation.getDoublonDe().toString() : null);
         
         // Map user information
         if (reclamation.getUtilisateur() != null) {
@@ -5,6 +5,7 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Detailed DTO for returning complaint (reclamation) information in API responses.
@@ -32,6 +33,9 @@ public class ReclamationResponse {
     private Integer satisfaction;
     private String commentaireSatisfaction;
     private String metadonnees;
+    private String doublonDe;
+    private Integer nombreFichiers;
+    private List<FichierResponse> fichiers;
     // Add more fields as needed (e.g., files, comments)
     
     // ====== Getters and Setters ======
@@ -78,6 +82,9 @@ public class ReclamationResponse {
     public String getLieuDescription() { return lieuDescription; }
     public void setLieuDescription(String lieuDescription) { this.lieuDescription = lieuDescription; }
     
+    public String getDoublonDe() { return doublonDe; }
+    public void setDoublonDe(String doublonDe) { this.doublonDe = doublonDe; }
+    
     public String getAssignedAgentNomComplet() { return assignedAgentNomComplet; }
     public void setAssignedAgentNomComplet(String assignedAgentNomComplet) { this.assignedAgentNomComplet = assignedAgentNomComplet; }
     
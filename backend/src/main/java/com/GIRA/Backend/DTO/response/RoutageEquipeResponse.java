@@ -0,0 +1,21 @@
+package com.GIRA.Backend.DTO.response;
+
+import lombok.Builder;
+import lombok.Data;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO de réponse pour une équipe de routage.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Data
+@Builder
+public class RoutageEquipeResponse {
+    private String nom;
+    private List<UUID> agents;
+    /** Nombre de règles ciblant l'équipe. */
+    private Integer regles;
+}
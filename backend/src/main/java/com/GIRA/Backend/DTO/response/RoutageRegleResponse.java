@@ -0,0 +1,28 @@
+package com.GIRA.Backend.DTO.response;
+
+import lombok.Builder;
+import lombok.Data;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO de réponse pour une règle de routage.
+ * Les critères nuls acceptent toutes les valeurs ; {@code agents} contient les agents de la cible résolue.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Data
+@Builder
+public class RoutageRegleResponse {
+    private String nom;
+    private Integer ordre;
+    private UUID categorieId;
+    private String categorieNom;
+    private UUID sousCategorieId;
+    private String sousCategorieNom;
+    private String priorite;
+    private String lieu;
+    private String equipe;
+    private List<UUID> agents;
+}
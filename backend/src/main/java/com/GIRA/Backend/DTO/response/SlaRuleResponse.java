@@ -0,0 +1,23 @@
+package com.GIRA.Backend.DTO.response;
+
+import lombok.Builder;
+import lombok.Data;
+import java.util.UUID;
+
+/**
+ * DTO de réponse pour une règle SLA.
+ * Indique le délai appliqué à un couple catégorie x priorité.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Data
+@Builder
+public class SlaRuleResponse {
+    private UUID categorieId;
+    private String categorieNom;
+    private String priorite;
+    private Integer heures;
+    /** Nombre de réclamations ouvertes dont l'échéance a été recalculée (écriture uniquement). */
+    private Integer reclamationsRecalculees;
+}
@@ -0,0 +1,41 @@
+package com.GIRA.Backend.DTO.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * DTO de réponse du déplacement des pièces jointes des réclamations clôturées vers le stockage froid.
+ * Les contenus compressibles (PDF, texte...) y sont compressés : {@code octetsEconomises} est l'espace disque gagné,
+ * les débits de lecture mesurés donnent le surcoût d'une lecture froide (décompression à la volée).
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Data
+@Builder
+public class TieringResponse {
+    /** Nombre de contenus examinés. */
+    private long examines;
+    /** Nombre de contenus déplacés vers le stockage froid. */
+    private long deplaces;
+    /** Nombre de contenus déplacés compressés. */
+    private long compresses;
+    /** Nombre de contenus laissés en place (fichier absent, fichier antérieur au stockage par contenu, réclamation rouverte). */
+    private long ignores;
+    /** Nombre de contenus en erreur (laissés en place). */
+    private long erreurs;
+    /** Taille des contenus déplacés sur le stockage chaud, en octets. */
+    private long octetsAvant;
+    /** Taille des contenus déplacés sur le stockage froid, en octets. */
+    private long octetsApres;
+    /** Espace disque libéré, en octets ({@code octetsAvant - octetsApres}). */
+    private long octetsEconomises;
+    /** Temps de lecture d'un Mo sur le stockage chaud, en millisecondes. */
+    private double lectureChaudMsParMo;
+    /** Temps de lecture d'un Mo décodé depuis le stockage froid, en millisecondes. */
+    private double lectureFroidMsParMo;
+    /** Surcoût de lecture d'un Mo froid par rapport à un Mo chaud, en millisecondes. */
+    private double latenceSupplementaireMsParMo;
+    /** Durée du traitement en millisecondes. */
+    private long dureeMs;
+}
@@ -0,0 +1,42 @@
+package com.GIRA.Backend.DTO.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO d'état d'un upload reprenable : le client renvoie les plages manquantes après une coupure.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Data
+@Builder
+public class UploadSessionResponse {
+    private UUID id;
+    /** Taille totale annoncée, en octets. */
+    private long taille;
+    /** Nombre d'octets reçus. */
+    private long recus;
+    /** Plages reçues, dans l'ordre. */
+    private List<Plage> plages;
+    /** Date à laquelle la session sera supprimée sans nouvelle activité. */
+    private LocalDateTime expiration;
+
+    /**
+     * Plage d'octets reçue.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Plage {
+        /** Premier octet de la plage. */
+        private long debut;
+        /** Fin de la plage (exclue). */
+        private long fin;
+    }
+}
@@ -29,10 +29,12 @@ import java.util.UUID;
 public abstract class BaseEntity   {
     /**
      * Universally unique identifier for the entity.
-     * Generated automatically upon persistence.
+     * Generated automatically upon persistence as a time-ordered UUIDv7, so primary key
+     * inserts are append-mostly. Rows created before the switch keep their random UUIDv4:
+     * both versions share the same column type and never collide, no data migration is required.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     @EqualsAndHashCode.Include
     protected UUID id;
 
@@ -0,0 +1,46 @@
+package com.GIRA.Backend.Entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * <p>
+ * Contenu de fichier stocké une seule fois, identifié par son SHA-256 (magasin adressé par le contenu).
+ * {@code nombreReferences} compte les {@link Fichier} qui pointent vers ce contenu : le dernier fichier supprimé
+ * libère le blob. La ligne sert aussi de verrou entre l'ajout d'une référence et la suppression du blob.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Entity
+@Data
+@Table(name = "contenus_fichiers")
+public class ContenuFichier {
+
+    /**
+     * SHA-256 du contenu, en hexadécimal minuscule (clé primaire).
+     */
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+
+    /**
+     * Taille du contenu en octets.
+     */
+    @Column(name = "taille", nullable = false)
+    private long taille;
+
+    /**
+     * Nombre de fichiers qui référencent ce contenu.
+     */
+    @Column(name = "nombre_references", nullable = false)
+    private int nombreReferences;
+
+    /**
+     * Date de création du contenu.
+     */
+    @Column(name = "date_creation", nullable = false)
+    private LocalDateTime dateCreation;
+}
@@ -1,5 +1,6 @@
 package com.GIRA.Backend.Entities;
 
+import com.GIRA.Backend.storage.StoredContent;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -76,6 +77,20 @@ public class Fichier extends BaseEntity {
     @Column(name = "description", length = 500)
     private String description;
 
+    /**
+     * Storage tier of the content (hot by default, cold once the complaint is closed and old).
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "niveau_stockage", nullable = false, length = 10)
+    private Niveau niveauStockage = Niveau.CHAUD;
+
+    /**
+     * Encoding of the stored content (cold contents may be gzip encoded).
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "codec_stockage", nullable = false, length = 10)
+    private StoredContent.Codec codecStockage = StoredContent.Codec.NONE;
+
     /**
      * Default constructor.
      */
@@ -193,8 +208,25 @@ public class Fichier extends BaseEntity {
 
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
+
+    public Niveau getNiveauStockage() { return niveauStockage; }
+    public void setNiveauStockage(Niveau niveauStockage) { this.niveauStockage = niveauStockage; }
+
+    public StoredContent.Codec getCodecStockage() { return codecStockage; }
+    public void setCodecStockage(StoredContent.Codec codecStockage) { this.codecStockage = codecStockage; }
+
     /**
      * Returns the URL for accessing the file (for now, returns the file path).
      */
     public String getUrl() { return this.cheminComplet; }
+
+    /**
+     * Storage tier of a file's content.
+     */
+    public enum Niveau {
+        /** On the upload disk. */
+        CHAUD,
+        /** Moved to the cold storage directory. */
+        FROID
+    }
 } 
\ No newline at end of file
@@ -120,6 +120,13 @@ public class Reclamation extends BaseEntity {
     @JoinColumn(name = "agent_assigne_id")
     private User agentAssigne;
 
+    /**
+     * Principal complaint of the near-duplicate cluster this complaint belongs to (null if it is not a duplicate).
+     * Kept as a plain id: clusters are listed through their principal, never navigated from a member.
+     */
+    @Column(name = "doublon_de")
+    private UUID doublonDe;
+
     /**
      * Satisfaction rating (1-5).
      */
@@ -149,19 +156,29 @@ public class Reclamation extends BaseEntity {
     // ====== Business Logic Method Stubs ======
 
     /**
-     * Generates a unique complaint number in the format AERO-YYYY-NNNNNN.
-     * This should be called when creating a new complaint.
+     * Assigns the complaint number in the format AERO-YYYY-NNNNNN.
+     * The sequence value comes from NumeroReclamationService, which guarantees uniqueness per year.
      *
-     * @return the generated complaint number
+     * @param annee    the year of the number
+     * @param sequence the sequence value within the year
+     * @return the assigned complaint number
      */
-    public String genererNumero() {
-        // Example: AERO-2025-000123
-        String year = String.valueOf(LocalDateTime.now().getYear());
-        int randomNum = (int) (Math.random() * 1_000_000);
-        this.numero = String.format("AERO-%s-%06d", year, randomNum);
+    public String genererNumero(int annee, long sequence) {
+        this.numero = formaterNumero(annee, sequence);
         return this.numero;
     }
 
+    /**
+     * Formats a complaint number, e.g. AERO-2025-000123 (more digits past 999999).
+     *
+     * @param annee    the year of the number
+     * @param sequence the sequence value within the year
+     * @return the formatted complaint number
+     */
+    public static String formaterNumero(int annee, long sequence) {
+        return String.format("AERO-%d-%06d", annee, sequence);
+    }
+
     /**
      * Changes the status of the complaint and records the modification date.
      * Optionally, a comment can be provided for the status change.
@@ -277,22 +294,29 @@ public class Reclamation extends BaseEntity {
     /**
      * Automatically determines and sets the priority based on business rules.
      * Example: keywords in title/description, category, user history, etc.
+     * New complaints use the configurable keyword classifier of {@code PrioriteAutomatiqueService} instead.
      *
      * @return the calculated priority
      */
     public Priorite determinerPrioriteAutomatique() {
         // Example logic: urgent if title/description contains "urgent" or "danger"
-        String text = (titre != null ? titre : "") + " " + (description != null ? description : "");
-        if (text.toLowerCase().contains("urgent") || text.toLowerCase().contains("danger")) {
-            this.priorite = Priorite.URGENTE;
-        } else if (categorie != null && categorie.getNom() != null && categorie.getNom().toLowerCase().contains("retard")) {
-            this.priorite = Priorite.HAUTE;
-        } else {
-            this.priorite = Priorite.NORMALE;
-            }
+        String text = ((titre != null ? titre : "") + " " + (description != null ? description : "")).toLowerCase();
+        this.priorite = text.contains("urgent") || text.contains("danger") ? Priorite.URGENTE : prioriteParDefaut();
         return this.priorite;
     }
 
+    /**
+     * Priority of a complaint whose text gives no indication: HAUTE for delay categories, NORMALE otherwise.
+     *
+     * @return the default priority
+     */
+    public Priorite prioriteParDefaut() {
+        if (categorie != null && categorie.getNom() != null && categorie.getNom().toLowerCase().contains("retard")) {
+            return Priorite.HAUTE;
+        }
+        return Priorite.NORMALE;
+    }
+
     /**
      * Sets the priority automatically based on business rules.
      * This method should be called when creating a new complaint.
@@ -359,6 +383,9 @@ public class Reclamation extends BaseEntity {
     
     public String getLieuDescription() { return lieuDescription; }
     public void setLieuDescription(String lieuDescription) { this.lieuDescription = lieuDescription; }
+
+    public UUID getDoublonDe() { return doublonDe; }
+    public void setDoublonDe(UUID doublonDe) { this.doublonDe = doublonDe; }
     
     public User getAgentAssigne() { return agentAssigne; }
     public void setAgentAssigne(User agentAssigne) { this.agentAssigne = agentAssigne; }
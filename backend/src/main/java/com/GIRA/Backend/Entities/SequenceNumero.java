@@ -0,0 +1,40 @@
+package com.GIRA.Backend.Entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * <p>
+ * Compteur persistant des numéros de réclamation, une ligne par année.
+ * {@code valeurHaute} est le dernier numéro réservé : chaque nœud réserve un bloc entier en une seule mise à jour
+ * atomique, puis distribue les numéros du bloc en mémoire (allocateur hi/lo).
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Entity
+@Data
+@Table(name = "sequences_numero")
+public class SequenceNumero {
+
+    /**
+     * Année des numéros (clé primaire).
+     */
+    @Id
+    @Column(name = "annee")
+    private Integer annee;
+
+    /**
+     * Dernier numéro réservé pour l'année (borne haute du dernier bloc distribué).
+     */
+    @Column(name = "valeur_haute", nullable = false)
+    private long valeurHaute;
+
+    /**
+     * Date de la dernière réservation de bloc.
+     */
+    @Column(name = "date_modification")
+    private LocalDateTime dateModification;
+}
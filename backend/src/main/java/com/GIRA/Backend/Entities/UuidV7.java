@@ -0,0 +1,21 @@
+package com.GIRA.Backend.Entities;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an identifier generated as a time-ordered UUID version 7 (RFC 9562).
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ * @see UuidV7Generator
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UuidV7 {
+}
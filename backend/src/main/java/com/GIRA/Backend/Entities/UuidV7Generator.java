@@ -0,0 +1,84 @@
+package com.GIRA.Backend.Entities;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+
+/**
+ * <p>
+ * Hibernate identifier generator producing UUID version 7 values (RFC 9562):
+ * a 48-bit Unix timestamp in milliseconds, followed by a 12-bit counter and 62 random bits.
+ * </p>
+ *
+ * <p>
+ * Identifiers are strictly increasing within a JVM: the counter orders ids generated in the same millisecond
+ * (it starts at a random value below 2048 to leave headroom), and when it overflows or the clock moves backwards
+ * the timestamp is advanced by one millisecond instead. Across replicas, ids are ordered to the millisecond and
+ * the random bits keep them unique. New rows therefore land on the right-most B-tree page instead of a random one.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Object LOCK = new Object();
+    private static final int MAX_COUNTER = 0xFFF;
+    private static long lastMillis;
+    private static int counter;
+
+    /**
+     * Returns a new UUIDv7, greater than every id previously returned by this JVM.
+     *
+     * @return a time-ordered UUID
+     */
+    public static UUID next() {
+        long millis = System.currentTimeMillis();
+        long timestamp;
+        int sequence;
+        synchronized (LOCK) {
+            if (millis > lastMillis) {
+                lastMillis = millis;
+                counter = RANDOM.nextInt((MAX_COUNTER + 1) / 2);
+            } else if (++counter > MAX_COUNTER) {
+                lastMillis++;
+                counter = 0;
+            }
+            timestamp = lastMillis;
+            sequence = counter;
+        }
+        long msb = ((timestamp & 0xFFFF_FFFF_FFFFL) << 16) | 0x7000L | sequence;
+        long lsb = (RANDOM.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Extracts the creation timestamp (milliseconds since the epoch) embedded in a UUIDv7.
+     *
+     * @param uuid a version 7 UUID
+     * @return the embedded Unix timestamp in milliseconds
+     * @throws IllegalArgumentException if the UUID is not version 7
+     */
+    public static long timestampOf(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a UUIDv7: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
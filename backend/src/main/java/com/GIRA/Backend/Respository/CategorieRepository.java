@@ -44,6 +44,19 @@ public interface CategorieRepository extends JpaRepository<Categorie, UUID> {
      * @return number of categories with the specified parent
      */
     long countByParent_Id(UUID parentId);
+    /**
+     * Finds all categories with their parent fetched, for building the in-memory tree in one query.
+     * @return list of all categories
+     */
+    @Query("SELECT c FROM Categorie c LEFT JOIN FETCH c.parent")
+    List<Categorie> findAllWithParent();
+    /**
+     * Returns the table fingerprint (row count, latest modification date) in one aggregate query.
+     * Used by the category tree cache to detect changes made on other nodes.
+     * @return a single row: [count, max(dateModification)]
+     */
+    @Query("SELECT COUNT(c), MAX(c.dateModification) FROM Categorie c")
+    List<Object[]> findFingerprint();
     /**
      * Advanced search with filters and pagination.
      * @param nom the category name (optional)
@@ -26,6 +26,19 @@ public interface ConfigurationRepository extends JpaRepository<Configuration, UU
      * @return optional containing the configuration if found
      */
     Optional<Configuration> findByCle(String cle);
+    /**
+     * Finds configurations whose key starts with the given prefix.
+     * @param prefix the key prefix
+     * @return list of matching configurations
+     */
+    List<Configuration> findByCleStartingWith(String prefix);
+    /**
+     * Returns the table fingerprint (row count, latest modification date) in one aggregate query.
+     * Used by the configuration cache to detect changes without reloading every row.
+     * @return a single row: [count, max(dateModification)]
+     */
+    @Query("SELECT COUNT(c), MAX(c.dateModification) FROM Configuration c")
+    List<Object[]> findFingerprint();
     /**
      * Finds configurations by type.
      * @param type the configuration type
@@ -0,0 +1,65 @@
+package com.GIRA.Backend.Respository;
+
+import com.GIRA.Backend.Entities.ContenuFichier;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for the reference counts of the content-addressed file store.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Repository
+public interface ContenuFichierRepository extends JpaRepository<ContenuFichier, String> {
+    /**
+     * Adds references to a content in one atomic update.
+     * The row stays locked until the calling transaction commits, so the blob cannot be collected meanwhile.
+     * @param hash the SHA-256
+     * @param nombre the number of references to add
+     * @return the number of updated rows (0 when the content has no row yet)
+     */
+    @Modifying
+    @Query("UPDATE ContenuFichier c SET c.nombreReferences = c.nombreReferences + :nombre WHERE c.hash = :hash")
+    int ajouterReferences(@Param("hash") String hash, @Param("nombre") int nombre);
+
+    /**
+     * Removes a reference from a content.
+     * @param hash the SHA-256
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE ContenuFichier c SET c.nombreReferences = c.nombreReferences - 1 WHERE c.hash = :hash AND c.nombreReferences > 0")
+    int retirerReference(@Param("hash") String hash);
+
+    /**
+     * Creates the row of a content with no reference.
+     * A plain INSERT (not a merge) so that two nodes creating the same content concurrently get a key violation
+     * instead of overwriting each other.
+     * @param hash the SHA-256
+     * @param taille the size in bytes
+     * @param maintenant the creation date
+     * @return the number of inserted rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO contenus_fichiers (hash, taille, nombre_references, date_creation) VALUES (:hash, :taille, 0, :maintenant)", nativeQuery = true)
+    int creer(@Param("hash") String hash, @Param("taille") long taille, @Param("maintenant") LocalDateTime maintenant);
+
+    /**
+     * Reads and locks the row of a content (SELECT ... FOR UPDATE).
+     * @param hash the SHA-256
+     * @return the row, if any
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ContenuFichier c WHERE c.hash = :hash")
+    Optional<ContenuFichier> findVerrouille(@Param("hash") String hash);
+
+}
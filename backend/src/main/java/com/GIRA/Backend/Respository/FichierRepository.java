@@ -1,13 +1,19 @@
 package com.GIRA.Backend.Respository;
 
 import com.GIRA.Backend.Entities.Fichier;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.storage.StoredContent;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -50,10 +56,77 @@ public interface FichierRepository extends JpaRepository<Fichier, UUID> {
      * @return number of files for the complaint
      */
     long countByReclamation_Id(UUID reclamationId);
+    /**
+     * Reads the attachment metadata of several complaints in one query, without loading the entities
+     * (list pages and complaint details). The uploader id is read from the foreign key, without a join.
+     * @param reclamationIds the complaint UUIDs
+     * @return rows of [reclamationId, id, nomOriginal, cheminComplet, description, typeMime, uploadeParId,
+     *         dateUpload], oldest upload first
+     */
+    @Query("SELECT f.reclamation.id, f.id, f.nomOriginal, f.cheminComplet, f.description, f.typeMime, f.uploadePar.id, "
+            + "f.dateUpload FROM Fichier f WHERE f.reclamation.id IN :reclamationIds ORDER BY f.dateUpload, f.id")
+    List<Object[]> findResumesByReclamationIdIn(@Param("reclamationIds") Collection<UUID> reclamationIds);
     /**
      * Finds files by original name (case-insensitive).
      * @param nomOriginal the original file name
      * @return list of files with the specified name
      */
     List<Fichier> findByNomOriginalIgnoreCase(String nomOriginal);
-} 
\ No newline at end of file
+    /**
+     * Reads files in id order, for batch jobs scanning the whole table (keyset pagination).
+     * @param id the last id of the previous page
+     * @param pageable the page size (page 0)
+     * @return the next files
+     */
+    List<Fichier> findByIdGreaterThanOrderByIdAsc(UUID id, Pageable pageable);
+
+    /**
+     * Reads, in hash order, the contents still stored hot whose files all belong to complaints in one of the
+     * given statuses since before the limit (keyset pagination on the hash).
+     * @param apres the last hash of the previous page ("" for the first page)
+     * @param niveau the current tier
+     * @param statuts the closed statuses
+     * @param limite the closing date limit
+     * @param pageable the page size (page 0)
+     * @return the next hashes
+     */
+    @Query("SELECT DISTINCT f.hashFichier FROM Fichier f WHERE f.hashFichier > :apres AND f.niveauStockage = :niveau "
+            + "AND NOT EXISTS (SELECT g.id FROM Fichier g JOIN g.reclamation r WHERE g.hashFichier = f.hashFichier "
+            + "AND (r.statut NOT IN :statuts OR COALESCE(r.dateResolution, r.dateModification) IS NULL "
+            + "OR COALESCE(r.dateResolution, r.dateModification) >= :limite)) ORDER BY f.hashFichier")
+    List<String> findHashesInactifs(@Param("apres") String apres, @Param("niveau") Fichier.Niveau niveau,
+                                    @Param("statuts") Collection<Reclamation.Statut> statuts,
+                                    @Param("limite") LocalDateTime limite, Pageable pageable);
+
+    /**
+     * Counts the files of a content whose complaint is not in one of the given statuses since before the limit.
+     * @param hash the SHA-256 of the content
+     * @param statuts the closed statuses
+     * @param limite the closing date limit
+     * @return the number of files still in use
+     */
+    @Query("SELECT COUNT(g) FROM Fichier g JOIN g.reclamation r WHERE g.hashFichier = :hash "
+            + "AND (r.statut NOT IN :statuts OR COALESCE(r.dateResolution, r.dateModification) IS NULL "
+            + "OR COALESCE(r.dateResolution, r.dateModification) >= :limite)")
+    long countActifsParHash(@Param("hash") String hash, @Param("statuts") Collection<Reclamation.Statut> statuts,
+                            @Param("limite") LocalDateTime limite);
+
+    /**
+     * Records the tier and codec of the files stored at a path.
+     * @param chemin the stored path
+     * @param niveau the tier
+     * @param codec the codec
+     * @return the number of files updated
+     */
+    @Modifying
+    @Query("UPDATE Fichier f SET f.niveauStockage = :niveau, f.codecStockage = :codec WHERE f.cheminComplet = :chemin")
+    int changerNiveau(@Param("chemin") String chemin, @Param("niveau") Fichier.Niveau niveau,
+                      @Param("codec") StoredContent.Codec codec);
+
+    /**
+     * Finds a file stored at a path.
+     * @param chemin the stored path
+     * @return one of the files stored there, if any
+     */
+    Optional<Fichier> findFirstByCheminComplet(String chemin);
+}
@@ -1,15 +1,18 @@
 package com.GIRA.Backend.Respository;
 
 import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.Entities.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -59,6 +62,13 @@ public interface ReclamationRepository extends JpaRepository<Reclamation, UUID>,
      * @return optional containing the complaint if found
      */
     Optional<Reclamation> findByNumero(String numero);
+    /**
+     * Returns which of the given complaint numbers already exist (bulk import duplicate check).
+     * @param numeros the complaint numbers to check
+     * @return the numbers already used
+     */
+    @Query("SELECT r.numero FROM Reclamation r WHERE r.numero IN :numeros")
+    List<String> findExistingNumeros(@Param("numeros") Collection<String> numeros);
     /**
      * Finds complaints by creation date range.
      * @param dateDebut start date
@@ -302,4 +312,108 @@ public interface ReclamationRepository extends JpaRepository<Reclamation, UUID>,
      */
     @Query("SELECT r FROM Reclamation r WHERE r.agentAssigne.id = :agentId AND r.dateEcheance < :now AND r.statut NOT IN ('RESOLUE', 'FERMEE') ORDER BY r.dateEcheance ASC")
     List<Reclamation> findOverdueReclamationsByAgent(@Param("agentId") UUID agentId, @Param("now") LocalDateTime now);
-} 
\ No newline at end of file
+
+    /**
+     * Recomputes, in one statement, the SLA deadline of every open complaint of a category and priority.
+     * Used when an SLA rule changes; the deadline is anchored on the creation date.
+     * @param categorieId the category UUID
+     * @param priorite the priority name
+     * @param heures the new SLA duration in hours
+     * @return number of complaints updated
+     */
+    @Modifying
+    @Query(value = "UPDATE reclamations SET date_echeance = date_creation + (:heures * INTERVAL '1 hour') " +
+            "WHERE categorie_id = :categorieId AND priorite = :priorite AND statut NOT IN ('RESOLUE', 'FERMEE', 'ANNULEE')", nativeQuery = true)
+    int recalculerEcheances(@Param("categorieId") UUID categorieId, @Param("priorite") String priorite, @Param("heures") int heures);
+
+    /**
+     * Loads the fields a bulk update needs to decide its outcome, history and notifications, without loading entities.
+     * @param ids the complaint UUIDs
+     * @return rows of [id, numero, titre, statut, priorite, owner id, agent id, agent nom, agent prenom]
+     */
+    @Query("SELECT r.id, r.numero, r.titre, r.statut, r.priorite, u.id, a.id, a.nom, a.prenom " +
+            "FROM Reclamation r JOIN r.utilisateur u LEFT JOIN r.agentAssigne a WHERE r.id IN :ids")
+    List<Object[]> findEtatsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Assigns the given complaints to an agent in one statement.
+     * @param ids the complaint UUIDs
+     * @param agent the agent
+     * @param maintenant the modification date
+     * @return number of complaints updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reclamation r SET r.agentAssigne = :agent, r.dateModification = :maintenant WHERE r.id IN :ids")
+    int assignerEnMasse(@Param("ids") Collection<UUID> ids, @Param("agent") User agent, @Param("maintenant") LocalDateTime maintenant);
+
+    /**
+     * Changes the status of the given complaints in one statement.
+     * A null due date or resolution date leaves the current value unchanged.
+     * @param ids the complaint UUIDs
+     * @param statut the new status
+     * @param echeance the new due date, or null
+     * @param resolution the resolution date, or null
+     * @param maintenant the modification date
+     * @return number of complaints updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reclamation r SET r.statut = :statut, r.dateEcheance = COALESCE(:echeance, r.dateEcheance), " +
+            "r.dateResolution = COALESCE(:resolution, r.dateResolution), r.dateModification = :maintenant WHERE r.id IN :ids")
+    int changerStatutEnMasse(@Param("ids") Collection<UUID> ids, @Param("statut") Reclamation.Statut statut,
+                             @Param("echeance") LocalDateTime echeance, @Param("resolution") LocalDateTime resolution,
+                             @Param("maintenant") LocalDateTime maintenant);
+
+    /**
+     * Changes the priority of the given complaints in one statement.
+     * @param ids the complaint UUIDs
+     * @param priorite the new priority
+     * @param maintenant the modification date
+     * @return number of complaints updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reclamation r SET r.priorite = :priorite, r.dateModification = :maintenant WHERE r.id IN :ids")
+    int changerPrioriteEnMasse(@Param("ids") Collection<UUID> ids, @Param("priorite") Reclamation.Priorite priorite,
+                               @Param("maintenant") LocalDateTime maintenant);
+
+    /**
+     * Counts the complaints assigned to each agent, by priority, excluding the given (closed) statuses.
+     * Seeds the automatic assignment workload in one query instead of one count per agent.
+     * @param clos the statuses that do not count as workload
+     * @return rows of [agent id, priority, count]
+     */
+    @Query("SELECT r.agentAssigne.id, r.priorite, COUNT(r) FROM Reclamation r " +
+            "WHERE r.agentAssigne IS NOT NULL AND r.statut NOT IN :clos GROUP BY r.agentAssigne.id, r.priorite")
+    List<Object[]> countOpenByAgentAndPriorite(@Param("clos") Collection<Reclamation.Statut> clos);
+    /**
+     * Reads the complaints created after a (dateCreation, id) position, in that order, for the near-duplicate index.
+     * Keyset pagination: pass the position of the last row read to get the next page.
+     * @param apresDate creation date of the last row read
+     * @param apresId id of the last row read
+     * @param pageable page size (the page number must stay 0)
+     * @return rows of [id, category id, title, description, creation date, cluster principal id]
+     */
+    @Query("SELECT r.id, r.categorie.id, r.titre, r.description, r.dateCreation, r.doublonDe FROM Reclamation r " +
+            "WHERE r.dateCreation > :apresDate OR (r.dateCreation = :apresDate AND r.id > :apresId) " +
+            "ORDER BY r.dateCreation, r.id")
+    List<Object[]> findTextesApres(@Param("apresDate") LocalDateTime apresDate, @Param("apresId") UUID apresId, Pageable pageable);
+    /**
+     * Finds the duplicates linked to a principal complaint.
+     * @param doublonDe the principal complaint UUID
+     * @return the duplicates, oldest first
+     */
+    List<Reclamation> findByDoublonDeOrderByDateCreationAsc(UUID doublonDe);
+    /**
+     * Reads the complaints created in a period after a (dateCreation, id) position, in that order, for the
+     * incident detection. Keyset pagination: pass the position of the last row read to get the next page.
+     * @param apresDate creation date of the last row read
+     * @param apresId id of the last row read
+     * @param avant end of the period (excluded)
+     * @param pageable page size (the page number must stay 0)
+     * @return rows of [id, category id, free-text location, coordinates, creation date]
+     */
+    @Query("SELECT r.id, r.categorie.id, r.lieuDescription, r.localisation, r.dateCreation FROM Reclamation r " +
+            "WHERE (r.dateCreation > :apresDate OR (r.dateCreation = :apresDate AND r.id > :apresId)) AND r.dateCreation < :avant " +
+            "ORDER BY r.dateCreation, r.id")
+    List<Object[]> findLieuxApres(@Param("apresDate") LocalDateTime apresDate, @Param("apresId") UUID apresId,
+                                  @Param("avant") LocalDateTime avant, Pageable pageable);
+}
@@ -2,6 +2,7 @@ package com.GIRA.Backend.Respository;
 
 import com.GIRA.Backend.Entities.Reclamation;
 import com.GIRA.Backend.DTO.request.ReclamationFilterRequest;
+import com.GIRA.Backend.exception.BadRequestException;
 import org.springframework.data.jpa.domain.Specification;
 
 import jakarta.persistence.criteria.*;
@@ -22,10 +23,10 @@ public class ReclamationSpecification {
             List<Predicate> predicates = new ArrayList<>();
 
             if (filter.getStatut() != null && !filter.getStatut().isEmpty()) {
-                predicates.add(cb.equal(root.get("statut"), filter.getStatut()));
+                predicates.add(cb.equal(root.get("statut"), parseEnum(Reclamation.Statut.class, filter.getStatut())));
             }
             if (filter.getPriorite() != null && !filter.getPriorite().isEmpty()) {
-                predicates.add(cb.equal(root.get("priorite"), filter.getPriorite()));
+                predicates.add(cb.equal(root.get("priorite"), parseEnum(Reclamation.Priorite.class, filter.getPriorite())));
             }
             if (filter.getCategorieId() != null) {
                 predicates.add(cb.equal(root.get("categorie").get("id"), filter.getCategorieId()));
@@ -51,4 +52,15 @@ public class ReclamationSpecification {
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Convertit la valeur du filtre en constante d'énumération (l'attribut est typé, pas une chaîne).
+     */
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String valeur) {
+        try {
+            return Enum.valueOf(type, valeur.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Valeur de filtre invalide : " + valeur);
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.GIRA.Backend.Respository;
+
+import com.GIRA.Backend.Entities.SequenceNumero;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for the per-year complaint number counters.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Repository
+public interface SequenceNumeroRepository extends JpaRepository<SequenceNumero, Integer> {
+    /**
+     * Reserves the next block of numbers for a year by moving the high value forward in one atomic update.
+     * The row stays locked until the calling transaction commits, so concurrent nodes are serialized on it.
+     * @param annee the year
+     * @param taille the block size
+     * @param maintenant the reservation date
+     * @return the number of updated rows (0 when the year has no counter yet)
+     */
+    @Modifying
+    @Query("UPDATE SequenceNumero s SET s.valeurHaute = s.valeurHaute + :taille, s.dateModification = :maintenant WHERE s.annee = :annee")
+    int reserverBloc(@Param("annee") int annee, @Param("taille") long taille, @Param("maintenant") LocalDateTime maintenant);
+
+    /**
+     * Moves the high value of a year up to a sequence value used outside of the counter; never moves it back.
+     * @param annee the year
+     * @param sequence the sequence value already used
+     * @param maintenant the modification date
+     * @return the number of updated rows (0 when the year has no counter yet or is already past the value)
+     */
+    @Modifying
+    @Query("UPDATE SequenceNumero s SET s.valeurHaute = :sequence, s.dateModification = :maintenant WHERE s.annee = :annee AND s.valeurHaute < :sequence")
+    int avancer(@Param("annee") int annee, @Param("sequence") long sequence, @Param("maintenant") LocalDateTime maintenant);
+
+    /**
+     * Reads the high value of a year (call it after {@link #reserverBloc} in the same transaction).
+     * @param annee the year
+     * @return the last reserved number
+     */
+    @Query("SELECT s.valeurHaute FROM SequenceNumero s WHERE s.annee = :annee")
+    Optional<Long> findValeurHaute(@Param("annee") int annee);
+
+    /**
+     * Creates the counter of a year with its first block already reserved.
+     * A plain INSERT (not a merge) so that two nodes creating the same year concurrently get a key violation
+     * instead of overwriting each other.
+     * @param annee the year
+     * @param valeurHaute the initial high value
+     * @param maintenant the creation date
+     * @return the number of inserted rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO sequences_numero (annee, valeur_haute, date_modification) VALUES (:annee, :valeurHaute, :maintenant)", nativeQuery = true)
+    int creer(@Param("annee") int annee, @Param("valeurHaute") long valeurHaute, @Param("maintenant") LocalDateTime maintenant);
+}
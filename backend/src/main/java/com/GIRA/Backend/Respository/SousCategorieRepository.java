@@ -39,6 +39,19 @@ public interface SousCategorieRepository extends JpaRepository<SousCategorie, UU
      * @return list of subcategories for the category
      */
     List<SousCategorie> findByCategorie_Id(UUID categorieId);
+    /**
+     * Finds all subcategories with their category fetched, for building the in-memory tree in one query.
+     * @return list of all subcategories
+     */
+    @Query("SELECT s FROM SousCategorie s JOIN FETCH s.categorie")
+    List<SousCategorie> findAllWithCategorie();
+    /**
+     * Returns the table fingerprint (row count, latest modification date) in one aggregate query.
+     * Used by the category tree cache to detect changes made on other nodes.
+     * @return a single row: [count, max(dateModification)]
+     */
+    @Query("SELECT COUNT(s), MAX(s.dateModification) FROM SousCategorie s")
+    List<Object[]> findFingerprint();
     /**
      * Advanced search with filters and pagination.
      * @param nom the subcategory name (optional)
@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -30,6 +31,13 @@ public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificat
      * @return optional containing the user if found
      */
     Optional<User> findByEmail(String email);
+    /**
+     * Resolves user ids for a set of emails in one query (bulk import lookups).
+     * @param emails the emails to resolve
+     * @return rows of [email, id] for the emails that exist
+     */
+    @Query("SELECT u.email, u.id FROM User u WHERE u.email IN :emails")
+    List<Object[]> findIdsByEmailIn(@Param("emails") Collection<String> emails);
     /**
      * Checks if a user exists with the given email.
      * @param email the email to check
@@ -213,4 +221,12 @@ public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificat
            "AVG(r.satisfaction) as satisfaction " +
            "FROM Reclamation r WHERE r.agentAssigne.id = :agentId")
     Object[] getAgentPerformanceStats(@Param("agentId") UUID agentId);
-} 
\ No newline at end of file
+
+    /**
+     * Finds the ids of the active users of a role.
+     * @param nom the role name
+     * @return list of user UUIDs
+     */
+    @Query("SELECT u.id FROM User u WHERE u.role.nom = :nom AND u.actif = true")
+    List<UUID> findActiveIdsByRoleNom(@Param("nom") String nom);
+}
@@ -0,0 +1,324 @@
+package com.GIRA.Backend.cache;
+
+import com.GIRA.Backend.Entities.Reclamation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * In-memory open workload of the agents, used by the automatic assignment.
+ * <p>
+ * Each agent carries a weighted load (sum of the priority weights of its open complaints). Agents are kept in
+ * indexed min-heaps ordered by load: one heap per category for the agents skilled in it, and one heap for the
+ * generalists (agents without declared skills). Choosing the least loaded agent for a category compares the top
+ * of two heaps; recording a change moves the agent within each of its heaps. Both are O(log n).
+ * </p>
+ * <p>
+ * Routing rules add named pools (a team or an explicit list of agents), each with its own heap over the same agents,
+ * so an agent's load is shared between its category heaps and its pools.
+ * </p>
+ * <p>
+ * Instances are built from a database snapshot and updated in place; all operations hold the instance monitor,
+ * which is uncontended at the volumes involved (a few hundred agents, tens of complaints per second).
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class AgentLoadIndex {
+
+    private static final Map<Reclamation.Priorite, Integer> POIDS = new EnumMap<>(Map.of(
+            Reclamation.Priorite.BASSE, 1,
+            Reclamation.Priorite.NORMALE, 2,
+            Reclamation.Priorite.HAUTE, 3,
+            Reclamation.Priorite.URGENTE, 5));
+
+    private final Map<UUID, Agent> agents;
+    private final Map<UUID, IndexedMinHeap> parCategorie;
+    private final IndexedMinHeap generalistes;
+    private final Map<String, IndexedMinHeap> parPool;
+    private final long versionRoutage;
+
+    private AgentLoadIndex(Map<UUID, Agent> agents, Map<UUID, IndexedMinHeap> parCategorie, IndexedMinHeap generalistes,
+                           Map<String, IndexedMinHeap> parPool, long versionRoutage) {
+        this.agents = agents;
+        this.parCategorie = parCategorie;
+        this.generalistes = generalistes;
+        this.parPool = parPool;
+        this.versionRoutage = versionRoutage;
+    }
+
+    /**
+     * Builds an index.
+     *
+     * @param agentIds    the agents that can receive complaints
+     * @param competences categories handled by each agent; agents absent or with an empty set handle every category
+     * @param ouvertes    open complaints per agent and priority; agents not in {@code agentIds} are ignored
+     * @return the index
+     */
+    public static AgentLoadIndex build(Collection<UUID> agentIds, Map<UUID, Set<UUID>> competences,
+                                       Map<UUID, Map<Reclamation.Priorite, Long>> ouvertes) {
+        return build(agentIds, competences, Map.of(), 0, ouvertes);
+    }
+
+    /**
+     * Builds an index with routing pools.
+     *
+     * @param agentIds       the agents that can receive complaints
+     * @param competences    categories handled by each agent; agents absent or with an empty set handle every category
+     * @param pools          agents of each routing pool; agents not in {@code agentIds} are ignored
+     * @param versionRoutage version of the routing table the pools come from
+     * @param ouvertes       open complaints per agent and priority; agents not in {@code agentIds} are ignored
+     * @return the index
+     */
+    public static AgentLoadIndex build(Collection<UUID> agentIds, Map<UUID, Set<UUID>> competences,
+                                       Map<String, Set<UUID>> pools, long versionRoutage,
+                                       Map<UUID, Map<Reclamation.Priorite, Long>> ouvertes) {
+        int capacite = agentIds.size();
+        Map<UUID, Agent> agents = new HashMap<>();
+        Map<UUID, IndexedMinHeap> parCategorie = new HashMap<>();
+        IndexedMinHeap generalistes = new IndexedMinHeap(capacite);
+        int index = 0;
+        for (UUID id : agentIds) {
+            if (agents.containsKey(id)) continue;
+            Agent agent = new Agent(id, index++);
+            for (Map.Entry<Reclamation.Priorite, Long> entry : ouvertes.getOrDefault(id, Map.of()).entrySet()) {
+                agent.charge += poids(entry.getKey()) * entry.getValue();
+                agent.ouvertes += entry.getValue();
+            }
+            Set<UUID> categories = competences.getOrDefault(id, Set.of());
+            if (categories.isEmpty()) {
+                agent.heaps.add(generalistes);
+            } else {
+                for (UUID categorieId : categories) {
+                    agent.heaps.add(parCategorie.computeIfAbsent(categorieId, k -> new IndexedMinHeap(capacite)));
+                }
+            }
+            agents.put(id, agent);
+        }
+        Map<String, IndexedMinHeap> parPool = new HashMap<>();
+        pools.forEach((pool, membres) -> {
+            IndexedMinHeap heap = new IndexedMinHeap(capacite);
+            for (UUID membre : membres) {
+                Agent agent = agents.get(membre);
+                if (agent != null) agent.heaps.add(heap);
+            }
+            parPool.put(pool, heap);
+        });
+        for (Agent agent : agents.values()) {
+            for (IndexedMinHeap heap : agent.heaps) {
+                heap.add(agent);
+            }
+        }
+        return new AgentLoadIndex(agents, parCategorie, generalistes, parPool, versionRoutage);
+    }
+
+    /**
+     * @return an index without agents
+     */
+    public static AgentLoadIndex empty() {
+        return build(List.of(), Map.of(), Map.of());
+    }
+
+    /**
+     * Weight of a complaint in the workload of its agent.
+     *
+     * @param priorite the complaint priority
+     * @return the weight (1 for BASSE to 5 for URGENTE)
+     */
+    public static int poids(Reclamation.Priorite priorite) {
+        return priorite != null ? POIDS.get(priorite) : POIDS.get(Reclamation.Priorite.NORMALE);
+    }
+
+    /**
+     * Picks the least loaded agent able to handle the category and adds the complaint to its workload.
+     * Skilled agents and generalists compete on load; on equal load the skilled agent wins.
+     *
+     * @param categorieId the complaint category
+     * @param priorite    the complaint priority
+     * @return the chosen agent, or empty if no agent can handle the category
+     */
+    public synchronized Optional<UUID> assigner(UUID categorieId, Reclamation.Priorite priorite) {
+        IndexedMinHeap specialistes = categorieId != null ? parCategorie.get(categorieId) : null;
+        Agent specialiste = specialistes != null ? specialistes.peek() : null;
+        Agent generaliste = generalistes.peek();
+        Agent choisi;
+        if (specialiste == null) {
+            choisi = generaliste;
+        } else if (generaliste == null) {
+            choisi = specialiste;
+        } else {
+            choisi = generaliste.charge < specialiste.charge ? generaliste : specialiste;
+        }
+        if (choisi == null) return Optional.empty();
+        modifier(choisi, poids(priorite), 1);
+        return Optional.of(choisi.id);
+    }
+
+    /**
+     * Picks the least loaded agent of a routing pool and adds the complaint to its workload.
+     *
+     * @param pool     the pool key
+     * @param priorite the complaint priority
+     * @return the chosen agent, or empty if the pool is unknown or has no active agent
+     */
+    public synchronized Optional<UUID> assignerDansPool(String pool, Reclamation.Priorite priorite) {
+        IndexedMinHeap heap = parPool.get(pool);
+        Agent choisi = heap != null ? heap.peek() : null;
+        if (choisi == null) return Optional.empty();
+        modifier(choisi, poids(priorite), 1);
+        return Optional.of(choisi.id);
+    }
+
+    /**
+     * Adds an open complaint to the workload of an agent (ignored for unknown agents).
+     *
+     * @param agentId  the agent
+     * @param priorite the complaint priority
+     */
+    public synchronized void ajouter(UUID agentId, Reclamation.Priorite priorite) {
+        Agent agent = agents.get(agentId);
+        if (agent != null) modifier(agent, poids(priorite), 1);
+    }
+
+    /**
+     * Removes a complaint from the workload of an agent (closed, reassigned or rolled back).
+     *
+     * @param agentId  the agent
+     * @param priorite the complaint priority
+     */
+    public synchronized void retirer(UUID agentId, Reclamation.Priorite priorite) {
+        Agent agent = agents.get(agentId);
+        if (agent != null && agent.ouvertes > 0) modifier(agent, -poids(priorite), -1);
+    }
+
+    /**
+     * @param agentId the agent
+     * @return the weighted load of the agent, or -1 if unknown
+     */
+    public synchronized long getCharge(UUID agentId) {
+        Agent agent = agents.get(agentId);
+        return agent != null ? agent.charge : -1;
+    }
+
+    /**
+     * @param agentId the agent
+     * @return the number of open complaints of the agent, or -1 if unknown
+     */
+    public synchronized long getOuvertes(UUID agentId) {
+        Agent agent = agents.get(agentId);
+        return agent != null ? agent.ouvertes : -1;
+    }
+
+    /**
+     * @return the number of agents
+     */
+    public int size() {
+        return agents.size();
+    }
+
+    /**
+     * @return version of the routing table the pools were built from
+     */
+    public long getVersionRoutage() {
+        return versionRoutage;
+    }
+
+    private void modifier(Agent agent, long charge, long ouvertes) {
+        agent.charge = Math.max(0, agent.charge + charge);
+        agent.ouvertes = Math.max(0, agent.ouvertes + ouvertes);
+        for (IndexedMinHeap heap : agent.heaps) {
+            heap.update(agent);
+        }
+    }
+
+    /** Lower weighted load first, then fewer open complaints, then stable index order. */
+    private static int compare(Agent a, Agent b) {
+        int c = Long.compare(a.charge, b.charge);
+        if (c != 0) return c;
+        c = Long.compare(a.ouvertes, b.ouvertes);
+        return c != 0 ? c : Integer.compare(a.index, b.index);
+    }
+
+    private static final class Agent {
+        final UUID id;
+        final int index;
+        final List<IndexedMinHeap> heaps = new ArrayList<>(1);
+        long charge;
+        long ouvertes;
+
+        Agent(UUID id, int index) {
+            this.id = id;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Binary min-heap of agents with the position of each agent, so a changed agent is re-sifted in place.
+     */
+    private static final class IndexedMinHeap {
+        private final Agent[] heap;
+        /** Position in the heap by agent index, -1 when absent. */
+        private final int[] positions;
+        private int size;
+
+        IndexedMinHeap(int capacite) {
+            this.heap = new Agent[capacite];
+            this.positions = new int[capacite];
+            Arrays.fill(positions, -1);
+        }
+
+        void add(Agent agent) {
+            heap[size] = agent;
+            positions[agent.index] = size;
+            siftUp(size++);
+        }
+
+        Agent peek() {
+            return size == 0 ? null : heap[0];
+        }
+
+        void update(Agent agent) {
+            int i = positions[agent.index];
+            if (i < 0) return;
+            siftUp(i);
+            siftDown(positions[agent.index]);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (compare(heap[i], heap[parent]) >= 0) return;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) return;
+                int smallest = left + 1 < size && compare(heap[left + 1], heap[left]) < 0 ? left + 1 : left;
+                if (compare(heap[smallest], heap[i]) >= 0) return;
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            Agent a = heap[i];
+            heap[i] = heap[j];
+            heap[j] = a;
+            positions[heap[i].index] = i;
+            positions[heap[j].index] = j;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.GIRA.Backend.cache;
+
+import com.GIRA.Backend.DTO.response.CategorieTreeResponse;
+import com.GIRA.Backend.Entities.Categorie;
+import com.GIRA.Backend.Entities.SousCategorie;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable in-memory snapshot of the category / sub-category tree.
+ * <p>
+ * Built in one pass from the database and published atomically by {@code CategorieTreeService}.
+ * Readers never see a partially built tree: every index and list is frozen before the snapshot is exposed.
+ * The strong ETag is derived from the public (active) tree content, so a rebuild that changes nothing
+ * keeps the same ETag and clients keep receiving 304 responses.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class CategorieTree {
+
+    private static final Comparator<CategorieTreeResponse> CATEGORIE_ORDER = Comparator
+            .comparing(CategorieTreeResponse::getOrdreAffichage, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(CategorieTreeResponse::getNom, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
+    private static final Comparator<CategorieTreeResponse.SousCategorieNode> SOUS_CATEGORIE_ORDER = Comparator
+            .comparing(CategorieTreeResponse.SousCategorieNode::getOrdreAffichage, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(CategorieTreeResponse.SousCategorieNode::getNom, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
+    private final long version;
+    private final String etag;
+    private final List<CategorieTreeResponse> racines;
+    private final Map<UUID, CategorieTreeResponse> categories;
+    private final Map<UUID, CategorieTreeResponse.SousCategorieNode> sousCategories;
+
+    private CategorieTree(long version, List<CategorieTreeResponse> racines,
+                          Map<UUID, CategorieTreeResponse> categories,
+                          Map<UUID, CategorieTreeResponse.SousCategorieNode> sousCategories) {
+        this.version = version;
+        this.racines = racines;
+        this.categories = categories;
+        this.sousCategories = sousCategories;
+        this.etag = computeEtag(racines);
+    }
+
+    /**
+     * Builds a snapshot from the full list of categories and sub-categories.
+     * Parent references are resolved by id only, so lazy associations are never initialized.
+     *
+     * @param allCategories    all categories (active and inactive)
+     * @param allSousCategories all sub-categories (active and inactive)
+     * @param version          monotonic snapshot version
+     * @return the frozen snapshot
+     */
+    public static CategorieTree build(Collection<Categorie> allCategories, Collection<SousCategorie> allSousCategories, long version) {
+        Map<UUID, Categorie> categoriesById = new HashMap<>();
+        Map<UUID, List<Categorie>> enfantsByParent = new HashMap<>();
+        for (Categorie c : allCategories) {
+            categoriesById.put(c.getId(), c);
+        }
+        for (Categorie c : allCategories) {
+            UUID parentId = c.getParent() != null ? c.getParent().getId() : null;
+            if (parentId != null && categoriesById.containsKey(parentId)) {
+                enfantsByParent.computeIfAbsent(parentId, k -> new ArrayList<>()).add(c);
+            }
+        }
+
+        Map<UUID, CategorieTreeResponse.SousCategorieNode> sousIndex = new HashMap<>();
+        Map<UUID, List<CategorieTreeResponse.SousCategorieNode>> sousByCategorie = new HashMap<>();
+        for (SousCategorie s : allSousCategories) {
+            UUID categorieId = s.getCategorie() != null ? s.getCategorie().getId() : null;
+            CategorieTreeResponse.SousCategorieNode node = CategorieTreeResponse.SousCategorieNode.builder()
+                    .id(s.getId())
+                    .categorieId(categorieId)
+                    .nom(s.getNom())
+                    .description(s.getDescription())
+                    .champsRequis(s.getChampsRequis())
+                    .actif(s.isActif())
+                    .ordreAffichage(s.getOrdreAffichage())
+                    .build();
+            sousIndex.put(node.getId(), node);
+            if (node.isActif() && categorieId != null) {
+                sousByCategorie.computeIfAbsent(categorieId, k -> new ArrayList<>()).add(node);
+            }
+        }
+
+        Map<UUID, CategorieTreeResponse> nodes = new HashMap<>();
+        Set<UUID> enCours = new HashSet<>();
+        for (Categorie c : allCategories) {
+            buildNode(c, enfantsByParent, sousByCategorie, nodes, enCours);
+        }
+
+        List<CategorieTreeResponse> racines = new ArrayList<>();
+        for (Categorie c : allCategories) {
+            boolean racine = c.getParent() == null || !categoriesById.containsKey(c.getParent().getId());
+            CategorieTreeResponse node = nodes.get(c.getId());
+            if (racine && node != null && node.isActif()) {
+                racines.add(node);
+            }
+        }
+        racines.sort(CATEGORIE_ORDER);
+
+        return new CategorieTree(version, List.copyOf(racines), Map.copyOf(nodes), Map.copyOf(sousIndex));
+    }
+
+    /**
+     * Returns an empty snapshot, used before the first successful build.
+     *
+     * @return an empty tree with version 0
+     */
+    public static CategorieTree empty() {
+        return new CategorieTree(0L, List.of(), Map.of(), Map.of());
+    }
+
+    private static CategorieTreeResponse buildNode(Categorie c,
+                                                   Map<UUID, List<Categorie>> enfantsByParent,
+                                                   Map<UUID, List<CategorieTreeResponse.SousCategorieNode>> sousByCategorie,
+                                                   Map<UUID, CategorieTreeResponse> nodes,
+                                                   Set<UUID> enCours) {
+        CategorieTreeResponse existing = nodes.get(c.getId());
+        if (existing != null) return existing;
+        // Guard against corrupted parent cycles (A -> B -> A)
+        if (!enCours.add(c.getId())) return null;
+
+        List<CategorieTreeResponse> enfants = new ArrayList<>();
+        for (Categorie enfant : enfantsByParent.getOrDefault(c.getId(), Collections.emptyList())) {
+            CategorieTreeResponse node = buildNode(enfant, enfantsByParent, sousByCategorie, nodes, enCours);
+            if (node != null && node.isActif()) {
+                enfants.add(node);
+            }
+        }
+        enfants.sort(CATEGORIE_ORDER);
+        List<CategorieTreeResponse.SousCategorieNode> sous = new ArrayList<>(sousByCategorie.getOrDefault(c.getId(), Collections.emptyList()));
+        sous.sort(SOUS_CATEGORIE_ORDER);
+
+        CategorieTreeResponse node = CategorieTreeResponse.builder()
+                .id(c.getId())
+                .nom(c.getNom())
+                .description(c.getDescription())
+                .icone(c.getIcone())
+                .couleur(c.getCouleur())
+                .parentId(c.getParent() != null ? c.getParent().getId() : null)
+                .actif(c.isActif())
+                .ordreAffichage(c.getOrdreAffichage())
+                .tempsResolutionEstime(c.getTempsResolutionEstime())
+                .enfants(List.copyOf(enfants))
+                .sousCategories(List.copyOf(sous))
+                .build();
+        enCours.remove(c.getId());
+        nodes.put(c.getId(), node);
+        return node;
+    }
+
+    private static String computeEtag(List<CategorieTreeResponse> racines) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(racines.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"cat-" + HexFormat.of().formatHex(hash, 0, 12) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // ====== Lookups ======
+
+    public Optional<CategorieTreeResponse> findCategorie(UUID id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(categories.get(id));
+    }
+
+    public Optional<CategorieTreeResponse.SousCategorieNode> findSousCategorie(UUID id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(sousCategories.get(id));
+    }
+
+    /**
+     * Returns the category name for an id, or {@code null} if unknown to this snapshot.
+     *
+     * @param id the category UUID
+     * @return the category name or null
+     */
+    public String getCategorieNom(UUID id) {
+        CategorieTreeResponse node = id != null ? categories.get(id) : null;
+        return node != null ? node.getNom() : null;
+    }
+
+    /**
+     * Returns the sub-category name for an id, or {@code null} if unknown to this snapshot.
+     *
+     * @param id the sub-category UUID
+     * @return the sub-category name or null
+     */
+    public String getSousCategorieNom(UUID id) {
+        CategorieTreeResponse.SousCategorieNode node = id != null ? sousCategories.get(id) : null;
+        return node != null ? node.getNom() : null;
+    }
+
+    /**
+     * Creates a detached {@link Categorie} carrying the cached values, suitable for use as a
+     * foreign-key reference when persisting a complaint. A fresh instance is returned on every call
+     * so callers can never mutate the snapshot.
+     *
+     * @param id the category UUID
+     * @return a detached category, or null if the id is unknown
+     */
+    public Categorie toCategorieReference(UUID id) {
+        CategorieTreeResponse node = id != null ? categories.get(id) : null;
+        if (node == null) return null;
+        Categorie categorie = new Categorie();
+        categorie.setId(node.getId());
+        categorie.setNom(node.getNom());
+        categorie.setDescription(node.getDescription());
+        categorie.setIcone(node.getIcone());
+        categorie.setCouleur(node.getCouleur());
+        categorie.setActif(node.isActif());
+        categorie.setOrdreAffichage(node.getOrdreAffichage());
+        categorie.setTempsResolutionEstime(node.getTempsResolutionEstime());
+        return categorie;
+    }
+
+    /**
+     * Creates a detached {@link SousCategorie} carrying the cached values.
+     *
+     * @param id the sub-category UUID
+     * @return a detached sub-category, or null if the id is unknown
+     */
+    public SousCategorie toSousCategorieReference(UUID id) {
+        CategorieTreeResponse.SousCategorieNode node = id != null ? sousCategories.get(id) : null;
+        if (node == null) return null;
+        SousCategorie sousCategorie = new SousCategorie();
+        sousCategorie.setId(node.getId());
+        sousCategorie.setNom(node.getNom());
+        sousCategorie.setDescription(node.getDescription());
+        sousCategorie.setChampsRequis(node.getChampsRequis());
+        sousCategorie.setActif(node.isActif());
+        sousCategorie.setOrdreAffichage(node.getOrdreAffichage());
+        sousCategorie.setCategorie(toCategorieReference(node.getCategorieId()));
+        return sousCategorie;
+    }
+
+    // ====== Getters ======
+
+    public long getVersion() { return version; }
+
+    public String getEtag() { return etag; }
+
+    public List<CategorieTreeResponse> getRacines() { return racines; }
+
+    /** All categories of the snapshot, active and inactive, in no particular order. */
+    public Collection<CategorieTreeResponse> getCategories() { return categories.values(); }
+
+    public int size() { return categories.size(); }
+}
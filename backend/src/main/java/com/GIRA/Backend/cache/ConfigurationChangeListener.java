@@ -0,0 +1,133 @@
+package com.GIRA.Backend.cache;
+
+import com.GIRA.Backend.service.interfaces.ConfigurationService;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * Receives configuration change notifications from the other replicas through PostgreSQL LISTEN/NOTIFY.
+ * <p>
+ * A daemon thread holds one dedicated connection, waits for notifications on {@link ConfigurationService#CHANNEL}
+ * and refreshes the local snapshot as soon as one arrives (typically a few milliseconds after the writer commits).
+ * The connection is opened with the driver from the datasource settings, outside the pool: a LISTEN session lives
+ * as long as the application and must not take one of the pooled connections. When it drops, the thread reconnects
+ * with an exponential backoff (1 s doubling up to 1 min) while the service falls back to polling.
+ * On other databases, or when disabled with 'app.config.listen.enabled=false', the service relies on polling alone.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Component
+public class ConfigurationChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigurationChangeListener.class);
+    private static final int WAIT_MS = 500;
+    private static final long RECONNECT_DELAY_MS = 1_000;
+    private static final long MAX_RECONNECT_DELAY_MS = 60_000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ConfigurationService configurationService;
+    private final boolean enabled;
+    private volatile boolean running;
+    private Thread worker;
+
+    @Autowired
+    public ConfigurationChangeListener(DataSourceProperties dataSourceProperties, ConfigurationService configurationService,
+                                       @Value("${app.config.listen.enabled:true}") boolean enabled) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.configurationService = configurationService;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Starts the listening thread once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) return;
+        running = true;
+        worker = new Thread(this::listen, "gira-config-listener");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stops the listening thread.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void listen() {
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith("jdbc:postgresql:")) {
+            logger.info("Database does not support LISTEN/NOTIFY, configuration changes will be detected by polling");
+            return;
+        }
+        long delay = RECONNECT_DELAY_MS;
+        while (running) {
+            try (Connection connection = connect(url)) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + ConfigurationService.CHANNEL);
+                }
+                configurationService.setPushActive(true);
+                delay = RECONNECT_DELAY_MS;
+                // Catch up on anything committed while we were not listening
+                configurationService.refresh();
+                logger.info("Listening for configuration changes on channel {}", ConfigurationService.CHANNEL);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(WAIT_MS);
+                    if (notifications != null && notifications.length > 0) {
+                        configurationService.refresh();
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                configurationService.setPushActive(false);
+                if (!running) return;
+                logger.warn("Configuration listener disconnected, retrying in {} ms: {}", delay, e.getMessage());
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                delay = Math.min(delay * 2, MAX_RECONNECT_DELAY_MS);
+            }
+        }
+        configurationService.setPushActive(false);
+    }
+
+    /**
+     * Opens the listening connection directly with the driver, outside the connection pool.
+     */
+    private Connection connect(String url) throws SQLException {
+        Properties properties = new Properties();
+        String username = dataSourceProperties.determineUsername();
+        String password = dataSourceProperties.determinePassword();
+        if (username != null) properties.setProperty("user", username);
+        if (password != null) properties.setProperty("password", password);
+        properties.setProperty("ApplicationName", "gira-config-listener");
+        properties.setProperty("tcpKeepAlive", "true");
+        return DriverManager.getConnection(url, properties);
+    }
+}
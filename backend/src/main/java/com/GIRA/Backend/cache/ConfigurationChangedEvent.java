@@ -0,0 +1,32 @@
+package com.GIRA.Backend.cache;
+
+import java.util.Set;
+
+/**
+ * Application event published when a new configuration snapshot changes one or more keys,
+ * whether the change was made on this node or propagated from another replica.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class ConfigurationChangedEvent {
+
+    private final Set<String> cles;
+
+    public ConfigurationChangedEvent(Set<String> cles) {
+        this.cles = Set.copyOf(cles);
+    }
+
+    /**
+     * @return the added, modified or removed keys
+     */
+    public Set<String> getCles() { return cles; }
+
+    /**
+     * @param prefix a key prefix
+     * @return true if at least one changed key starts with the prefix
+     */
+    public boolean concerne(String prefix) {
+        return cles.stream().anyMatch(cle -> cle.startsWith(prefix));
+    }
+}
@@ -0,0 +1,135 @@
+package com.GIRA.Backend.cache;
+
+import com.GIRA.Backend.Entities.Configuration;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable snapshot of the {@code configurations} table (key -> raw value and type).
+ * <p>
+ * The row count and the latest modification date form a cheap fingerprint used by the polling fallback
+ * to detect inserts, updates and deletes with a single aggregate query.
+ * Parsed JSON values are memoized per snapshot, so they are dropped automatically when a new snapshot is published.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class ConfigurationSnapshot {
+
+    /** Memo marker for values that failed to parse, so they are not re-parsed on every read. */
+    private static final Object UNPARSABLE = new Object();
+
+    private final long version;
+    private final Map<String, String> valeurs;
+    private final Map<String, Configuration.Type> types;
+    private final long count;
+    private final LocalDateTime lastModified;
+    private final Map<String, Object> parsed = new ConcurrentHashMap<>();
+
+    private ConfigurationSnapshot(long version, Map<String, String> valeurs, Map<String, Configuration.Type> types,
+                                  long count, LocalDateTime lastModified) {
+        this.version = version;
+        this.valeurs = valeurs;
+        this.types = types;
+        this.count = count;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Builds a snapshot from all configuration rows.
+     *
+     * @param configurations all rows of the configurations table
+     * @param version        monotonic snapshot version
+     * @return the frozen snapshot
+     */
+    public static ConfigurationSnapshot build(Collection<Configuration> configurations, long version) {
+        Map<String, String> valeurs = new HashMap<>();
+        Map<String, Configuration.Type> types = new HashMap<>();
+        LocalDateTime lastModified = null;
+        for (Configuration configuration : configurations) {
+            // Map.copyOf rejects null values; an empty string stands for "present but unset"
+            valeurs.put(configuration.getCle(), configuration.getValeur() != null ? configuration.getValeur() : "");
+            types.put(configuration.getCle(), configuration.getType());
+            LocalDateTime modified = configuration.getDateModification();
+            if (modified != null && (lastModified == null || modified.isAfter(lastModified))) {
+                lastModified = modified;
+            }
+        }
+        return new ConfigurationSnapshot(version, Map.copyOf(valeurs), Map.copyOf(types), configurations.size(), lastModified);
+    }
+
+    /**
+     * @return an empty snapshot, used before the first load
+     */
+    public static ConfigurationSnapshot empty() {
+        return new ConfigurationSnapshot(0, Map.of(), Map.of(), -1, null);
+    }
+
+    /**
+     * Tells whether the database fingerprint differs from this snapshot.
+     *
+     * @param dbCount        current row count
+     * @param dbLastModified current latest modification date
+     * @return true if a reload is needed
+     */
+    public boolean isStale(long dbCount, LocalDateTime dbLastModified) {
+        return dbCount != count || !Objects.equals(dbLastModified, lastModified);
+    }
+
+    /**
+     * Returns the keys whose value or type differ between two snapshots (added, changed or removed).
+     *
+     * @param other the previous snapshot
+     * @return the changed keys
+     */
+    public Set<String> diff(ConfigurationSnapshot other) {
+        Set<String> changed = new HashSet<>();
+        valeurs.forEach((cle, valeur) -> {
+            if (!valeur.equals(other.valeurs.get(cle)) || types.get(cle) != other.types.get(cle)) {
+                changed.add(cle);
+            }
+        });
+        for (String cle : other.valeurs.keySet()) {
+            if (!valeurs.containsKey(cle)) changed.add(cle);
+        }
+        return changed;
+    }
+
+    /**
+     * Returns a parsed value, computing it at most once per snapshot.
+     *
+     * @param cle    the configuration key
+     * @param target the target type (part of the memo key)
+     * @param parser parser applied to the raw value
+     * @return the parsed value, or null if the key is absent or the parser returned null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T parsed(String cle, Class<T> target, Function<String, T> parser) {
+        String valeur = valeurs.get(cle);
+        if (valeur == null) return null;
+        Object value = parsed.computeIfAbsent(cle + '\u0000' + target.getName(), k -> {
+            T result = parser.apply(valeur);
+            return result != null ? result : UNPARSABLE;
+        });
+        return value == UNPARSABLE ? null : (T) value;
+    }
+
+    public String get(String cle) { return valeurs.get(cle); }
+
+    public Configuration.Type getType(String cle) { return types.get(cle); }
+
+    public Map<String, String> getValeurs() { return valeurs; }
+
+    public long getVersion() { return version; }
+
+    public int size() { return valeurs.size(); }
+}
@@ -0,0 +1,387 @@
+package com.GIRA.Backend.cache;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * In-memory near-duplicate index of the recent complaints (MinHash signatures, LSH buckets, time slices).
+ * <p>
+ * The signature of a complaint is the MinHash of the words and word pairs of its title and description, folded
+ * by {@link TextFolding} (short words and stop words skipped): {@value #K} minimums of independent hash functions,
+ * 16 bits each. The share of equal minimums estimates the Jaccard similarity of the two texts.
+ * </p>
+ * <p>
+ * Signatures are split in {@value #BANDES} bands of {@value #LIGNES} values; two complaints of the same category
+ * sharing a band are candidates, then compared on the whole signature. Entries are stored in time slices of
+ * primitive arrays (about 200 bytes per entry, no object per entry): each slice holds one chained hash table of the
+ * bands, so a lookup walks {@value #BANDES} short chains per slice, and expired or excess slices are dropped as a
+ * whole. Instances are thread safe; access is serialised, as lookups take a few microseconds.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class DoublonIndex {
+
+    /** Number of hash functions of a signature. */
+    public static final int K = 32;
+    static final int BANDES = 8;
+    static final int LIGNES = K / BANDES;
+    private static final int TRANCHES = 8;
+    private static final int LONGUEUR_MIN = 3;
+    private static final long FNV_BASE = 0xcbf29ce484222325L;
+    private static final long[] SEMENCES = new long[K];
+    private static final long[] MOTS_VIDES;
+
+    static {
+        long semence = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < K; i++) {
+            semence = mix64(semence + 0x9E3779B97F4A7C15L);
+            SEMENCES[i] = semence;
+        }
+        String[] motsVides = {"les", "des", "une", "est", "pas", "pour", "dans", "par", "sur", "avec", "que", "qui",
+                "mon", "mes", "nous", "vous", "ont", "été", "and", "the", "for", "with", "this", "that", "was"};
+        MOTS_VIDES = new long[motsVides.length];
+        for (int i = 0; i < motsVides.length; i++) MOTS_VIDES[i] = hashMot(motsVides[i]);
+        Arrays.sort(MOTS_VIDES);
+    }
+
+    private final long fenetreMs;
+    private final long dureeTrancheMs;
+    private final int capacite;
+    /** Slices by time slot. */
+    private final TreeMap<Long, Tranche> tranches = new TreeMap<>();
+    private int taille;
+
+    /**
+     * @param fenetreMs width of the time window searched, in milliseconds
+     * @param capacite  maximum number of entries; the oldest slice is dropped beyond it
+     */
+    public DoublonIndex(long fenetreMs, int capacite) {
+        if (fenetreMs <= 0 || capacite <= 0) throw new IllegalArgumentException("Window and capacity must be positive");
+        this.fenetreMs = fenetreMs;
+        this.dureeTrancheMs = Math.max(1, fenetreMs / TRANCHES);
+        this.capacite = capacite;
+    }
+
+    /**
+     * Computes the MinHash signature of a complaint.
+     *
+     * @param titre       the title (may be null)
+     * @param description the description (may be null)
+     * @return the signature, or null if the texts have no significant word
+     */
+    public static char[] signature(String titre, String description) {
+        long[] minimums = new long[K];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+        boolean vide = true;
+        for (int t = 0; t < 2; t++) {
+            String texte = t == 0 ? titre : description;
+            if (texte == null) continue;
+            long precedent = 0;
+            long mot = FNV_BASE;
+            int longueur = 0;
+            for (int i = 0, n = texte.length(); i <= n; i++) {
+                int plie = i < n ? TextFolding.fold(texte.charAt(i)) : TextFolding.SEPARATEUR;
+                if (plie == TextFolding.IGNORE) continue;
+                if (plie != TextFolding.SEPARATEUR) {
+                    mot = fnv(mot, (char) plie);
+                    if ((plie >>> 16) != 0) mot = fnv(mot, (char) (plie >>> 16));
+                    longueur++;
+                    continue;
+                }
+                if (longueur >= LONGUEUR_MIN && Arrays.binarySearch(MOTS_VIDES, mot) < 0) {
+                    vide = false;
+                    minimiser(minimums, mot);
+                    if (precedent != 0) minimiser(minimums, mix64(precedent * 31 + mot));
+                    precedent = mot;
+                }
+                mot = FNV_BASE;
+                longueur = 0;
+            }
+        }
+        if (vide) return null;
+        char[] signature = new char[K];
+        for (int i = 0; i < K; i++) signature[i] = (char) (minimums[i] >>> 48);
+        return signature;
+    }
+
+    /**
+     * Estimated Jaccard similarity of two signatures.
+     *
+     * @param a a signature
+     * @param b another signature
+     * @return the share of equal values, between 0 and 1
+     */
+    public static double similarite(char[] a, char[] b) {
+        int egales = 0;
+        for (int i = 0; i < K; i++) {
+            if (a[i] == b[i]) egales++;
+        }
+        return egales / (double) K;
+    }
+
+    /**
+     * Indexes a complaint. Entries older than the window are ignored.
+     *
+     * @param id          the complaint
+     * @param categorieId its category (may be null)
+     * @param signature   its signature ({@link #signature(String, String)})
+     * @param dateMs      its creation time, epoch milliseconds
+     * @param groupe      the principal complaint of its cluster (itself if it is not a duplicate)
+     */
+    public synchronized void ajouter(UUID id, UUID categorieId, char[] signature, long dateMs, UUID groupe) {
+        if (signature == null || signature.length != K) return;
+        long numero = Math.floorDiv(dateMs, dureeTrancheMs);
+        long dernier = tranches.isEmpty() ? numero : Math.max(numero, tranches.lastKey());
+        // Slices older than the window of the newest entry are dropped
+        while (!tranches.isEmpty() && tranches.firstKey() < dernier - TRANCHES) {
+            taille -= tranches.pollFirstEntry().getValue().taille;
+        }
+        if (numero < dernier - TRANCHES) return;
+        tranches.computeIfAbsent(numero, Tranche::new).ajouter(id, categorieId, signature, dateMs, groupe);
+        taille++;
+        while (taille > capacite && tranches.size() > 1) {
+            taille -= tranches.pollFirstEntry().getValue().taille;
+        }
+    }
+
+    /**
+     * Finds the most similar complaint of the same category created in the window.
+     *
+     * @param categorieId the category (may be null)
+     * @param signature   the signature of the new complaint
+     * @param maintenantMs the current time, epoch milliseconds
+     * @param seuil       the minimum estimated similarity, between 0 and 1
+     * @return the best candidate above the threshold, or empty
+     */
+    public synchronized Optional<Candidat> rechercher(UUID categorieId, char[] signature, long maintenantMs, double seuil) {
+        if (signature == null || signature.length != K || tranches.isEmpty()) return Optional.empty();
+        long limite = maintenantMs - fenetreMs;
+        int minimum = (int) Math.ceil(seuil * K);
+        long catHaut = categorieId != null ? categorieId.getMostSignificantBits() : 0;
+        long catBas = categorieId != null ? categorieId.getLeastSignificantBits() : 0;
+        Tranche meilleure = null;
+        int entree = -1;
+        int egalesMax = minimum - 1;
+        for (Tranche tranche : tranches.descendingMap().values()) {
+            if ((tranche.numero + 1) * dureeTrancheMs <= limite) break;
+            for (int b = 0; b < BANDES; b++) {
+                long cle = cleBande(catHaut, catBas, b, signature);
+                for (int code = tranche.tetes[(int) cle & tranche.masque]; code >= 0; code = tranche.suivants[code]) {
+                    if (code % BANDES != b) continue;
+                    int e = code / BANDES;
+                    if (tranche.dates[e] < limite || !tranche.memeCategorie(e, catHaut, catBas)
+                            || !tranche.memeBande(e, b, signature)) continue;
+                    int egales = tranche.egales(e, signature);
+                    if (egales > egalesMax) {
+                        egalesMax = egales;
+                        meilleure = tranche;
+                        entree = e;
+                    }
+                }
+            }
+        }
+        if (meilleure == null) return Optional.empty();
+        return Optional.of(new Candidat(meilleure.id(entree), meilleure.groupe(entree), egalesMax / (double) K));
+    }
+
+    /**
+     * @param id a complaint
+     * @return true if the complaint is indexed
+     */
+    public synchronized boolean contient(UUID id) {
+        for (Tranche tranche : tranches.values()) {
+            if (tranche.chercher(id) >= 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of indexed complaints
+     */
+    public synchronized int size() { return taille; }
+
+    public long getFenetreMs() { return fenetreMs; }
+
+    private static long cleBande(long catHaut, long catBas, int bande, char[] signature) {
+        long cle = mix64(catHaut ^ mix64(catBas + bande));
+        int debut = bande * LIGNES;
+        for (int i = debut; i < debut + LIGNES; i++) cle = (cle << 16 | cle >>> 48) ^ signature[i];
+        return mix64(cle);
+    }
+
+    private static void minimiser(long[] minimums, long shingle) {
+        for (int i = 0; i < K; i++) {
+            long h = mix64(shingle ^ SEMENCES[i]);
+            if (Long.compareUnsigned(h, minimums[i]) < 0) minimums[i] = h;
+        }
+    }
+
+    private static long fnv(long hash, char c) {
+        return (hash ^ c) * 0x100000001b3L;
+    }
+
+    private static long hashMot(String mot) {
+        long hash = FNV_BASE;
+        for (int i = 0; i < mot.length(); i++) {
+            int plie = TextFolding.fold(mot.charAt(i));
+            hash = fnv(hash, (char) plie);
+            if ((plie >>> 16) != 0) hash = fnv(hash, (char) (plie >>> 16));
+        }
+        return hash;
+    }
+
+    /** SplitMix64 finaliser. */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Entries of one time slot, in parallel primitive arrays grown by doubling.
+     */
+    private static final class Tranche {
+        private static final int CAPACITE_INITIALE = 256;
+        private final long numero;
+        private int taille;
+        /** Per entry: id, cluster principal and category as two longs each. */
+        private long[] ids;
+        private long[] groupes;
+        private long[] categories;
+        private long[] dates;
+        private char[] signatures;
+        /** Chained hash table of the bands: code = entry * BANDES + band. */
+        private int[] tetes;
+        private int[] suivants;
+        private int masque;
+        /** Open addressing table of the ids, entry + 1. */
+        private int[] parId;
+
+        Tranche(long numero) {
+            this.numero = numero;
+            allouer(CAPACITE_INITIALE);
+        }
+
+        void ajouter(UUID id, UUID categorieId, char[] signature, long dateMs, UUID groupe) {
+            if (taille == dates.length) agrandir();
+            int e = taille++;
+            ids[2 * e] = id.getMostSignificantBits();
+            ids[2 * e + 1] = id.getLeastSignificantBits();
+            UUID principal = groupe != null ? groupe : id;
+            groupes[2 * e] = principal.getMostSignificantBits();
+            groupes[2 * e + 1] = principal.getLeastSignificantBits();
+            categories[2 * e] = categorieId != null ? categorieId.getMostSignificantBits() : 0;
+            categories[2 * e + 1] = categorieId != null ? categorieId.getLeastSignificantBits() : 0;
+            dates[e] = dateMs;
+            System.arraycopy(signature, 0, signatures, e * K, K);
+            chainer(e);
+        }
+
+        int chercher(UUID id) {
+            long haut = id.getMostSignificantBits();
+            long bas = id.getLeastSignificantBits();
+            int masqueIds = parId.length - 1;
+            for (int slot = (int) mix64(haut ^ bas) & masqueIds; parId[slot] != 0; slot = (slot + 1) & masqueIds) {
+                int e = parId[slot] - 1;
+                if (ids[2 * e] == haut && ids[2 * e + 1] == bas) return e;
+            }
+            return -1;
+        }
+
+        boolean memeCategorie(int e, long haut, long bas) {
+            return categories[2 * e] == haut && categories[2 * e + 1] == bas;
+        }
+
+        boolean memeBande(int e, int bande, char[] signature) {
+            int base = e * K;
+            for (int i = bande * LIGNES, fin = i + LIGNES; i < fin; i++) {
+                if (signatures[base + i] != signature[i]) return false;
+            }
+            return true;
+        }
+
+        int egales(int e, char[] signature) {
+            int base = e * K;
+            int egales = 0;
+            for (int i = 0; i < K; i++) {
+                if (signatures[base + i] == signature[i]) egales++;
+            }
+            return egales;
+        }
+
+        UUID id(int e) { return new UUID(ids[2 * e], ids[2 * e + 1]); }
+
+        UUID groupe(int e) { return new UUID(groupes[2 * e], groupes[2 * e + 1]); }
+
+        private void chainer(int e) {
+            long haut = categories[2 * e];
+            long bas = categories[2 * e + 1];
+            char[] signature = Arrays.copyOfRange(signatures, e * K, e * K + K);
+            for (int b = 0; b < BANDES; b++) {
+                int slot = (int) cleBande(haut, bas, b, signature) & masque;
+                int code = e * BANDES + b;
+                suivants[code] = tetes[slot];
+                tetes[slot] = code;
+            }
+            int masqueIds = parId.length - 1;
+            int slot = (int) mix64(ids[2 * e] ^ ids[2 * e + 1]) & masqueIds;
+            while (parId[slot] != 0) slot = (slot + 1) & masqueIds;
+            parId[slot] = e + 1;
+        }
+
+        private void agrandir() {
+            int capacite = dates.length * 2;
+            long[] anciensIds = ids, anciensGroupes = groupes, anciennesCategories = categories, anciennesDates = dates;
+            char[] anciennesSignatures = signatures;
+            allouer(capacite);
+            System.arraycopy(anciensIds, 0, ids, 0, 2 * taille);
+            System.arraycopy(anciensGroupes, 0, groupes, 0, 2 * taille);
+            System.arraycopy(anciennesCategories, 0, categories, 0, 2 * taille);
+            System.arraycopy(anciennesDates, 0, dates, 0, taille);
+            System.arraycopy(anciennesSignatures, 0, signatures, 0, taille * K);
+            for (int e = 0; e < taille; e++) chainer(e);
+        }
+
+        private void allouer(int capacite) {
+            ids = new long[2 * capacite];
+            groupes = new long[2 * capacite];
+            categories = new long[2 * capacite];
+            dates = new long[capacite];
+            signatures = new char[capacite * K];
+            // One bucket head per band entry: chains stay about one entry long
+            tetes = new int[Integer.highestOneBit(capacite * BANDES - 1) << 1];
+            Arrays.fill(tetes, -1);
+            masque = tetes.length - 1;
+            suivants = new int[capacite * BANDES];
+            parId = new int[capacite * 2];
+        }
+    }
+
+    /**
+     * A near-duplicate candidate.
+     */
+    public static final class Candidat {
+        private final UUID id;
+        private final UUID groupe;
+        private final double similarite;
+
+        public Candidat(UUID id, UUID groupe, double similarite) {
+            this.id = id;
+            this.groupe = groupe;
+            this.similarite = similarite;
+        }
+
+        public UUID getId() { return id; }
+
+        /**
+         * @return the principal complaint of the candidate's cluster
+         */
+        public UUID getGroupe() { return groupe; }
+
+        public double getSimilarite() { return similarite; }
+    }
+}
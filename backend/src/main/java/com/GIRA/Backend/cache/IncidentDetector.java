@@ -0,0 +1,240 @@
+package com.GIRA.Backend.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming burst detector: raises an incident when {@code seuil} complaints of the same category are filed about
+ * the same place within {@code fenetreMs}.
+ * <p>
+ * The place is a cell of about 100 m when the complaint carries coordinates ({@code localisation}, WKT or GeoJSON
+ * point), else its normalised free-text location. Each (category, place) keeps the dates of its last {@code seuil}
+ * complaints in a ring buffer: a complaint completes a burst when the oldest of them is still inside the window,
+ * an exact sliding-window count in O(1) per complaint, without querying the database.
+ * </p>
+ * <p>
+ * A burst raises one incident; the complaints that follow within the window join it instead of raising another
+ * one. Time is the creation date of the complaints, so historical data can be replayed through the same code
+ * ({@link IncidentReplay}). Instances are thread safe.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class IncidentDetector {
+
+    /** Size of a coordinate cell, in degrees (about 110 m of latitude). */
+    private static final double CELLULE = 0.001;
+    private static final Pattern NOMBRE = Pattern.compile("-?\\d+(?:\\.\\d+)?");
+
+    private final int seuil;
+    private final long fenetreMs;
+    private final Map<String, Zone> zones = new HashMap<>();
+
+    /**
+     * @param seuil     number of complaints making a burst (at least 2)
+     * @param fenetreMs width of the sliding window, in milliseconds
+     */
+    public IncidentDetector(int seuil, long fenetreMs) {
+        if (seuil < 2 || fenetreMs <= 0) throw new IllegalArgumentException("Threshold must be at least 2 and window positive");
+        this.seuil = seuil;
+        this.fenetreMs = fenetreMs;
+    }
+
+    /**
+     * Counts a complaint.
+     *
+     * @param evenement the complaint
+     * @return the incident raised by this complaint, or empty (no burst, no place, or joined an open incident)
+     */
+    public synchronized Optional<Incident> enregistrer(Evenement evenement) {
+        String lieu = lieu(evenement.lieuDescription, evenement.localisation);
+        if (lieu == null) return Optional.empty();
+        String cle = (evenement.categorieId != null ? evenement.categorieId : "") + "|" + lieu;
+        Zone zone = zones.computeIfAbsent(cle, k -> new Zone(seuil));
+        long date = evenement.dateMs;
+
+        if (zone.incident != null) {
+            if (date - zone.derniere <= fenetreMs) {
+                zone.incident.ajouter(evenement.reclamationId, date);
+                zone.enregistrer(evenement.reclamationId, date);
+                return Optional.empty();
+            }
+            zone.incident = null;
+        }
+        zone.enregistrer(evenement.reclamationId, date);
+        if (zone.nombre < seuil || date - zone.plusAncienne() > fenetreMs) return Optional.empty();
+
+        Incident incident = new Incident(UUID.randomUUID(), evenement.categorieId, lieu, zone.dernieres(), zone.plusAncienne(), date);
+        zone.incident = incident;
+        return Optional.of(incident);
+    }
+
+    /**
+     * Forgets the places without complaint since the start of the window.
+     *
+     * @param maintenantMs the current time, epoch milliseconds
+     */
+    public synchronized void purger(long maintenantMs) {
+        for (Iterator<Zone> it = zones.values().iterator(); it.hasNext(); ) {
+            if (maintenantMs - it.next().derniere > fenetreMs) it.remove();
+        }
+    }
+
+    /**
+     * @return the number of places tracked
+     */
+    public synchronized int size() { return zones.size(); }
+
+    public int getSeuil() { return seuil; }
+
+    public long getFenetreMs() { return fenetreMs; }
+
+    /**
+     * Key of the place of a complaint: coordinate cell first, then normalised free text.
+     *
+     * @param lieuDescription the free-text location (may be null)
+     * @param localisation    the coordinates, WKT or GeoJSON (may be null)
+     * @return the key, or null if the complaint has no usable location
+     */
+    static String lieu(String lieuDescription, String localisation) {
+        if (localisation != null) {
+            Matcher nombres = NOMBRE.matcher(localisation);
+            if (nombres.find()) {
+                double x = Double.parseDouble(nombres.group());
+                if (nombres.find()) {
+                    double y = Double.parseDouble(nombres.group());
+                    return "geo:" + (long) Math.floor(x / CELLULE) + ":" + (long) Math.floor(y / CELLULE);
+                }
+            }
+        }
+        return RoutingTable.normaliser(lieuDescription);
+    }
+
+    /**
+     * Last complaints of a (category, place), in a ring buffer.
+     */
+    private static final class Zone {
+        private final long[] dates;
+        private final UUID[] reclamations;
+        private int suivante;
+        private int nombre;
+        private long derniere = Long.MIN_VALUE;
+        private Incident incident;
+
+        Zone(int seuil) {
+            this.dates = new long[seuil];
+            this.reclamations = new UUID[seuil];
+        }
+
+        void enregistrer(UUID reclamationId, long date) {
+            dates[suivante] = date;
+            reclamations[suivante] = reclamationId;
+            suivante = (suivante + 1) % dates.length;
+            if (nombre < dates.length) nombre++;
+            derniere = Math.max(derniere, date);
+        }
+
+        /** Date of the oldest complaint of the buffer (once full). */
+        long plusAncienne() {
+            return dates[suivante];
+        }
+
+        List<UUID> dernieres() {
+            List<UUID> ids = new ArrayList<>(nombre);
+            for (int i = 0; i < nombre; i++) {
+                ids.add(reclamations[(suivante + dates.length - nombre + i) % dates.length]);
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * A complaint fed to the detector.
+     */
+    public static final class Evenement {
+        private final UUID reclamationId;
+        private final UUID categorieId;
+        private final String lieuDescription;
+        private final String localisation;
+        private final long dateMs;
+
+        /**
+         * @param reclamationId   the complaint
+         * @param categorieId     its category (may be null)
+         * @param lieuDescription its free-text location (may be null)
+         * @param localisation    its coordinates (may be null)
+         * @param dateMs          its creation time, epoch milliseconds
+         */
+        public Evenement(UUID reclamationId, UUID categorieId, String lieuDescription, String localisation, long dateMs) {
+            this.reclamationId = reclamationId;
+            this.categorieId = categorieId;
+            this.lieuDescription = lieuDescription;
+            this.localisation = localisation;
+            this.dateMs = dateMs;
+        }
+
+        public UUID getReclamationId() { return reclamationId; }
+
+        public UUID getCategorieId() { return categorieId; }
+
+        public long getDateMs() { return dateMs; }
+    }
+
+    /**
+     * A detected incident; complaints filed after the burst keep joining it while the place stays active.
+     */
+    public static final class Incident {
+        private final UUID id;
+        private final UUID categorieId;
+        private final String lieu;
+        private final List<UUID> reclamations;
+        private final long debutMs;
+        private long finMs;
+
+        Incident(UUID id, UUID categorieId, String lieu, List<UUID> reclamations, long debutMs, long finMs) {
+            this.id = id;
+            this.categorieId = categorieId;
+            this.lieu = lieu;
+            this.reclamations = reclamations;
+            this.debutMs = debutMs;
+            this.finMs = finMs;
+        }
+
+        synchronized void ajouter(UUID reclamationId, long date) {
+            reclamations.add(reclamationId);
+            finMs = Math.max(finMs, date);
+        }
+
+        public UUID getId() { return id; }
+
+        public UUID getCategorieId() { return categorieId; }
+
+        /**
+         * @return the key of the place ({@code geo:x:y} cell or normalised location)
+         */
+        public String getLieu() { return lieu; }
+
+        /**
+         * @return a copy of the complaints of the incident, in arrival order
+         */
+        public synchronized List<UUID> getReclamations() { return List.copyOf(reclamations); }
+
+        /**
+         * @return the creation time of the first complaint of the burst, epoch milliseconds
+         */
+        public long getDebutMs() { return debutMs; }
+
+        /**
+         * @return the creation time of the last complaint of the incident, epoch milliseconds
+         */
+        public synchronized long getFinMs() { return finMs; }
+    }
+}
@@ -0,0 +1,80 @@
+package com.GIRA.Backend.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Replays historical complaints through an {@link IncidentDetector}, at a chosen speed.
+ * <p>
+ * Complaints must be given in creation order. At speed {@code v}, a gap of {@code d} milliseconds between two
+ * creation dates is replayed in {@code d / v} milliseconds of wall time (100 replays an hour in 36 seconds);
+ * a speed of 0 replays without waiting. Pacing follows the wall clock, so processing time is absorbed by the
+ * following waits instead of accumulating. Used to tune the burst thresholds on past incidents.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class IncidentReplay {
+
+    /**
+     * Waits for a number of milliseconds (Thread::sleep in production, a simulated clock in tests).
+     */
+    @FunctionalInterface
+    public interface Attente {
+        void attendre(long ms) throws InterruptedException;
+    }
+
+    private final LongSupplier horlogeMs;
+    private final Attente attente;
+
+    /**
+     * @param horlogeMs the wall clock, in milliseconds
+     * @param attente   the wait primitive
+     */
+    public IncidentReplay(LongSupplier horlogeMs, Attente attente) {
+        this.horlogeMs = horlogeMs;
+        this.attente = attente;
+    }
+
+    /**
+     * @return a replay on the system clock
+     */
+    public static IncidentReplay systeme() {
+        return new IncidentReplay(System::currentTimeMillis, Thread::sleep);
+    }
+
+    /**
+     * Feeds the complaints to the detector, paced by their creation dates.
+     *
+     * @param detecteur  the detector, normally a new one so live state is not affected
+     * @param evenements the complaints, in creation order
+     * @param vitesse    the speed factor (0 for no pacing)
+     * @return the incidents raised, in order
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public List<IncidentDetector.Incident> rejouer(IncidentDetector detecteur, Iterator<IncidentDetector.Evenement> evenements,
+                                                   double vitesse) throws InterruptedException {
+        if (vitesse < 0) throw new IllegalArgumentException("Speed must not be negative");
+        List<IncidentDetector.Incident> incidents = new ArrayList<>();
+        long origineHistorique = 0;
+        long origineMur = 0;
+        boolean premier = true;
+        while (evenements.hasNext()) {
+            IncidentDetector.Evenement evenement = evenements.next();
+            if (premier) {
+                origineHistorique = evenement.getDateMs();
+                origineMur = horlogeMs.getAsLong();
+                premier = false;
+            } else if (vitesse > 0) {
+                long cible = origineMur + (long) ((evenement.getDateMs() - origineHistorique) / vitesse);
+                long attendre = cible - horlogeMs.getAsLong();
+                if (attendre > 0) attente.attendre(attendre);
+            }
+            detecteur.enregistrer(evenement).ifPresent(incidents::add);
+        }
+        return incidents;
+    }
+}
@@ -0,0 +1,280 @@
+package com.GIRA.Backend.cache;
+
+import com.GIRA.Backend.Entities.Reclamation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Immutable keyword classifier computing the priority of a complaint from its title and description.
+ * <p>
+ * Every term is compiled into a single Aho-Corasick automaton, stored as a dense transition table over the
+ * characters used by the terms, so the text is read once, one table lookup per character, without building any
+ * intermediate string. Characters are folded on the fly by {@link TextFolding} (lower case, accents removed), and every run
+ * of non alphanumeric characters becomes one space: terms are compiled surrounded by spaces and therefore only match
+ * whole words, or word prefixes for terms ending with {@code *}.
+ * </p>
+ * <p>
+ * Each matched term adds its weight to its priority once, whatever the number of occurrences; terms attached to a
+ * category only count for that category. The priority with the highest score wins, the higher priority on a tie.
+ * Instances are published by {@code PrioriteAutomatiqueService} through a volatile reference and never mutated.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class PrioriteClassifier {
+
+    private static final Reclamation.Priorite[] PRIORITES = Reclamation.Priorite.values();
+    private static final char SEPARATEUR = ' ';
+    private static final int IGNORE = TextFolding.IGNORE;
+
+    private final long version;
+    private final Terme[] termes;
+    /** Input class of every char, 0 for the chars absent from the terms. */
+    private final char[] classes;
+    private final int largeur;
+    private final int[] transitions;
+    private final int[][] sorties;
+
+    private PrioriteClassifier(long version, Terme[] termes, char[] classes, int largeur, int[] transitions, int[][] sorties) {
+        this.version = version;
+        this.termes = termes;
+        this.classes = classes;
+        this.largeur = largeur;
+        this.transitions = transitions;
+        this.sorties = sorties;
+    }
+
+    /**
+     * Compiles the automaton. Blank terms are ignored.
+     *
+     * @param termes  the weighted terms
+     * @param version version of the classifier
+     * @return the compiled classifier
+     */
+    public static PrioriteClassifier build(Collection<Terme> termes, long version) {
+        List<Terme> retenus = new ArrayList<>();
+        List<String> motifs = new ArrayList<>();
+        char[] classes = new char[Character.MAX_VALUE + 1];
+        int largeur = 1;
+        for (Terme terme : termes) {
+            String motif = motif(terme.getTerme());
+            if (motif == null) continue;
+            retenus.add(terme);
+            motifs.add(motif);
+            for (int i = 0; i < motif.length(); i++) {
+                char c = motif.charAt(i);
+                if (classes[c] == 0) classes[c] = (char) largeur++;
+            }
+        }
+
+        // Trie
+        List<int[]> lignes = new ArrayList<>();
+        List<List<Integer>> fins = new ArrayList<>();
+        lignes.add(ligneVide(largeur));
+        fins.add(new ArrayList<>());
+        for (int t = 0; t < motifs.size(); t++) {
+            String motif = motifs.get(t);
+            int etat = 0;
+            for (int i = 0; i < motif.length(); i++) {
+                int classe = classes[motif.charAt(i)];
+                int suivant = lignes.get(etat)[classe];
+                if (suivant < 0) {
+                    suivant = lignes.size();
+                    lignes.get(etat)[classe] = suivant;
+                    lignes.add(ligneVide(largeur));
+                    fins.add(new ArrayList<>());
+                }
+                etat = suivant;
+            }
+            fins.get(etat).add(t);
+        }
+
+        // Failure links folded into a complete transition table (breadth first)
+        int etats = lignes.size();
+        int[] transitions = new int[etats * largeur];
+        int[] echecs = new int[etats];
+        int[][] sorties = new int[etats][];
+        ArrayDeque<Integer> file = new ArrayDeque<>();
+        sorties[0] = new int[0];
+        for (int classe = 0; classe < largeur; classe++) {
+            int enfant = lignes.get(0)[classe];
+            if (enfant < 0) {
+                transitions[classe] = 0;
+            } else {
+                transitions[classe] = enfant;
+                echecs[enfant] = 0;
+                file.add(enfant);
+            }
+        }
+        while (!file.isEmpty()) {
+            int etat = file.poll();
+            int[] propres = fins.get(etat).stream().mapToInt(Integer::intValue).toArray();
+            int[] heritees = sorties[echecs[etat]];
+            int[] toutes = Arrays.copyOf(propres, propres.length + heritees.length);
+            System.arraycopy(heritees, 0, toutes, propres.length, heritees.length);
+            sorties[etat] = toutes;
+            for (int classe = 0; classe < largeur; classe++) {
+                int enfant = lignes.get(etat)[classe];
+                if (enfant < 0) {
+                    transitions[etat * largeur + classe] = transitions[echecs[etat] * largeur + classe];
+                } else {
+                    transitions[etat * largeur + classe] = enfant;
+                    echecs[enfant] = transitions[echecs[etat] * largeur + classe];
+                    file.add(enfant);
+                }
+            }
+        }
+        return new PrioriteClassifier(version, retenus.toArray(new Terme[0]), classes, largeur, transitions, sorties);
+    }
+
+    /**
+     * Computes the priority of a complaint from the matched terms.
+     *
+     * @param titre       the title (may be null)
+     * @param description the description (may be null)
+     * @param categorieId the category (may be null)
+     * @return the priority with the highest score, or empty if no term matched
+     */
+    public Optional<Reclamation.Priorite> classer(String titre, String description, UUID categorieId) {
+        if (termes.length == 0) return Optional.empty();
+        long[] vus = new long[(termes.length + 63) >>> 6];
+        long[] scores = new long[PRIORITES.length];
+        boolean trouve = false;
+        int debut = transitions[classes[SEPARATEUR]];
+        for (int t = 0; t < 2; t++) {
+            String texte = t == 0 ? titre : description;
+            if (texte == null) continue;
+            // Each text is read from the root and ends with a separator, so no phrase spans the title and the description
+            int etat = debut;
+            boolean separateur = true;
+            int longueur = texte.length();
+            for (int i = 0; i <= longueur; i++) {
+                int plie = i < longueur ? fold(texte.charAt(i)) : 0;
+                if (plie == IGNORE) continue;
+                if (plie == 0) {
+                    if (separateur) continue;
+                    separateur = true;
+                    etat = transitions[etat * largeur + classes[SEPARATEUR]];
+                } else {
+                    separateur = false;
+                    if ((plie >>> 16) != 0) {
+                        etat = transitions[etat * largeur + classes[(char) plie]];
+                        trouve |= noter(sorties[etat], categorieId, vus, scores);
+                        plie >>>= 16;
+                    }
+                    etat = transitions[etat * largeur + classes[(char) plie]];
+                }
+                trouve |= noter(sorties[etat], categorieId, vus, scores);
+            }
+        }
+        if (!trouve) return Optional.empty();
+        int meilleure = 0;
+        for (int p = 1; p < scores.length; p++) {
+            if (scores[p] >= scores[meilleure]) meilleure = p;
+        }
+        return scores[meilleure] > 0 ? Optional.of(PRIORITES[meilleure]) : Optional.empty();
+    }
+
+    /**
+     * @return the compiled terms
+     */
+    public List<Terme> getTermes() { return List.of(termes); }
+
+    public long getVersion() { return version; }
+
+    public int size() { return termes.length; }
+
+    /**
+     * @return the number of automaton states
+     */
+    public int getEtats() { return sorties.length; }
+
+    private boolean noter(int[] sortie, UUID categorieId, long[] vus, long[] scores) {
+        boolean trouve = false;
+        for (int t : sortie) {
+            long bit = 1L << t;
+            if ((vus[t >>> 6] & bit) != 0) continue;
+            Terme terme = termes[t];
+            if (terme.categorieId != null && !terme.categorieId.equals(categorieId)) continue;
+            vus[t >>> 6] |= bit;
+            scores[terme.priorite.ordinal()] += terme.poids;
+            trouve = true;
+        }
+        return trouve;
+    }
+
+    /**
+     * Folded form of a term, surrounded by separators: {@code " mot "}, or {@code " mot"} for a prefix term.
+     *
+     * @param terme the term, ending with '*' for a prefix
+     * @return the pattern, or null if the term has no alphanumeric character
+     */
+    static String motif(String terme) {
+        if (terme == null) return null;
+        String source = terme.strip();
+        boolean prefixe = source.endsWith("*");
+        if (prefixe) source = source.substring(0, source.length() - 1);
+        StringBuilder motif = new StringBuilder(source.length() + 2).append(SEPARATEUR);
+        for (int i = 0; i < source.length(); i++) {
+            int plie = fold(source.charAt(i));
+            if (plie == IGNORE) continue;
+            if (plie == 0) {
+                if (motif.charAt(motif.length() - 1) != SEPARATEUR) motif.append(SEPARATEUR);
+            } else {
+                motif.append((char) plie);
+                if ((plie >>> 16) != 0) motif.append((char) (plie >>> 16));
+            }
+        }
+        if (motif.length() > 1 && motif.charAt(motif.length() - 1) == SEPARATEUR) motif.setLength(motif.length() - 1);
+        if (motif.length() == 1) return null;
+        return prefixe ? motif.toString() : motif.append(SEPARATEUR).toString();
+    }
+
+    private static int fold(char c) {
+        return TextFolding.fold(c);
+    }
+
+    private static int[] ligneVide(int largeur) {
+        int[] ligne = new int[largeur];
+        Arrays.fill(ligne, -1);
+        return ligne;
+    }
+
+    /**
+     * A weighted term.
+     */
+    public static final class Terme {
+        private final String terme;
+        private final Reclamation.Priorite priorite;
+        private final int poids;
+        private final UUID categorieId;
+
+        /**
+         * @param terme       a word or phrase, ending with '*' to match word prefixes
+         * @param priorite    the priority it points to
+         * @param poids       its weight
+         * @param categorieId the only category it applies to, or null for every category
+         */
+        public Terme(String terme, Reclamation.Priorite priorite, int poids, UUID categorieId) {
+            this.terme = terme;
+            this.priorite = priorite;
+            this.poids = poids;
+            this.categorieId = categorieId;
+        }
+
+        public String getTerme() { return terme; }
+
+        public Reclamation.Priorite getPriorite() { return priorite; }
+
+        public int getPoids() { return poids; }
+
+        public UUID getCategorieId() { return categorieId; }
+    }
+}
@@ -0,0 +1,309 @@
+package com.GIRA.Backend.cache;
+
+import com.GIRA.Backend.Entities.Reclamation;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable, compiled routing decision table (category, sub-category, priority, location -> agent pool).
+ * <p>
+ * Rules are sorted once in evaluation order (lower {@code ordre} first, then the most specific rule, then the name),
+ * so the winning rule is the first one matching every criterion. For each criterion and each value the table holds
+ * the bit mask of the rules accepting that value (rules on that value plus the rules without that criterion).
+ * Evaluating a complaint ANDs four masks word by word and stops at the first non-zero word: a few dozen
+ * long operations for thousands of rules, without database access.
+ * </p>
+ * <p>
+ * The location criterion matches when the normalised free-text location of the complaint (case and accents ignored)
+ * contains the normalised location of the rule. Instances are published by {@code RoutageService} through
+ * a volatile reference and never mutated.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class RoutingTable {
+
+    private static final Reclamation.Priorite[] PRIORITES = Reclamation.Priorite.values();
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACES = Pattern.compile("\\s+");
+
+    private final long version;
+    private final Regle[] regles;
+    private final int mots;
+    private final Map<UUID, long[]> parCategorie;
+    private final long[] categorieLibre;
+    private final Map<UUID, long[]> parSousCategorie;
+    private final long[] sousCategorieLibre;
+    private final long[][] parPriorite;
+    private final long[] prioriteLibre;
+    private final String[] lieux;
+    private final long[][] parLieu;
+    private final long[] lieuLibre;
+    private final Map<String, Set<UUID>> pools;
+
+    private RoutingTable(long version, Regle[] regles, Map<UUID, long[]> parCategorie, long[] categorieLibre,
+                         Map<UUID, long[]> parSousCategorie, long[] sousCategorieLibre, long[][] parPriorite,
+                         long[] prioriteLibre, String[] lieux, long[][] parLieu, long[] lieuLibre,
+                         Map<String, Set<UUID>> pools) {
+        this.version = version;
+        this.regles = regles;
+        this.mots = categorieLibre.length;
+        this.parCategorie = parCategorie;
+        this.categorieLibre = categorieLibre;
+        this.parSousCategorie = parSousCategorie;
+        this.sousCategorieLibre = sousCategorieLibre;
+        this.parPriorite = parPriorite;
+        this.prioriteLibre = prioriteLibre;
+        this.lieux = lieux;
+        this.parLieu = parLieu;
+        this.lieuLibre = lieuLibre;
+        this.pools = pools;
+    }
+
+    /**
+     * Compiles the table.
+     *
+     * @param regles  the rules, in any order
+     * @param version version of the table, used by the consumers to detect a new table
+     * @return the compiled table
+     */
+    public static RoutingTable build(Collection<Regle> regles, long version) {
+        List<Regle> triees = new ArrayList<>(regles);
+        triees.sort(Comparator.comparingInt(Regle::getOrdre)
+                .thenComparing(Comparator.comparingInt(Regle::getSpecificite).reversed())
+                .thenComparing(Regle::getNom));
+        int n = triees.size();
+
+        BitSet categorieLibre = new BitSet(n);
+        BitSet sousCategorieLibre = new BitSet(n);
+        BitSet prioriteLibre = new BitSet(n);
+        BitSet lieuLibre = new BitSet(n);
+        Map<UUID, BitSet> parCategorie = new HashMap<>();
+        Map<UUID, BitSet> parSousCategorie = new HashMap<>();
+        BitSet[] parPriorite = new BitSet[PRIORITES.length];
+        for (int p = 0; p < PRIORITES.length; p++) parPriorite[p] = new BitSet(n);
+        Map<String, BitSet> parLieu = new LinkedHashMap<>();
+        Map<String, Set<UUID>> pools = new HashMap<>();
+
+        for (int i = 0; i < n; i++) {
+            Regle regle = triees.get(i);
+            if (regle.categorieId == null) categorieLibre.set(i);
+            else parCategorie.computeIfAbsent(regle.categorieId, k -> new BitSet(n)).set(i);
+            if (regle.sousCategorieId == null) sousCategorieLibre.set(i);
+            else parSousCategorie.computeIfAbsent(regle.sousCategorieId, k -> new BitSet(n)).set(i);
+            if (regle.priorite == null) prioriteLibre.set(i);
+            else parPriorite[regle.priorite.ordinal()].set(i);
+            if (regle.lieuNormalise == null) lieuLibre.set(i);
+            else parLieu.computeIfAbsent(regle.lieuNormalise, k -> new BitSet(n)).set(i);
+            pools.putIfAbsent(regle.pool, regle.agents);
+        }
+
+        int mots = (n + 63) >>> 6;
+        long[][] prioriteMasques = new long[PRIORITES.length][];
+        for (int p = 0; p < PRIORITES.length; p++) {
+            parPriorite[p].or(prioriteLibre);
+            prioriteMasques[p] = words(parPriorite[p], mots);
+        }
+        String[] lieux = parLieu.keySet().toArray(new String[0]);
+        long[][] lieuMasques = new long[lieux.length][];
+        for (int l = 0; l < lieux.length; l++) {
+            lieuMasques[l] = words(parLieu.get(lieux[l]), mots);
+        }
+        return new RoutingTable(version, triees.toArray(new Regle[0]),
+                union(parCategorie, categorieLibre, mots), words(categorieLibre, mots),
+                union(parSousCategorie, sousCategorieLibre, mots), words(sousCategorieLibre, mots),
+                prioriteMasques, words(prioriteLibre, mots), lieux, lieuMasques, words(lieuLibre, mots),
+                Map.copyOf(pools));
+    }
+
+    /**
+     * @param version version of the table
+     * @return a table without rules
+     */
+    public static RoutingTable empty(long version) {
+        return build(List.of(), version);
+    }
+
+    /**
+     * Finds the rule routing a complaint.
+     *
+     * @param categorieId     the category (may be null)
+     * @param sousCategorieId the sub-category (may be null)
+     * @param priorite        the priority (may be null)
+     * @param lieu            the free-text location (may be null)
+     * @return the first matching rule in evaluation order, or empty
+     */
+    public Optional<Regle> evaluer(UUID categorieId, UUID sousCategorieId, Reclamation.Priorite priorite, String lieu) {
+        if (regles.length == 0) return Optional.empty();
+        long[] categorie = categorieId != null ? parCategorie.getOrDefault(categorieId, categorieLibre) : categorieLibre;
+        long[] sousCategorie = sousCategorieId != null ? parSousCategorie.getOrDefault(sousCategorieId, sousCategorieLibre) : sousCategorieLibre;
+        long[] prio = priorite != null ? parPriorite[priorite.ordinal()] : prioriteLibre;
+        long[][] lieuxTrouves = lieuxContenus(lieu);
+        for (int w = 0; w < mots; w++) {
+            long mot = categorie[w] & sousCategorie[w] & prio[w];
+            if (mot == 0) continue;
+            long lieuMot = lieuLibre[w];
+            for (long[] masque : lieuxTrouves) lieuMot |= masque[w];
+            mot &= lieuMot;
+            if (mot != 0) {
+                return Optional.of(regles[(w << 6) + Long.numberOfTrailingZeros(mot)]);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return the rules in evaluation order
+     */
+    public List<Regle> getRegles() { return List.of(regles); }
+
+    /**
+     * @return the agents of every pool targeted by a rule, keyed by pool
+     */
+    public Map<String, Set<UUID>> getPools() { return pools; }
+
+    public long getVersion() { return version; }
+
+    public int size() { return regles.length; }
+
+    /**
+     * Normalises a location for matching: lower case, without accents, single spaces.
+     *
+     * @param lieu the location
+     * @return the normalised location, or null if blank
+     */
+    public static String normaliser(String lieu) {
+        if (lieu == null || lieu.isBlank()) return null;
+        String sansAccents = ACCENTS.matcher(Normalizer.normalize(lieu, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACES.matcher(sansAccents.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    private long[][] lieuxContenus(String lieu) {
+        if (lieux.length == 0) return new long[0][];
+        String normalise = normaliser(lieu);
+        if (normalise == null) return new long[0][];
+        List<long[]> trouves = new ArrayList<>(2);
+        for (int l = 0; l < lieux.length; l++) {
+            if (normalise.contains(lieux[l])) trouves.add(parLieu[l]);
+        }
+        return trouves.toArray(new long[0][]);
+    }
+
+    private static Map<UUID, long[]> union(Map<UUID, BitSet> parValeur, BitSet libre, int mots) {
+        Map<UUID, long[]> masques = new HashMap<>(parValeur.size() * 2);
+        parValeur.forEach((valeur, bits) -> {
+            bits.or(libre);
+            masques.put(valeur, words(bits, mots));
+        });
+        return Map.copyOf(masques);
+    }
+
+    private static long[] words(BitSet bits, int mots) {
+        long[] words = new long[mots];
+        long[] source = bits.toLongArray();
+        System.arraycopy(source, 0, words, 0, Math.min(source.length, mots));
+        return words;
+    }
+
+    /**
+     * A compiled routing rule. Criteria left null match any value.
+     */
+    public static final class Regle {
+        private final String nom;
+        private final int ordre;
+        private final UUID categorieId;
+        private final UUID sousCategorieId;
+        private final Reclamation.Priorite priorite;
+        private final String lieu;
+        private final String lieuNormalise;
+        private final String equipe;
+        private final String pool;
+        private final Set<UUID> agents;
+
+        /**
+         * @param nom             unique rule name
+         * @param ordre           evaluation order (lower first)
+         * @param categorieId     category criterion (may be null)
+         * @param sousCategorieId sub-category criterion (may be null)
+         * @param priorite        priority criterion (may be null)
+         * @param lieu            location criterion (may be null)
+         * @param equipe          target team, or null when the rule lists its agents
+         * @param agents          agents of the target pool
+         */
+        public Regle(String nom, int ordre, UUID categorieId, UUID sousCategorieId, Reclamation.Priorite priorite,
+                     String lieu, String equipe, Collection<UUID> agents) {
+            this.nom = nom;
+            this.ordre = ordre;
+            this.categorieId = categorieId;
+            this.sousCategorieId = sousCategorieId;
+            this.priorite = priorite;
+            this.lieu = lieu;
+            this.lieuNormalise = normaliser(lieu);
+            this.equipe = equipe;
+            // Rules targeting the same team share one pool
+            this.pool = equipe != null ? "equipe:" + equipe : "regle:" + nom;
+            this.agents = Set.copyOf(agents);
+        }
+
+        public String getNom() { return nom; }
+
+        public int getOrdre() { return ordre; }
+
+        public UUID getCategorieId() { return categorieId; }
+
+        public UUID getSousCategorieId() { return sousCategorieId; }
+
+        public Reclamation.Priorite getPriorite() { return priorite; }
+
+        public String getLieu() { return lieu; }
+
+        public String getEquipe() { return equipe; }
+
+        /**
+         * @return the key of the target pool in the agent workload index
+         */
+        public String getPool() { return pool; }
+
+        public Set<UUID> getAgents() { return agents; }
+
+        /**
+         * @return the number of criteria set on the rule
+         */
+        public int getSpecificite() {
+            return (categorieId != null ? 1 : 0) + (sousCategorieId != null ? 1 : 0)
+                    + (priorite != null ? 1 : 0) + (lieuNormalise != null ? 1 : 0);
+        }
+
+        /**
+         * Reference implementation of the matching, used to check the compiled table.
+         *
+         * @param categorieId     the category
+         * @param sousCategorieId the sub-category
+         * @param priorite        the priority
+         * @param lieu            the location
+         * @return true if every criterion of the rule accepts the complaint
+         */
+        public boolean accepte(UUID categorieId, UUID sousCategorieId, Reclamation.Priorite priorite, String lieu) {
+            if (this.categorieId != null && !this.categorieId.equals(categorieId)) return false;
+            if (this.sousCategorieId != null && !this.sousCategorieId.equals(sousCategorieId)) return false;
+            if (this.priorite != null && this.priorite != priorite) return false;
+            if (lieuNormalise == null) return true;
+            String normalise = normaliser(lieu);
+            return normalise != null && normalise.contains(lieuNormalise);
+        }
+    }
+}
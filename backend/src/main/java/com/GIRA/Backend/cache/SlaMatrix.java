@@ -0,0 +1,104 @@
+package com.GIRA.Backend.cache;
+
+import com.GIRA.Backend.DTO.response.CategorieTreeResponse;
+import com.GIRA.Backend.Entities.Reclamation;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable, compiled SLA lookup table (category x priority -> hours).
+ * <p>
+ * Every cell is resolved at build time using the precedence
+ * explicit rule &gt; category {@code tempsResolutionEstime} &gt; global default,
+ * so a lookup is one hash probe for the category slot followed by a flat array read.
+ * Instances are published by {@code SlaPolicyService} through a volatile reference and never mutated.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class SlaMatrix {
+
+    private static final Reclamation.Priorite[] PRIORITES = Reclamation.Priorite.values();
+    private static final int WIDTH = PRIORITES.length;
+
+    private final long treeVersion;
+    private final int defaultHours;
+    private final Map<UUID, Integer> slots;
+    private final int[] hours;
+    private final Map<UUID, Map<Reclamation.Priorite, Integer>> rules;
+
+    private SlaMatrix(long treeVersion, int defaultHours, Map<UUID, Integer> slots, int[] hours,
+                      Map<UUID, Map<Reclamation.Priorite, Integer>> rules) {
+        this.treeVersion = treeVersion;
+        this.defaultHours = defaultHours;
+        this.slots = slots;
+        this.hours = hours;
+        this.rules = rules;
+    }
+
+    /**
+     * Compiles the table.
+     *
+     * @param categories   all known categories (from the category tree snapshot)
+     * @param rules        explicit rules keyed by category id then priority
+     * @param defaultHours global fallback in hours
+     * @param treeVersion  version of the category snapshot the table was compiled against
+     * @return the compiled matrix
+     */
+    public static SlaMatrix build(Collection<CategorieTreeResponse> categories,
+                                  Map<UUID, Map<Reclamation.Priorite, Integer>> rules,
+                                  int defaultHours, long treeVersion) {
+        Map<UUID, Integer> categoryDefaults = new HashMap<>();
+        for (CategorieTreeResponse categorie : categories) {
+            categoryDefaults.put(categorie.getId(), categorie.getTempsResolutionEstime());
+        }
+        // Rules may target a category created after the last tree snapshot; give it a slot anyway
+        for (UUID categorieId : rules.keySet()) {
+            categoryDefaults.putIfAbsent(categorieId, null);
+        }
+
+        Map<UUID, Integer> slots = new HashMap<>(categoryDefaults.size() * 2);
+        int[] hours = new int[categoryDefaults.size() * WIDTH];
+        int slot = 0;
+        for (Map.Entry<UUID, Integer> entry : categoryDefaults.entrySet()) {
+            Integer categoryHours = entry.getValue();
+            int fallback = categoryHours != null && categoryHours > 0 ? categoryHours : defaultHours;
+            Map<Reclamation.Priorite, Integer> categoryRules = rules.getOrDefault(entry.getKey(), Map.of());
+            for (Reclamation.Priorite priorite : PRIORITES) {
+                hours[slot * WIDTH + priorite.ordinal()] = categoryRules.getOrDefault(priorite, fallback);
+            }
+            slots.put(entry.getKey(), slot++);
+        }
+
+        Map<UUID, Map<Reclamation.Priorite, Integer>> frozenRules = new HashMap<>();
+        rules.forEach((id, byPriorite) -> frozenRules.put(id, Map.copyOf(byPriorite)));
+        return new SlaMatrix(treeVersion, defaultHours, Map.copyOf(slots), hours, Map.copyOf(frozenRules));
+    }
+
+    /**
+     * Returns the SLA duration in hours for the given category and priority.
+     *
+     * @param categorieId the category id (may be null)
+     * @param priorite    the priority (may be null)
+     * @return the SLA duration in hours
+     */
+    public int getHours(UUID categorieId, Reclamation.Priorite priorite) {
+        if (categorieId == null || priorite == null) return defaultHours;
+        Integer slot = slots.get(categorieId);
+        if (slot == null) return defaultHours;
+        return hours[slot * WIDTH + priorite.ordinal()];
+    }
+
+    /**
+     * @return the explicit rules the table was compiled from (category id -> priority -> hours)
+     */
+    public Map<UUID, Map<Reclamation.Priorite, Integer>> getRules() { return rules; }
+
+    public int getDefaultHours() { return defaultHours; }
+
+    public long getTreeVersion() { return treeVersion; }
+}
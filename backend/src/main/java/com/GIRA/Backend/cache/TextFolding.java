@@ -0,0 +1,65 @@
+package com.GIRA.Backend.cache;
+
+import java.text.Normalizer;
+
+/**
+ * Character folding shared by the text matching structures (keyword classifier, duplicate signatures).
+ * <p>
+ * A character folds to its lower case form without accent ('É' to 'e', 'œ' to "oe"), to a separator if it is not
+ * alphanumeric, or is ignored (combining marks of decomposed text). The Latin range is served from a table
+ * computed once; other characters go through {@link Character}. Folding works one character at a time so callers
+ * can scan a text without building a normalised copy.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class TextFolding {
+
+    /** Folded value of a separator (any non alphanumeric character). */
+    public static final int SEPARATEUR = 0;
+    /** Folded value of an ignored character. */
+    public static final int IGNORE = -1;
+
+    /** Folded form of the characters below U+0250: separator, ignored, else up to two chars packed. */
+    private static final int[] FOLD = new int[0x250];
+
+    static {
+        for (char c = 0; c < FOLD.length; c++) {
+            FOLD[c] = foldLent(c);
+        }
+    }
+
+    private TextFolding() {
+    }
+
+    /**
+     * Folds a character.
+     *
+     * @param c the character
+     * @return {@link #SEPARATEUR}, {@link #IGNORE}, or the folded character in the low 16 bits with an optional
+     *         second character in the high 16 bits (ligatures)
+     */
+    public static int fold(char c) {
+        if (c < FOLD.length) return FOLD[c];
+        int type = Character.getType(c);
+        if (type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK) return IGNORE;
+        return Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : SEPARATEUR;
+    }
+
+    private static int foldLent(char c) {
+        switch (c) {
+            case 'œ', 'Œ': return 'o' | ('e' << 16);
+            case 'æ', 'Æ': return 'a' | ('e' << 16);
+            case 'ß': return 's' | ('s' << 16);
+            case 'ø', 'Ø': return 'o';
+            case 'đ', 'Đ': return 'd';
+            case 'ł', 'Ł': return 'l';
+            default: break;
+        }
+        if (!Character.isLetterOrDigit(c)) return SEPARATEUR;
+        String decompose = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        char base = decompose.charAt(0);
+        return Character.isLetterOrDigit(base) ? Character.toLowerCase(base) : Character.toLowerCase(c);
+    }
+}
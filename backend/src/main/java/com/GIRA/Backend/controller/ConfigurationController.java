@@ -0,0 +1,75 @@
+package com.GIRA.Backend.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.GIRA.Backend.DTO.common.ApiResponse;
+import com.GIRA.Backend.DTO.request.ConfigurationUpdateRequest;
+import com.GIRA.Backend.DTO.response.ConfigurationResponse;
+import com.GIRA.Backend.service.interfaces.ConfigurationService;
+
+import jakarta.validation.Valid;
+
+/**
+ * Contrôleur REST pour la gestion des paramètres de configuration (admin uniquement).
+ * Les modifications sont propagées aux autres instances du backend dès la validation de la transaction.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/configurations")
+@PreAuthorize("hasRole('ADMIN')")
+public class ConfigurationController {
+
+    private final ConfigurationService configurationService;
+
+    @Autowired
+    public ConfigurationController(ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+    }
+
+    /**
+     * Liste tous les paramètres de configuration.
+     *
+     * @return la liste des paramètres
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<ConfigurationResponse>>> getAllConfigurations() {
+        return ResponseEntity.ok(ApiResponse.success("Configurations récupérées", configurationService.getAllConfigurations()));
+    }
+
+    /**
+     * Crée ou met à jour un paramètre de configuration.
+     *
+     * @param cle la clé du paramètre
+     * @param request la nouvelle valeur
+     * @return le paramètre enregistré
+     */
+    @PutMapping("/{cle}")
+    public ResponseEntity<ApiResponse<ConfigurationResponse>> saveConfiguration(@PathVariable String cle, @Valid @RequestBody ConfigurationUpdateRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Configuration enregistrée", configurationService.saveConfiguration(cle, request)));
+    }
+
+    /**
+     * Supprime un paramètre de configuration.
+     *
+     * @param cle la clé du paramètre
+     * @return confirmation de suppression
+     */
+    @DeleteMapping("/{cle}")
+    public ResponseEntity<ApiResponse<Void>> deleteConfiguration(@PathVariable String cle) {
+        configurationService.deleteConfiguration(cle);
+        return ResponseEntity.ok(ApiResponse.success("Configuration supprimée", null));
+    }
+}
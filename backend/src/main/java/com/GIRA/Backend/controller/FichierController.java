@@ -1,31 +1,46 @@
 package com.GIRA.Backend.controller;
 
+import com.GIRA.Backend.DTO.request.ReclamationFilterRequest;
+import com.GIRA.Backend.DTO.response.BlobMigrationResponse;
 import com.GIRA.Backend.DTO.response.FichierResponse;
+import com.GIRA.Backend.DTO.response.TieringResponse;
 import com.GIRA.Backend.Entities.Fichier;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.exception.ResourceNotFoundException;
+import com.GIRA.Backend.mapper.FichierMapper;
+import com.GIRA.Backend.service.interfaces.BlobService;
+import com.GIRA.Backend.service.interfaces.FichierArchiveService;
 import com.GIRA.Backend.service.interfaces.FichierService;
+import com.GIRA.Backend.service.interfaces.MediaService;
 import com.GIRA.Backend.service.interfaces.ReclamationService;
+import com.GIRA.Backend.service.interfaces.SignedUrlService;
 import com.GIRA.Backend.service.interfaces.UserService;
 import com.GIRA.Backend.DTO.common.ApiResponse;
 import com.GIRA.Backend.security.UserPrincipal;
+import com.GIRA.Backend.storage.ImageDerivatives;
+import com.GIRA.Backend.storage.RangeTransfer;
+import com.GIRA.Backend.storage.StoredContent;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import org.springframework.security.core.context.SecurityContextHolder;
-import java.time.Duration;
-import java.time.Instant;
 import java.net.URI;
 
 /**
@@ -38,15 +53,28 @@ import java.net.URI;
 @RestController
 @RequestMapping("/api/fichiers")
 public class FichierController {
+    private static final DateTimeFormatter ARCHIVE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
     private final FichierService fichierService;
     private final ReclamationService reclamationService;
     private final UserService userService;
+    private final BlobService blobService;
+    private final SignedUrlService signedUrlService;
+    private final FichierArchiveService fichierArchiveService;
+    private final MediaService mediaService;
 
     @Autowired
-    public FichierController(FichierService fichierService, ReclamationService reclamationService, UserService userService) {
+    public FichierController(FichierService fichierService, ReclamationService reclamationService, UserService userService,
+                             BlobService blobService, SignedUrlService signedUrlService, FichierArchiveService fichierArchiveService,
+                             MediaService mediaService) {
         this.fichierService = fichierService;
         this.reclamationService = reclamationService;
         this.userService = userService;
+        this.blobService = blobService;
+        this.signedUrlService = signedUrlService;
+        this.fichierArchiveService = fichierArchiveService;
+        this.mediaService = mediaService;
     }
 
     /**
@@ -75,12 +103,16 @@ public class FichierController {
                 .reclamationId(fichier.getReclamation() != null ? fichier.getReclamation().getId() : null)
                 .uploadedBy(fichier.getUploadePar() != null ? fichier.getUploadePar().getId() : null)
                 .dateUpload(fichier.getDateUpload())
+                .thumbnailUrl(FichierMapper.urlDerive(fichier, ImageDerivatives.Variante.MINIATURE))
+                .previewUrl(FichierMapper.urlDerive(fichier, ImageDerivatives.Variante.APERCU))
                 .build();
         return ResponseEntity.ok(ApiResponse.success("Fichier uploadé avec succès", response));
     }
 
     /**
      * Generates a signed URL for downloading a file (valid for a limited time).
+     * The URL is served by {@link SignedDownloadController} without authentication nor database query,
+     * so it can be handed to a browser, a mail or a mobile player.
      *
      * @param id the file UUID
      * @param durationSeconds validity duration in seconds
@@ -103,25 +135,25 @@ public class FichierController {
         if (!(isAdmin || isOwner || isComplaintOwner || isAssignedAgent)) {
             return ResponseEntity.status(403).body(ApiResponse.error("Vous n'êtes pas autorisé à accéder à ce fichier."));
         }
-        // Generate a pseudo signed URL (for demo; in production, use a real signing mechanism)
-        long expiresAt = Instant.now().plus(Duration.ofSeconds(durationSeconds)).getEpochSecond();
-        String token = java.util.Base64.getEncoder().encodeToString((id.toString() + ":" + expiresAt).getBytes());
-        String signedUrl = String.format("/api/fichiers/download/%s?token=%s&expires=%d", id, token, expiresAt);
+        String signedUrl = signedUrlService.signer(fichier, durationSeconds);
         return ResponseEntity.ok(ApiResponse.success("URL signée générée", signedUrl));
     }
 
     /**
      * Downloads a file by its ID (secured).
      *
+     * Supports conditional GET (strong ETag from the content hash, 304) and single or multiple byte ranges (206),
+     * so interrupted downloads resume and unchanged files are not sent again.
+     *
      * @param id the file UUID
-     * @return the file as a resource
      */
     @GetMapping("/download/{id}")
     @PreAuthorize("hasAnyRole('PASSAGER', 'AGENT', 'ADMIN')")
-    public ResponseEntity<Resource> downloadFile(@PathVariable UUID id, @RequestParam(required = false) String token, @RequestParam(required = false) Long expires) throws IOException {
+    public void downloadFile(@PathVariable UUID id, HttpServletRequest request, HttpServletResponse response) throws IOException {
         Fichier fichier = fichierService.getFileById(id);
         if (fichier == null) {
-            return ResponseEntity.notFound().build();
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
         // Access control: Only complaint owner, assigned agent, or admin
         UserPrincipal userPrincipal = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
@@ -131,29 +163,55 @@ public class FichierController {
         boolean isComplaintOwner = fichier.getReclamation() != null && fichier.getReclamation().getUtilisateur() != null && fichier.getReclamation().getUtilisateur().getId().equals(userId);
         boolean isAssignedAgent = fichier.getReclamation() != null && fichier.getReclamation().getAgentAssigne() != null && fichier.getReclamation().getAgentAssigne().getId().equals(userId);
         if (!(isAdmin || isOwner || isComplaintOwner || isAssignedAgent)) {
-            return ResponseEntity.status(403).build();
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
         }
-        // If token/expires are present, validate pseudo signed URL
-        if (token != null && expires != null) {
-            long now = Instant.now().getEpochSecond();
-            if (now > expires) {
-                return ResponseEntity.status(403).build();
-            }
-            String expectedToken = java.util.Base64.getEncoder().encodeToString((id.toString() + ":" + expires).getBytes());
-            if (!expectedToken.equals(token)) {
-                return ResponseEntity.status(403).build();
-            }
-        }
-        Path filePath = Paths.get(fichier.getCheminComplet());
-        Resource resource = new org.springframework.core.io.UrlResource(filePath.toUri());
+        // Hot blob, or cold copy decoded on the fly
+        StoredContent contenu = blobService.localiser(fichier);
         String contentType = fichier.getTypeMime();
-        if (contentType == null) {
-            contentType = Files.probeContentType(filePath);
+        if (contentType == null && contenu.estLocal() && !contenu.estEncode()) {
+            contentType = Files.probeContentType(contenu.getChemin());
         }
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fichier.getNomOriginal() + "\"")
-                .body(resource);
+        RangeTransfer.envoyer(request, response, contenu, fichier.getHashFichier(), contentType, fichier.getNomOriginal());
+    }
+
+    /**
+     * Downloads a derivative of an image: 'thumb' (thumbnail) or 'preview' (downscaled preview), without metadata.
+     * Derivatives are generated in the background after upload; until one is ready, the original is sent and its
+     * generation is queued.
+     *
+     * @param id the file UUID
+     * @param variante thumb or preview
+     */
+    @GetMapping("/download/{id}/{variante}")
+    @PreAuthorize("hasAnyRole('PASSAGER', 'AGENT', 'ADMIN')")
+    public void downloadDerivative(@PathVariable UUID id, @PathVariable String variante,
+                                   HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImageDerivatives.Variante derivee = ImageDerivatives.Variante.parSuffixe(variante);
+        Fichier fichier = derivee != null ? fichierService.getFileById(id) : null;
+        if (fichier == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        // Access control: Only complaint owner, assigned agent, or admin
+        UserPrincipal userPrincipal = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        UUID userId = userPrincipal.getId();
+        boolean isAdmin = userPrincipal.getRole().equals("ADMIN");
+        boolean isOwner = fichier.getUploadePar() != null && fichier.getUploadePar().getId().equals(userId);
+        boolean isComplaintOwner = fichier.getReclamation() != null && fichier.getReclamation().getUtilisateur() != null && fichier.getReclamation().getUtilisateur().getId().equals(userId);
+        boolean isAssignedAgent = fichier.getReclamation() != null && fichier.getReclamation().getAgentAssigne() != null && fichier.getReclamation().getAgentAssigne().getId().equals(userId);
+        if (!(isAdmin || isOwner || isComplaintOwner || isAssignedAgent)) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        Path derive = mediaService.getDerive(fichier, derivee);
+        if (derive == null) {
+            RangeTransfer.envoyer(request, response, blobService.localiser(fichier), fichier.getHashFichier(),
+                    fichier.getTypeMime(), fichier.getNomOriginal());
+            return;
+        }
+        String hash = fichier.getHashFichier() != null ? fichier.getHashFichier() + "-" + derivee.getSuffixe() : null;
+        RangeTransfer.envoyer(request, response, derive, hash, "image/jpeg", fichier.getNomOriginal() + "." + derivee.getSuffixe() + ".jpg");
     }
 
     /**
@@ -186,11 +244,63 @@ public class FichierController {
                         .reclamationId(f.getReclamation() != null ? f.getReclamation().getId() : null)
                         .uploadedBy(f.getUploadePar() != null ? f.getUploadePar().getId() : null)
                         .dateUpload(f.getDateUpload())
+                        .thumbnailUrl(FichierMapper.urlDerive(f, ImageDerivatives.Variante.MINIATURE))
+                        .previewUrl(FichierMapper.urlDerive(f, ImageDerivatives.Variante.APERCU))
                         .build())
                 .collect(Collectors.toList());
         return ResponseEntity.ok(ApiResponse.success("Liste des fichiers récupérée", files));
     }
 
+    /**
+     * Downloads every file of a complaint as a ZIP archive, one folder named after the complaint number.
+     * The archive is built while it is sent: already compressed media (photos, videos, PDF) is stored as is,
+     * and nothing is buffered in memory.
+     *
+     * @param reclamationId the complaint UUID
+     * @return the archive, streamed
+     */
+    @GetMapping("/archive/reclamation/{reclamationId}")
+    @PreAuthorize("hasAnyRole('PASSAGER', 'AGENT', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> downloadArchive(@PathVariable UUID reclamationId) {
+        Reclamation reclamation = reclamationService.getReclamationById(reclamationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Réclamation non trouvée"));
+        // Access control: Only complaint owner, assigned agent, or admin
+        UserPrincipal userPrincipal = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        UUID userId = userPrincipal.getId();
+        boolean isAdmin = userPrincipal.getRole().equals("ADMIN");
+        boolean isComplaintOwner = reclamation.getUtilisateur() != null && reclamation.getUtilisateur().getId().equals(userId);
+        boolean isAssignedAgent = reclamation.getAgentAssigne() != null && reclamation.getAgentAssigne().getId().equals(userId);
+        if (!(isAdmin || isComplaintOwner || isAssignedAgent)) {
+            return ResponseEntity.status(403).build();
+        }
+        StreamingResponseBody body = out -> fichierArchiveService.archiverReclamation(reclamationId, out);
+        return archive(reclamation.getNumero() + ".zip", body);
+    }
+
+    /**
+     * Downloads every file of the complaints matching a filter as a ZIP archive, one folder per complaint.
+     * Criteria are those of /api/reclamations/search (pagination ignored); agents only get the complaints
+     * assigned to them. Thousands of files are streamed without buffering.
+     *
+     * @param filterRequest the search criteria (optional)
+     * @return the archive, streamed
+     */
+    @PostMapping("/archive")
+    @PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> downloadArchive(@RequestBody(required = false) ReclamationFilterRequest filterRequest) {
+        UserPrincipal userPrincipal = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        UUID agentId = userPrincipal.getRole().equals("ADMIN") ? null : userPrincipal.getId();
+        StreamingResponseBody body = out -> fichierArchiveService.archiver(filterRequest, agentId, out);
+        return archive("pieces-jointes-" + LocalDateTime.now().format(ARCHIVE_TIMESTAMP) + ".zip", body);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> archive(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_ZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
     /**
      * Deletes a file by its ID (admin or file owner only).
      *
@@ -212,4 +322,28 @@ public class FichierController {
         fichierService.deleteFile(id);
         return ResponseEntity.ok(ApiResponse.success("Fichier supprimé", null));
     }
-} 
\ No newline at end of file
+
+    /**
+     * Migrates the files uploaded before the content-addressed store into it (admin only).
+     * Identical files are kept once; the report gives the disk space reclaimed.
+     *
+     * @return the migration report
+     */
+    @PostMapping("/blobs/migration")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<BlobMigrationResponse>> migrerBlobs() {
+        return ResponseEntity.ok(ApiResponse.success("Migration des fichiers terminée", blobService.migrer()));
+    }
+
+    /**
+     * Moves the attachments of complaints closed for a while to the cold storage directory (admin only).
+     * Compressible contents are gzip encoded; the report gives the space saved and the extra read cost.
+     *
+     * @return the tiering report
+     */
+    @PostMapping("/blobs/tiering")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<TieringResponse>> refroidirBlobs() {
+        return ResponseEntity.ok(ApiResponse.success("Déplacement vers le stockage froid terminé", blobService.refroidir()));
+    }
+}
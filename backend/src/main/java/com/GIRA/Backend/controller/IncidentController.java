@@ -0,0 +1,75 @@
+package com.GIRA.Backend.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.GIRA.Backend.DTO.common.ApiResponse;
+import com.GIRA.Backend.DTO.request.IncidentReplayRequest;
+import com.GIRA.Backend.DTO.response.IncidentResponse;
+import com.GIRA.Backend.service.interfaces.IncidentService;
+
+import jakarta.validation.Valid;
+
+/**
+ * Contrôleur REST pour les incidents détectés automatiquement (rafales de réclamations d'une même catégorie
+ * sur un même lieu) et pour le rejeu de périodes passées, utilisé pour régler les seuils.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/incidents")
+public class IncidentController {
+
+    private final IncidentService incidentService;
+
+    @Autowired
+    public IncidentController(IncidentService incidentService) {
+        this.incidentService = incidentService;
+    }
+
+    /**
+     * Liste les incidents détectés récemment, du plus récent au plus ancien.
+     *
+     * @return la liste des incidents
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<IncidentResponse>>> getIncidents() {
+        return ResponseEntity.ok(ApiResponse.success("Incidents récupérés", incidentService.getIncidents()));
+    }
+
+    /**
+     * Rejoue les réclamations d'une période passée dans un détecteur séparé, sans notification,
+     * sans attente par défaut ou à la vitesse demandée. La période est limitée (31 jours par défaut), tout comme
+     * la durée d'un rejeu cadencé.
+     *
+     * @param request la période, la vitesse et éventuellement les seuils à tester
+     * @return les incidents qui auraient été levés
+     */
+    @PostMapping("/replay")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<IncidentResponse>>> rejouer(@Valid @RequestBody IncidentReplayRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Rejeu terminé", incidentService.rejouer(request)));
+    }
+
+    /**
+     * Reconstruit le détecteur à partir des paramètres et des réclamations de la fenêtre courante.
+     *
+     * @return une réponse vide
+     */
+    @PostMapping("/reload")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> reload() {
+        incidentService.reload();
+        return ResponseEntity.ok(ApiResponse.success("Détecteur d'incidents rechargé", null));
+    }
+}
@@ -0,0 +1,79 @@
+package com.GIRA.Backend.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.GIRA.Backend.DTO.common.ApiResponse;
+import com.GIRA.Backend.DTO.response.CategorieTreeResponse;
+import com.GIRA.Backend.cache.CategorieTree;
+import com.GIRA.Backend.exception.ResourceNotFoundException;
+import com.GIRA.Backend.service.interfaces.CategorieTreeService;
+
+/**
+ * Contrôleur REST public pour la consultation de l'arborescence des catégories.
+ * Sert l'instantané en mémoire avec un ETag fort et répond 304 lorsque le client possède déjà la version courante.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/public/categories")
+public class PublicCategorieController {
+
+    private final CategorieTreeService categorieTreeService;
+
+    @Autowired
+    public PublicCategorieController(CategorieTreeService categorieTreeService) {
+        this.categorieTreeService = categorieTreeService;
+    }
+
+    /**
+     * Récupère l'arborescence complète des catégories actives (catégories, enfants et sous-catégories).
+     *
+     * @param webRequest la requête courante (en-tête If-None-Match)
+     * @return l'arborescence, ou 304 si l'ETag correspond
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<CategorieTreeResponse>>> getCategorieTree(WebRequest webRequest) {
+        CategorieTree tree = categorieTreeService.getTree();
+        if (webRequest.checkNotModified(tree.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tree.getEtag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(tree.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success("Arborescence des catégories récupérée", tree.getRacines()));
+    }
+
+    /**
+     * Récupère un nœud de l'arborescence (catégorie, enfants et sous-catégories).
+     *
+     * @param id l'identifiant de la catégorie
+     * @param webRequest la requête courante (en-tête If-None-Match)
+     * @return le nœud, ou 304 si l'ETag correspond
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<CategorieTreeResponse>> getCategorieNode(@PathVariable UUID id, WebRequest webRequest) {
+        CategorieTree tree = categorieTreeService.getTree();
+        CategorieTreeResponse node = tree.findCategorie(id)
+                .filter(CategorieTreeResponse::isActif)
+                .orElseThrow(() -> new ResourceNotFoundException("Catégorie non trouvée"));
+        if (webRequest.checkNotModified(tree.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tree.getEtag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(tree.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success("Catégorie récupérée", node));
+    }
+}
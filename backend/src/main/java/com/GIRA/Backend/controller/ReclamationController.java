@@ -1,15 +1,25 @@
 package com.GIRA.Backend.controller;
 
+import com.GIRA.Backend.DTO.request.ReclamationBulkUpdateRequest;
 import com.GIRA.Backend.DTO.request.ReclamationCreateRequest;
 import com.GIRA.Backend.DTO.request.ReclamationUpdateRequest;
+import com.GIRA.Backend.DTO.response.ImportResultResponse;
+import com.GIRA.Backend.DTO.response.ReclamationBulkUpdateResponse;
 import com.GIRA.Backend.DTO.response.ReclamationListResponse;
 import com.GIRA.Backend.DTO.response.ReclamationResponse;
 import com.GIRA.Backend.DTO.common.ApiResponse;
 import com.GIRA.Backend.DTO.request.ReclamationFilterRequest;
 import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.service.interfaces.DoublonService;
+import com.GIRA.Backend.service.interfaces.ReclamationBulkService;
+import com.GIRA.Backend.service.interfaces.ReclamationExportService;
+import com.GIRA.Backend.service.interfaces.ReclamationImportService;
 import com.GIRA.Backend.service.interfaces.ReclamationService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -17,7 +27,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.UUID;
 
@@ -32,11 +47,23 @@ import java.util.UUID;
 @RequestMapping("/api/reclamations")
 public class ReclamationController {
 
+    private static final DateTimeFormatter EXPORT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
     private final ReclamationService reclamationService;
+    private final ReclamationExportService reclamationExportService;
+    private final ReclamationImportService reclamationImportService;
+    private final ReclamationBulkService reclamationBulkService;
+    private final DoublonService doublonService;
 
     @Autowired
-    public ReclamationController(ReclamationService reclamationService) {
+    public ReclamationController(ReclamationService reclamationService, ReclamationExportService reclamationExportService,
+                                 ReclamationImportService reclamationImportService, ReclamationBulkService reclamationBulkService,
+                                 DoublonService doublonService) {
         this.reclamationService = reclamationService;
+        this.reclamationExportService = reclamationExportService;
+        this.reclamationImportService = reclamationImportService;
+        this.reclamationBulkService = reclamationBulkService;
+        this.doublonService = doublonService;
     }
 
     /**
@@ -67,6 +94,66 @@ public class ReclamationController {
         return ResponseEntity.ok(ApiResponse.success("Liste des réclamations filtrée récupérée", responses));
     }
 
+    /**
+     * Export en flux des réclamations filtrées (CSV ou NDJSON, éventuellement compressé en gzip).
+     * Les lignes sont écrites au fil de la lecture du curseur : la mémoire utilisée ne dépend pas du volume exporté.
+     * Les critères sont ceux de /search ; la pagination et le tri sont ignorés (ordre de création).
+     *
+     * @param filterRequest critères de filtrage (optionnels)
+     * @param format        csv (défaut) ou ndjson
+     * @param gzip          compresse le fichier (.gz)
+     * @return le fichier d'export en flux
+     */
+    @PostMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportReclamations(
+            @RequestBody(required = false) ReclamationFilterRequest filterRequest,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+        ReclamationExportService.Format exportFormat = ReclamationExportService.Format.parse(format);
+        String filename = "reclamations-" + LocalDateTime.now().format(EXPORT_TIMESTAMP) + "." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> reclamationExportService.exporter(filterRequest, exportFormat, gzip, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    /**
+     * Import en masse de réclamations depuis un fichier CSV (avec ligne d'en-tête) ou NDJSON envoyé en corps de requête.
+     * Mêmes colonnes que l'export ; les lignes invalides sont rejetées individuellement et listées dans le résultat.
+     *
+     * @param body   le fichier, éventuellement compressé en gzip
+     * @param format csv (défaut) ou ndjson
+     * @param gzip   le corps est compressé en gzip
+     * @return le bilan de l'import (lignes importées, rejetées et erreurs par ligne)
+     */
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ImportResultResponse>> importReclamations(
+            InputStream body,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) throws IOException {
+        ImportResultResponse result = reclamationImportService.importer(body, ReclamationExportService.Format.parse(format), gzip);
+        return ResponseEntity.ok(ApiResponse.success("Import des réclamations terminé", result));
+    }
+
+    /**
+     * Mise à jour en masse : applique une opération (assignation, statut ou priorité) à une liste de réclamations
+     * dans une seule transaction. Historique et notifications sont produits comme pour une mise à jour unitaire,
+     * une notification récapitulative par destinataire.
+     *
+     * @param request l'opération et les identifiants des réclamations (1000 au plus)
+     * @return le résultat pour chaque réclamation demandée
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
+    public ResponseEntity<ApiResponse<ReclamationBulkUpdateResponse>> bulkUpdateReclamations(
+            @Valid @RequestBody ReclamationBulkUpdateRequest request) {
+        ReclamationBulkUpdateResponse response = reclamationBulkService.appliquer(request);
+        return ResponseEntity.ok(ApiResponse.success("Mise à jour en masse effectuée", response));
+    }
+
     /**
      * Lists complaints with advanced filtering, pagination, and sorting.
      *
@@ -107,6 +194,20 @@ public class ReclamationController {
         return ResponseEntity.ok(ApiResponse.success("Réclamation récupérée", response));
     }
 
+    /**
+     * Liste le groupe de doublons d'une réclamation : la réclamation principale puis ses doublons détectés,
+     * du plus ancien au plus récent. Les identifiants peuvent être passés tels quels à {@code /bulk}.
+     *
+     * @param id une réclamation du groupe
+     * @return les réclamations du groupe
+     */
+    @GetMapping("/{id}/doublons")
+    @PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<ReclamationListResponse>>> getDoublons(@PathVariable UUID id) {
+        List<ReclamationListResponse> groupe = doublonService.getGroupe(id);
+        return ResponseEntity.ok(ApiResponse.success("Groupe de doublons récupéré", groupe));
+    }
+
     /**
      * Updates a complaint (status, assignment, etc.).
      *
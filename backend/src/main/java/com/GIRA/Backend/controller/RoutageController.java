@@ -0,0 +1,145 @@
+package com.GIRA.Backend.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.GIRA.Backend.DTO.common.ApiResponse;
+import com.GIRA.Backend.DTO.request.RoutageEquipeRequest;
+import com.GIRA.Backend.DTO.request.RoutageRegleRequest;
+import com.GIRA.Backend.DTO.response.RoutageEquipeResponse;
+import com.GIRA.Backend.DTO.response.RoutageRegleResponse;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.service.interfaces.RoutageService;
+
+import jakarta.validation.Valid;
+
+/**
+ * Contrôleur REST pour les règles de routage des réclamations (catégorie, sous-catégorie, priorité, lieu
+ * vers une équipe ou une liste d'agents) et pour les équipes.
+ * Toute modification est prise en compte dès la validation de la transaction, sans redémarrage.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/routage")
+@PreAuthorize("hasRole('ADMIN')")
+public class RoutageController {
+
+    private final RoutageService routageService;
+
+    @Autowired
+    public RoutageController(RoutageService routageService) {
+        this.routageService = routageService;
+    }
+
+    /**
+     * Liste les règles de routage dans leur ordre d'évaluation.
+     *
+     * @return la liste des règles
+     */
+    @GetMapping("/regles")
+    public ResponseEntity<ApiResponse<List<RoutageRegleResponse>>> getRegles() {
+        return ResponseEntity.ok(ApiResponse.success("Règles de routage récupérées", routageService.getRegles()));
+    }
+
+    /**
+     * Crée ou met à jour une règle de routage.
+     *
+     * @param nom le nom de la règle
+     * @param request la règle
+     * @return la règle enregistrée
+     */
+    @PutMapping("/regles/{nom}")
+    public ResponseEntity<ApiResponse<RoutageRegleResponse>> saveRegle(@PathVariable String nom, @Valid @RequestBody RoutageRegleRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Règle de routage enregistrée", routageService.saveRegle(nom, request)));
+    }
+
+    /**
+     * Supprime une règle de routage.
+     *
+     * @param nom le nom de la règle
+     * @return confirmation
+     */
+    @DeleteMapping("/regles/{nom}")
+    public ResponseEntity<ApiResponse<Void>> deleteRegle(@PathVariable String nom) {
+        routageService.deleteRegle(nom);
+        return ResponseEntity.ok(ApiResponse.success("Règle de routage supprimée", null));
+    }
+
+    /**
+     * Indique la règle qui s'appliquerait à une réclamation (simulation, sans assignation).
+     *
+     * @param categorieId la catégorie
+     * @param sousCategorieId la sous-catégorie (optionnelle)
+     * @param priorite la priorité
+     * @param lieu la description du lieu (optionnelle)
+     * @return la règle retenue, ou null si aucune ne s'applique
+     */
+    @GetMapping("/evaluer")
+    public ResponseEntity<ApiResponse<RoutageRegleResponse>> evaluer(@RequestParam UUID categorieId,
+                                                                     @RequestParam(required = false) UUID sousCategorieId,
+                                                                     @RequestParam Reclamation.Priorite priorite,
+                                                                     @RequestParam(required = false) String lieu) {
+        RoutageRegleResponse regle = routageService.simuler(categorieId, sousCategorieId, priorite, lieu).orElse(null);
+        return ResponseEntity.ok(ApiResponse.success(regle != null ? "Règle applicable trouvée" : "Aucune règle applicable", regle));
+    }
+
+    /**
+     * Liste les équipes de routage.
+     *
+     * @return la liste des équipes
+     */
+    @GetMapping("/equipes")
+    public ResponseEntity<ApiResponse<List<RoutageEquipeResponse>>> getEquipes() {
+        return ResponseEntity.ok(ApiResponse.success("Équipes récupérées", routageService.getEquipes()));
+    }
+
+    /**
+     * Crée ou met à jour une équipe de routage.
+     *
+     * @param nom le nom de l'équipe
+     * @param request les agents membres
+     * @return l'équipe enregistrée
+     */
+    @PutMapping("/equipes/{nom}")
+    public ResponseEntity<ApiResponse<RoutageEquipeResponse>> saveEquipe(@PathVariable String nom, @Valid @RequestBody RoutageEquipeRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Équipe enregistrée", routageService.saveEquipe(nom, request)));
+    }
+
+    /**
+     * Supprime une équipe qui n'est plus ciblée par aucune règle.
+     *
+     * @param nom le nom de l'équipe
+     * @return confirmation
+     */
+    @DeleteMapping("/equipes/{nom}")
+    public ResponseEntity<ApiResponse<Void>> deleteEquipe(@PathVariable String nom) {
+        routageService.deleteEquipe(nom);
+        return ResponseEntity.ok(ApiResponse.success("Équipe supprimée", null));
+    }
+
+    /**
+     * Recompile les règles de routage depuis la configuration.
+     *
+     * @return confirmation
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<ApiResponse<Void>> reload() {
+        routageService.reload();
+        return ResponseEntity.ok(ApiResponse.success("Règles de routage rechargées", null));
+    }
+}
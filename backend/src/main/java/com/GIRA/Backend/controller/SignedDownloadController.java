@@ -0,0 +1,70 @@
+package com.GIRA.Backend.controller;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.GIRA.Backend.service.interfaces.BlobService;
+import com.GIRA.Backend.service.interfaces.SignedUrlService;
+import com.GIRA.Backend.storage.RangeTransfer;
+import com.GIRA.Backend.storage.SignedUrlCodec;
+import com.GIRA.Backend.storage.StoredContent;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Contrôleur public des téléchargements par URL signée : le jeton suffit à autoriser et à localiser le fichier,
+ * sans authentification ni requête en base. Les plages d'octets et les requêtes conditionnelles sont supportées.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/public/fichiers")
+public class SignedDownloadController {
+
+    private final SignedUrlService signedUrlService;
+    private final BlobService blobService;
+
+    @Autowired
+    public SignedDownloadController(SignedUrlService signedUrlService, BlobService blobService) {
+        this.signedUrlService = signedUrlService;
+        this.blobService = blobService;
+    }
+
+    /**
+     * Télécharge le fichier autorisé par un jeton signé.
+     *
+     * @param token le jeton de l'URL signée
+     * @throws IOException si le fichier ne peut pas être lu
+     */
+    @GetMapping("/{token}")
+    public void telecharger(@PathVariable String token, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        SignedUrlCodec.Jeton jeton = signedUrlService.verifier(token);
+        if (jeton == null) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        String cle = jeton.getCleStockage();
+        StoredContent contenu;
+        try {
+            contenu = blobService.localiser(cle);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        String hash = cle.startsWith(BlobService.PREFIXE_BLOB) ? cle.substring(BlobService.PREFIXE_BLOB.length()) : null;
+        try {
+            RangeTransfer.envoyer(request, response, contenu, hash, jeton.getTypeMime(), jeton.getNom());
+        } catch (NoSuchFileException e) {
+            // Deleted since the URL was signed
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.GIRA.Backend.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.GIRA.Backend.DTO.common.ApiResponse;
+import com.GIRA.Backend.DTO.request.SlaRuleRequest;
+import com.GIRA.Backend.DTO.response.SlaRuleResponse;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.service.interfaces.SlaPolicyService;
+
+import jakarta.validation.Valid;
+
+/**
+ * Contrôleur REST pour la gestion des règles SLA (catégorie x priorité).
+ * Toute modification est appliquée immédiatement et recalcule les échéances des réclamations ouvertes concernées.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/sla")
+@PreAuthorize("hasRole('ADMIN')")
+public class SlaController {
+
+    private final SlaPolicyService slaPolicyService;
+
+    @Autowired
+    public SlaController(SlaPolicyService slaPolicyService) {
+        this.slaPolicyService = slaPolicyService;
+    }
+
+    /**
+     * Liste les règles SLA explicites.
+     *
+     * @return la liste des règles
+     */
+    @GetMapping("/rules")
+    public ResponseEntity<ApiResponse<List<SlaRuleResponse>>> getRules() {
+        return ResponseEntity.ok(ApiResponse.success("Règles SLA récupérées", slaPolicyService.getRules()));
+    }
+
+    /**
+     * Crée ou met à jour une règle SLA.
+     *
+     * @param request la règle
+     * @return la règle enregistrée et le nombre d'échéances recalculées
+     */
+    @PutMapping("/rules")
+    public ResponseEntity<ApiResponse<SlaRuleResponse>> saveRule(@Valid @RequestBody SlaRuleRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Règle SLA enregistrée", slaPolicyService.saveRule(request)));
+    }
+
+    /**
+     * Supprime une règle SLA ; les réclamations concernées reviennent au délai par défaut.
+     *
+     * @param categorieId l'identifiant de la catégorie
+     * @param priorite la priorité
+     * @return la règle effective après suppression
+     */
+    @DeleteMapping("/rules/{categorieId}/{priorite}")
+    public ResponseEntity<ApiResponse<SlaRuleResponse>> deleteRule(@PathVariable UUID categorieId, @PathVariable Reclamation.Priorite priorite) {
+        return ResponseEntity.ok(ApiResponse.success("Règle SLA supprimée", slaPolicyService.deleteRule(categorieId, priorite)));
+    }
+
+    /**
+     * Recharge les règles SLA depuis la base (après une modification directe de la table configurations).
+     *
+     * @return confirmation
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<ApiResponse<Void>> reload() {
+        slaPolicyService.reload();
+        return ResponseEntity.ok(ApiResponse.success("Règles SLA rechargées", null));
+    }
+}
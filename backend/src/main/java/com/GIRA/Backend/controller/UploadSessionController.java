@@ -0,0 +1,140 @@
+package com.GIRA.Backend.controller;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.GIRA.Backend.DTO.common.ApiResponse;
+import com.GIRA.Backend.DTO.request.UploadSessionRequest;
+import com.GIRA.Backend.DTO.response.FichierResponse;
+import com.GIRA.Backend.DTO.response.UploadSessionResponse;
+import com.GIRA.Backend.Entities.Fichier;
+import com.GIRA.Backend.mapper.FichierMapper;
+import com.GIRA.Backend.security.UserPrincipal;
+import com.GIRA.Backend.service.interfaces.UploadSessionService;
+import com.GIRA.Backend.storage.ImageDerivatives;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+
+/**
+ * Contrôleur REST des uploads reprenables : ouverture d'une session, envoi des morceaux à leur position
+ * (corps brut, dans n'importe quel ordre), consultation des plages reçues après une coupure, puis validation
+ * qui crée le fichier.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/fichiers/sessions")
+public class UploadSessionController {
+
+    private final UploadSessionService uploadSessionService;
+
+    @Autowired
+    public UploadSessionController(UploadSessionService uploadSessionService) {
+        this.uploadSessionService = uploadSessionService;
+    }
+
+    /**
+     * Ouvre une session d'upload.
+     *
+     * @param request la réclamation, le nom, le type et la taille totale du fichier
+     * @return la session créée
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyRole('PASSAGER', 'AGENT', 'ADMIN')")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> initier(@Valid @RequestBody UploadSessionRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Session d'upload ouverte", uploadSessionService.initier(request, currentUserId(), currentUser().getRole())));
+    }
+
+    /**
+     * Écrit un morceau à la position donnée. Le corps de la requête est le contenu brut du morceau et
+     * Content-Length sa longueur.
+     *
+     * @param id     la session
+     * @param offset la position du morceau dans le fichier
+     * @param request la requête HTTP
+     * @return l'état de la session
+     * @throws IOException si le morceau ne peut pas être lu ou écrit
+     */
+    @PutMapping("/{id}")
+    @PreAuthorize("hasAnyRole('PASSAGER', 'AGENT', 'ADMIN')")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> ecrire(@PathVariable UUID id, @RequestParam long offset,
+                                                                     HttpServletRequest request) throws IOException {
+        UploadSessionResponse session = uploadSessionService.ecrire(id, offset, request.getInputStream(), request.getContentLengthLong(), currentUserId());
+        return ResponseEntity.ok(ApiResponse.success("Morceau reçu", session));
+    }
+
+    /**
+     * Retourne l'état d'une session : les plages reçues, pour reprendre après une coupure.
+     *
+     * @param id la session
+     * @return l'état de la session
+     */
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('PASSAGER', 'AGENT', 'ADMIN')")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> getSession(@PathVariable UUID id) {
+        return ResponseEntity.ok(ApiResponse.success("Session d'upload récupérée", uploadSessionService.getSession(id, currentUserId())));
+    }
+
+    /**
+     * Valide une session complète : le fichier est enregistré et rattaché à la réclamation.
+     *
+     * @param id la session
+     * @return les métadonnées du fichier créé
+     * @throws IOException si le fichier ne peut pas être enregistré
+     */
+    @PostMapping("/{id}/commit")
+    @PreAuthorize("hasAnyRole('PASSAGER', 'AGENT', 'ADMIN')")
+    public ResponseEntity<ApiResponse<FichierResponse>> terminer(@PathVariable UUID id) throws IOException {
+        Fichier fichier = uploadSessionService.terminer(id, currentUserId());
+        FichierResponse response = FichierResponse.builder()
+                .id(fichier.getId())
+                .fileName(fichier.getNomOriginal())
+                .url(fichier.getUrl())
+                .description(fichier.getDescription())
+                .typeMime(fichier.getTypeMime())
+                .reclamationId(fichier.getReclamation() != null ? fichier.getReclamation().getId() : null)
+                .uploadedBy(fichier.getUploadePar() != null ? fichier.getUploadePar().getId() : null)
+                .dateUpload(fichier.getDateUpload())
+                .thumbnailUrl(FichierMapper.urlDerive(fichier, ImageDerivatives.Variante.MINIATURE))
+                .previewUrl(FichierMapper.urlDerive(fichier, ImageDerivatives.Variante.APERCU))
+                .build();
+        return ResponseEntity.ok(ApiResponse.success("Fichier uploadé avec succès", response));
+    }
+
+    /**
+     * Abandonne une session et supprime les données reçues.
+     *
+     * @param id la session
+     * @return une réponse vide
+     */
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('PASSAGER', 'AGENT', 'ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> abandonner(@PathVariable UUID id) {
+        uploadSessionService.abandonner(id, currentUserId());
+        return ResponseEntity.ok(ApiResponse.success("Session d'upload abandonnée", null));
+    }
+
+    private UUID currentUserId() {
+        return currentUser().getId();
+    }
+
+    private UserPrincipal currentUser() {
+        return (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+}
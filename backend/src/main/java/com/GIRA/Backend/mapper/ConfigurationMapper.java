@@ -0,0 +1,32 @@
+package com.GIRA.Backend.mapper;
+
+import com.GIRA.Backend.DTO.response.ConfigurationResponse;
+import com.GIRA.Backend.Entities.Configuration;
+
+/**
+ * Classe utilitaire pour le mapping entre l'entité Configuration et le DTO ConfigurationResponse.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public class ConfigurationMapper {
+    /**
+     * Mappe l'entité Configuration vers le DTO ConfigurationResponse.
+     *
+     * @param configuration entité Configuration
+     * @return DTO ConfigurationResponse
+     */
+    public static ConfigurationResponse toResponse(Configuration configuration) {
+        if (configuration == null) return null;
+        ConfigurationResponse response = new ConfigurationResponse();
+        response.setId(configuration.getId());
+        response.setCle(configuration.getCle());
+        response.setValeur(configuration.getValeur());
+        response.setType(configuration.getType() != null ? configuration.getType().name() : null);
+        response.setDescription(configuration.getDescription());
+        response.setDateModification(configuration.getDateModification());
+        response.setDateCreation(configuration.getDateCreation());
+        response.setModifiePar(configuration.getModifiePar() != null ? configuration.getModifiePar().getId() : null);
+        return response;
+    }
+}
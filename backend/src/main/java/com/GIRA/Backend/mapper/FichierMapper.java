@@ -4,6 +4,7 @@ import com.GIRA.Backend.Entities.Fichier;
 import com.GIRA.Backend.DTO.request.FichierCreateRequest;
 import com.GIRA.Backend.DTO.request.FichierUpdateRequest;
 import com.GIRA.Backend.DTO.response.FichierResponse;
+import com.GIRA.Backend.storage.ImageDerivatives;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -32,9 +33,36 @@ public class FichierMapper {
                 .reclamationId(fichier.getReclamation() != null ? fichier.getReclamation().getId() : null)
                 .uploadedBy(fichier.getUploadePar() != null ? fichier.getUploadePar().getId() : null)
                 .dateUpload(fichier.getDateUpload())
+                .thumbnailUrl(urlDerive(fichier, ImageDerivatives.Variante.MINIATURE))
+                .previewUrl(urlDerive(fichier, ImageDerivatives.Variante.APERCU))
                 .build();
     }
 
+    /**
+     * URL d'une image dérivée (miniature ou aperçu) d'un fichier. Les dérivées sont générées en arrière-plan :
+     * tant qu'elles ne sont pas prêtes, l'URL renvoie l'original.
+     *
+     * @param fichier  l'entité fichier
+     * @param variante la dérivée
+     * @return l'URL, ou null si le fichier n'est pas une image prise en charge
+     */
+    public static String urlDerive(Fichier fichier, ImageDerivatives.Variante variante) {
+        return urlDerive(fichier.getId(), fichier.getTypeMime(), variante);
+    }
+
+    /**
+     * URL d'une image dérivée à partir des seules métadonnées du fichier (résumés chargés sans l'entité).
+     *
+     * @param id       l'identifiant du fichier
+     * @param typeMime le type MIME du fichier
+     * @param variante la dérivée
+     * @return l'URL, ou null si le fichier n'est pas une image prise en charge
+     */
+    public static String urlDerive(UUID id, String typeMime, ImageDerivatives.Variante variante) {
+        if (id == null || !ImageDerivatives.supporte(typeMime)) return null;
+        return "/api/fichiers/download/" + id + "/" + variante.getSuffixe();
+    }
+
     /**
      * Convertit un FichierCreateRequest en entité Fichier.
      *
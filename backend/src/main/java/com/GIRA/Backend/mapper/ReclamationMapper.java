@@ -7,16 +7,19 @@ import com.GIRA.Backend.Entities.User;
 import com.GIRA.Backend.DTO.request.ReclamationCreateRequest;
 import com.GIRA.Backend.DTO.response.ReclamationResponse;
 import com.GIRA.Backend.DTO.response.ReclamationListResponse;
-import com.GIRA.Backend.DTO.response.FichierResponse;
+import com.GIRA.Backend.DTO.response.PiecesJointesResume;
 import com.GIRA.Backend.DTO.response.CommentaireResponse;
 import com.GIRA.Backend.DTO.response.NotificationResponse;
-import com.GIRA.Backend.Entities.Fichier;
 import com.GIRA.Backend.Entities.Commentaire;
 import com.GIRA.Backend.Entities.Notification;
 import com.GIRA.Backend.service.interfaces.FichierService;
 import com.GIRA.Backend.service.interfaces.CommentaireService;
 import com.GIRA.Backend.service.interfaces.NotificationService;
+import com.GIRA.Backend.cache.CategorieTree;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -45,7 +48,8 @@ public class ReclamationMapper {
         r.setLocalisation(req.getLocalisation());
         r.setLieuDescription(req.getLieuDescription());
         r.setUtilisateur(user);
-        r.setPriorite(r.determinerPrioriteAutomatique());
+        // Keyword classification is done by the service; this is the text-independent default
+        r.setPriorite(r.prioriteParDefaut());
         r.setStatut(Reclamation.Statut.SOUMISE);
         
         // TODO: Handle champsSpecifiques, files, and notifications
@@ -66,6 +70,21 @@ public class ReclamationMapper {
      * @return the mapped ReclamationResponse DTO
      */
     public static ReclamationResponse toResponse(Reclamation r, FichierService fichierService, CommentaireService commentaireService, NotificationService notificationService) {
+        return toResponse(r, null, fichierService, commentaireService, notificationService);
+    }
+
+    /**
+     * Converts a Reclamation entity to a ReclamationResponse DTO, resolving category and sub-category
+     * names from the in-memory category tree instead of initializing the lazy associations.
+     *
+     * @param r the Reclamation entity
+     * @param tree the category tree snapshot (may be null)
+     * @param fichierService the file service
+     * @param commentaireService the comment service
+     * @param notificationService the notification service
+     * @return the mapped ReclamationResponse DTO
+     */
+    public static ReclamationResponse toResponse(Reclamation r, CategorieTree tree, FichierService fichierService, CommentaireService commentaireService, NotificationService notificationService) {
         if (r == null) return null;
         ReclamationResponse resp = new ReclamationResponse();
         resp.setId(r.getId() != null ? r.getId().toString() : null);
@@ -74,8 +93,8 @@ public class ReclamationMapper {
         resp.setDescription(r.getDescription());
         resp.setStatut(r.getStatut() != null ? r.getStatut().name() : null);
         resp.setPriorite(r.getPriorite() != null ? r.getPriorite().name() : null);
-        resp.setCategorieNom(r.getCategorie() != null ? r.getCategorie().getNom() : null);
-        resp.setSousCategorieNom(r.getSousCategorie() != null ? r.getSousCategorie().getNom() : null);
+        resp.setCategorieNom(categorieNom(r, tree));
+        resp.setSousCategorieNom(sousCategorieNom(r, tree));
         resp.setDateCreation(r.getDateCreation());
         resp.setDateModification(r.getDateModification());
         resp.setDateResolution(r.getDateResolution());
@@ -86,21 +105,15 @@ public class ReclamationMapper {
         resp.setSatisfaction(r.getSatisfaction());
         resp.setCommentaireSatisfaction(r.getCommentaireSatisfaction());
         resp.setMetadonnees(r.getMetadonnees());
+        resp.setDoublonDe(r.getDoublonDe() != null ? r.getDoublonDe().toString() : null);
         // === Files ===
-        List<FichierResponse> fichiers = fichierService.getFilesByReclamationId(r.getId())
-            .stream().map(f -> FichierResponse.builder()
-                .id(f.getId())
-                .fileName(f.getNomOriginal())
-                .url(f.getUrl())
-                .description(f.getDescription())
-                .typeMime(f.getTypeMime())
-                .reclamationId(f.getReclamation() != null ? f.getReclamation().getId() : null)
-                .uploadedBy(f.getUploadePar() != null ? f.getUploadePar().getId() : null)
-                .dateUpload(f.getDateUpload())
-                .build())
-            .collect(java.util.stream.Collectors.toList());
-        // Add to response if field exists
-        try { java.lang.reflect.Field field = resp.getClass().getDeclaredField("fichiers"); field.setAccessible(true); field.set(resp, fichiers); } catch (Exception ignored) {}
+        // Same grouped projection query as the list pages: no Fichier entity is loaded
+        PiecesJointesResume piecesJointes = r.getId() != null
+            ? fichierService.getResumesByReclamationIds(List.of(r.getId())).get(r.getId())
+            : null;
+        if (piecesJointes == null) piecesJointes = PiecesJointesResume.vide();
+        resp.setNombreFichiers(piecesJointes.getNombre());
+        resp.setFichiers(piecesJointes.getFichiers());
         // === Comments ===
         List<CommentaireResponse> commentaires = commentaireService.getCommentsByReclamationId(r.getId())
             .stream().map(c -> CommentaireResponse.builder()
@@ -146,17 +159,81 @@ public class ReclamationMapper {
      * @return the mapped ReclamationListResponse DTO
      */
     public static ReclamationListResponse toListResponse(Reclamation r) {
+        return toListResponse(r, null);
+    }
+
+    /**
+     * Converts a Reclamation entity to a ReclamationListResponse DTO, resolving the category name
+     * from the in-memory category tree so list pages do not load one category per row.
+     *
+     * @param r the Reclamation entity
+     * @param tree the category tree snapshot (may be null)
+     * @return the mapped ReclamationListResponse DTO
+     */
+    public static ReclamationListResponse toListResponse(Reclamation r, CategorieTree tree) {
+        return toListResponse(r, tree, null);
+    }
+
+    /**
+     * Converts a Reclamation entity to a ReclamationListResponse DTO with its attachment summary, taken from
+     * summaries loaded for the whole page by {@link FichierService#getResumesByReclamationIds}.
+     *
+     * @param r the Reclamation entity
+     * @param tree the category tree snapshot (may be null)
+     * @param piecesJointes the attachment summaries by complaint id (null to leave the attachment fields unset)
+     * @return the mapped ReclamationListResponse DTO
+     */
+    public static ReclamationListResponse toListResponse(Reclamation r, CategorieTree tree, Map<UUID, PiecesJointesResume> piecesJointes) {
         if (r == null) return null;
+        PiecesJointesResume resume = piecesJointes == null ? null
+            : r.getId() != null ? piecesJointes.getOrDefault(r.getId(), PiecesJointesResume.vide()) : PiecesJointesResume.vide();
         return ReclamationListResponse.builder()
                 .id(r.getId() != null ? r.getId().toString() : null)
                 .numero(r.getNumero())
                 .titre(r.getTitre())
                 .statut(r.getStatut() != null ? r.getStatut().name() : null)
                 .priorite(r.getPriorite() != null ? r.getPriorite().name() : null)
-                .categorieNom(r.getCategorie() != null ? r.getCategorie().getNom() : null)
+                .categorieNom(categorieNom(r, tree))
                 .dateCreation(r.getDateCreation())
                 .dateModification(r.getDateModification())
                 .assignedAgentNomComplet(r.getAgentAssigne() != null ? r.getAgentAssigne().getNom() + " " + r.getAgentAssigne().getPrenom() : null)
+                .doublonDe(r.getDoublonDe() != null ? r.getDoublonDe().toString() : null)
+                .nombreFichiers(resume != null ? resume.getNombre() : null)
+                .fichiers(resume != null ? resume.getFichiers() : null)
                 .build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Converts a page of Reclamation entities to ReclamationListResponse DTOs, loading the attachment summaries
+     * of every row in one grouped query instead of one query per complaint.
+     *
+     * @param reclamations the Reclamation entities
+     * @param tree the category tree snapshot (may be null)
+     * @param fichierService the file service
+     * @return the mapped ReclamationListResponse DTOs, in the same order
+     */
+    public static List<ReclamationListResponse> toListResponses(List<Reclamation> reclamations, CategorieTree tree, FichierService fichierService) {
+        Map<UUID, PiecesJointesResume> piecesJointes = fichierService.getResumesByReclamationIds(
+            reclamations.stream().map(Reclamation::getId).filter(Objects::nonNull).collect(Collectors.toList()));
+        return reclamations.stream().map(r -> toListResponse(r, tree, piecesJointes)).collect(Collectors.toList());
+    }
+
+    /**
+     * Resolves the category name by id from the snapshot, falling back to the entity association.
+     * Reading the id of a lazy proxy does not trigger a database load.
+     */
+    private static String categorieNom(Reclamation r, CategorieTree tree) {
+        if (r.getCategorie() == null) return null;
+        String nom = tree != null ? tree.getCategorieNom(r.getCategorie().getId()) : null;
+        return nom != null ? nom : r.getCategorie().getNom();
+    }
+
+    /**
+     * Resolves the sub-category name by id from the snapshot, falling back to the entity association.
+     */
+    private static String sousCategorieNom(Reclamation r, CategorieTree tree) {
+        if (r.getSousCategorie() == null) return null;
+        String nom = tree != null ? tree.getSousCategorieNom(r.getSousCategorie().getId()) : null;
+        return nom != null ? nom : r.getSousCategorie().getNom();
+    }
+}
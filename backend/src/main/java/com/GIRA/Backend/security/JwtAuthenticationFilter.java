@@ -1,5 +1,6 @@
 package com.GIRA.Backend.security;
 
+import com.GIRA.Backend.service.interfaces.SignedUrlService;
 import com.GIRA.Backend.service.interfaces.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -36,6 +37,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserService userService;
 
+    /**
+     * Signed download URLs carry their own authorization: skipping the filter avoids loading the user from the
+     * database on every download, including when a browser sends a stale Authorization header along.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + SignedUrlService.CHEMIN_TELECHARGEMENT);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
@@ -0,0 +1,196 @@
+package com.GIRA.Backend.service.impl;
+
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.Respository.ReclamationRepository;
+import com.GIRA.Backend.Respository.UserRepository;
+import com.GIRA.Backend.cache.AgentLoadIndex;
+import com.GIRA.Backend.cache.ConfigurationChangedEvent;
+import com.GIRA.Backend.cache.RoutingTable;
+import com.GIRA.Backend.service.interfaces.AssignationService;
+import com.GIRA.Backend.service.interfaces.ConfigurationService;
+import com.GIRA.Backend.service.interfaces.RoutageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Implementation of AssignationService.
+ * <p>
+ * The workload lives in an {@link AgentLoadIndex} held in a volatile reference. It is seeded with one grouped count
+ * of the open complaints per agent and priority, updated on every assignment and on the changes reported by the
+ * complaint services (after commit), and rebuilt periodically ('app.assignation.resync-ms', default 5 minutes)
+ * to pick up new agents and the changes made by other replicas or by scheduled jobs.
+ * </p>
+ * <p>
+ * Settings: 'assignation.auto.enabled' (boolean, default true) and one 'assignation.competences.&lt;agentId&gt;' key
+ * per specialised agent, holding the comma-separated ids of its categories. Agents without such a key are generalists.
+ * Changing a skill rebuilds the index immediately.
+ * </p>
+ * <p>
+ * The pools of the routing rules ({@link RoutageService}) get their own heaps in the index; a new routing table
+ * is detected through its version and rebuilds the index before the next assignment.
+ * </p>
+ * @author Mohamed Yahya Jabrane
+ */
+@Service
+public class AssignationServiceImpl implements AssignationService {
+    private static final Logger logger = LoggerFactory.getLogger(AssignationServiceImpl.class);
+    static final String ENABLED_KEY = "assignation.auto.enabled";
+    static final String COMPETENCES_PREFIX = "assignation.competences.";
+    private static final String ROLE_AGENT = "AGENT";
+    private static final Set<Reclamation.Statut> STATUTS_CLOS =
+            Set.of(Reclamation.Statut.RESOLUE, Reclamation.Statut.FERMEE, Reclamation.Statut.ANNULEE);
+
+    private final UserRepository userRepository;
+    private final ReclamationRepository reclamationRepository;
+    private final ConfigurationService configurationService;
+    private final RoutageService routageService;
+    private volatile AgentLoadIndex index;
+
+    @Autowired
+    public AssignationServiceImpl(UserRepository userRepository, ReclamationRepository reclamationRepository, ConfigurationService configurationService, RoutageService routageService) {
+        this.userRepository = userRepository;
+        this.reclamationRepository = reclamationRepository;
+        this.configurationService = configurationService;
+        this.routageService = routageService;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<UUID> choisirAgent(Reclamation reclamation) {
+        if (!configurationService.getBoolean(ENABLED_KEY, true)) {
+            return Optional.empty();
+        }
+        UUID categorieId = reclamation.getCategorie() != null ? reclamation.getCategorie().getId() : null;
+        UUID sousCategorieId = reclamation.getSousCategorie() != null ? reclamation.getSousCategorie().getId() : null;
+        Reclamation.Priorite priorite = reclamation.getPriorite();
+        RoutingTable routage = routageService.getTable();
+        AgentLoadIndex indexe = getIndex();
+        AgentLoadIndex courant = indexe.getVersionRoutage() == routage.getVersion() ? indexe : resynchroniser();
+        Optional<RoutingTable.Regle> regle = routage.evaluer(categorieId, sousCategorieId, priorite, reclamation.getLieuDescription());
+        Optional<UUID> routee = regle.flatMap(r -> courant.assignerDansPool(r.getPool(), priorite));
+        if (regle.isPresent() && routee.isEmpty()) {
+            logger.debug("Routing rule {} has no active agent, falling back to category skills", regle.get().getNom());
+        }
+        Optional<UUID> choisi = routee.isPresent() ? routee : courant.assigner(categorieId, priorite);
+        if (choisi.isPresent() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        courant.retirer(choisi.get(), priorite);
+                    }
+                }
+            });
+        }
+        return choisi;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void enregistrerChangement(UUID ancienAgent, Reclamation.Statut ancienStatut, Reclamation.Priorite anciennePriorite,
+                                      UUID nouvelAgent, Reclamation.Statut nouveauStatut, Reclamation.Priorite nouvellePriorite) {
+        boolean ancienneCharge = ancienAgent != null && !STATUTS_CLOS.contains(ancienStatut);
+        boolean nouvelleCharge = nouvelAgent != null && !STATUTS_CLOS.contains(nouveauStatut);
+        if (ancienneCharge == nouvelleCharge && (!ancienneCharge
+                || (ancienAgent.equals(nouvelAgent) && AgentLoadIndex.poids(anciennePriorite) == AgentLoadIndex.poids(nouvellePriorite)))) {
+            return;
+        }
+        Runnable application = () -> {
+            AgentLoadIndex courant = getIndex();
+            if (ancienneCharge) courant.retirer(ancienAgent, anciennePriorite);
+            if (nouvelleCharge) courant.ajouter(nouvelAgent, nouvellePriorite);
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            application.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                application.run();
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AgentLoadIndex getIndex() {
+        AgentLoadIndex courant = index;
+        return courant != null ? courant : resynchroniser();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized AgentLoadIndex resynchroniser() {
+        List<UUID> agents = userRepository.findActiveIdsByRoleNom(ROLE_AGENT);
+        Map<UUID, Map<Reclamation.Priorite, Long>> ouvertes = new HashMap<>();
+        for (Object[] row : reclamationRepository.countOpenByAgentAndPriorite(STATUTS_CLOS)) {
+            ouvertes.computeIfAbsent((UUID) row[0], k -> new EnumMap<>(Reclamation.Priorite.class))
+                    .put((Reclamation.Priorite) row[1], (Long) row[2]);
+        }
+        RoutingTable routage = routageService.getTable();
+        AgentLoadIndex nouveau = AgentLoadIndex.build(agents, competences(), routage.getPools(), routage.getVersion(), ouvertes);
+        index = nouveau;
+        logger.debug("Agent workload index rebuilt ({} agents)", nouveau.size());
+        return nouveau;
+    }
+
+    /**
+     * Periodic rebuild from the database, correcting any drift of the in-memory counters.
+     */
+    @Scheduled(initialDelayString = "${app.assignation.resync-ms:300000}", fixedDelayString = "${app.assignation.resync-ms:300000}")
+    public void resynchronisationPeriodique() {
+        resynchroniser();
+    }
+
+    /**
+     * Rebuilds the index when agent skills change, including changes made on another replica.
+     * @param event the configuration change event
+     */
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (index != null && event.concerne(COMPETENCES_PREFIX)) {
+            resynchroniser();
+        }
+    }
+
+    private Map<UUID, Set<UUID>> competences() {
+        Map<UUID, Set<UUID>> competences = new HashMap<>();
+        configurationService.getByPrefix(COMPETENCES_PREFIX).forEach((cle, valeur) -> {
+            try {
+                UUID agentId = UUID.fromString(cle.substring(COMPETENCES_PREFIX.length()));
+                Set<UUID> categories = new HashSet<>();
+                for (String categorieId : valeur.split(",")) {
+                    if (!categorieId.isBlank()) categories.add(UUID.fromString(categorieId.trim()));
+                }
+                competences.put(agentId, categories);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring malformed agent skill setting {}={}", cle, valeur);
+            }
+        });
+        return competences;
+    }
+}
@@ -0,0 +1,495 @@
+package com.GIRA.Backend.service.impl;
+
+import com.GIRA.Backend.DTO.response.BlobMigrationResponse;
+import com.GIRA.Backend.DTO.response.TieringResponse;
+import com.GIRA.Backend.Entities.ContenuFichier;
+import com.GIRA.Backend.Entities.Fichier;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.Respository.ContenuFichierRepository;
+import com.GIRA.Backend.Respository.FichierRepository;
+import com.GIRA.Backend.exception.BadRequestException;
+import com.GIRA.Backend.service.interfaces.BlobService;
+import com.GIRA.Backend.storage.BlobStore;
+import com.GIRA.Backend.storage.ImageDerivatives;
+import com.GIRA.Backend.storage.ObjectStorage;
+import com.GIRA.Backend.storage.StoredContent;
+import com.GIRA.Backend.storage.ZipStreamWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of BlobService.
+ * <p>
+ * Blobs are stored in the {@link ObjectStorage} backend under the key {@code ab/cd/abcd...}: on the local disk,
+ * under 'app.upload.dir' with the {@link BlobStore} layout, or in an object store. Their reference counts are rows of
+ * {@code contenus_fichiers}. Adding a reference is an atomic UPDATE in the caller's transaction, which keeps the
+ * row locked until commit; the row is first created on its own (plain INSERT, key violation when another node
+ * creates it concurrently). A blob is collected in a short transaction of its own that locks the row
+ * (SELECT ... FOR UPDATE) and deletes the file and the row only if the count is still zero, so an upload of the
+ * same content is either serialized before the collection (and keeps the blob) or after it (and stores it again).
+ * </p>
+ * <p>
+ * Tiering writes the cold copy ('app.storage.cold-dir') next to the hot blob, checks it decodes to the blob's hash,
+ * then, under the same row lock, re-checks that every file of the content belongs to an old closed complaint,
+ * records the tier and deletes the hot blob. Reads look for the hot blob first and fall back to the cold copy, so a
+ * content stays readable at every step, and an upload of a cold content simply stores a hot blob again. Tiering only
+ * applies to the local backend: object stores have their own storage classes.
+ * </p>
+ * @author Mohamed Yahya Jabrane
+ */
+@Service
+public class BlobServiceImpl implements BlobService {
+    private static final Logger logger = LoggerFactory.getLogger(BlobServiceImpl.class);
+    private static final int MAX_TENTATIVES = 3;
+    private static final int TAILLE_PAGE = 500;
+    private static final UUID UUID_MIN = new UUID(0L, 0L);
+    private static final EnumSet<Reclamation.Statut> STATUTS_CLOS = EnumSet.of(Reclamation.Statut.FERMEE, Reclamation.Statut.ANNULEE);
+    private static final double OCTETS_PAR_MO = 1024.0 * 1024.0;
+    private static final String HASH_NUL = "0".repeat(64);
+
+    private final ContenuFichierRepository contenuFichierRepository;
+    private final FichierRepository fichierRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlobStore blobStore;
+    private final ObjectStorage stockage;
+    private final boolean local;
+    private final AtomicBoolean migrationEnCours = new AtomicBoolean();
+    private final AtomicBoolean tieringEnCours = new AtomicBoolean();
+    private final boolean tieringActif;
+    private final int ageJours;
+    private final double gainMin;
+
+    @Autowired
+    public BlobServiceImpl(ContenuFichierRepository contenuFichierRepository, FichierRepository fichierRepository,
+                           PlatformTransactionManager transactionManager, ObjectStorage stockage,
+                           @Value("${app.upload.dir:uploads}") String uploadDir,
+                           @Value("${app.storage.cold-dir:uploads-cold}") String coldDir,
+                           @Value("${app.storage.tiering.enabled:true}") boolean tieringActif,
+                           @Value("${app.storage.tiering.age-days:90}") int ageJours,
+                           @Value("${app.storage.tiering.min-gain:0.1}") double gainMin) throws IOException {
+        this.contenuFichierRepository = contenuFichierRepository;
+        this.fichierRepository = fichierRepository;
+        // Row creation and collection commit on their own, outside the caller's transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blobStore = new BlobStore(Paths.get(uploadDir), Paths.get(coldDir));
+        this.stockage = stockage;
+        // Local backend: its files are the BlobStore layout (same root), with derivatives and cold tier
+        this.local = stockage.cheminLocal(BlobStore.cle(HASH_NUL)) != null;
+        this.tieringActif = tieringActif;
+        this.ageJours = ageJours;
+        this.gainMin = gainMin;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Path temporaire() {
+        return blobStore.temporaire();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Path retenir(String hash, long taille, Path temporaire) throws IOException {
+        referencer(hash, taille, temporaire);
+        return blobStore.chemin(hash);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void liberer(String hash) {
+        contenuFichierRepository.retirerReference(hash);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                collecter(hash);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean estBlob(Fichier fichier) {
+        return estBlob(fichier.getCheminComplet(), fichier.getHashFichier());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String cleStockage(Fichier fichier) {
+        return cleStockage(fichier.getCheminComplet(), fichier.getHashFichier());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String cleStockage(String cheminComplet, String hash) {
+        return estBlob(cheminComplet, hash) ? PREFIXE_BLOB + hash : PREFIXE_CHEMIN + cheminComplet;
+    }
+
+    private boolean estBlob(String cheminComplet, String hash) {
+        return cheminComplet != null && blobStore.estBlob(Paths.get(cheminComplet), hash);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Path resoudre(String cleStockage) {
+        if (cleStockage.startsWith(PREFIXE_BLOB)) {
+            return blobStore.chemin(cleStockage.substring(PREFIXE_BLOB.length()));
+        }
+        if (cleStockage.startsWith(PREFIXE_CHEMIN)) {
+            return Paths.get(cleStockage.substring(PREFIXE_CHEMIN.length()));
+        }
+        throw new IllegalArgumentException("Invalid storage key: " + cleStockage);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoredContent localiser(String cleStockage) {
+        if (cleStockage.startsWith(PREFIXE_BLOB)) {
+            String hash = cleStockage.substring(PREFIXE_BLOB.length());
+            return local ? blobStore.localiser(hash) : StoredContent.distant(stockage, BlobStore.cle(hash));
+        }
+        return new StoredContent(resoudre(cleStockage), StoredContent.Codec.NONE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoredContent localiser(Fichier fichier) {
+        return localiser(cleStockage(fichier));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BlobMigrationResponse migrer() {
+        if (!migrationEnCours.compareAndSet(false, true)) {
+            throw new BadRequestException("Une migration des fichiers est déjà en cours");
+        }
+        try {
+            long debut = System.currentTimeMillis();
+            BlobMigrationResponse rapport = BlobMigrationResponse.builder().build();
+            UUID apres = UUID_MIN;
+            List<Fichier> page;
+            do {
+                page = fichierRepository.findByIdGreaterThanOrderByIdAsc(apres, PageRequest.of(0, TAILLE_PAGE));
+                for (Fichier fichier : page) {
+                    migrer(fichier, rapport);
+                    apres = fichier.getId();
+                }
+            } while (page.size() == TAILLE_PAGE);
+            rapport.setDureeMs(System.currentTimeMillis() - debut);
+            logger.info("Migration des fichiers : {} examinés, {} migrés dont {} doublons, {} déjà migrés, {} manquants, {} erreurs, {} octets récupérés en {} ms",
+                    rapport.getExamines(), rapport.getMigres(), rapport.getDoublons(), rapport.getDejaMigres(),
+                    rapport.getManquants(), rapport.getErreurs(), rapport.getOctetsRecuperes(), rapport.getDureeMs());
+            return rapport;
+        } finally {
+            migrationEnCours.set(false);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TieringResponse refroidir() {
+        if (!local) {
+            throw new BadRequestException("Le stockage froid ne s'applique qu'au stockage local des fichiers");
+        }
+        if (!tieringEnCours.compareAndSet(false, true)) {
+            throw new BadRequestException("Un déplacement vers le stockage froid est déjà en cours");
+        }
+        try {
+            long debut = System.currentTimeMillis();
+            LocalDateTime limite = LocalDateTime.now().minusDays(ageJours);
+            TieringResponse rapport = TieringResponse.builder().build();
+            // Read time (ns) and bytes of the verified hot and cold copies
+            long[] mesures = new long[3];
+            String apres = "";
+            List<String> page;
+            do {
+                page = fichierRepository.findHashesInactifs(apres, Fichier.Niveau.CHAUD, STATUTS_CLOS, limite,
+                        PageRequest.of(0, TAILLE_PAGE));
+                for (String hash : page) {
+                    refroidir(hash, limite, rapport, mesures);
+                    apres = hash;
+                }
+            } while (page.size() == TAILLE_PAGE);
+            rapport.setOctetsEconomises(rapport.getOctetsAvant() - rapport.getOctetsApres());
+            if (mesures[2] > 0) {
+                double mo = mesures[2] / OCTETS_PAR_MO;
+                rapport.setLectureChaudMsParMo(mesures[0] / 1e6 / mo);
+                rapport.setLectureFroidMsParMo(mesures[1] / 1e6 / mo);
+                rapport.setLatenceSupplementaireMsParMo(rapport.getLectureFroidMsParMo() - rapport.getLectureChaudMsParMo());
+            }
+            rapport.setDureeMs(System.currentTimeMillis() - debut);
+            logger.info("Stockage froid : {} contenus examinés, {} déplacés dont {} compressés, {} ignorés, {} erreurs, {} octets économisés, lecture {} ms/Mo à chaud, {} ms/Mo à froid, en {} ms",
+                    rapport.getExamines(), rapport.getDeplaces(), rapport.getCompresses(), rapport.getIgnores(),
+                    rapport.getErreurs(), rapport.getOctetsEconomises(), String.format("%.2f", rapport.getLectureChaudMsParMo()),
+                    String.format("%.2f", rapport.getLectureFroidMsParMo()), rapport.getDureeMs());
+            return rapport;
+        } finally {
+            tieringEnCours.set(false);
+        }
+    }
+
+    /**
+     * Periodic run of {@link #refroidir()}, skipped while a run is in progress.
+     */
+    @Scheduled(initialDelayString = "${app.storage.tiering.interval-ms:86400000}", fixedDelayString = "${app.storage.tiering.interval-ms:86400000}")
+    public void refroidirPlanifie() {
+        if (!tieringActif || !local) return;
+        try {
+            refroidir();
+        } catch (BadRequestException e) {
+            logger.debug("Déplacement vers le stockage froid déjà en cours");
+        }
+    }
+
+    private void refroidir(String hash, LocalDateTime limite, TieringResponse rapport, long[] mesures) {
+        rapport.setExamines(rapport.getExamines() + 1);
+        String chemin = blobStore.chemin(hash).toString();
+        Fichier exemple = fichierRepository.findFirstByCheminComplet(chemin).orElse(null);
+        StoredContent froid = blobStore.localiserFroid(hash);
+        if (exemple == null || (!blobStore.existe(hash) && froid == null)) {
+            // Only files uploaded before the content-addressed store, or content missing
+            rapport.setIgnores(rapport.getIgnores() + 1);
+            return;
+        }
+        boolean cree = false;
+        try {
+            long tailleChaud = -1;
+            if (blobStore.existe(hash)) {
+                Path chaud = blobStore.chemin(hash);
+                tailleChaud = Files.size(chaud);
+                long debut = System.nanoTime();
+                String lu = BlobStore.hacher(chaud);
+                long lectureChaud = System.nanoTime() - debut;
+                if (!hash.equals(lu)) throw new IOException("hot content does not match its hash");
+                if (froid == null) {
+                    froid = ecrireCopieFroide(hash, exemple, tailleChaud);
+                    cree = true;
+                }
+                debut = System.nanoTime();
+                try (InputStream contenu = froid.ouvrir()) {
+                    lu = BlobStore.hacher(contenu);
+                }
+                long lectureFroid = System.nanoTime() - debut;
+                if (!hash.equals(lu)) throw new IOException("cold copy does not match its hash");
+                mesures[0] += lectureChaud;
+                mesures[1] += lectureFroid;
+                mesures[2] += tailleChaud;
+            }
+            StoredContent copie = froid;
+            Boolean deplace = transactionTemplate.execute(status -> {
+                Optional<ContenuFichier> contenu = contenuFichierRepository.findVerrouille(hash);
+                if (contenu.isEmpty() || contenu.get().getNombreReferences() <= 0) return false;
+                // Reopened, or uploaded again to a recent complaint, since the page was read
+                if (fichierRepository.countActifsParHash(hash, STATUTS_CLOS, limite) > 0) return false;
+                if (!Files.isRegularFile(copie.getChemin())) return false;
+                int lignes = fichierRepository.changerNiveau(chemin, Fichier.Niveau.FROID, copie.getCodec());
+                try {
+                    return blobStore.supprimerChaud(hash) >= 0 || lignes > 0;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (!Boolean.TRUE.equals(deplace)) {
+                if (cree) blobStore.supprimerFroid(hash);
+                rapport.setIgnores(rapport.getIgnores() + 1);
+                return;
+            }
+            rapport.setDeplaces(rapport.getDeplaces() + 1);
+            if (copie.estEncode()) rapport.setCompresses(rapport.getCompresses() + 1);
+            if (tailleChaud >= 0) {
+                rapport.setOctetsAvant(rapport.getOctetsAvant() + tailleChaud);
+                rapport.setOctetsApres(rapport.getOctetsApres() + Files.size(copie.getChemin()));
+            }
+        } catch (IOException | RuntimeException e) {
+            rapport.setErreurs(rapport.getErreurs() + 1);
+            logger.warn("Déplacement du contenu {} vers le stockage froid impossible : {}", hash, e.getMessage());
+            if (cree) {
+                try {
+                    blobStore.supprimerFroid(hash);
+                } catch (IOException ignored) {
+                    // Orphan cold copy, deleted with the content
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the cold copy of a hot blob, gzip encoded if its media type compresses and the gain is large enough.
+     */
+    private StoredContent ecrireCopieFroide(String hash, Fichier exemple, long taille) throws IOException {
+        if (taille > StoredContent.TAILLE_MAX_COMPRESSION || ZipStreamWriter.dejaCompresse(exemple.getTypeMime(), exemple.getNomOriginal())) {
+            return blobStore.refroidir(hash, StoredContent.Codec.NONE);
+        }
+        StoredContent compresse = blobStore.refroidir(hash, StoredContent.Codec.GZIP);
+        if (Files.size(compresse.getChemin()) <= taille * (1 - gainMin)) return compresse;
+        blobStore.supprimerFroid(hash);
+        return blobStore.refroidir(hash, StoredContent.Codec.NONE);
+    }
+
+    private void migrer(Fichier fichier, BlobMigrationResponse rapport) {
+        rapport.setExamines(rapport.getExamines() + 1);
+        if (estBlob(fichier)) {
+            rapport.setDejaMigres(rapport.getDejaMigres() + 1);
+            return;
+        }
+        Path ancien = Paths.get(fichier.getCheminComplet());
+        if (!Files.isRegularFile(ancien)) {
+            rapport.setManquants(rapport.getManquants() + 1);
+            return;
+        }
+        Path temporaire = blobStore.temporaire();
+        try {
+            long taille = Files.size(ancien);
+            String hash = BlobStore.hacher(ancien);
+            // A link keeps the original in place until the row is committed; copy when links are not supported
+            try {
+                Files.createLink(temporaire, ancien);
+            } catch (IOException | UnsupportedOperationException e) {
+                Files.copy(ancien, temporaire);
+            }
+            Boolean nouveau = transactionTemplate.execute(status -> {
+                Fichier courant = fichierRepository.findById(fichier.getId()).orElse(null);
+                if (courant == null || !fichier.getCheminComplet().equals(courant.getCheminComplet())) {
+                    return null;
+                }
+                boolean depose;
+                try {
+                    depose = referencer(hash, taille, temporaire);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                courant.setCheminComplet(blobStore.chemin(hash).toString());
+                courant.setHashFichier(hash);
+                courant.setTaille(taille);
+                fichierRepository.save(courant);
+                return depose;
+            });
+            if (nouveau == null) {
+                // Deleted or moved meanwhile
+                Files.deleteIfExists(temporaire);
+                return;
+            }
+            Files.deleteIfExists(ancien);
+            ImageDerivatives.supprimer(ancien);
+            rapport.setMigres(rapport.getMigres() + 1);
+            if (!nouveau) {
+                rapport.setDoublons(rapport.getDoublons() + 1);
+                rapport.setOctetsRecuperes(rapport.getOctetsRecuperes() + taille);
+            }
+        } catch (IOException | RuntimeException e) {
+            rapport.setErreurs(rapport.getErreurs() + 1);
+            logger.warn("Migration du fichier {} impossible : {}", fichier.getId(), e.getMessage());
+            try {
+                Files.deleteIfExists(temporaire);
+            } catch (IOException ignored) {
+                // Left in the temporary directory
+            }
+        }
+    }
+
+    /**
+     * Adds a reference to a content in the current transaction, then puts the content in place while the row is
+     * locked. The blob is collected if the transaction rolls back.
+     *
+     * @return true if the content was stored, false if the blob already existed
+     */
+    private boolean referencer(String hash, long taille, Path temporaire) throws IOException {
+        for (int tentative = 1; contenuFichierRepository.ajouterReferences(hash, 1) == 0; tentative++) {
+            if (tentative > MAX_TENTATIVES) {
+                throw new IllegalStateException("Contenu " + hash + " introuvable après création");
+            }
+            creer(hash, taille);
+        }
+        boolean depose = stockage.deposer(BlobStore.cle(hash), temporaire);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) collecter(hash);
+            }
+        });
+        return depose;
+    }
+
+    private void creer(String hash, long taille) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> contenuFichierRepository.creer(hash, taille, LocalDateTime.now()));
+        } catch (DataIntegrityViolationException e) {
+            // Created by another upload at the same time
+        }
+    }
+
+    /**
+     * Deletes a blob and its row if no file references it.
+     */
+    private void collecter(String hash) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Optional<ContenuFichier> contenu = contenuFichierRepository.findVerrouille(hash);
+                if (contenu.isPresent() && contenu.get().getNombreReferences() > 0) return;
+                try {
+                    if (local) {
+                        // Hot and cold copies, and image derivatives
+                        long taille = blobStore.supprimer(hash);
+                        if (taille >= 0) logger.debug("Contenu {} supprimé ({} octets)", hash, taille);
+                    } else if (stockage.supprimer(BlobStore.cle(hash))) {
+                        logger.debug("Contenu {} supprimé", hash);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                contenu.ifPresent(contenuFichierRepository::delete);
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Suppression du contenu {} impossible : {}", hash, e.getMessage());
+        }
+    }
+}
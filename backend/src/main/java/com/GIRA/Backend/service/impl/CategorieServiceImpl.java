@@ -7,6 +7,7 @@ import com.GIRA.Backend.DTO.request.CategorieCreateRequest;
 import com.GIRA.Backend.DTO.request.CategorieUpdateRequest;
 import com.GIRA.Backend.DTO.response.CategorieResponse;
 import com.GIRA.Backend.mapper.CategorieMapper;
+import com.GIRA.Backend.service.interfaces.CategorieTreeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Page;
@@ -24,10 +25,12 @@ import org.springframework.data.domain.PageImpl;
 @Service
 public class CategorieServiceImpl implements CategorieService {
     private final CategorieRepository categorieRepository;
+    private final CategorieTreeService categorieTreeService;
 
     @Autowired
-    public CategorieServiceImpl(CategorieRepository categorieRepository) {
+    public CategorieServiceImpl(CategorieRepository categorieRepository, CategorieTreeService categorieTreeService) {
         this.categorieRepository = categorieRepository;
+        this.categorieTreeService = categorieTreeService;
     }
 
     /**
@@ -43,6 +46,7 @@ public class CategorieServiceImpl implements CategorieService {
         }
         Categorie categorie = CategorieMapper.fromCreateRequest(request, parent);
         Categorie saved = categorieRepository.save(categorie);
+        categorieTreeService.refresh();
         return CategorieMapper.toResponse(saved);
     }
 
@@ -62,6 +66,7 @@ public class CategorieServiceImpl implements CategorieService {
         }
         CategorieMapper.updateCategorieFromRequest(categorie, request, parent);
         Categorie saved = categorieRepository.save(categorie);
+        categorieTreeService.refresh();
         return CategorieMapper.toResponse(saved);
     }
 
@@ -168,10 +173,13 @@ public class CategorieServiceImpl implements CategorieService {
     @Override
     public void deleteCategorie(UUID id) {
         categorieRepository.deleteById(id);
+        categorieTreeService.refresh();
     }
 
     @Override
     public Categorie addCategorie(Categorie categorie) {
-        return categorieRepository.save(categorie);
+        Categorie saved = categorieRepository.save(categorie);
+        categorieTreeService.refresh();
+        return saved;
     }
 } 
\ No newline at end of file
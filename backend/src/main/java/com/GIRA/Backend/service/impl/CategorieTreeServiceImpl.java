@@ -0,0 +1,97 @@
+package com.GIRA.Backend.service.impl;
+
+import com.GIRA.Backend.cache.CategorieTree;
+import com.GIRA.Backend.Respository.CategorieRepository;
+import com.GIRA.Backend.Respository.SousCategorieRepository;
+import com.GIRA.Backend.service.interfaces.CategorieTreeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of CategorieTreeService.
+ * Holds the current snapshot in a volatile reference; readers never lock, rebuilds are serialized
+ * so an older database read can never overwrite a newer snapshot. Writes made on this node refresh it directly;
+ * those made on other replicas are detected by a fingerprint poll (row count + latest modification date of the
+ * categories and sub-categories) every 'app.categories.poll-interval-ms' (default 5 seconds).
+ * @author Mohamed Yahya Jabrane
+ */
+@Service
+public class CategorieTreeServiceImpl implements CategorieTreeService {
+    private static final Logger logger = LoggerFactory.getLogger(CategorieTreeServiceImpl.class);
+
+    private final CategorieRepository categorieRepository;
+    private final SousCategorieRepository sousCategorieRepository;
+    private final AtomicLong versions = new AtomicLong();
+    private volatile CategorieTree current;
+    /** Fingerprint of the tables read before the current snapshot was built. */
+    private volatile List<Object> fingerprint;
+
+    @Autowired
+    public CategorieTreeServiceImpl(CategorieRepository categorieRepository, SousCategorieRepository sousCategorieRepository) {
+        this.categorieRepository = categorieRepository;
+        this.sousCategorieRepository = sousCategorieRepository;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CategorieTree getTree() {
+        CategorieTree tree = current;
+        return tree != null ? tree : refresh();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized CategorieTree refresh() {
+        // Read first: a write committed during the rebuild shows up as a different fingerprint on the next poll
+        List<Object> lu = readFingerprint();
+        CategorieTree tree = CategorieTree.build(
+                categorieRepository.findAllWithParent(),
+                sousCategorieRepository.findAllWithCategorie(),
+                versions.incrementAndGet());
+        current = tree;
+        fingerprint = lu;
+        logger.debug("Category tree snapshot v{} published ({} categories, etag {})", tree.getVersion(), tree.size(), tree.getEtag());
+        return tree;
+    }
+
+    /**
+     * Change detection for the writes made on other nodes: rebuilds the snapshot when the fingerprint differs.
+     * Nothing is loaded until the tree is first used.
+     */
+    @Scheduled(fixedDelayString = "${app.categories.poll-interval-ms:5000}")
+    public void pollForChanges() {
+        if (current == null) {
+            return;
+        }
+        try {
+            if (!readFingerprint().equals(fingerprint)) {
+                refresh();
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Category tree poll failed: {}", e.getMessage());
+        }
+    }
+
+    private List<Object> readFingerprint() {
+        List<Object> lu = new ArrayList<>(4);
+        lu.addAll(ligne(categorieRepository.findFingerprint()));
+        lu.addAll(ligne(sousCategorieRepository.findFingerprint()));
+        return lu;
+    }
+
+    private static List<Object> ligne(List<Object[]> rows) {
+        return rows.isEmpty() ? Arrays.asList(0L, null) : Arrays.asList(rows.get(0));
+    }
+}
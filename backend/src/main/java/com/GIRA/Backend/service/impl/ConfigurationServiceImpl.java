@@ -0,0 +1,338 @@
+package com.GIRA.Backend.service.impl;
+
+import com.GIRA.Backend.DTO.request.ConfigurationUpdateRequest;
+import com.GIRA.Backend.DTO.response.ConfigurationResponse;
+import com.GIRA.Backend.Entities.Configuration;
+import com.GIRA.Backend.Entities.User;
+import com.GIRA.Backend.Respository.ConfigurationRepository;
+import com.GIRA.Backend.Respository.UserRepository;
+import com.GIRA.Backend.cache.ConfigurationChangedEvent;
+import com.GIRA.Backend.cache.ConfigurationSnapshot;
+import com.GIRA.Backend.exception.BadRequestException;
+import com.GIRA.Backend.exception.ResourceNotFoundException;
+import com.GIRA.Backend.mapper.ConfigurationMapper;
+import com.GIRA.Backend.security.UserPrincipal;
+import com.GIRA.Backend.service.interfaces.ConfigurationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of ConfigurationService.
+ * <p>
+ * The snapshot is held in a volatile reference and rebuilt in full on change (the table is small).
+ * Changes are propagated between replicas with PostgreSQL NOTIFY, sent inside the writing transaction so it is
+ * delivered only on commit, and received by {@code ConfigurationChangeListener}. A one-second fingerprint poll
+ * (row count + latest modification date) covers databases without LISTEN/NOTIFY and lost notifications;
+ * it backs off while push notifications are active.
+ * </p>
+ * @author Mohamed Yahya Jabrane
+ */
+@Service
+public class ConfigurationServiceImpl implements ConfigurationService {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigurationServiceImpl.class);
+    /** Safety poll interval while LISTEN/NOTIFY is active. */
+    private static final long PUSH_SAFETY_POLL_MS = 30_000;
+
+    private final ConfigurationRepository configurationRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicLong versions = new AtomicLong();
+    private volatile ConfigurationSnapshot current;
+    private volatile Boolean postgres;
+    private volatile boolean pushActive;
+    private volatile long lastPoll;
+
+    @Autowired
+    public ConfigurationServiceImpl(ConfigurationRepository configurationRepository, UserRepository userRepository, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher) {
+        this.configurationRepository = configurationRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // ====== Typed reads (snapshot only, no database access) ======
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<String> getValeur(String cle) {
+        return Optional.ofNullable(snapshot().get(cle));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getString(String cle, String defaut) {
+        String valeur = snapshot().get(cle);
+        return valeur != null ? valeur : defaut;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInt(String cle, int defaut) {
+        Long valeur = snapshot().parsed(cle, Long.class, ConfigurationServiceImpl::parseLong);
+        return valeur != null && valeur >= Integer.MIN_VALUE && valeur <= Integer.MAX_VALUE ? valeur.intValue() : defaut;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(String cle, long defaut) {
+        Long valeur = snapshot().parsed(cle, Long.class, ConfigurationServiceImpl::parseLong);
+        return valeur != null ? valeur : defaut;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean getBoolean(String cle, boolean defaut) {
+        Boolean valeur = snapshot().parsed(cle, Boolean.class, ConfigurationServiceImpl::parseBoolean);
+        return valeur != null ? valeur : defaut;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T getJson(String cle, Class<T> type, T defaut) {
+        T valeur = snapshot().parsed(cle, type, raw -> {
+            try {
+                return objectMapper.readValue(raw, type);
+            } catch (JsonProcessingException e) {
+                logger.warn("Invalid JSON for configuration {}: {}", cle, e.getOriginalMessage());
+                return null;
+            }
+        });
+        return valeur != null ? valeur : defaut;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, String> getByPrefix(String prefix) {
+        Map<String, String> result = new HashMap<>();
+        snapshot().getValeurs().forEach((cle, valeur) -> {
+            if (cle.startsWith(prefix)) result.put(cle, valeur);
+        });
+        return result;
+    }
+
+    // ====== Administration ======
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ConfigurationResponse> getAllConfigurations() {
+        return configurationRepository.findAll().stream()
+                .map(ConfigurationMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public ConfigurationResponse saveConfiguration(String cle, ConfigurationUpdateRequest request) {
+        if (cle == null || cle.isBlank() || cle.length() > 100) {
+            throw new BadRequestException("La clé de configuration est invalide");
+        }
+        Configuration configuration = configurationRepository.findByCle(cle).orElseGet(Configuration::new);
+        Configuration.Type type = request.getType() != null ? request.getType()
+                : configuration.getType() != null ? configuration.getType() : Configuration.Type.STRING;
+        validate(type, request.getValeur());
+        configuration.setCle(cle);
+        configuration.setValeur(request.getValeur());
+        configuration.setType(type);
+        if (request.getDescription() != null) {
+            configuration.setDescription(request.getDescription());
+        }
+        configuration.setDateModification(LocalDateTime.now());
+        configuration.setModifiePar(currentUserReference());
+        Configuration saved = configurationRepository.save(configuration);
+        propagate(cle);
+        return ConfigurationMapper.toResponse(saved);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void deleteConfiguration(String cle) {
+        Configuration configuration = configurationRepository.findByCle(cle)
+                .orElseThrow(() -> new ResourceNotFoundException("Configuration non trouvée"));
+        configurationRepository.delete(configuration);
+        propagate(cle);
+    }
+
+    // ====== Snapshot maintenance ======
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void refresh() {
+        Set<String> changed;
+        synchronized (this) {
+            ConfigurationSnapshot previous = current;
+            ConfigurationSnapshot snapshot = ConfigurationSnapshot.build(configurationRepository.findAll(), versions.incrementAndGet());
+            current = snapshot;
+            changed = previous != null ? snapshot.diff(previous) : Set.of();
+            logger.debug("Configuration snapshot v{} published ({} keys, {} changed)", snapshot.getVersion(), snapshot.size(), changed.size());
+        }
+        // Listeners run outside the lock so they can read the new snapshot freely
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new ConfigurationChangedEvent(changed));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setPushActive(boolean active) {
+        this.pushActive = active;
+    }
+
+    /**
+     * Fallback change detection: compares the table fingerprint with the snapshot and reloads when it differs.
+     * Runs every second (configurable via 'app.config.poll-interval-ms'), every 30 seconds while push is active.
+     */
+    @Scheduled(fixedDelayString = "${app.config.poll-interval-ms:1000}")
+    public void pollForChanges() {
+        long now = System.currentTimeMillis();
+        if (pushActive && now - lastPoll < PUSH_SAFETY_POLL_MS) {
+            return;
+        }
+        lastPoll = now;
+        try {
+            ConfigurationSnapshot snapshot = current;
+            List<Object[]> rows = configurationRepository.findFingerprint();
+            Object[] fingerprint = rows.isEmpty() ? new Object[] {0L, null} : rows.get(0);
+            long count = fingerprint[0] != null ? ((Number) fingerprint[0]).longValue() : 0L;
+            LocalDateTime lastModified = (LocalDateTime) fingerprint[1];
+            if (snapshot == null || snapshot.isStale(count, lastModified)) {
+                refresh();
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Configuration poll failed: {}", e.getMessage());
+        }
+    }
+
+    private ConfigurationSnapshot snapshot() {
+        ConfigurationSnapshot snapshot = current;
+        if (snapshot == null) {
+            refresh();
+            snapshot = current;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Sends a NOTIFY inside the current transaction (PostgreSQL delivers it on commit only)
+     * and refreshes the local snapshot once the transaction has committed.
+     */
+    private void propagate(String cle) {
+        if (isPostgres()) {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> { }, CHANNEL, cle);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgresql"));
+            postgres = result;
+        }
+        return Boolean.TRUE.equals(result);
+    }
+
+    private void validate(Configuration.Type type, String valeur) {
+        boolean valid = switch (type) {
+            case INTEGER -> parseLong(valeur) != null;
+            case BOOLEAN -> parseBoolean(valeur) != null;
+            case JSON -> isJson(valeur);
+            case STRING -> true;
+        };
+        if (!valid) {
+            throw new BadRequestException("Valeur invalide pour le type " + type);
+        }
+    }
+
+    private boolean isJson(String valeur) {
+        try {
+            objectMapper.readTree(valeur);
+            return true;
+        } catch (JsonProcessingException e) {
+            return false;
+        }
+    }
+
+    private User currentUserReference() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return userRepository.getReferenceById(principal.getId());
+        }
+        return null;
+    }
+
+    private static Long parseLong(String valeur) {
+        try {
+            return Long.parseLong(valeur.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Boolean parseBoolean(String valeur) {
+        String v = valeur.trim();
+        if ("true".equalsIgnoreCase(v)) return Boolean.TRUE;
+        if ("false".equalsIgnoreCase(v)) return Boolean.FALSE;
+        return null;
+    }
+}
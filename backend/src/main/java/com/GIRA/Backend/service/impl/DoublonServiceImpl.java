@@ -0,0 +1,181 @@
+package com.GIRA.Backend.service.impl;
+
+import com.GIRA.Backend.DTO.response.ReclamationListResponse;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.Respository.ReclamationRepository;
+import com.GIRA.Backend.cache.CategorieTree;
+import com.GIRA.Backend.cache.DoublonIndex;
+import com.GIRA.Backend.exception.ResourceNotFoundException;
+import com.GIRA.Backend.mapper.ReclamationMapper;
+import com.GIRA.Backend.service.interfaces.CategorieTreeService;
+import com.GIRA.Backend.service.interfaces.ConfigurationService;
+import com.GIRA.Backend.service.interfaces.DoublonService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implementation of DoublonService.
+ * <p>
+ * The index covers the complaints created in the last 'app.doublons.fenetre-heures' hours (default 48), up to
+ * 'app.doublons.capacite' entries (default 1,000,000, about 200 MB). Complaints created on this node are indexed
+ * after commit; the others (other replicas, bulk import) and the initial content are read every
+ * 'app.doublons.sync-ms' (default 1 minute) with a keyset scan of the new rows, re-reading a short overlap so rows
+ * committed late are not missed. The search itself runs in memory; only when it finds a match is the principal
+ * complaint checked by primary key, because deletions (on any node) are not propagated to the index and
+ * 'doublon_de' references the principal.
+ * </p>
+ * <p>
+ * Settings: 'doublons.enabled' (boolean, default true) and 'doublons.seuil.pourcent' (int, default 70), the minimum
+ * estimated similarity of the words of the title and description.
+ * </p>
+ * @author Mohamed Yahya Jabrane
+ */
+@Service
+public class DoublonServiceImpl implements DoublonService {
+    private static final Logger logger = LoggerFactory.getLogger(DoublonServiceImpl.class);
+    private static final int PAGE = 1_000;
+    private static final Duration CHEVAUCHEMENT = Duration.ofMinutes(5);
+    private static final UUID UUID_MIN = new UUID(0L, 0L);
+
+    private final ReclamationRepository reclamationRepository;
+    private final ConfigurationService configurationService;
+    private final CategorieTreeService categorieTreeService;
+    private final DoublonIndex index;
+    private LocalDateTime derniereSynchronisation;
+
+    @Autowired
+    public DoublonServiceImpl(ReclamationRepository reclamationRepository, ConfigurationService configurationService,
+                              CategorieTreeService categorieTreeService,
+                              @Value("${app.doublons.fenetre-heures:48}") int fenetreHeures,
+                              @Value("${app.doublons.capacite:1000000}") int capacite) {
+        this.reclamationRepository = reclamationRepository;
+        this.configurationService = configurationService;
+        this.categorieTreeService = categorieTreeService;
+        this.index = new DoublonIndex(Duration.ofHours(fenetreHeures).toMillis(), capacite);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<UUID> rechercher(Reclamation reclamation) {
+        if (!configurationService.getBoolean(ENABLED_KEY, true)) {
+            return Optional.empty();
+        }
+        char[] signature = DoublonIndex.signature(reclamation.getTitre(), reclamation.getDescription());
+        if (signature == null) return Optional.empty();
+        double seuil = configurationService.getInt(SEUIL_KEY, 70) / 100.0;
+        LocalDateTime date = reclamation.getDateCreation() != null ? reclamation.getDateCreation() : LocalDateTime.now();
+        return index.rechercher(categorieId(reclamation), signature, epochMs(date), seuil)
+                .map(DoublonIndex.Candidat::getGroupe)
+                // The principal may have been deleted since it was indexed, here or on another node
+                .filter(reclamationRepository::existsById);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void indexer(Reclamation reclamation) {
+        UUID id = reclamation.getId();
+        UUID categorieId = categorieId(reclamation);
+        char[] signature = DoublonIndex.signature(reclamation.getTitre(), reclamation.getDescription());
+        if (id == null || signature == null) return;
+        long dateMs = epochMs(reclamation.getDateCreation() != null ? reclamation.getDateCreation() : LocalDateTime.now());
+        UUID groupe = reclamation.getDoublonDe();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index.ajouter(id, categorieId, signature, dateMs, groupe);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index.ajouter(id, categorieId, signature, dateMs, groupe);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ReclamationListResponse> getGroupe(UUID reclamationId) {
+        Reclamation reclamation = reclamationRepository.findById(reclamationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Réclamation non trouvée"));
+        Reclamation principale = reclamation.getDoublonDe() != null
+                ? reclamationRepository.findById(reclamation.getDoublonDe()).orElse(reclamation)
+                : reclamation;
+        CategorieTree tree = categorieTreeService.getTree();
+        List<ReclamationListResponse> groupe = new ArrayList<>();
+        groupe.add(ReclamationMapper.toListResponse(principale, tree));
+        for (Reclamation doublon : reclamationRepository.findByDoublonDeOrderByDateCreationAsc(principale.getId())) {
+            groupe.add(ReclamationMapper.toListResponse(doublon, tree));
+        }
+        return groupe;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized int synchroniser() {
+        LocalDateTime debut = LocalDateTime.now();
+        LocalDateTime depuis = debut.minus(Duration.ofMillis(index.getFenetreMs()));
+        if (derniereSynchronisation != null && derniereSynchronisation.minus(CHEVAUCHEMENT).isAfter(depuis)) {
+            depuis = derniereSynchronisation.minus(CHEVAUCHEMENT);
+        }
+        LocalDateTime apresDate = depuis;
+        UUID apresId = UUID_MIN;
+        int ajoutees = 0;
+        List<Object[]> page;
+        do {
+            page = reclamationRepository.findTextesApres(apresDate, apresId, PageRequest.of(0, PAGE));
+            for (Object[] row : page) {
+                UUID id = (UUID) row[0];
+                apresId = id;
+                apresDate = (LocalDateTime) row[4];
+                if (index.contient(id)) continue;
+                char[] signature = DoublonIndex.signature((String) row[2], (String) row[3]);
+                if (signature == null) continue;
+                index.ajouter(id, (UUID) row[1], signature, epochMs(apresDate), (UUID) row[5]);
+                ajoutees++;
+            }
+        } while (page.size() == PAGE);
+        derniereSynchronisation = debut;
+        if (ajoutees > 0) {
+            logger.debug("Near-duplicate index: {} complaints loaded ({} indexed)", ajoutees, index.size());
+        }
+        return ajoutees;
+    }
+
+    /**
+     * Periodic load of the complaints created elsewhere; the first run loads the whole window.
+     */
+    @Scheduled(initialDelayString = "${app.doublons.sync-initial-delay-ms:0}", fixedDelayString = "${app.doublons.sync-ms:60000}")
+    public void synchronisationPeriodique() {
+        synchroniser();
+    }
+
+    private static UUID categorieId(Reclamation reclamation) {
+        return reclamation.getCategorie() != null ? reclamation.getCategorie().getId() : null;
+    }
+
+    private static long epochMs(LocalDateTime date) {
+        return date.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
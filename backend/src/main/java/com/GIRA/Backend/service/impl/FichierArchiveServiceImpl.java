@@ -0,0 +1,157 @@
+package com.GIRA.Backend.service.impl;
+
+import com.GIRA.Backend.DTO.request.ReclamationFilterRequest;
+import com.GIRA.Backend.Entities.Fichier;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.Respository.ReclamationSpecification;
+import com.GIRA.Backend.service.interfaces.BlobService;
+import com.GIRA.Backend.service.interfaces.FichierArchiveService;
+import com.GIRA.Backend.storage.StoredContent;
+import com.GIRA.Backend.storage.ZipStreamWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Implementation of FichierArchiveService.
+ * <p>
+ * File metadata is read by keyset pages of {@value #PAGE} rows, each in its own short read-only transaction, so no
+ * database connection is held while a slow client downloads gigabytes. Each page is a scalar projection (no entity
+ * in the persistence context). Files are then copied one by one through {@link ZipStreamWriter}, stored as is when
+ * their media is already compressed; cold files are decoded and remote objects streamed on the way. Files missing
+ * from storage do not abort the export: they are listed in a {@value #MANQUANTS} entry at the end of the archive.
+ * </p>
+ * @author Mohamed Yahya Jabrane
+ */
+@Service
+public class FichierArchiveServiceImpl implements FichierArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(FichierArchiveServiceImpl.class);
+    private static final int PAGE = 500;
+    private static final String MANQUANTS = "fichiers-manquants.txt";
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate lecture;
+    private final BlobService blobService;
+
+    @Autowired
+    public FichierArchiveServiceImpl(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                     BlobService blobService) {
+        this.entityManager = entityManager;
+        this.blobService = blobService;
+        this.lecture = new TransactionTemplate(transactionManager);
+        this.lecture.setReadOnly(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long archiverReclamation(UUID reclamationId, OutputStream out) throws IOException {
+        return archiver((cb, reclamation) -> cb.equal(reclamation.get("id"), reclamationId), out);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long archiver(ReclamationFilterRequest filter, UUID agentId, OutputStream out) throws IOException {
+        ReclamationFilterRequest criteres = filter != null ? filter : new ReclamationFilterRequest();
+        return archiver((cb, reclamation) -> {
+            Predicate predicat = ReclamationSpecification.fromFilterRequest(criteres).toPredicate(reclamation, null, cb);
+            if (agentId != null) {
+                predicat = cb.and(predicat, cb.equal(reclamation.get("agentAssigne").get("id"), agentId));
+            }
+            return predicat;
+        }, out);
+    }
+
+    private long archiver(BiFunction<CriteriaBuilder, Root<Reclamation>, Predicate> criteres, OutputStream out) throws IOException {
+        long debut = System.currentTimeMillis();
+        ZipStreamWriter zip = new ZipStreamWriter(out);
+        List<String> manquants = new ArrayList<>();
+        long fichiers = 0;
+        UUID dernier = null;
+        List<Tuple> page;
+        do {
+            UUID apres = dernier;
+            page = lecture.execute(status -> page(criteres, apres));
+            for (Tuple ligne : page) {
+                dernier = ligne.get(0, UUID.class);
+                String nomOriginal = ligne.get(1, String.class);
+                String typeMime = ligne.get(2, String.class);
+                String nom = ZipStreamWriter.segment(ligne.get(5, String.class), "sans-numero") + "/"
+                        + ZipStreamWriter.segment(nomOriginal, dernier.toString());
+                boolean compresser = !ZipStreamWriter.dejaCompresse(typeMime, nomOriginal);
+                StoredContent contenu = blobService.localiser(blobService.cleStockage(ligne.get(3, String.class), ligne.get(6, String.class)));
+                try {
+                    if (contenu.estEncode() || !contenu.estLocal()) {
+                        long taille = contenu.taille();
+                        try (InputStream decode = contenu.ouvrir()) {
+                            zip.ajouter(nom, decode, taille, compresser, ligne.get(4, LocalDateTime.class));
+                        }
+                    } else {
+                        zip.ajouter(nom, contenu.getChemin(), compresser, ligne.get(4, LocalDateTime.class));
+                    }
+                    fichiers++;
+                } catch (NoSuchFileException e) {
+                    // Nothing written yet for this entry: the archive stays valid
+                    manquants.add(nom + " (" + dernier + ")");
+                }
+            }
+        } while (page.size() == PAGE);
+
+        if (!manquants.isEmpty()) {
+            logger.warn("Export ZIP : {} fichier(s) absent(s) du disque", manquants.size());
+            byte[] liste = (String.join("\n", manquants) + "\n").getBytes(StandardCharsets.UTF_8);
+            zip.ajouter(MANQUANTS, new ByteArrayInputStream(liste), liste.length, true, LocalDateTime.now());
+        }
+        long octets = zip.terminer();
+        logger.info("Export ZIP de {} fichiers ({} octets) en {} ms", fichiers, octets, System.currentTimeMillis() - debut);
+        return fichiers;
+    }
+
+    /**
+     * Reads the next page of attachments: id, original name, MIME type, path, upload date, complaint number and hash.
+     */
+    private List<Tuple> page(BiFunction<CriteriaBuilder, Root<Reclamation>, Predicate> criteres, UUID apres) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Fichier> fichier = query.from(Fichier.class);
+        Root<Reclamation> reclamation = query.from(Reclamation.class);
+        query.multiselect(fichier.get("id"), fichier.get("nomOriginal"), fichier.get("typeMime"),
+                fichier.get("cheminComplet"), fichier.get("dateUpload"), reclamation.get("numero"),
+                fichier.get("hashFichier"));
+        Predicate predicat = cb.and(cb.equal(fichier.get("reclamation"), reclamation), criteres.apply(cb, reclamation));
+        if (apres != null) {
+            predicat = cb.and(predicat, cb.greaterThan(fichier.<UUID>get("id"), apres));
+        }
+        query.where(predicat);
+        query.orderBy(cb.asc(fichier.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(PAGE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+}
@@ -2,23 +2,39 @@ package com.GIRA.Backend.service.impl;
 
 import com.GIRA.Backend.service.interfaces.FichierService;
 import com.GIRA.Backend.Respository.FichierRepository;
+import com.GIRA.Backend.Respository.ReclamationRepository;
+import com.GIRA.Backend.Respository.UserRepository;
 import com.GIRA.Backend.Entities.Fichier;
+import com.GIRA.Backend.DTO.response.FichierResponse;
+import com.GIRA.Backend.DTO.response.PiecesJointesResume;
+import com.GIRA.Backend.mapper.FichierMapper;
+import com.GIRA.Backend.service.interfaces.BlobService;
+import com.GIRA.Backend.storage.FichierUploadedEvent;
+import com.GIRA.Backend.storage.HashingFileWriter;
+import com.GIRA.Backend.storage.ImageDerivatives;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 
 /**
  * Implementation of FichierService.
@@ -27,7 +43,15 @@ import java.security.NoSuchAlgorithmException;
  */
 @Service
 public class FichierServiceImpl implements FichierService {
+    /** Complaint ids per attachment summary query, to keep the IN list bounded. */
+    private static final int RESUMES_PAR_REQUETE = 500;
+
     private final FichierRepository fichierRepository;
+    private final ReclamationRepository reclamationRepository;
+    private final UserRepository userRepository;
+    private final BlobService blobService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.upload.dir:uploads}")
     private String uploadDir;
@@ -35,14 +59,33 @@ public class FichierServiceImpl implements FichierService {
     @Value("${app.file.max-size:10485760}") // 10MB default
     private long maxFileSize;
 
+    @Value("${app.upload.fsync:DATA}")
+    private HashingFileWriter.Fsync fsync;
+
+    @Value("${app.upload.buffer-size:65536}")
+    private int bufferSize;
+
+    @Value("${app.upload.buffers:64}")
+    private int buffers;
+
+    private HashingFileWriter writer;
+
     @Autowired
-    public FichierServiceImpl(FichierRepository fichierRepository) {
+    public FichierServiceImpl(FichierRepository fichierRepository, ReclamationRepository reclamationRepository, UserRepository userRepository,
+                              BlobService blobService, PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher) {
         this.fichierRepository = fichierRepository;
+        this.reclamationRepository = reclamationRepository;
+        this.userRepository = userRepository;
+        this.blobService = blobService;
+        this.eventPublisher = eventPublisher;
+        // Only the blob reference and the row are transactional: no connection is held while the upload streams
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @PostConstruct
     private void initialize() {
         createUploadDirectory();
+        writer = new HashingFileWriter(bufferSize, buffers, fsync);
     }
 
     private void createUploadDirectory() {
@@ -66,62 +109,64 @@ public class FichierServiceImpl implements FichierService {
 
     /**
      * Uploads a file from MultipartFile and creates a Fichier entity.
+     * The content is streamed to disk once, hashed on the way, and stored once per distinct content:
+     * an attachment identical to an existing one only adds a reference to its blob.
      */
     @Override
     public Fichier uploadFile(MultipartFile file, UUID reclamationId, UUID userId) throws IOException {
-        // Validate file size
+        // Validate file size (declared size; the streamed size is checked again while writing)
         if (file.getSize() > maxFileSize) {
             throw new IllegalArgumentException("File size exceeds maximum allowed size");
         }
 
-        // Generate unique filename
-        String originalFilename = file.getOriginalFilename();
-        String fileExtension = getFileExtension(originalFilename);
-        String uniqueFilename = UUID.randomUUID().toString() + fileExtension;
-
-        // Create file path
-        Path filePath = Paths.get(uploadDir, uniqueFilename);
-
-        // Save file to disk
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        // Save file to a temporary path, computing its hash in the same pass
+        Path temporaire = blobService.temporaire();
+        HashingFileWriter.Resultat resultat;
+        try (InputStream in = file.getInputStream()) {
+            resultat = writer.ecrire(in, temporaire, maxFileSize);
+        }
+        try {
+            return enregistrer(temporaire, resultat.getSha256(), resultat.getTaille(), file.getOriginalFilename(),
+                    file.getContentType(), reclamationId, userId);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporaire);
+            throw e;
+        }
+    }
 
+    /**
+     * Stores the content under its hash (or references the existing copy) and saves the row in one transaction.
+     */
+    @Override
+    public Fichier enregistrer(Path contenu, String sha256, long taille, String nomOriginal, String typeMime,
+                               UUID reclamationId, UUID userId) throws IOException {
         // Create Fichier entity
         Fichier fichier = new Fichier();
-        fichier.setNomOriginal(originalFilename);
-        fichier.setCheminComplet(filePath.toString());
-        fichier.setTypeMime(file.getContentType());
-        fichier.setTaille(file.getSize());
+        fichier.setNomOriginal(nomOriginal);
+        fichier.setTypeMime(typeMime);
+        fichier.setTaille(taille);
         fichier.setDateUpload(LocalDateTime.now());
-        fichier.setHashFichier(calculateFileHash(filePath));
+        fichier.setHashFichier(sha256);
 
-        // Set relationships (these would need to be loaded from repositories)
-        // fichier.setReclamation(reclamationRepository.findById(reclamationId).orElse(null));
-        // fichier.setUploadePar(userRepository.findById(userId).orElse(null));
-
-        return fichierRepository.save(fichier);
-    }
-
-    private String getFileExtension(String filename) {
-        if (filename == null || filename.lastIndexOf(".") == -1) {
-            return "";
-        }
-        return filename.substring(filename.lastIndexOf("."));
-    }
-
-    private String calculateFileHash(Path filePath) {
+        Fichier enregistre;
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(Files.readAllBytes(filePath));
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) hexString.append('0');
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException | IOException e) {
-            throw new RuntimeException("Error calculating file hash", e);
+            enregistre = transactionTemplate.execute(status -> {
+                // References only: the ids are all the insert needs
+                fichier.setReclamation(reclamationRepository.getReferenceById(reclamationId));
+                fichier.setUploadePar(userId != null ? userRepository.getReferenceById(userId) : null);
+                try {
+                    fichier.setCheminComplet(blobService.retenir(sha256, taille, contenu).toString());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return fichierRepository.save(fichier);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+        // Committed: background processing (derivatives) can see the row and the blob
+        eventPublisher.publishEvent(new FichierUploadedEvent(enregistre.getId(), blobService.localiser(enregistre).getChemin(), typeMime));
+        return enregistre;
     }
 
     @Override
@@ -134,6 +179,34 @@ public class FichierServiceImpl implements FichierService {
         return fichierRepository.findByReclamation_Id(reclamationId);
     }
 
+    @Override
+    public Map<UUID, PiecesJointesResume> getResumesByReclamationIds(Collection<UUID> reclamationIds) {
+        Map<UUID, PiecesJointesResume> resumes = new HashMap<>();
+        List<UUID> ids = reclamationIds.stream().filter(Objects::nonNull).distinct().toList();
+        // Bounded IN lists: one query per page, a few for an unpaginated list of every complaint
+        for (int debut = 0; debut < ids.size(); debut += RESUMES_PAR_REQUETE) {
+            List<UUID> lot = ids.subList(debut, Math.min(ids.size(), debut + RESUMES_PAR_REQUETE));
+            for (Object[] ligne : fichierRepository.findResumesByReclamationIdIn(lot)) {
+                UUID reclamationId = (UUID) ligne[0];
+                UUID id = (UUID) ligne[1];
+                String typeMime = (String) ligne[5];
+                resumes.computeIfAbsent(reclamationId, r -> PiecesJointesResume.vide()).ajouter(FichierResponse.builder()
+                        .id(id)
+                        .fileName((String) ligne[2])
+                        .url((String) ligne[3])
+                        .description((String) ligne[4])
+                        .typeMime(typeMime)
+                        .reclamationId(reclamationId)
+                        .uploadedBy((UUID) ligne[6])
+                        .dateUpload((LocalDateTime) ligne[7])
+                        .thumbnailUrl(FichierMapper.urlDerive(id, typeMime, ImageDerivatives.Variante.MINIATURE))
+                        .previewUrl(FichierMapper.urlDerive(id, typeMime, ImageDerivatives.Variante.APERCU))
+                        .build());
+            }
+        }
+        return resumes;
+    }
+
     @Override
     public List<Fichier> getFilesByUploadeParId(UUID userId) {
         return fichierRepository.findByUploadePar_Id(userId);
@@ -160,18 +233,25 @@ public class FichierServiceImpl implements FichierService {
     }
 
     @Override
+    @Transactional
     public void deleteFile(UUID id) {
         Fichier fichier = fichierRepository.findById(id).orElse(null);
         if (fichier != null) {
-            // Delete file from storage
-            try {
-                Path filePath = Paths.get(fichier.getCheminComplet());
-                Files.deleteIfExists(filePath);
-            } catch (IOException e) {
-                // Log error but continue with database deletion
-                System.err.println("Error deleting file from storage: " + e.getMessage());
+            if (blobService.estBlob(fichier)) {
+                // Shared content: the blob is deleted after commit with its last reference
+                blobService.liberer(fichier.getHashFichier());
+            } else {
+                // Delete file from storage
+                try {
+                    Path filePath = Paths.get(fichier.getCheminComplet());
+                    Files.deleteIfExists(filePath);
+                    ImageDerivatives.supprimer(filePath);
+                } catch (IOException e) {
+                    // Log error but continue with database deletion
+                    System.err.println("Error deleting file from storage: " + e.getMessage());
+                }
             }
-            
+
             // Delete from database
             fichierRepository.deleteById(id);
         }
@@ -33,6 +33,16 @@ public class HistoriqueServiceImpl implements HistoriqueService {
         return historiqueRepository.save(historique);
     }
 
+    /**
+     * Adds several history records at once; Hibernate groups the inserts into JDBC batches.
+     * @param historiques The history entities to add
+     * @return The added history entities
+     */
+    @Override
+    public List<Historique> addHistoriques(List<Historique> historiques) {
+        return historiqueRepository.saveAll(historiques);
+    }
+
     /**
      * Retrieves a history record by its ID.
      * @param id The history UUID
@@ -0,0 +1,327 @@
+package com.GIRA.Backend.service.impl;
+
+import com.GIRA.Backend.DTO.request.IncidentReplayRequest;
+import com.GIRA.Backend.DTO.response.IncidentResponse;
+import com.GIRA.Backend.Entities.Notification;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.Entities.User;
+import com.GIRA.Backend.Respository.ReclamationRepository;
+import com.GIRA.Backend.Respository.UserRepository;
+import com.GIRA.Backend.cache.CategorieTree;
+import com.GIRA.Backend.cache.ConfigurationChangedEvent;
+import com.GIRA.Backend.cache.IncidentDetector;
+import com.GIRA.Backend.cache.IncidentReplay;
+import com.GIRA.Backend.exception.BadRequestException;
+import com.GIRA.Backend.service.interfaces.CategorieTreeService;
+import com.GIRA.Backend.service.interfaces.ConfigurationService;
+import com.GIRA.Backend.service.interfaces.IncidentService;
+import com.GIRA.Backend.service.interfaces.NotificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Implementation of IncidentService.
+ * <p>
+ * The detector is held in a volatile reference, fed after commit with the complaints created on this node, and
+ * replaced when an 'incidents.' setting changes. A new detector first reloads the complaints of its window (one
+ * keyset scan, without notification) so a restart does not hide a burst in progress. Idle places are purged
+ * every minute. Each node counts the complaints it receives, like the other in-memory jobs.
+ * </p>
+ * <p>
+ * Settings: 'incidents.enabled' (default true), 'incidents.seuil' (default 5 complaints),
+ * 'incidents.fenetre.minutes' (default 15) and 'incidents.superviseurs' (user ids, default every active admin).
+ * Replays cover at most 'app.incidents.replay.max-jours' days (default 31) and, when paced, last at most
+ * 'app.incidents.replay.max-attente-secondes' (default 60).
+ * </p>
+ * @author Mohamed Yahya Jabrane
+ */
+@Service
+public class IncidentServiceImpl implements IncidentService {
+    private static final Logger logger = LoggerFactory.getLogger(IncidentServiceImpl.class);
+    private static final String ROLE_SUPERVISEUR = "ADMIN";
+    private static final int SEUIL_DEFAUT = 5;
+    private static final int FENETRE_DEFAUT = 15;
+    private static final int SEUIL_MAX = 1_000;
+    private static final int FENETRE_MAX = 1_440;
+    private static final int RECENTS = 100;
+    private static final int PAGE = 1_000;
+    private static final UUID UUID_MIN = new UUID(0L, 0L);
+
+    private final ReclamationRepository reclamationRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final ConfigurationService configurationService;
+    private final CategorieTreeService categorieTreeService;
+    private final TransactionTemplate transactionTemplate;
+    private final Deque<IncidentDetector.Incident> recents = new ArrayDeque<>();
+    private volatile IncidentDetector detecteur;
+
+    @Value("${app.incidents.replay.max-jours:31}")
+    private long replayMaxJours;
+
+    @Value("${app.incidents.replay.max-attente-secondes:60}")
+    private long replayMaxAttenteSecondes;
+
+    @Autowired
+    public IncidentServiceImpl(ReclamationRepository reclamationRepository, UserRepository userRepository,
+                               NotificationService notificationService, ConfigurationService configurationService,
+                               CategorieTreeService categorieTreeService, PlatformTransactionManager transactionManager) {
+        this.reclamationRepository = reclamationRepository;
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+        this.configurationService = configurationService;
+        this.categorieTreeService = categorieTreeService;
+        // Notifications are sent after the commit of the complaint, in their own transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void enregistrer(Reclamation reclamation) {
+        if (reclamation.getId() == null || !configurationService.getBoolean(ENABLED_KEY, true)) {
+            return;
+        }
+        IncidentDetector.Evenement evenement = new IncidentDetector.Evenement(reclamation.getId(),
+                reclamation.getCategorie() != null ? reclamation.getCategorie().getId() : null,
+                reclamation.getLieuDescription(), reclamation.getLocalisation(),
+                epochMs(reclamation.getDateCreation() != null ? reclamation.getDateCreation() : LocalDateTime.now()));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            traiter(evenement);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                traiter(evenement);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<IncidentResponse> getIncidents() {
+        List<IncidentDetector.Incident> incidents;
+        synchronized (recents) {
+            incidents = new ArrayList<>(recents);
+        }
+        CategorieTree tree = categorieTreeService.getTree();
+        return incidents.stream().map(incident -> toResponse(incident, tree)).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<IncidentResponse> rejouer(IncidentReplayRequest request) {
+        if (!request.getFin().isAfter(request.getDebut())) {
+            throw new BadRequestException("La date de fin doit être postérieure à la date de début");
+        }
+        // The replay runs on the request thread: bound the period read and the time spent pacing it
+        Duration periode = Duration.between(request.getDebut(), request.getFin());
+        if (periode.compareTo(Duration.ofDays(replayMaxJours)) > 0) {
+            throw new BadRequestException("La période rejouée ne peut pas dépasser " + replayMaxJours + " jours");
+        }
+        double vitesse = request.getVitesse() != null ? request.getVitesse() : 0.0;
+        if (vitesse > 0 && periode.toMillis() / vitesse > Duration.ofSeconds(replayMaxAttenteSecondes).toMillis()) {
+            throw new BadRequestException("À cette vitesse, le rejeu durerait plus de " + replayMaxAttenteSecondes
+                    + " secondes : augmentez la vitesse ou utilisez 0 (sans attente)");
+        }
+        int seuil = request.getSeuil() != null ? request.getSeuil() : seuilConfigure();
+        int fenetre = request.getFenetreMinutes() != null ? request.getFenetreMinutes() : fenetreConfiguree();
+        IncidentDetector rejeu = new IncidentDetector(seuil, Duration.ofMinutes(fenetre).toMillis());
+        List<IncidentDetector.Incident> incidents;
+        try {
+            incidents = IncidentReplay.systeme().rejouer(rejeu, lire(request.getDebut(), request.getFin()), vitesse);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replay interrupted", e);
+        }
+        CategorieTree tree = categorieTreeService.getTree();
+        return incidents.stream().map(incident -> toResponse(incident, tree)).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized IncidentDetector reload() {
+        int seuil = seuilConfigure();
+        int fenetre = fenetreConfiguree();
+        IncidentDetector nouveau = new IncidentDetector(seuil, Duration.ofMinutes(fenetre).toMillis());
+        LocalDateTime maintenant = LocalDateTime.now();
+        // Bursts in progress were notified before the restart: their incident stays open, silently
+        lire(maintenant.minusMinutes(fenetre), maintenant.plusMinutes(1)).forEachRemaining(nouveau::enregistrer);
+        detecteur = nouveau;
+        logger.debug("Incident detector rebuilt: {} complaints in {} minutes", seuil, fenetre);
+        return nouveau;
+    }
+
+    /**
+     * Forgets the places without recent complaint.
+     */
+    @Scheduled(fixedDelayString = "${app.incidents.purge-ms:60000}")
+    public void purger() {
+        IncidentDetector courant = detecteur;
+        if (courant != null) courant.purger(System.currentTimeMillis());
+    }
+
+    /**
+     * Rebuilds the detector when a threshold changes, including changes made on another replica.
+     * @param event the configuration change event
+     */
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (detecteur != null && (event.getCles().contains(SEUIL_KEY) || event.getCles().contains(FENETRE_KEY))) {
+            reload();
+        }
+    }
+
+    /**
+     * The configured threshold, within the bounds accepted for a replay (the detector keeps arrays of this size).
+     */
+    private int seuilConfigure() {
+        return Math.min(SEUIL_MAX, Math.max(2, configurationService.getInt(SEUIL_KEY, SEUIL_DEFAUT)));
+    }
+
+    private int fenetreConfiguree() {
+        return Math.min(FENETRE_MAX, Math.max(1, configurationService.getInt(FENETRE_KEY, FENETRE_DEFAUT)));
+    }
+
+    private void traiter(IncidentDetector.Evenement evenement) {
+        IncidentDetector courant = detecteur;
+        if (courant == null) courant = reload();
+        long fenetreMs = courant.getFenetreMs();
+        courant.enregistrer(evenement).ifPresent(incident -> {
+            synchronized (recents) {
+                recents.addFirst(incident);
+                if (recents.size() > RECENTS) recents.removeLast();
+            }
+            logger.info("Incident detected: {} complaints at {} (category {})",
+                    incident.getReclamations().size(), incident.getLieu(), incident.getCategorieId());
+            try {
+                transactionTemplate.executeWithoutResult(status -> notifier(incident, fenetreMs));
+            } catch (RuntimeException e) {
+                logger.warn("Could not notify the supervisors of incident {}", incident.getId(), e);
+            }
+        });
+    }
+
+    private void notifier(IncidentDetector.Incident incident, long fenetreMs) {
+        CategorieTree tree = categorieTreeService.getTree();
+        String categorie = incident.getCategorieId() != null ? tree.getCategorieNom(incident.getCategorieId()) : null;
+        List<UUID> reclamations = incident.getReclamations();
+        Reclamation premiere = reclamationRepository.getReferenceById(reclamations.get(0));
+        String contenu = reclamations.size() + " réclamations" + (categorie != null ? " « " + categorie + " »" : "")
+                + " sur le lieu " + incident.getLieu() + " en moins de "
+                + Duration.ofMillis(fenetreMs).toMinutes() + " minutes";
+        for (User superviseur : userRepository.findAllById(superviseurs())) {
+            Notification notification = new Notification();
+            notification.setDestinataire(superviseur);
+            notification.setType(Notification.Type.PUSH);
+            notification.setSujet("Incident détecté");
+            notification.setContenu(contenu);
+            notification.setReclamation(premiere);
+            notificationService.sendNotification(notification);
+        }
+    }
+
+    private Set<UUID> superviseurs() {
+        String configures = configurationService.getString(SUPERVISEURS_KEY, null);
+        if (configures == null || configures.isBlank()) {
+            return new LinkedHashSet<>(userRepository.findActiveIdsByRoleNom(ROLE_SUPERVISEUR));
+        }
+        Set<UUID> ids = new LinkedHashSet<>();
+        for (String id : configures.split(",")) {
+            try {
+                if (!id.isBlank()) ids.add(UUID.fromString(id.trim()));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring malformed supervisor id in {}: {}", SUPERVISEURS_KEY, id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Complaints created in [debut, fin), in creation order, read page by page as the iteration advances.
+     */
+    private Iterator<IncidentDetector.Evenement> lire(LocalDateTime debut, LocalDateTime fin) {
+        return new Iterator<>() {
+            private LocalDateTime apresDate = debut;
+            private UUID apresId = UUID_MIN;
+            private Iterator<Object[]> page = Collections.emptyIterator();
+            private boolean fini;
+
+            @Override
+            public boolean hasNext() {
+                if (!page.hasNext() && !fini) {
+                    List<Object[]> lignes = reclamationRepository.findLieuxApres(apresDate, apresId, fin, PageRequest.of(0, PAGE));
+                    fini = lignes.size() < PAGE;
+                    page = lignes.iterator();
+                }
+                return page.hasNext();
+            }
+
+            @Override
+            public IncidentDetector.Evenement next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Object[] ligne = page.next();
+                apresId = (UUID) ligne[0];
+                apresDate = (LocalDateTime) ligne[4];
+                return new IncidentDetector.Evenement(apresId, (UUID) ligne[1], (String) ligne[2], (String) ligne[3], epochMs(apresDate));
+            }
+        };
+    }
+
+    private static IncidentResponse toResponse(IncidentDetector.Incident incident, CategorieTree tree) {
+        List<UUID> reclamations = incident.getReclamations();
+        return IncidentResponse.builder()
+                .id(incident.getId())
+                .categorieId(incident.getCategorieId())
+                .categorieNom(incident.getCategorieId() != null ? tree.getCategorieNom(incident.getCategorieId()) : null)
+                .lieu(incident.getLieu())
+                .debut(dateTime(incident.getDebutMs()))
+                .fin(dateTime(incident.getFinMs()))
+                .nombre(reclamations.size())
+                .reclamations(reclamations)
+                .build();
+    }
+
+    private static long epochMs(LocalDateTime date) {
+        return date.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime dateTime(long epochMs) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneId.systemDefault());
+    }
+}
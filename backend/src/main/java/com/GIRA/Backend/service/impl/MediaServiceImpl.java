@@ -0,0 +1,163 @@
+package com.GIRA.Backend.service.impl;
+
+import com.GIRA.Backend.Entities.Fichier;
+import com.GIRA.Backend.service.interfaces.BlobService;
+import com.GIRA.Backend.service.interfaces.MediaService;
+import com.GIRA.Backend.storage.FichierUploadedEvent;
+import com.GIRA.Backend.storage.ImageDerivatives;
+import com.GIRA.Backend.storage.StoredContent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of MediaService.
+ * <p>
+ * Uploads are fed after commit through {@link FichierUploadedEvent}. Derivatives are generated on a fixed pool of
+ * 'app.media.threads' workers behind a queue of 'app.media.queue-capacity' tasks: decoding is CPU and memory heavy,
+ * so a burst of uploads waits in the queue instead of competing with requests, and tasks beyond the capacity are
+ * dropped (counted and logged) rather than piling up. A file already queued is not queued twice, and content
+ * shared by several attachments is processed once. A derivative requested before it exists is queued too, which
+ * also covers the images uploaded before this pipeline.
+ * </p>
+ * <p>
+ * Metrics: the pool is bound as executor 'media' (executor.queued, executor.queue.remaining, executor.active,
+ * executor.completed, executor and executor.idle timers for run and queue wait time), and
+ * 'gira.media.derivatives' counts the outcomes by result (ok, ignored, failed, rejected).
+ * </p>
+ * @author Mohamed Yahya Jabrane
+ */
+@Service
+public class MediaServiceImpl implements MediaService {
+    private static final Logger logger = LoggerFactory.getLogger(MediaServiceImpl.class);
+
+    private final BlobService blobService;
+    private final ImageDerivatives derives;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executeur;
+    private final Set<Path> enCours = ConcurrentHashMap.newKeySet();
+    private final Counter generes;
+    private final Counter ignores;
+    private final Counter echecs;
+    private final Counter rejetes;
+
+    @Autowired
+    public MediaServiceImpl(MeterRegistry registry, BlobService blobService,
+                            @Value("${app.media.threads:2}") int threads,
+                            @Value("${app.media.queue-capacity:500}") int capacite,
+                            @Value("${app.media.thumbnail-size:320}") int coteMiniature,
+                            @Value("${app.media.preview-size:1280}") int coteApercu,
+                            @Value("${app.media.quality:0.8}") float qualite,
+                            @Value("${app.media.max-pixels:100000000}") long pixelsMax) {
+        this.blobService = blobService;
+        this.derives = new ImageDerivatives(coteMiniature, coteApercu, qualite, pixelsMax);
+        AtomicInteger numero = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(capacite), tache -> {
+            Thread thread = new Thread(tache, "media-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executeur = ExecutorServiceMetrics.monitor(registry, pool, "media", Tags.empty());
+        this.generes = compteur(registry, "ok");
+        this.ignores = compteur(registry, "ignored");
+        this.echecs = compteur(registry, "failed");
+        this.rejetes = compteur(registry, "rejected");
+    }
+
+    private static Counter compteur(MeterRegistry registry, String resultat) {
+        return Counter.builder("gira.media.derivatives")
+                .description("Image derivative generations by outcome")
+                .tag("result", resultat)
+                .register(registry);
+    }
+
+    /**
+     * Queues the derivatives of each committed upload.
+     * @param event the upload event
+     */
+    @EventListener
+    public void onFichierUploaded(FichierUploadedEvent event) {
+        if (event.getChemin() != null) soumettre(event.getChemin(), event.getTypeMime());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean soumettre(Path original, String typeMime) {
+        if (!ImageDerivatives.supporte(typeMime)) return false;
+        if (ImageDerivatives.existent(original) || !enCours.add(original)) return true;
+        try {
+            executeur.execute(() -> generer(original));
+            return true;
+        } catch (RejectedExecutionException e) {
+            enCours.remove(original);
+            rejetes.increment();
+            logger.warn("Media queue full ({} tasks): derivatives of {} skipped", pool.getQueue().size(), original.getFileName());
+            return false;
+        }
+    }
+
+    private void generer(Path original) {
+        try {
+            if (!derives.generer(original)) {
+                ignores.increment();
+                return;
+            }
+            if (!Files.exists(original)) {
+                // Deleted while processing: do not leave orphans
+                ImageDerivatives.supprimer(original);
+            }
+            generes.increment();
+        } catch (IOException | RuntimeException e) {
+            echecs.increment();
+            logger.warn("Derivatives of {} not generated: {}", original.getFileName(), e.getMessage());
+        } finally {
+            enCours.remove(original);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Path getDerive(Fichier fichier, ImageDerivatives.Variante variante) {
+        StoredContent stocke = blobService.localiser(fichier);
+        // A gzip encoded cold copy or a remote object is not decodable by ImageIO: served as the original
+        if (stocke.estEncode() || !stocke.estLocal()) return null;
+        Path original = stocke.getChemin();
+        Path derive = ImageDerivatives.chemin(original, variante);
+        if (Files.exists(derive)) return derive;
+        soumettre(original, fichier.getTypeMime());
+        return null;
+    }
+
+    @PreDestroy
+    void arreter() throws InterruptedException {
+        pool.shutdown();
+        if (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
+            pool.shutdownNow();
+        }
+    }
+}
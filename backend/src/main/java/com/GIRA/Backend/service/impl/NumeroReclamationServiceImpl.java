@@ -0,0 +1,203 @@
+package com.GIRA.Backend.service.impl;
+
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.Respository.SequenceNumeroRepository;
+import com.GIRA.Backend.service.interfaces.NumeroReclamationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of NumeroReclamationService.
+ * <p>
+ * Each node reserves a block of numbers per year with one atomic UPDATE of the year's counter row
+ * ({@code sequences_numero.valeur_haute += taille}) in its own short transaction, then hands the numbers of the
+ * block out from memory. The row lock serializes reservations across nodes, so blocks never overlap; the
+ * in-memory block is guarded per year, so concurrent requests on one node never get the same number.
+ * Callers draw numbers outside of their own transaction: a reservation needs a connection of its own.
+ * Numbers of a block that are not used (node restart, rolled back complaint) are skipped, never reissued.
+ * </p>
+ * @author Mohamed Yahya Jabrane
+ */
+@Service
+public class NumeroReclamationServiceImpl implements NumeroReclamationService {
+    private static final Logger logger = LoggerFactory.getLogger(NumeroReclamationServiceImpl.class);
+    private static final int MAX_TENTATIVES = 3;
+
+    private final SequenceNumeroRepository sequenceNumeroRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int tailleBloc;
+    private final Map<Integer, Bloc> blocs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public NumeroReclamationServiceImpl(SequenceNumeroRepository sequenceNumeroRepository, PlatformTransactionManager transactionManager,
+                                        @Value("${app.numerotation.taille-bloc:100}") int tailleBloc) {
+        if (tailleBloc < 1) {
+            throw new IllegalArgumentException("app.numerotation.taille-bloc must be positive");
+        }
+        this.sequenceNumeroRepository = sequenceNumeroRepository;
+        // Reservations commit on their own: the counter row is locked only for the reservation, not the caller's transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tailleBloc = tailleBloc;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String prochainNumero() {
+        return prochainNumero(Year.now().getValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String prochainNumero(int annee) {
+        return Reclamation.formaterNumero(annee, prochaineSequence(annee));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long prochaineSequence(int annee) {
+        return blocs.computeIfAbsent(annee, Bloc::new).suivant();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The year's counter is raised to the value and this node's block skips the numbers up to it. Blocks
+     * already held by other nodes are not affected: they may still hand out a number between their last
+     * number drawn and the value.
+     * </p>
+     */
+    @Override
+    public void avancer(int annee, long sequence) {
+        for (int tentative = 1; ; tentative++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    LocalDateTime maintenant = LocalDateTime.now();
+                    if (sequenceNumeroRepository.avancer(annee, sequence, maintenant) == 0
+                            && sequenceNumeroRepository.findValeurHaute(annee).isEmpty()) {
+                        sequenceNumeroRepository.creer(annee, sequence, maintenant);
+                    }
+                });
+                break;
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the year's counter at the same time: raise its row instead
+                if (tentative >= MAX_TENTATIVES) {
+                    throw e;
+                }
+            }
+        }
+        blocs.computeIfAbsent(annee, Bloc::new).avancer(sequence);
+    }
+
+    /**
+     * Reserves the next block of a year and returns its high value (last number of the block).
+     */
+    private long reserverBloc(int annee) {
+        for (int tentative = 1; ; tentative++) {
+            try {
+                Long valeurHaute = transactionTemplate.execute(status -> {
+                    LocalDateTime maintenant = LocalDateTime.now();
+                    if (sequenceNumeroRepository.reserverBloc(annee, tailleBloc, maintenant) == 0) {
+                        // First block of the year on any node
+                        sequenceNumeroRepository.creer(annee, tailleBloc, maintenant);
+                        return (long) tailleBloc;
+                    }
+                    return sequenceNumeroRepository.findValeurHaute(annee)
+                            .orElseThrow(() -> new IllegalStateException("Compteur de l'année " + annee + " introuvable"));
+                });
+                logger.debug("Bloc de numéros réservé pour {} : {} à {}", annee, valeurHaute - tailleBloc + 1, valeurHaute);
+                return valeurHaute;
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the year's counter at the same time: reserve from its row instead
+                if (tentative >= MAX_TENTATIVES) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Current block of one year on this node.
+     * <p>
+     * The monitor only guards the in-memory counters: it is released while a block is reserved, so a thread
+     * waiting for a number never waits for a database round trip made by another thread while holding it. One
+     * thread at a time reserves the next block; the others wait for it, so a node never holds more than the
+     * rest of its current block.
+     * </p>
+     */
+    private final class Bloc {
+        private final int annee;
+        private long prochain = 1;
+        private long fin = 0;
+        private boolean reservationEnCours;
+
+        Bloc(Integer annee) {
+            this.annee = annee;
+        }
+
+        long suivant() {
+            while (true) {
+                synchronized (this) {
+                    while (prochain > fin && reservationEnCours) {
+                        attendre();
+                    }
+                    if (prochain <= fin) {
+                        return prochain++;
+                    }
+                    reservationEnCours = true;
+                }
+                Long valeurHaute = null;
+                try {
+                    valeurHaute = reserverBloc(annee);
+                } finally {
+                    synchronized (this) {
+                        reservationEnCours = false;
+                        // A block below the numbers already handed out (see avancer) would break their order: skip it
+                        if (valeurHaute != null && valeurHaute - tailleBloc + 1 > fin) {
+                            prochain = valeurHaute - tailleBloc + 1;
+                            fin = valeurHaute;
+                        }
+                        notifyAll();
+                    }
+                }
+            }
+        }
+
+        synchronized void avancer(long sequence) {
+            if (sequence >= fin) {
+                // Block used up to the value
+                fin = sequence;
+                prochain = sequence + 1;
+            } else if (sequence >= prochain) {
+                prochain = sequence + 1;
+            }
+        }
+
+        private void attendre() {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrompu en attendant un bloc de numéros pour " + annee, e);
+            }
+        }
+    }
+}
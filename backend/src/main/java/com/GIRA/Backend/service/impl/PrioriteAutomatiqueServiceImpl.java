@@ -0,0 +1,102 @@
+package com.GIRA.Backend.service.impl;
+
+import com.GIRA.Backend.DTO.request.PrioriteTermeRequest;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.cache.ConfigurationChangedEvent;
+import com.GIRA.Backend.cache.PrioriteClassifier;
+import com.GIRA.Backend.service.interfaces.ConfigurationService;
+import com.GIRA.Backend.service.interfaces.PrioriteAutomatiqueService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of PrioriteAutomatiqueService.
+ * The compiled classifier is held in a volatile reference and replaced as a whole when 'priorite.termes' changes,
+ * on this node or on another replica, so a classification always sees one consistent term list.
+ * Without the setting, the historical keywords apply ("urgent*" and "danger*" for URGENTE).
+ * @author Mohamed Yahya Jabrane
+ */
+@Service
+public class PrioriteAutomatiqueServiceImpl implements PrioriteAutomatiqueService {
+    private static final Logger logger = LoggerFactory.getLogger(PrioriteAutomatiqueServiceImpl.class);
+    private static final List<PrioriteClassifier.Terme> TERMES_DEFAUT = List.of(
+            new PrioriteClassifier.Terme("urgent*", Reclamation.Priorite.URGENTE, 10, null),
+            new PrioriteClassifier.Terme("danger*", Reclamation.Priorite.URGENTE, 10, null));
+
+    private final ConfigurationService configurationService;
+    private final AtomicLong versions = new AtomicLong();
+    private volatile PrioriteClassifier current;
+
+    @Autowired
+    public PrioriteAutomatiqueServiceImpl(ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Reclamation.Priorite determiner(Reclamation reclamation) {
+        return getClassifier()
+                .classer(reclamation.getTitre(), reclamation.getDescription(),
+                        reclamation.getCategorie() != null ? reclamation.getCategorie().getId() : null)
+                .orElseGet(reclamation::prioriteParDefaut);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PrioriteClassifier getClassifier() {
+        PrioriteClassifier classifier = current;
+        return classifier != null ? classifier : reload();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized PrioriteClassifier reload() {
+        PrioriteTermeRequest[] configures = configurationService.getJson(TERMES_KEY, PrioriteTermeRequest[].class, null);
+        List<PrioriteClassifier.Terme> termes;
+        if (configures == null) {
+            termes = TERMES_DEFAUT;
+        } else {
+            termes = new ArrayList<>(configures.length);
+            for (PrioriteTermeRequest terme : configures) {
+                if (terme == null || terme.getTerme() == null || terme.getTerme().isBlank() || terme.getPriorite() == null) {
+                    logger.warn("Ignoring incomplete priority term {}", terme);
+                    continue;
+                }
+                int poids = terme.getPoids() != null ? terme.getPoids() : 1;
+                if (poids <= 0) {
+                    logger.warn("Ignoring priority term '{}' with weight {}", terme.getTerme(), poids);
+                    continue;
+                }
+                termes.add(new PrioriteClassifier.Terme(terme.getTerme(), terme.getPriorite(), poids, terme.getCategorieId()));
+            }
+        }
+        PrioriteClassifier classifier = PrioriteClassifier.build(termes, versions.incrementAndGet());
+        current = classifier;
+        logger.debug("Priority classifier v{} published ({} terms, {} states)", classifier.getVersion(), classifier.size(), classifier.getEtats());
+        return classifier;
+    }
+
+    /**
+     * Recompiles the classifier when the term list changes, including changes made on another replica.
+     * @param event the configuration change event
+     */
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (event.getCles().contains(TERMES_KEY)) {
+            reload();
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.GIRA.Backend.service.impl;
+
+import com.GIRA.Backend.DTO.request.ReclamationBulkUpdateRequest;
+import com.GIRA.Backend.DTO.response.ReclamationBulkUpdateResponse;
+import com.GIRA.Backend.Entities.Historique;
+import com.GIRA.Backend.Entities.Notification;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.Entities.User;
+import com.GIRA.Backend.Respository.ReclamationRepository;
+import com.GIRA.Backend.Respository.UserRepository;
+import com.GIRA.Backend.exception.BadRequestException;
+import com.GIRA.Backend.exception.ResourceNotFoundException;
+import com.GIRA.Backend.security.UserPrincipal;
+import com.GIRA.Backend.service.interfaces.AssignationService;
+import com.GIRA.Backend.service.interfaces.HistoriqueService;
+import com.GIRA.Backend.service.interfaces.NotificationService;
+import com.GIRA.Backend.service.interfaces.ReclamationBulkService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Implementation of ReclamationBulkService.
+ * <p>
+ * The current state of all requested complaints is read with one projection query, the changed ones are updated
+ * with one set-based UPDATE, their history rows are inserted in JDBC batches, and notifications are coalesced:
+ * each recipient gets one summary (PUSH, plus EMAIL where the single update sends one) instead of one per complaint.
+ * History actions and notification subjects match those of the single complaint update.
+ * </p>
+ * @author Mohamed Yahya Jabrane
+ */
+@Service
+public class ReclamationBulkServiceImpl implements ReclamationBulkService {
+    private static final Logger logger = LoggerFactory.getLogger(ReclamationBulkServiceImpl.class);
+    /** Complaints listed by name in a coalesced notification; the others are counted. */
+    private static final int MAX_RECLAMATIONS_CITEES = 10;
+
+    private final ReclamationRepository reclamationRepository;
+    private final UserRepository userRepository;
+    private final HistoriqueService historiqueService;
+    private final NotificationService notificationService;
+    private final AssignationService assignationService;
+
+    @Autowired
+    public ReclamationBulkServiceImpl(ReclamationRepository reclamationRepository, UserRepository userRepository,
+                                      HistoriqueService historiqueService, NotificationService notificationService,
+                                      AssignationService assignationService) {
+        this.reclamationRepository = reclamationRepository;
+        this.userRepository = userRepository;
+        this.historiqueService = historiqueService;
+        this.notificationService = notificationService;
+        this.assignationService = assignationService;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public ReclamationBulkUpdateResponse appliquer(ReclamationBulkUpdateRequest request) {
+        UserPrincipal userPrincipal = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        String role = userPrincipal.getRole();
+        ReclamationBulkUpdateRequest.Operation operation = request.getOperation();
+        User agent = null;
+        switch (operation) {
+            case ASSIGNER -> {
+                if (request.getAgentAssigneId() == null) throw new BadRequestException("L'agent à assigner est obligatoire");
+                agent = userRepository.findById(request.getAgentAssigneId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Agent non trouvé"));
+            }
+            case CHANGER_STATUT -> {
+                if (request.getStatut() == null) throw new BadRequestException("Le statut est obligatoire");
+            }
+            case CHANGER_PRIORITE -> {
+                if (request.getPriorite() == null) throw new BadRequestException("La priorité est obligatoire");
+            }
+        }
+
+        Set<UUID> ids = new LinkedHashSet<>(request.getIds());
+        Map<UUID, Etat> etats = new HashMap<>();
+        for (Object[] row : reclamationRepository.findEtatsByIdIn(ids)) {
+            Etat etat = new Etat(row);
+            etats.put(etat.id, etat);
+        }
+
+        List<ReclamationBulkUpdateResponse.Resultat> resultats = new ArrayList<>(ids.size());
+        List<Etat> aModifier = new ArrayList<>();
+        int inchangees = 0;
+        int introuvables = 0;
+        for (UUID id : ids) {
+            Etat etat = etats.get(id);
+            ReclamationBulkUpdateResponse.Issue issue;
+            if (etat == null) {
+                issue = ReclamationBulkUpdateResponse.Issue.INTROUVABLE;
+                introuvables++;
+            } else if (dejaAppliquee(etat, request, agent)) {
+                issue = ReclamationBulkUpdateResponse.Issue.INCHANGEE;
+                inchangees++;
+            } else {
+                issue = ReclamationBulkUpdateResponse.Issue.MODIFIEE;
+                aModifier.add(etat);
+            }
+            resultats.add(new ReclamationBulkUpdateResponse.Resultat(id, etat != null ? etat.numero : null, issue));
+        }
+
+        if (!aModifier.isEmpty()) {
+            LocalDateTime maintenant = LocalDateTime.now();
+            List<UUID> idsModifies = aModifier.stream().map(e -> e.id).toList();
+            switch (operation) {
+                case ASSIGNER -> reclamationRepository.assignerEnMasse(idsModifies, agent, maintenant);
+                case CHANGER_STATUT -> {
+                    // Same side effects as Reclamation.changerStatut
+                    Reclamation.Statut statut = request.getStatut();
+                    reclamationRepository.changerStatutEnMasse(idsModifies, statut,
+                            statut == Reclamation.Statut.EN_COURS ? maintenant.plusHours(24) : null,
+                            statut == Reclamation.Statut.RESOLUE ? maintenant : null, maintenant);
+                }
+                case CHANGER_PRIORITE -> reclamationRepository.changerPrioriteEnMasse(idsModifies, request.getPriorite(), maintenant);
+            }
+            historiqueService.addHistoriques(historiques(aModifier, request, agent, userPrincipal.getId(), role, maintenant));
+            // Keep the in-memory agent workload in step (applied after commit)
+            for (Etat etat : aModifier) {
+                UUID nouvelAgent = operation == ReclamationBulkUpdateRequest.Operation.ASSIGNER ? agent.getId() : etat.agentId;
+                Reclamation.Statut nouveauStatut = operation == ReclamationBulkUpdateRequest.Operation.CHANGER_STATUT ? request.getStatut() : etat.statut;
+                Reclamation.Priorite nouvellePriorite = operation == ReclamationBulkUpdateRequest.Operation.CHANGER_PRIORITE ? request.getPriorite() : etat.priorite;
+                assignationService.enregistrerChangement(etat.agentId, etat.statut, etat.priorite, nouvelAgent, nouveauStatut, nouvellePriorite);
+            }
+            notifier(aModifier, request, agent);
+        }
+
+        logger.info("Mise à jour en masse {} par {} : {} modifiées, {} inchangées, {} introuvables",
+                operation, userPrincipal.getId(), aModifier.size(), inchangees, introuvables);
+        return ReclamationBulkUpdateResponse.builder()
+                .operation(operation)
+                .demandees(ids.size())
+                .modifiees(aModifier.size())
+                .inchangees(inchangees)
+                .introuvables(introuvables)
+                .resultats(resultats)
+                .build();
+    }
+
+    private boolean dejaAppliquee(Etat etat, ReclamationBulkUpdateRequest request, User agent) {
+        return switch (request.getOperation()) {
+            case ASSIGNER -> agent.getId().equals(etat.agentId);
+            case CHANGER_STATUT -> etat.statut == request.getStatut();
+            case CHANGER_PRIORITE -> etat.priorite == request.getPriorite();
+        };
+    }
+
+    private List<Historique> historiques(List<Etat> modifiees, ReclamationBulkUpdateRequest request, User agent,
+                                         UUID auteurId, String role, LocalDateTime maintenant) {
+        User auteur = userRepository.getReferenceById(auteurId);
+        String suffixe = request.getCommentaire() != null && !request.getCommentaire().isBlank() ? " : " + request.getCommentaire() : "";
+        List<Historique> historiques = new ArrayList<>(modifiees.size());
+        for (Etat etat : modifiees) {
+            Historique hist = new Historique();
+            hist.setReclamation(reclamationRepository.getReferenceById(etat.id));
+            hist.setUtilisateur(auteur);
+            hist.setDateAction(maintenant);
+            switch (request.getOperation()) {
+                case ASSIGNER -> {
+                    hist.setAction("ASSIGNATION_AGENT");
+                    hist.setAncienneValeur(etat.agentId != null ? etat.agentNom + " " + etat.agentPrenom : null);
+                    hist.setNouvelleValeur(agent.getNom() + " " + agent.getPrenom());
+                    hist.setCommentaire("Assignation en masse par " + role + suffixe);
+                }
+                case CHANGER_STATUT -> {
+                    hist.setAction("CHANGEMENT_STATUT");
+                    hist.setAncienneValeur(etat.statut != null ? etat.statut.name() : null);
+                    hist.setNouvelleValeur(request.getStatut().name());
+                    hist.setCommentaire("Changement de statut en masse par " + role + suffixe);
+                }
+                case CHANGER_PRIORITE -> {
+                    hist.setAction("CHANGEMENT_PRIORITE");
+                    hist.setAncienneValeur(etat.priorite != null ? etat.priorite.name() : null);
+                    hist.setNouvelleValeur(request.getPriorite().name());
+                    hist.setCommentaire("Changement de priorité en masse par " + role + suffixe);
+                }
+            }
+            historiques.add(hist);
+        }
+        return historiques;
+    }
+
+    /**
+     * Sends one notification per recipient (and per channel) for all the complaints that concern them.
+     */
+    private void notifier(List<Etat> modifiees, ReclamationBulkUpdateRequest request, User agent) {
+        if (request.getOperation() == ReclamationBulkUpdateRequest.Operation.ASSIGNER) {
+            String liste = citer(modifiees);
+            envoyer(agent, Notification.Type.PUSH, modifiees,
+                    modifiees.size() == 1 ? "Nouvelle réclamation assignée" : modifiees.size() + " nouvelles réclamations assignées",
+                    "Vous avez été assigné aux réclamations : " + liste);
+            envoyer(agent, Notification.Type.EMAIL, modifiees, "[GIRA] Nouvelles réclamations assignées",
+                    "Bonjour " + agent.getPrenom() + ",\n\nVous avez été assigné aux réclamations : " + liste
+                            + ".\nMerci de les traiter dans les meilleurs délais.\n\nCordialement,\nGIRA");
+            return;
+        }
+
+        Map<UUID, List<Etat>> parProprietaire = new LinkedHashMap<>();
+        for (Etat etat : modifiees) {
+            parProprietaire.computeIfAbsent(etat.utilisateurId, k -> new ArrayList<>()).add(etat);
+        }
+        for (User owner : userRepository.findAllById(parProprietaire.keySet())) {
+            List<Etat> reclamations = parProprietaire.get(owner.getId());
+            String liste = citer(reclamations);
+            if (request.getOperation() == ReclamationBulkUpdateRequest.Operation.CHANGER_STATUT) {
+                String statut = request.getStatut().name();
+                envoyer(owner, Notification.Type.PUSH, reclamations, "Mise à jour du statut de vos réclamations",
+                        "Le statut de vos réclamations " + liste + " est passé à : " + statut);
+                envoyer(owner, Notification.Type.EMAIL, reclamations, "[GIRA] Statut réclamation mis à jour",
+                        "Bonjour " + owner.getPrenom() + ",\n\nLe statut de vos réclamations " + liste + " a été mis à jour : "
+                                + statut + ".\n\nCordialement,\nGIRA");
+            } else {
+                envoyer(owner, Notification.Type.PUSH, reclamations, "Priorité de vos réclamations modifiée",
+                        "La priorité de vos réclamations " + liste + " est maintenant : " + request.getPriorite().name());
+            }
+        }
+    }
+
+    private void envoyer(User destinataire, Notification.Type type, List<Etat> reclamations, String sujet, String contenu) {
+        Notification notification = new Notification();
+        notification.setDestinataire(destinataire);
+        notification.setType(type);
+        notification.setSujet(sujet);
+        notification.setContenu(contenu);
+        if (reclamations.size() == 1) {
+            notification.setReclamation(reclamationRepository.getReferenceById(reclamations.get(0).id));
+        }
+        notificationService.sendNotification(notification);
+    }
+
+    /**
+     * Lists the first complaints by title and number, then counts the rest.
+     */
+    private String citer(List<Etat> reclamations) {
+        StringBuilder liste = new StringBuilder();
+        int citees = Math.min(reclamations.size(), MAX_RECLAMATIONS_CITEES);
+        for (int i = 0; i < citees; i++) {
+            Etat etat = reclamations.get(i);
+            if (i > 0) liste.append(", ");
+            liste.append('\'').append(etat.titre).append("' (").append(etat.numero).append(')');
+        }
+        if (reclamations.size() > citees) {
+            liste.append(" et ").append(reclamations.size() - citees).append(" autres");
+        }
+        return liste.toString();
+    }
+
+    /**
+     * Current state of one complaint, as read by {@link ReclamationRepository#findEtatsByIdIn}.
+     */
+    private static final class Etat {
+        final UUID id;
+        final String numero;
+        final String titre;
+        final Reclamation.Statut statut;
+        final Reclamation.Priorite priorite;
+        final UUID utilisateurId;
+        final UUID agentId;
+        final String agentNom;
+        final String agentPrenom;
+
+        Etat(Object[] row) {
+            this.id = (UUID) row[0];
+            this.numero = (String) row[1];
+            this.titre = (String) row[2];
+            this.statut = (Reclamation.Statut) row[3];
+            this.priorite = (Reclamation.Priorite) row[4];
+            this.utilisateurId = (UUID) row[5];
+            this.agentId = (UUID) row[6];
+            this.agentNom = (String) row[7];
+            this.agentPrenom = (String) row[8];
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.GIRA.Backend.service.impl;
+
+import com.GIRA.Backend.DTO.request.ReclamationFilterRequest;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.Entities.User;
+import com.GIRA.Backend.Respository.ReclamationSpecification;
+import com.GIRA.Backend.cache.CategorieTree;
+import com.GIRA.Backend.service.interfaces.CategorieTreeService;
+import com.GIRA.Backend.service.interfaces.ReclamationExportService;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implementation of ReclamationExportService.
+ * <p>
+ * The /search criteria ({@link ReclamationSpecification}) are run as a scalar projection: no entity is loaded,
+ * so the persistence context stays empty. Hibernate scrolls the result forward-only with a JDBC fetch size,
+ * which PostgreSQL serves from a cursor inside the read-only transaction, and each row is encoded straight
+ * into a 64 KB output buffer. Category names come from the in-memory category tree.
+ * </p>
+ * @author Mohamed Yahya Jabrane
+ */
+@Service
+public class ReclamationExportServiceImpl implements ReclamationExportService {
+    private static final Logger logger = LoggerFactory.getLogger(ReclamationExportServiceImpl.class);
+    private static final int FETCH_SIZE = 1_000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Exported columns, in file order. */
+    static final String[] COLONNES = {
+            "numero", "titre", "statut", "priorite", "categorie", "sousCategorie", "utilisateur", "agentAssigne",
+            "dateCreation", "dateEcheance", "dateResolution", "slaBreached", "satisfaction"
+    };
+
+    private final EntityManager entityManager;
+    private final CategorieTreeService categorieTreeService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ReclamationExportServiceImpl(EntityManager entityManager, CategorieTreeService categorieTreeService, ObjectMapper objectMapper) {
+        this.entityManager = entityManager;
+        this.categorieTreeService = categorieTreeService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exporter(ReclamationFilterRequest filter, Format format, boolean gzip, OutputStream out) throws IOException {
+        CategorieTree tree = categorieTreeService.getTree();
+        long debut = System.currentTimeMillis();
+        OutputStream sortie = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : new BufferedOutputStream(out, BUFFER_SIZE);
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(sortie) : new NdjsonRowWriter(sortie, objectMapper);
+        long lignes = 0;
+        writer.entete();
+        try (Stream<Tuple> rows = stream(filter != null ? filter : new ReclamationFilterRequest())) {
+            Iterator<Tuple> iterator = rows.iterator();
+            Object[] valeurs = new Object[COLONNES.length];
+            while (iterator.hasNext()) {
+                Tuple row = iterator.next();
+                for (int i = 0; i < valeurs.length; i++) {
+                    valeurs[i] = row.get(i);
+                }
+                valeurs[4] = tree.getCategorieNom((UUID) valeurs[4]);
+                valeurs[5] = valeurs[5] != null ? tree.getSousCategorieNom((UUID) valeurs[5]) : null;
+                writer.ligne(valeurs);
+                lignes++;
+            }
+        }
+        writer.terminer();
+        if (sortie instanceof GZIPOutputStream gzipSortie) {
+            gzipSortie.finish();
+        }
+        sortie.flush();
+        logger.info("Export {} de {} réclamations en {} ms", format, lignes, System.currentTimeMillis() - debut);
+        return lignes;
+    }
+
+    /**
+     * Builds the projection query and opens it as a forward-only stream.
+     */
+    private Stream<Tuple> stream(ReclamationFilterRequest filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Reclamation> root = query.from(Reclamation.class);
+        Join<Reclamation, User> utilisateur = root.join("utilisateur", JoinType.LEFT);
+        Join<Reclamation, User> agent = root.join("agentAssigne", JoinType.LEFT);
+        query.multiselect(
+                root.get("numero"), root.get("titre"), root.get("statut"), root.get("priorite"),
+                root.get("categorie").get("id"), root.get("sousCategorie").get("id"),
+                utilisateur.get("email"), agent.get("email"),
+                root.get("dateCreation"), root.get("dateEcheance"), root.get("dateResolution"),
+                root.get("slaBreached"), root.get("satisfaction"));
+        Predicate criteres = ReclamationSpecification.fromFilterRequest(filter).toPredicate(root, query, cb);
+        if (criteres != null) {
+            query.where(criteres);
+        }
+        // Creation order follows idx_reclamations_date_creation, so rows stream without a sort step
+        query.orderBy(cb.asc(root.get("dateCreation")), cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * Encodes rows in one export format.
+     */
+    private interface RowWriter {
+        void entete() throws IOException;
+
+        void ligne(Object[] valeurs) throws IOException;
+
+        void terminer() throws IOException;
+    }
+
+    /**
+     * RFC 4180 CSV: comma separated, CRLF line ends, fields quoted when they contain a separator, quote or line break.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private final StringBuilder ligne = new StringBuilder(256);
+
+        CsvRowWriter(OutputStream out) {
+            this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void entete() throws IOException {
+            ligne(COLONNES);
+        }
+
+        @Override
+        public void ligne(Object[] valeurs) throws IOException {
+            ligne.setLength(0);
+            for (int i = 0; i < valeurs.length; i++) {
+                if (i > 0) ligne.append(',');
+                if (valeurs[i] != null) {
+                    champ(valeurs[i].toString());
+                }
+            }
+            ligne.append("\r\n");
+            writer.append(ligne);
+        }
+
+        private void champ(String valeur) {
+            boolean quote = false;
+            for (int i = 0; i < valeur.length() && !quote; i++) {
+                char c = valeur.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                ligne.append(valeur);
+                return;
+            }
+            ligne.append('"');
+            for (int i = 0; i < valeur.length(); i++) {
+                char c = valeur.charAt(i);
+                if (c == '"') ligne.append('"');
+                ligne.append(c);
+            }
+            ligne.append('"');
+        }
+
+        @Override
+        public void terminer() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Newline-delimited JSON: one object per complaint, dates in ISO-8601 (LocalDateTime.toString).
+     */
+    private static final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Objects are separated by the newline written after each one, not by Jackson's default space
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void entete() {
+            // NDJSON has no header line
+        }
+
+        @Override
+        public void ligne(Object[] valeurs) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < valeurs.length; i++) {
+                Object valeur = valeurs[i];
+                generator.writeFieldName(COLONNES[i]);
+                if (valeur == null) {
+                    generator.writeNull();
+                } else if (valeur instanceof Boolean b) {
+                    generator.writeBoolean(b);
+                } else if (valeur instanceof Integer n) {
+                    generator.writeNumber(n);
+                } else {
+                    generator.writeString(valeur.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void terminer() throws IOException {
+            generator.flush();
+        }
+    }
+}
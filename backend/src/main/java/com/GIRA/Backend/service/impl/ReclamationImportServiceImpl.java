@@ -0,0 +1,595 @@
+package com.GIRA.Backend.service.impl;
+
+import com.GIRA.Backend.DTO.response.CategorieTreeResponse;
+import com.GIRA.Backend.DTO.response.ImportResultResponse;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.Entities.UuidV7Generator;
+import com.GIRA.Backend.Respository.ReclamationRepository;
+import com.GIRA.Backend.Respository.UserRepository;
+import com.GIRA.Backend.cache.CategorieTree;
+import com.GIRA.Backend.service.interfaces.CategorieTreeService;
+import com.GIRA.Backend.service.interfaces.NumeroReclamationService;
+import com.GIRA.Backend.service.interfaces.ReclamationExportService;
+import com.GIRA.Backend.service.interfaces.ReclamationImportService;
+import com.GIRA.Backend.service.interfaces.SlaPolicyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Implementation of ReclamationImportService.
+ * <p>
+ * The stream is read in chunks of {@value #TAILLE_LOT} rows. For each chunk: the user emails are resolved with one
+ * IN query into a lookup map (categories and sub-categories come from the in-memory category tree), the existing
+ * complaint numbers are checked with one IN query, the rows are validated in parallel against those maps, and the
+ * valid rows are inserted with JDBC batches in one transaction. If the batch is refused (e.g. a number taken
+ * concurrently), the chunk is retried row by row so only the offending rows are rejected.
+ * Chunks commit independently: a failure late in the file never undoes the rows already imported.
+ * </p>
+ * @author Mohamed Yahya Jabrane
+ */
+@Service
+public class ReclamationImportServiceImpl implements ReclamationImportService {
+    private static final Logger logger = LoggerFactory.getLogger(ReclamationImportServiceImpl.class);
+    static final int TAILLE_LOT = 5_000;
+    private static final int TAILLE_BATCH_JDBC = 1_000;
+    private static final int MAX_ERREURS = 1_000;
+    private static final int MAX_UTILISATEURS_CACHE = 200_000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Set<Reclamation.Statut> STATUTS_CLOS =
+            Set.of(Reclamation.Statut.RESOLUE, Reclamation.Statut.FERMEE, Reclamation.Statut.ANNULEE);
+
+    private static final Pattern NUMERO_SEQUENCE = Pattern.compile("AERO-(\\d{4})-(\\d{1,18})");
+
+    private static final String INSERT_SQL = "INSERT INTO reclamations (id, date_creation, actif, numero, utilisateur_id, categorie_id, "
+            + "sous_categorie_id, titre, description, priorite, statut, date_resolution, date_echeance, sla_breached, localisation, "
+            + "lieu_description, agent_assigne_id) VALUES (?, ?, true, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final ReclamationRepository reclamationRepository;
+    private final CategorieTreeService categorieTreeService;
+    private final SlaPolicyService slaPolicyService;
+    private final NumeroReclamationService numeroReclamationService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ReclamationImportServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, UserRepository userRepository,
+                                        ReclamationRepository reclamationRepository, CategorieTreeService categorieTreeService,
+                                        SlaPolicyService slaPolicyService, NumeroReclamationService numeroReclamationService, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userRepository = userRepository;
+        this.reclamationRepository = reclamationRepository;
+        this.categorieTreeService = categorieTreeService;
+        this.slaPolicyService = slaPolicyService;
+        this.numeroReclamationService = numeroReclamationService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImportResultResponse importer(InputStream in, ReclamationExportService.Format format, boolean gzip) throws IOException {
+        long debut = System.currentTimeMillis();
+        InputStream source = gzip ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(source, StandardCharsets.UTF_8), BUFFER_SIZE);
+        LigneReader lignes = format == ReclamationExportService.Format.CSV ? new CsvLigneReader(reader) : new NdjsonLigneReader(reader, objectMapper);
+        Lookups lookups = new Lookups(categorieTreeService.getTree());
+        Resultat resultat = new Resultat();
+
+        List<LigneImport> lot = new ArrayList<>(TAILLE_LOT);
+        try {
+            LigneImport ligne;
+            while ((ligne = lignes.suivante()) != null) {
+                lot.add(ligne);
+                if (lot.size() == TAILLE_LOT) {
+                    traiterLot(lot, lookups, resultat);
+                    lot.clear();
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Unreadable file structure (e.g. unterminated quote): keep what was imported, report where it stopped
+            resultat.rejeter(new LigneImport(lignes.ligneCourante(), Map.of()), e.getMessage());
+        }
+        if (!lot.isEmpty()) {
+            traiterLot(lot, lookups, resultat);
+        }
+
+        long duree = System.currentTimeMillis() - debut;
+        logger.info("Import {} : {} lignes, {} réclamations créées, {} rejetées en {} ms",
+                format, resultat.total, resultat.importees, resultat.rejetees, duree);
+        return ImportResultResponse.builder()
+                .total(resultat.total)
+                .importees(resultat.importees)
+                .rejetees(resultat.rejetees)
+                .dureeMs(duree)
+                .erreurs(resultat.erreurs)
+                .erreursTronquees(resultat.rejetees > resultat.erreurs.size())
+                .build();
+    }
+
+    private void traiterLot(List<LigneImport> lot, Lookups lookups, Resultat resultat) {
+        resultat.total += lot.size();
+        lookups.chargerUtilisateurs(lot);
+        Set<String> numerosExistants = numerosExistants(lot);
+
+        lot.parallelStream().forEach(ligne -> valider(ligne, lookups, numerosExistants));
+
+        List<LigneImport> valides = new ArrayList<>(lot.size());
+        Set<String> numerosDuLot = new HashSet<>();
+        for (LigneImport ligne : lot) {
+            if (ligne.erreur == null && ligne.numero != null && !numerosDuLot.add(ligne.numero)) {
+                ligne.erreur = "Numéro en double dans le fichier : " + ligne.numero;
+            }
+            if (ligne.erreur != null) {
+                resultat.rejeter(ligne, ligne.erreur);
+            } else {
+                valides.add(ligne);
+            }
+        }
+        // Explicit numbers in the sequence's format: numbers drawn afterwards for their year must be above them
+        Map<Integer, Long> plusHautes = new HashMap<>();
+        for (LigneImport ligne : valides) {
+            Matcher numero = ligne.numero != null ? NUMERO_SEQUENCE.matcher(ligne.numero) : null;
+            if (numero != null && numero.matches()) {
+                plusHautes.merge(Integer.parseInt(numero.group(1)), Long.parseLong(numero.group(2)), Math::max);
+            }
+        }
+        plusHautes.forEach(numeroReclamationService::avancer);
+        for (LigneImport ligne : valides) {
+            if (ligne.numero == null) {
+                ligne.numero = numeroReclamationService.prochainNumero(ligne.dateCreation.getYear());
+            }
+        }
+        resultat.importees += inserer(valides, resultat);
+    }
+
+    private Set<String> numerosExistants(List<LigneImport> lot) {
+        Set<String> numeros = new HashSet<>();
+        for (LigneImport ligne : lot) {
+            String numero = ligne.valeur("numero");
+            if (numero != null && numero.length() <= 30) numeros.add(numero);
+        }
+        return numeros.isEmpty() ? Set.of() : new HashSet<>(reclamationRepository.findExistingNumeros(numeros));
+    }
+
+    /**
+     * Validates one row and resolves its references. Runs in parallel: reads the shared lookups only.
+     */
+    private void valider(LigneImport ligne, Lookups lookups, Set<String> numerosExistants) {
+        if (ligne.erreur != null) return;
+        try {
+            ligne.numero = ligne.valeur("numero");
+            if (ligne.numero != null && ligne.numero.length() > 30) throw new IllegalArgumentException("numero trop long (30 caractères max)");
+            if (ligne.numero != null && numerosExistants.contains(ligne.numero)) throw new IllegalArgumentException("numéro déjà existant : " + ligne.numero);
+
+            ligne.titre = requis(ligne, "titre");
+            if (ligne.titre.length() > 100) throw new IllegalArgumentException("titre trop long (100 caractères max)");
+            String description = ligne.valeur("description");
+            ligne.description = description != null ? description : ligne.titre;
+            ligne.localisation = ligne.valeur("localisation");
+            ligne.lieuDescription = ligne.valeur("lieuDescription");
+            if (ligne.lieuDescription != null && ligne.lieuDescription.length() > 255) throw new IllegalArgumentException("lieuDescription trop long (255 caractères max)");
+
+            ligne.categorieId = lookups.categorie(requis(ligne, "categorie"));
+            String sousCategorie = ligne.valeur("sousCategorie");
+            ligne.sousCategorieId = sousCategorie != null ? lookups.sousCategorie(ligne.categorieId, sousCategorie) : null;
+            ligne.utilisateurId = lookups.utilisateur(requis(ligne, "utilisateur"));
+            String agent = ligne.valeur("agentAssigne");
+            ligne.agentId = agent != null ? lookups.utilisateur(agent) : null;
+
+            ligne.statut = enumeration(Reclamation.Statut.class, ligne.valeur("statut"), Reclamation.Statut.SOUMISE, "statut");
+            ligne.priorite = enumeration(Reclamation.Priorite.class, ligne.valeur("priorite"), Reclamation.Priorite.NORMALE, "priorite");
+
+            LocalDateTime maintenant = LocalDateTime.now();
+            LocalDateTime dateCreation = date(ligne.valeur("dateCreation"), "dateCreation");
+            ligne.dateCreation = dateCreation != null ? dateCreation : maintenant;
+            ligne.dateResolution = date(ligne.valeur("dateResolution"), "dateResolution");
+            LocalDateTime dateEcheance = date(ligne.valeur("dateEcheance"), "dateEcheance");
+            ligne.dateEcheance = dateEcheance != null ? dateEcheance
+                    : slaPolicyService.calculerEcheance(ligne.dateCreation, ligne.categorieId, ligne.priorite);
+            // Breached if resolved after the deadline, or still open past it
+            ligne.slaBreached = ligne.dateEcheance != null && (ligne.dateResolution != null
+                    ? ligne.dateResolution.isAfter(ligne.dateEcheance)
+                    : !STATUTS_CLOS.contains(ligne.statut) && maintenant.isAfter(ligne.dateEcheance));
+            ligne.id = UuidV7Generator.next();
+        } catch (IllegalArgumentException e) {
+            ligne.erreur = e.getMessage();
+        }
+    }
+
+    private int inserer(List<LigneImport> valides, Resultat resultat) {
+        if (valides.isEmpty()) return 0;
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, valides, TAILLE_BATCH_JDBC, ReclamationImportServiceImpl::lier));
+            return valides.size();
+        } catch (DataAccessException e) {
+            logger.warn("Lot refusé ({}), nouvel essai ligne par ligne", NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+        int inserees = 0;
+        for (LigneImport ligne : valides) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL, ps -> lier(ps, ligne)));
+                inserees++;
+            } catch (DataAccessException e) {
+                resultat.rejeter(ligne, "Insertion refusée : " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+        }
+        return inserees;
+    }
+
+    private static void lier(PreparedStatement ps, LigneImport l) throws SQLException {
+        ps.setObject(1, l.id);
+        ps.setObject(2, l.dateCreation);
+        ps.setString(3, l.numero);
+        ps.setObject(4, l.utilisateurId);
+        ps.setObject(5, l.categorieId);
+        nullable(ps, 6, l.sousCategorieId, Types.OTHER);
+        ps.setString(7, l.titre);
+        ps.setString(8, l.description);
+        ps.setString(9, l.priorite.name());
+        ps.setString(10, l.statut.name());
+        nullable(ps, 11, l.dateResolution, Types.TIMESTAMP);
+        nullable(ps, 12, l.dateEcheance, Types.TIMESTAMP);
+        ps.setBoolean(13, l.slaBreached);
+        ps.setString(14, l.localisation);
+        ps.setString(15, l.lieuDescription);
+        nullable(ps, 16, l.agentId, Types.OTHER);
+    }
+
+    private static void nullable(PreparedStatement ps, int index, Object valeur, int sqlType) throws SQLException {
+        if (valeur != null) {
+            ps.setObject(index, valeur);
+        } else {
+            ps.setNull(index, sqlType);
+        }
+    }
+
+    private static String requis(LigneImport ligne, String colonne) {
+        String valeur = ligne.valeur(colonne);
+        if (valeur == null) throw new IllegalArgumentException(colonne + " obligatoire");
+        return valeur;
+    }
+
+    private static <E extends Enum<E>> E enumeration(Class<E> type, String valeur, E defaut, String colonne) {
+        if (valeur == null) return defaut;
+        try {
+            return Enum.valueOf(type, valeur.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(colonne + " invalide : " + valeur);
+        }
+    }
+
+    private static LocalDateTime date(String valeur, String colonne) {
+        if (valeur == null) return null;
+        try {
+            return valeur.length() == 10 ? LocalDate.parse(valeur).atStartOfDay() : LocalDateTime.parse(valeur);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(colonne + " invalide (ISO-8601 attendu) : " + valeur);
+        }
+    }
+
+    private static UUID uuid(String valeur) {
+        if (valeur.length() != 36) return null;
+        try {
+            return UUID.fromString(valeur);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // ====== Lookups ======
+
+    /**
+     * Lookup maps of one import: categories and sub-categories by id or name, user ids by email.
+     * The user map is filled chunk by chunk before validation and only read during the parallel validation.
+     */
+    private final class Lookups {
+        private final CategorieTree tree;
+        private final Map<String, UUID> categoriesParNom = new HashMap<>();
+        private final Map<String, UUID> sousCategoriesParNom = new HashMap<>();
+        /** email -> id, or null for an unknown email (so it is not queried again). */
+        private final Map<String, UUID> utilisateurs = new HashMap<>();
+
+        Lookups(CategorieTree tree) {
+            this.tree = tree;
+            for (CategorieTreeResponse categorie : tree.getCategories()) {
+                categoriesParNom.putIfAbsent(cle(categorie.getNom()), categorie.getId());
+                for (CategorieTreeResponse.SousCategorieNode sous : categorie.getSousCategories()) {
+                    sousCategoriesParNom.putIfAbsent(categorie.getId() + "/" + cle(sous.getNom()), sous.getId());
+                }
+            }
+        }
+
+        void chargerUtilisateurs(List<LigneImport> lot) {
+            if (utilisateurs.size() > MAX_UTILISATEURS_CACHE) {
+                utilisateurs.clear();
+            }
+            Set<String> emails = new HashSet<>();
+            for (LigneImport ligne : lot) {
+                ajouterEmail(emails, ligne.valeur("utilisateur"));
+                ajouterEmail(emails, ligne.valeur("agentAssigne"));
+            }
+            if (emails.isEmpty()) return;
+            for (String email : emails) {
+                utilisateurs.put(email, null);
+            }
+            for (Object[] row : userRepository.findIdsByEmailIn(emails)) {
+                utilisateurs.put((String) row[0], (UUID) row[1]);
+            }
+        }
+
+        private void ajouterEmail(Set<String> emails, String email) {
+            if (email != null && !utilisateurs.containsKey(email)) emails.add(email);
+        }
+
+        UUID utilisateur(String email) {
+            UUID id = utilisateurs.get(email);
+            if (id == null) throw new IllegalArgumentException("utilisateur inconnu : " + email);
+            return id;
+        }
+
+        UUID categorie(String valeur) {
+            UUID id = uuid(valeur);
+            if (id != null && tree.findCategorie(id).isPresent()) return id;
+            id = categoriesParNom.get(cle(valeur));
+            if (id == null) throw new IllegalArgumentException("catégorie inconnue : " + valeur);
+            return id;
+        }
+
+        UUID sousCategorie(UUID categorieId, String valeur) {
+            UUID id = uuid(valeur);
+            if (id != null) {
+                CategorieTreeResponse.SousCategorieNode node = tree.findSousCategorie(id).orElse(null);
+                if (node != null && categorieId.equals(node.getCategorieId())) return id;
+            }
+            id = sousCategoriesParNom.get(categorieId + "/" + cle(valeur));
+            if (id == null) throw new IllegalArgumentException("sous-catégorie inconnue pour cette catégorie : " + valeur);
+            return id;
+        }
+
+        private String cle(String nom) {
+            return nom == null ? "" : nom.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    // ====== Rows and results ======
+
+    /**
+     * One row of the file: raw values by column, then the resolved values once validated.
+     */
+    private static final class LigneImport {
+        final long ligne;
+        final Map<String, String> valeurs;
+        String erreur;
+        UUID id;
+        String numero;
+        String titre;
+        String description;
+        String localisation;
+        String lieuDescription;
+        UUID categorieId;
+        UUID sousCategorieId;
+        UUID utilisateurId;
+        UUID agentId;
+        Reclamation.Statut statut;
+        Reclamation.Priorite priorite;
+        LocalDateTime dateCreation;
+        LocalDateTime dateEcheance;
+        LocalDateTime dateResolution;
+        boolean slaBreached;
+
+        LigneImport(long ligne, Map<String, String> valeurs) {
+            this.ligne = ligne;
+            this.valeurs = valeurs;
+        }
+
+        /** Trimmed value of a column, null when absent or blank. */
+        String valeur(String colonne) {
+            String valeur = valeurs.get(colonne);
+            if (valeur == null) return null;
+            valeur = valeur.trim();
+            return valeur.isEmpty() ? null : valeur;
+        }
+    }
+
+    private static final class Resultat {
+        long total;
+        long importees;
+        long rejetees;
+        final List<ImportResultResponse.LigneErreur> erreurs = new ArrayList<>();
+
+        void rejeter(LigneImport ligne, String message) {
+            rejetees++;
+            if (erreurs.size() < MAX_ERREURS) {
+                erreurs.add(new ImportResultResponse.LigneErreur(ligne.ligne, ligne.valeur("numero"), message));
+            }
+        }
+    }
+
+    // ====== Readers ======
+
+    private interface LigneReader {
+        /** Next row, or null at the end of the stream. */
+        LigneImport suivante() throws IOException;
+
+        /** Current line number in the file. */
+        long ligneCourante();
+    }
+
+    /**
+     * RFC 4180 CSV with a header line; quoted fields may contain separators, doubled quotes and line breaks.
+     */
+    private static final class CsvLigneReader implements LigneReader {
+        private final BufferedReader reader;
+        private String[] entete;
+        private long ligneCourante;
+
+        CsvLigneReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public LigneImport suivante() throws IOException {
+            if (entete == null) {
+                List<String> colonnes = enregistrement();
+                if (colonnes == null) return null;
+                entete = new String[colonnes.size()];
+                for (int i = 0; i < entete.length; i++) {
+                    entete[i] = colonnes.get(i).replace("\uFEFF", "").trim();
+                }
+            }
+            long debut = ligneCourante + 1;
+            List<String> champs = enregistrement();
+            if (champs == null) return null;
+            Map<String, String> valeurs = new HashMap<>();
+            for (int i = 0; i < entete.length && i < champs.size(); i++) {
+                valeurs.put(entete[i], champs.get(i));
+            }
+            LigneImport ligne = new LigneImport(debut, valeurs);
+            if (champs.size() != entete.length) {
+                ligne.erreur = champs.size() + " colonnes au lieu de " + entete.length;
+            }
+            return ligne;
+        }
+
+        @Override
+        public long ligneCourante() {
+            return ligneCourante;
+        }
+
+        /** Reads one record, skipping blank lines; null at end of stream. */
+        private List<String> enregistrement() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) return null;
+                ligneCourante++;
+            } while (line.isEmpty());
+
+            List<String> champs = new ArrayList<>();
+            StringBuilder champ = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i >= line.length()) {
+                    if (!quoted) {
+                        champs.add(champ.toString());
+                        return champs;
+                    }
+                    // Line break inside a quoted field
+                    line = reader.readLine();
+                    if (line == null) throw new IllegalArgumentException("Guillemet non fermé en fin de fichier");
+                    ligneCourante++;
+                    champ.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = line.charAt(i++);
+                if (quoted) {
+                    if (c != '"') {
+                        champ.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        champ.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == ',') {
+                    champs.add(champ.toString());
+                    champ.setLength(0);
+                } else if (c == '"' && champ.length() == 0) {
+                    quoted = true;
+                } else {
+                    champ.append(c);
+                }
+            }
+        }
+    }
+
+    /**
+     * One JSON object per line; a malformed line is rejected on its own.
+     */
+    private static final class NdjsonLigneReader implements LigneReader {
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private long ligneCourante;
+
+        NdjsonLigneReader(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public LigneImport suivante() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) return null;
+                ligneCourante++;
+            } while (line.isBlank());
+
+            Map<String, String> valeurs = new HashMap<>();
+            LigneImport ligne = new LigneImport(ligneCourante, valeurs);
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                if (!node.isObject()) {
+                    ligne.erreur = "objet JSON attendu";
+                    return ligne;
+                }
+                Iterator<Map.Entry<String, JsonNode>> champs = node.fields();
+                while (champs.hasNext()) {
+                    Map.Entry<String, JsonNode> champ = champs.next();
+                    if (!champ.getValue().isNull()) {
+                        valeurs.put(champ.getKey(), champ.getValue().asText());
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                ligne.erreur = "JSON invalide : " + e.getOriginalMessage();
+            }
+            return ligne;
+        }
+
+        @Override
+        public long ligneCourante() {
+            return ligneCourante;
+        }
+    }
+}
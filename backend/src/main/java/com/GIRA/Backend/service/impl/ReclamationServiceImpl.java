@@ -7,6 +7,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,6 +17,14 @@ import org.springframework.data.domain.Pageable;
 import com.GIRA.Backend.service.interfaces.UserService;
 import com.GIRA.Backend.service.interfaces.CategorieService;
 import com.GIRA.Backend.service.interfaces.SousCategorieService;
+import com.GIRA.Backend.service.interfaces.CategorieTreeService;
+import com.GIRA.Backend.service.interfaces.SlaPolicyService;
+import com.GIRA.Backend.service.interfaces.NumeroReclamationService;
+import com.GIRA.Backend.service.interfaces.AssignationService;
+import com.GIRA.Backend.service.interfaces.PrioriteAutomatiqueService;
+import com.GIRA.Backend.service.interfaces.DoublonService;
+import com.GIRA.Backend.service.interfaces.IncidentService;
+import com.GIRA.Backend.cache.CategorieTree;
 import com.GIRA.Backend.Entities.User;
 import com.GIRA.Backend.Entities.Categorie;
 import com.GIRA.Backend.Entities.SousCategorie;
@@ -26,6 +35,7 @@ import com.GIRA.Backend.DTO.request.ReclamationCreateRequest;
 import com.GIRA.Backend.DTO.request.ReclamationUpdateRequest;
 import com.GIRA.Backend.DTO.response.ReclamationResponse;
 import com.GIRA.Backend.DTO.response.ReclamationListResponse;
+import com.GIRA.Backend.DTO.response.PiecesJointesResume;
 import java.util.stream.Collectors;
 import com.GIRA.Backend.exception.ResourceNotFoundException;
 import com.GIRA.Backend.exception.AccessDeniedException;
@@ -42,10 +52,9 @@ import com.GIRA.Backend.service.interfaces.CommentaireService;
 import com.GIRA.Backend.service.interfaces.NotificationService;
 import com.GIRA.Backend.Entities.Fichier;
 import com.GIRA.Backend.Entities.Notification;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
-import java.util.Map;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import java.util.stream.Stream;
 
@@ -64,9 +73,17 @@ public class ReclamationServiceImpl implements ReclamationService {
     private final FichierService fichierService;
     private final CommentaireService commentaireService;
     private final NotificationService notificationService;
+    private final CategorieTreeService categorieTreeService;
+    private final SlaPolicyService slaPolicyService;
+    private final NumeroReclamationService numeroReclamationService;
+    private final AssignationService assignationService;
+    private final PrioriteAutomatiqueService prioriteAutomatiqueService;
+    private final DoublonService doublonService;
+    private final IncidentService incidentService;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public ReclamationServiceImpl(ReclamationRepository reclamationRepository, UserService userService, CategorieService categorieService, SousCategorieService sousCategorieService, UserRepository userRepository, HistoriqueService historiqueService, FichierService fichierService, CommentaireService commentaireService, NotificationService notificationService) {
+    public ReclamationServiceImpl(ReclamationRepository reclamationRepository, UserService userService, CategorieService categorieService, SousCategorieService sousCategorieService, UserRepository userRepository, HistoriqueService historiqueService, FichierService fichierService, CommentaireService commentaireService, NotificationService notificationService, CategorieTreeService categorieTreeService, SlaPolicyService slaPolicyService, NumeroReclamationService numeroReclamationService, AssignationService assignationService, PrioriteAutomatiqueService prioriteAutomatiqueService, DoublonService doublonService, IncidentService incidentService, PlatformTransactionManager transactionManager) {
         this.reclamationRepository = reclamationRepository;
         this.userService = userService;
         this.categorieService = categorieService;
@@ -76,6 +93,14 @@ public class ReclamationServiceImpl implements ReclamationService {
         this.fichierService = fichierService;
         this.commentaireService = commentaireService;
         this.notificationService = notificationService;
+        this.categorieTreeService = categorieTreeService;
+        this.slaPolicyService = slaPolicyService;
+        this.numeroReclamationService = numeroReclamationService;
+        this.assignationService = assignationService;
+        this.prioriteAutomatiqueService = prioriteAutomatiqueService;
+        this.doublonService = doublonService;
+        this.incidentService = incidentService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -85,6 +110,9 @@ public class ReclamationServiceImpl implements ReclamationService {
      * @return The created complaint entity
      */
     public Reclamation createReclamation(Reclamation reclamation) {
+        if (reclamation.getNumero() == null) {
+            reclamation.setNumero(numeroReclamationService.prochainNumero());
+        }
         return reclamationRepository.save(reclamation);
     }
 
@@ -223,7 +251,10 @@ public class ReclamationServiceImpl implements ReclamationService {
     @Override
     public Page<ReclamationListResponse> findWithFiltersDto(Reclamation.Statut statut, Reclamation.Priorite priorite, UUID categorieId, UUID sousCategorieId, UUID agentId, UUID utilisateurId, Pageable pageable) {
         Page<Reclamation> page = reclamationRepository.findWithFilters(statut, priorite, categorieId, sousCategorieId, agentId, utilisateurId, pageable);
-        return page.map(ReclamationMapper::toListResponse);
+        CategorieTree tree = categorieTreeService.getTree();
+        Map<UUID, PiecesJointesResume> piecesJointes = fichierService.getResumesByReclamationIds(
+                page.getContent().stream().map(Reclamation::getId).collect(Collectors.toList()));
+        return page.map(r -> ReclamationMapper.toListResponse(r, tree, piecesJointes));
     }
 
     /**
@@ -252,8 +283,11 @@ public class ReclamationServiceImpl implements ReclamationService {
         var spec = ReclamationSpecification.fromFilterRequest(filterRequest);
         // Query
         Page<com.GIRA.Backend.Entities.Reclamation> reclamations = reclamationRepository.findAll(spec, pageable);
-        // Map to DTOs
-        return reclamations.map(com.GIRA.Backend.mapper.ReclamationMapper::toListResponse);
+        // Map to DTOs, resolving category names from the in-memory tree and attachments in one grouped query
+        CategorieTree tree = categorieTreeService.getTree();
+        Map<UUID, PiecesJointesResume> piecesJointes = fichierService.getResumesByReclamationIds(
+                reclamations.getContent().stream().map(Reclamation::getId).collect(Collectors.toList()));
+        return reclamations.map(r -> ReclamationMapper.toListResponse(r, tree, piecesJointes));
     }
 
     /**
@@ -308,54 +342,6 @@ public class ReclamationServiceImpl implements ReclamationService {
     }
 
     // === DTO-based methods for controller ===
-    /**
-     * SLA Matrix: Maps (category, priority) to SLA duration in hours.
-     * This can be externalized to config or DB in the future.
-     */
-    private static final Map<String, Map<String, Integer>> SLA_MATRIX = new HashMap<>();
-    static {
-        // Example categories and priorities (adjust as needed)
-        // Key: category name (lowercase), Value: map of priority to hours
-        Map<String, Integer> baggage = new HashMap<>();
-        baggage.put("NORMALE", 24);
-        baggage.put("URGENTE", 8);
-        SLA_MATRIX.put("baggage", baggage);
-
-        Map<String, Integer> security = new HashMap<>();
-        security.put("CRITIQUE", 2);
-        security.put("NORMALE", 12);
-        SLA_MATRIX.put("security", security);
-
-        Map<String, Integer> facilities = new HashMap<>();
-        facilities.put("NORMALE", 48);
-        facilities.put("URGENTE", 16);
-        SLA_MATRIX.put("facilities", facilities);
-
-        Map<String, Integer> customerService = new HashMap<>();
-        customerService.put("NORMALE", 24);
-        SLA_MATRIX.put("customer service", customerService);
-
-        Map<String, Integer> lostAndFound = new HashMap<>();
-        lostAndFound.put("NORMALE", 72);
-        SLA_MATRIX.put("lost & found", lostAndFound);
-    }
-    private static final int DEFAULT_SLA_HOURS = 48;
-
-    /**
-     * Looks up the SLA duration (in hours) for a given category and priority.
-     * @param categoryName the name of the category (case-insensitive)
-     * @param priority the priority (enum name)
-     * @return SLA duration in hours
-     */
-    private int getSlaDurationHours(String categoryName, String priority) {
-        if (categoryName == null || priority == null) return DEFAULT_SLA_HOURS;
-        Map<String, Integer> priorityMap = SLA_MATRIX.get(categoryName.trim().toLowerCase());
-        if (priorityMap != null && priorityMap.containsKey(priority)) {
-            return priorityMap.get(priority);
-        }
-        return DEFAULT_SLA_HOURS;
-    }
-
     /**
      * Creates a new complaint (reclamation) for the currently authenticated user.
      * Maps the request DTO to an entity, performs category and subcategory lookups,
@@ -367,26 +353,87 @@ public class ReclamationServiceImpl implements ReclamationService {
      */
     @Override
     public ReclamationResponse createReclamation(ReclamationCreateRequest request) {
+        // Drawn before the transaction starts: a block reservation commits in its own transaction, which must not
+        // wait for a second pooled connection while this thread already holds one
+        String numero = numeroReclamationService.prochainNumero();
+        return transactionTemplate.execute(status -> creerReclamation(request, numero));
+    }
+
+    private ReclamationResponse creerReclamation(ReclamationCreateRequest request, String numero) {
         UserPrincipal userPrincipal = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         User user = userService.getUserById(userPrincipal.getId());
-        Categorie categorie = categorieService.getCategorieById(request.getCategorieId())
-            .orElseThrow(() -> new ResourceNotFoundException("Catégorie non trouvée"));
+        // Category lookups are served from the in-memory tree; fall back to the database on a miss
+        CategorieTree tree = categorieTreeService.getTree();
+        Categorie categorie = tree.toCategorieReference(request.getCategorieId());
+        if (categorie == null) {
+            categorie = categorieService.getCategorieById(request.getCategorieId())
+                .orElseThrow(() -> new ResourceNotFoundException("Catégorie non trouvée"));
+        }
         SousCategorie sousCategorie = null;
         if (request.getSousCategorieId() != null) {
-            sousCategorie = sousCategorieService.getSousCategorieById(request.getSousCategorieId()).orElse(null);
+            sousCategorie = tree.toSousCategorieReference(request.getSousCategorieId());
+            if (sousCategorie == null) {
+                sousCategorie = sousCategorieService.getSousCategorieById(request.getSousCategorieId()).orElse(null);
+            }
         }
         Reclamation reclamation = ReclamationMapper.fromCreateRequest(request, user, categorie, sousCategorie);
+        reclamation.setNumero(numero);
+        reclamation.setPriorite(prioriteAutomatiqueService.determiner(reclamation));
 
-        // --- SLA Logic: Set SLA deadline based on category and priority ---
-        String categoryName = categorie.getNom(); // Assumes Categorie has getNom()
-        String priority = reclamation.getPriorite() != null ? reclamation.getPriorite().name() : null;
-        int slaHours = getSlaDurationHours(categoryName, priority);
-        reclamation.setDateEcheance(reclamation.getDateCreation().plus(slaHours, ChronoUnit.HOURS));
+        // --- SLA Logic: deadline from the compiled SLA matrix (category x priority) ---
+        // dateCreation is only set by @PrePersist, so anchor it here to compute the deadline before saving
+        if (reclamation.getDateCreation() == null) {
+            reclamation.setDateCreation(LocalDateTime.now());
+        }
+        reclamation.setDateEcheance(slaPolicyService.calculerEcheance(reclamation.getDateCreation(), categorie.getId(), reclamation.getPriorite()));
         reclamation.setSlaBreached(false);
         // --- End SLA Logic ---
 
+        // --- Near-duplicate detection: link to the cluster of a similar recent complaint of the same category ---
+        reclamation.setDoublonDe(doublonService.rechercher(reclamation).orElse(null));
+
+        // --- Automatic assignment: routing rules, then least loaded skilled agent (released if the transaction rolls back) ---
+        User agentAuto = null;
+        if (reclamation.getAgentAssigne() == null) {
+            agentAuto = assignationService.choisirAgent(reclamation)
+                .map(userService::getUserById)
+                .orElse(null);
+            reclamation.setAgentAssigne(agentAuto);
+        }
+
         Reclamation saved = reclamationRepository.save(reclamation);
-        return ReclamationMapper.toResponse(saved, fichierService, commentaireService, notificationService);
+        doublonService.indexer(saved);
+        incidentService.enregistrer(saved);
+        if (saved.getDoublonDe() != null) {
+            Historique hist = new Historique();
+            hist.setReclamation(saved);
+            hist.setUtilisateur(user);
+            hist.setAction("DOUBLON_DETECTE");
+            hist.setAncienneValeur(null);
+            hist.setNouvelleValeur(saved.getDoublonDe().toString());
+            hist.setDateAction(LocalDateTime.now());
+            hist.setCommentaire("Doublon probable d'une réclamation récente de la même catégorie");
+            historiqueService.addHistorique(hist);
+        }
+        if (agentAuto != null) {
+            Historique hist = new Historique();
+            hist.setReclamation(saved);
+            hist.setUtilisateur(user);
+            hist.setAction("ASSIGNATION_AGENT");
+            hist.setAncienneValeur(null);
+            hist.setNouvelleValeur(agentAuto.getNom() + " " + agentAuto.getPrenom());
+            hist.setDateAction(LocalDateTime.now());
+            hist.setCommentaire("Assignation automatique à l'agent le moins chargé");
+            historiqueService.addHistorique(hist);
+            Notification notifAgent = new Notification();
+            notifAgent.setDestinataire(agentAuto);
+            notifAgent.setType(Notification.Type.PUSH);
+            notifAgent.setSujet("Nouvelle réclamation assignée");
+            notifAgent.setContenu("Vous avez été assigné à la réclamation : " + saved.getTitre());
+            notifAgent.setReclamation(saved);
+            notificationService.sendNotification(notifAgent);
+        }
+        return ReclamationMapper.toResponse(saved, tree, fichierService, commentaireService, notificationService);
     }
 
     /**
@@ -409,7 +456,8 @@ public class ReclamationServiceImpl implements ReclamationService {
         } else {
             reclamations = reclamationRepository.findByUtilisateur_Id(user.getId());
         }
-        return reclamations.stream().map(ReclamationMapper::toListResponse).collect(Collectors.toList());
+        CategorieTree tree = categorieTreeService.getTree();
+        return ReclamationMapper.toListResponses(reclamations, tree, fichierService);
     }
 
     /**
@@ -429,15 +477,15 @@ public class ReclamationServiceImpl implements ReclamationService {
         Reclamation reclamation = reclamationRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Reclamation non trouvée"));
         if ("ADMIN".equals(role)) {
-            return ReclamationMapper.toResponse(reclamation, fichierService, commentaireService, notificationService);
+            return ReclamationMapper.toResponse(reclamation, categorieTreeService.getTree(), fichierService, commentaireService, notificationService);
         } else if ("AGENT".equals(role)) {
             if (reclamation.getAgentAssigne() != null && reclamation.getAgentAssigne().getId().equals(user.getId())) {
-                return ReclamationMapper.toResponse(reclamation, fichierService, commentaireService, notificationService);
+                return ReclamationMapper.toResponse(reclamation, categorieTreeService.getTree(), fichierService, commentaireService, notificationService);
             }
             throw new AccessDeniedException("Accès refusé");
         } else {
             if (reclamation.getUtilisateur() != null && reclamation.getUtilisateur().getId().equals(user.getId())) {
-                return ReclamationMapper.toResponse(reclamation, fichierService, commentaireService, notificationService);
+                return ReclamationMapper.toResponse(reclamation, categorieTreeService.getTree(), fichierService, commentaireService, notificationService);
             }
             throw new AccessDeniedException("Accès refusé");
         }
@@ -460,6 +508,9 @@ public class ReclamationServiceImpl implements ReclamationService {
         String role = userPrincipal.getRole();
         Reclamation reclamation = reclamationRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Reclamation non trouvée"));
+        UUID ancienAgentId = reclamation.getAgentAssigne() != null ? reclamation.getAgentAssigne().getId() : null;
+        Reclamation.Statut ancienStatut = reclamation.getStatut();
+        Reclamation.Priorite anciennePriorite = reclamation.getPriorite();
 
         boolean isAdmin = "ADMIN".equals(role);
         boolean isAgent = "AGENT".equals(role);
@@ -634,7 +685,9 @@ public class ReclamationServiceImpl implements ReclamationService {
         // Always update modification date
         reclamation.setDateModification(java.time.LocalDateTime.now());
         Reclamation saved = reclamationRepository.save(reclamation);
-        return ReclamationMapper.toResponse(saved, fichierService, commentaireService, notificationService);
+        assignationService.enregistrerChangement(ancienAgentId, ancienStatut, anciennePriorite,
+            reclamation.getAgentAssigne() != null ? reclamation.getAgentAssigne().getId() : null, reclamation.getStatut(), reclamation.getPriorite());
+        return ReclamationMapper.toResponse(saved, categorieTreeService.getTree(), fichierService, commentaireService, notificationService);
     }
 
     /**
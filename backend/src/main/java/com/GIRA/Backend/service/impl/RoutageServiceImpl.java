@@ -0,0 +1,322 @@
+package com.GIRA.Backend.service.impl;
+
+import com.GIRA.Backend.DTO.request.ConfigurationUpdateRequest;
+import com.GIRA.Backend.DTO.request.RoutageEquipeRequest;
+import com.GIRA.Backend.DTO.request.RoutageRegleRequest;
+import com.GIRA.Backend.DTO.response.RoutageEquipeResponse;
+import com.GIRA.Backend.DTO.response.RoutageRegleResponse;
+import com.GIRA.Backend.Entities.Configuration;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.Respository.UserRepository;
+import com.GIRA.Backend.cache.CategorieTree;
+import com.GIRA.Backend.cache.ConfigurationChangedEvent;
+import com.GIRA.Backend.cache.RoutingTable;
+import com.GIRA.Backend.exception.BadRequestException;
+import com.GIRA.Backend.exception.ResourceNotFoundException;
+import com.GIRA.Backend.service.interfaces.CategorieTreeService;
+import com.GIRA.Backend.service.interfaces.ConfigurationService;
+import com.GIRA.Backend.service.interfaces.RoutageService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of RoutageService.
+ * The compiled table is held in a volatile reference: evaluations never lock and never hit the database.
+ * Rules and teams are written through {@link ConfigurationService}, so a change is compiled once the configuration
+ * snapshot is refreshed after commit, on this node and on the other replicas (via {@link ConfigurationChangedEvent}).
+ * @author Mohamed Yahya Jabrane
+ */
+@Service
+public class RoutageServiceImpl implements RoutageService {
+    private static final Logger logger = LoggerFactory.getLogger(RoutageServiceImpl.class);
+    private static final Pattern NOM = Pattern.compile("[A-Za-z0-9_-]{1,60}");
+    private static final int ORDRE_DEFAUT = 100;
+    private static final String ROLE_AGENT = "AGENT";
+
+    private final ConfigurationService configurationService;
+    private final CategorieTreeService categorieTreeService;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong versions = new AtomicLong();
+    private volatile RoutingTable current;
+
+    @Autowired
+    public RoutageServiceImpl(ConfigurationService configurationService, CategorieTreeService categorieTreeService, UserRepository userRepository, ObjectMapper objectMapper) {
+        this.configurationService = configurationService;
+        this.categorieTreeService = categorieTreeService;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RoutingTable getTable() {
+        RoutingTable table = current;
+        return table != null ? table : reload();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<RoutingTable.Regle> evaluer(UUID categorieId, UUID sousCategorieId, Reclamation.Priorite priorite, String lieu) {
+        return getTable().evaluer(categorieId, sousCategorieId, priorite, lieu);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<RoutageRegleResponse> simuler(UUID categorieId, UUID sousCategorieId, Reclamation.Priorite priorite, String lieu) {
+        CategorieTree tree = categorieTreeService.getTree();
+        return evaluer(categorieId, sousCategorieId, priorite, lieu).map(regle -> toResponse(tree, regle));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized RoutingTable reload() {
+        Map<String, Set<UUID>> equipes = equipes();
+        List<RoutingTable.Regle> regles = new ArrayList<>();
+        configurationService.getByPrefix(REGLE_PREFIX).forEach((cle, valeur) -> {
+            String nom = cle.substring(REGLE_PREFIX.length());
+            try {
+                RoutageRegleRequest regle = objectMapper.readValue(valeur, RoutageRegleRequest.class);
+                Set<UUID> agents;
+                if (regle.getEquipe() != null) {
+                    agents = equipes.get(regle.getEquipe());
+                    if (agents == null) {
+                        logger.warn("Routing rule {} targets unknown team {}", nom, regle.getEquipe());
+                        agents = Set.of();
+                    }
+                } else {
+                    agents = regle.getAgents() != null ? new HashSet<>(regle.getAgents()) : Set.of();
+                }
+                regles.add(new RoutingTable.Regle(nom, regle.getOrdre() != null ? regle.getOrdre() : ORDRE_DEFAUT,
+                        regle.getCategorieId(), regle.getSousCategorieId(), regle.getPriorite(), regle.getLieu(),
+                        regle.getEquipe(), agents));
+            } catch (JsonProcessingException | RuntimeException e) {
+                logger.warn("Ignoring malformed routing rule {}={}", cle, valeur);
+            }
+        });
+        RoutingTable table = RoutingTable.build(regles, versions.incrementAndGet());
+        current = table;
+        logger.debug("Routing table v{} published ({} rules, {} pools)", table.getVersion(), table.size(), table.getPools().size());
+        return table;
+    }
+
+    /**
+     * Recompiles the table when a rule or a team changes, including changes made on another replica.
+     * @param event the configuration change event
+     */
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (event.concerne(REGLE_PREFIX) || event.concerne(EQUIPE_PREFIX)) {
+            reload();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<RoutageRegleResponse> getRegles() {
+        CategorieTree tree = categorieTreeService.getTree();
+        return getTable().getRegles().stream().map(regle -> toResponse(tree, regle)).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public RoutageRegleResponse saveRegle(String nom, RoutageRegleRequest request) {
+        verifierNom(nom);
+        CategorieTree tree = categorieTreeService.getTree();
+        if (request.getCategorieId() != null && tree.findCategorie(request.getCategorieId()).isEmpty()) {
+            throw new ResourceNotFoundException("Catégorie non trouvée");
+        }
+        if (request.getSousCategorieId() != null) {
+            UUID parent = tree.findSousCategorie(request.getSousCategorieId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Sous-catégorie non trouvée"))
+                    .getCategorieId();
+            if (request.getCategorieId() != null && !request.getCategorieId().equals(parent)) {
+                throw new BadRequestException("La sous-catégorie n'appartient pas à la catégorie");
+            }
+        }
+        boolean equipe = request.getEquipe() != null && !request.getEquipe().isBlank();
+        boolean agents = request.getAgents() != null && !request.getAgents().isEmpty();
+        if (equipe == agents) {
+            throw new BadRequestException("Une règle doit cibler soit une équipe, soit une liste d'agents");
+        }
+        Set<UUID> cible;
+        if (equipe) {
+            cible = equipes().get(request.getEquipe());
+            if (cible == null) {
+                throw new BadRequestException("Équipe inconnue : " + request.getEquipe());
+            }
+            request.setAgents(null);
+        } else {
+            cible = verifierAgents(request.getAgents());
+            request.setAgents(new ArrayList<>(cible));
+            request.setEquipe(null);
+        }
+        if (request.getOrdre() == null) {
+            request.setOrdre(ORDRE_DEFAUT);
+        }
+        if (request.getLieu() != null && request.getLieu().isBlank()) {
+            request.setLieu(null);
+        }
+
+        ConfigurationUpdateRequest configuration = new ConfigurationUpdateRequest();
+        configuration.setValeur(toJson(request));
+        configuration.setType(Configuration.Type.JSON);
+        configuration.setDescription("Règle de routage " + nom);
+        configurationService.saveConfiguration(REGLE_PREFIX + nom, configuration);
+        logger.info("Routing rule {} saved", nom);
+        return toResponse(tree, new RoutingTable.Regle(nom, request.getOrdre(), request.getCategorieId(), request.getSousCategorieId(),
+                request.getPriorite(), request.getLieu(), request.getEquipe(), cible));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void deleteRegle(String nom) {
+        configurationService.deleteConfiguration(REGLE_PREFIX + nom);
+        logger.info("Routing rule {} deleted", nom);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<RoutageEquipeResponse> getEquipes() {
+        Map<String, Long> regles = new HashMap<>();
+        for (RoutingTable.Regle regle : getTable().getRegles()) {
+            if (regle.getEquipe() != null) regles.merge(regle.getEquipe(), 1L, Long::sum);
+        }
+        return equipes().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(String.CASE_INSENSITIVE_ORDER))
+                .map(e -> RoutageEquipeResponse.builder()
+                        .nom(e.getKey())
+                        .agents(new ArrayList<>(e.getValue()))
+                        .regles(regles.getOrDefault(e.getKey(), 0L).intValue())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public RoutageEquipeResponse saveEquipe(String nom, RoutageEquipeRequest request) {
+        verifierNom(nom);
+        Set<UUID> agents = verifierAgents(request.getAgents());
+        ConfigurationUpdateRequest configuration = new ConfigurationUpdateRequest();
+        configuration.setValeur(String.join(",", agents.stream().map(UUID::toString).toList()));
+        configuration.setType(Configuration.Type.STRING);
+        configuration.setDescription("Agents de l'équipe de routage " + nom);
+        configurationService.saveConfiguration(EQUIPE_PREFIX + nom, configuration);
+        logger.info("Routing team {} saved ({} agents)", nom, agents.size());
+        long regles = getTable().getRegles().stream().filter(r -> nom.equals(r.getEquipe())).count();
+        return RoutageEquipeResponse.builder().nom(nom).agents(new ArrayList<>(agents)).regles((int) regles).build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void deleteEquipe(String nom) {
+        boolean utilisee = getTable().getRegles().stream().anyMatch(r -> nom.equals(r.getEquipe()));
+        if (utilisee) {
+            throw new BadRequestException("L'équipe " + nom + " est encore ciblée par des règles de routage");
+        }
+        configurationService.deleteConfiguration(EQUIPE_PREFIX + nom);
+        logger.info("Routing team {} deleted", nom);
+    }
+
+    private Map<String, Set<UUID>> equipes() {
+        Map<String, Set<UUID>> equipes = new HashMap<>();
+        configurationService.getByPrefix(EQUIPE_PREFIX).forEach((cle, valeur) -> {
+            try {
+                Set<UUID> agents = new LinkedHashSet<>();
+                for (String agentId : valeur.split(",")) {
+                    if (!agentId.isBlank()) agents.add(UUID.fromString(agentId.trim()));
+                }
+                equipes.put(cle.substring(EQUIPE_PREFIX.length()), agents);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring malformed routing team {}={}", cle, valeur);
+            }
+        });
+        return equipes;
+    }
+
+    private Set<UUID> verifierAgents(List<UUID> agents) {
+        Set<UUID> actifs = new HashSet<>(userRepository.findActiveIdsByRoleNom(ROLE_AGENT));
+        Set<UUID> cible = new LinkedHashSet<>();
+        for (UUID agent : agents) {
+            if (agent == null || !actifs.contains(agent)) {
+                throw new BadRequestException("Agent inconnu ou inactif : " + agent);
+            }
+            cible.add(agent);
+        }
+        return cible;
+    }
+
+    private static void verifierNom(String nom) {
+        if (nom == null || !NOM.matcher(nom).matches()) {
+            throw new BadRequestException("Le nom doit contenir 1 à 60 lettres, chiffres, '-' ou '_'");
+        }
+    }
+
+    private String toJson(RoutageRegleRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize routing rule", e);
+        }
+    }
+
+    private static RoutageRegleResponse toResponse(CategorieTree tree, RoutingTable.Regle regle) {
+        List<UUID> agents = new ArrayList<>(regle.getAgents());
+        agents.sort(Comparator.naturalOrder());
+        return RoutageRegleResponse.builder()
+                .nom(regle.getNom())
+                .ordre(regle.getOrdre())
+                .categorieId(regle.getCategorieId())
+                .categorieNom(regle.getCategorieId() != null ? tree.getCategorieNom(regle.getCategorieId()) : null)
+                .sousCategorieId(regle.getSousCategorieId())
+                .sousCategorieNom(regle.getSousCategorieId() != null ? tree.getSousCategorieNom(regle.getSousCategorieId()) : null)
+                .priorite(regle.getPriorite() != null ? regle.getPriorite().name() : null)
+                .lieu(regle.getLieu())
+                .equipe(regle.getEquipe())
+                .agents(agents)
+                .build();
+    }
+}
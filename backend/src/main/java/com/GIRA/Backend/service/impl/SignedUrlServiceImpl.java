@@ -0,0 +1,76 @@
+package com.GIRA.Backend.service.impl;
+
+import com.GIRA.Backend.Entities.Fichier;
+import com.GIRA.Backend.exception.BadRequestException;
+import com.GIRA.Backend.service.interfaces.BlobService;
+import com.GIRA.Backend.service.interfaces.SignedUrlService;
+import com.GIRA.Backend.storage.SignedUrlCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Implementation of SignedUrlService.
+ * <p>
+ * Keys come from 'app.signed-url.keys' ({@code id:base64,id:base64}, at least 32 bytes each) and tokens are signed
+ * with 'app.signed-url.current-key'. To rotate: add the new key to the ring on every node, then make it current,
+ * then remove the old key once 'app.signed-url.max-seconds' has passed. Without a key ring, a single key is derived
+ * from the JWT secret, so that every node of a deployment shares it.
+ * </p>
+ * @author Mohamed Yahya Jabrane
+ */
+@Service
+public class SignedUrlServiceImpl implements SignedUrlService {
+    private static final Logger logger = LoggerFactory.getLogger(SignedUrlServiceImpl.class);
+    private static final String CLE_DERIVEE = "jwt";
+
+    private final BlobService blobService;
+    private final SignedUrlCodec codec;
+    private final long dureeMax;
+
+    @Autowired
+    public SignedUrlServiceImpl(BlobService blobService,
+                                @Value("${app.signed-url.keys:}") String cles,
+                                @Value("${app.signed-url.current-key:}") String cleCourante,
+                                @Value("${app.signed-url.max-seconds:86400}") long dureeMax,
+                                @Value("${app.jwt.secret}") String jwtSecret) {
+        this.blobService = blobService;
+        this.dureeMax = dureeMax;
+        Map<String, byte[]> trousseau = SignedUrlCodec.parserCles(cles);
+        if (trousseau.isEmpty()) {
+            logger.info("Aucune clé de signature d'URL configurée : clé dérivée du secret JWT");
+            this.codec = new SignedUrlCodec(Map.of(CLE_DERIVEE, SignedUrlCodec.deriver(jwtSecret, "gira-signed-url")), CLE_DERIVEE);
+        } else {
+            String courante = cleCourante.isBlank() ? trousseau.keySet().iterator().next() : cleCourante;
+            this.codec = new SignedUrlCodec(trousseau, courante);
+            logger.info("URLs signées avec la clé '{}' ({} clé(s) acceptée(s))", courante, trousseau.size());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String signer(Fichier fichier, long dureeSecondes) {
+        if (dureeSecondes <= 0 || dureeSecondes > dureeMax) {
+            throw new BadRequestException("La durée de validité doit être comprise entre 1 et " + dureeMax + " secondes");
+        }
+        long expiration = Instant.now().getEpochSecond() + dureeSecondes;
+        String token = codec.signer(new SignedUrlCodec.Jeton(fichier.getId(), blobService.cleStockage(fichier),
+                fichier.getTypeMime(), fichier.getNomOriginal(), expiration));
+        return CHEMIN_TELECHARGEMENT + token;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SignedUrlCodec.Jeton verifier(String token) {
+        return codec.verifier(token, Instant.now().getEpochSecond());
+    }
+}
@@ -0,0 +1,219 @@
+package com.GIRA.Backend.service.impl;
+
+import com.GIRA.Backend.DTO.request.ConfigurationUpdateRequest;
+import com.GIRA.Backend.DTO.request.SlaRuleRequest;
+import com.GIRA.Backend.DTO.response.SlaRuleResponse;
+import com.GIRA.Backend.Entities.Configuration;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.Respository.ConfigurationRepository;
+import com.GIRA.Backend.Respository.ReclamationRepository;
+import com.GIRA.Backend.cache.CategorieTree;
+import com.GIRA.Backend.cache.ConfigurationChangedEvent;
+import com.GIRA.Backend.cache.SlaMatrix;
+import com.GIRA.Backend.exception.ResourceNotFoundException;
+import com.GIRA.Backend.service.interfaces.CategorieTreeService;
+import com.GIRA.Backend.service.interfaces.ConfigurationService;
+import com.GIRA.Backend.service.interfaces.SlaPolicyService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Implementation of SlaPolicyService.
+ * The compiled matrix is held in a volatile reference: lookups never lock and never hit the database.
+ * A new matrix is compiled on rule changes (published after commit), when another replica changes a rule
+ * (via {@link ConfigurationChangedEvent}) and whenever the category tree snapshot changes.
+ * @author Mohamed Yahya Jabrane
+ */
+@Service
+public class SlaPolicyServiceImpl implements SlaPolicyService {
+    private static final Logger logger = LoggerFactory.getLogger(SlaPolicyServiceImpl.class);
+
+    private final ConfigurationRepository configurationRepository;
+    private final ReclamationRepository reclamationRepository;
+    private final ConfigurationService configurationService;
+    private final CategorieTreeService categorieTreeService;
+    private volatile SlaMatrix current;
+
+    @Autowired
+    public SlaPolicyServiceImpl(ConfigurationRepository configurationRepository, ReclamationRepository reclamationRepository, ConfigurationService configurationService, CategorieTreeService categorieTreeService) {
+        this.configurationRepository = configurationRepository;
+        this.reclamationRepository = reclamationRepository;
+        this.configurationService = configurationService;
+        this.categorieTreeService = categorieTreeService;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SlaMatrix getMatrix() {
+        SlaMatrix matrix = current;
+        if (matrix == null || matrix.getTreeVersion() != categorieTreeService.getTree().getVersion()) {
+            matrix = reload();
+        }
+        return matrix;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalDateTime calculerEcheance(LocalDateTime depart, UUID categorieId, Reclamation.Priorite priorite) {
+        return depart.plus(getMatrix().getHours(categorieId, priorite), ChronoUnit.HOURS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized SlaMatrix reload() {
+        SlaMatrix matrix = compile();
+        current = matrix;
+        logger.debug("SLA matrix published ({} rules, default {}h, tree v{})", matrix.getRules().size(), matrix.getDefaultHours(), matrix.getTreeVersion());
+        return matrix;
+    }
+
+    /**
+     * Recompiles the matrix when SLA keys change, including changes made on another replica.
+     * @param event the configuration change event
+     */
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (event.concerne(RULE_PREFIX) || event.getCles().contains(DEFAULT_KEY)) {
+            reload();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<SlaRuleResponse> getRules() {
+        SlaMatrix matrix = getMatrix();
+        CategorieTree tree = categorieTreeService.getTree();
+        List<SlaRuleResponse> responses = new ArrayList<>();
+        matrix.getRules().forEach((categorieId, byPriorite) -> byPriorite.forEach((priorite, heures) ->
+                responses.add(toResponse(tree, categorieId, priorite, heures, null))));
+        responses.sort(Comparator.comparing(SlaRuleResponse::getCategorieNom, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                .thenComparing(r -> Reclamation.Priorite.valueOf(r.getPriorite())));
+        return responses;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public SlaRuleResponse saveRule(SlaRuleRequest request) {
+        CategorieTree tree = categorieTreeService.getTree();
+        if (tree.findCategorie(request.getCategorieId()).isEmpty()) {
+            throw new ResourceNotFoundException("Catégorie non trouvée");
+        }
+        ConfigurationUpdateRequest configuration = new ConfigurationUpdateRequest();
+        configuration.setValeur(String.valueOf(request.getHeures()));
+        configuration.setType(Configuration.Type.INTEGER);
+        configuration.setDescription("Délai SLA (heures) pour la catégorie " + tree.getCategorieNom(request.getCategorieId()) + " / priorité " + request.getPriorite());
+        configurationService.saveConfiguration(ruleKey(request.getCategorieId(), request.getPriorite()), configuration);
+        return applyChange(tree, request.getCategorieId(), request.getPriorite());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public SlaRuleResponse deleteRule(UUID categorieId, Reclamation.Priorite priorite) {
+        configurationService.deleteConfiguration(ruleKey(categorieId, priorite));
+        configurationRepository.flush();
+        return applyChange(categorieTreeService.getTree(), categorieId, priorite);
+    }
+
+    /**
+     * Compiles the new matrix inside the current transaction, recomputes the affected open deadlines in one statement,
+     * and publishes the matrix only once the transaction has committed.
+     */
+    private SlaRuleResponse applyChange(CategorieTree tree, UUID categorieId, Reclamation.Priorite priorite) {
+        SlaMatrix matrix = compile();
+        int heures = matrix.getHours(categorieId, priorite);
+        int updated = reclamationRepository.recalculerEcheances(categorieId, priorite.name(), heures);
+        publishAfterCommit(matrix);
+        logger.info("SLA rule {} / {} set to {}h, {} open complaint deadlines recomputed", categorieId, priorite, heures, updated);
+        return toResponse(tree, categorieId, priorite, heures, updated);
+    }
+
+    private void publishAfterCommit(SlaMatrix matrix) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            current = matrix;
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                current = matrix;
+            }
+        });
+    }
+
+    private SlaMatrix compile() {
+        CategorieTree tree = categorieTreeService.getTree();
+        Map<UUID, Map<Reclamation.Priorite, Integer>> rules = new HashMap<>();
+        for (Configuration configuration : configurationRepository.findByCleStartingWith(RULE_PREFIX)) {
+            String[] parts = configuration.getCle().substring(RULE_PREFIX.length()).split("\\.");
+            try {
+                UUID categorieId = UUID.fromString(parts[0]);
+                Reclamation.Priorite priorite = Reclamation.Priorite.valueOf(parts[1]);
+                int heures = Integer.parseInt(configuration.getValeur().trim());
+                if (heures > 0) {
+                    rules.computeIfAbsent(categorieId, id -> new EnumMap<>(Reclamation.Priorite.class)).put(priorite, heures);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Ignoring malformed SLA rule {}={}", configuration.getCle(), configuration.getValeur());
+            }
+        }
+        int defaultHours = configurationRepository.findByCle(DEFAULT_KEY)
+                .map(Configuration::getValeur)
+                .map(this::parsePositive)
+                .orElse(DEFAULT_HOURS);
+        return SlaMatrix.build(tree.getCategories(), rules, defaultHours, tree.getVersion());
+    }
+
+    private int parsePositive(String valeur) {
+        try {
+            int heures = Integer.parseInt(valeur.trim());
+            return heures > 0 ? heures : DEFAULT_HOURS;
+        } catch (RuntimeException e) {
+            logger.warn("Invalid {} value '{}', using {}h", DEFAULT_KEY, valeur, DEFAULT_HOURS);
+            return DEFAULT_HOURS;
+        }
+    }
+
+    private static String ruleKey(UUID categorieId, Reclamation.Priorite priorite) {
+        return RULE_PREFIX + categorieId + "." + priorite.name();
+    }
+
+    private static SlaRuleResponse toResponse(CategorieTree tree, UUID categorieId, Reclamation.Priorite priorite, int heures, Integer updated) {
+        return SlaRuleResponse.builder()
+                .categorieId(categorieId)
+                .categorieNom(tree.getCategorieNom(categorieId))
+                .priorite(priorite.name())
+                .heures(heures)
+                .reclamationsRecalculees(updated)
+                .build();
+    }
+}
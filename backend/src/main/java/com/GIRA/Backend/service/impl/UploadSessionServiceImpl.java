@@ -0,0 +1,243 @@
+package com.GIRA.Backend.service.impl;
+
+import com.GIRA.Backend.DTO.request.UploadSessionRequest;
+import com.GIRA.Backend.DTO.response.UploadSessionResponse;
+import com.GIRA.Backend.Entities.Fichier;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.Respository.ReclamationRepository;
+import com.GIRA.Backend.exception.AccessDeniedException;
+import com.GIRA.Backend.exception.BadRequestException;
+import com.GIRA.Backend.exception.ResourceNotFoundException;
+import com.GIRA.Backend.service.interfaces.FichierService;
+import com.GIRA.Backend.service.interfaces.UploadSessionService;
+import com.GIRA.Backend.storage.ChunkedUpload;
+import com.GIRA.Backend.storage.HashingFileWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of UploadSessionService.
+ * <p>
+ * Sessions are files under 'app.upload.dir'/sessions (see {@link ChunkedUpload}): the content is written in place
+ * at the chunk offsets and moved into the content-addressed store on commit, without being copied. Open sessions
+ * are kept in memory and reopened from disk after a restart. Sessions live on the node's upload directory, like
+ * the stored files. Sessions without a chunk for 'app.upload.session.expiration-heures' hours (default 24) are
+ * deleted every 'app.upload.session.purge-ms' (default 1 hour).
+ * </p>
+ * @author Mohamed Yahya Jabrane
+ */
+@Service
+public class UploadSessionServiceImpl implements UploadSessionService {
+    private static final Logger logger = LoggerFactory.getLogger(UploadSessionServiceImpl.class);
+    private static final String RECLAMATION = "reclamation";
+    private static final String UTILISATEUR = "utilisateur";
+    private static final String NOM = "nom";
+    private static final String TYPE = "type";
+
+    private final FichierService fichierService;
+    private final ReclamationRepository reclamationRepository;
+    private final Path dossier;
+    private final HashingFileWriter.Fsync fsync;
+    private final long tailleMax;
+    private final long morceauMax;
+    private final Duration expiration;
+    private final Map<UUID, ChunkedUpload> sessions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UploadSessionServiceImpl(FichierService fichierService, ReclamationRepository reclamationRepository,
+                                    @Value("${app.upload.dir:uploads}") String uploadDir,
+                                    @Value("${app.upload.fsync:DATA}") HashingFileWriter.Fsync fsync,
+                                    @Value("${app.upload.session.max-size:2147483648}") long tailleMax,
+                                    @Value("${app.upload.session.chunk-max-size:16777216}") long morceauMax,
+                                    @Value("${app.upload.session.expiration-heures:24}") long expirationHeures) {
+        this.fichierService = fichierService;
+        this.reclamationRepository = reclamationRepository;
+        this.dossier = Paths.get(uploadDir, "sessions");
+        this.fsync = fsync;
+        this.tailleMax = tailleMax;
+        this.morceauMax = morceauMax;
+        this.expiration = Duration.ofHours(expirationHeures);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public UploadSessionResponse initier(UploadSessionRequest request, UUID userId, String role) {
+        if (request.getTaille() > tailleMax) {
+            throw new BadRequestException("La taille du fichier dépasse la taille maximale autorisée (" + tailleMax + " octets)");
+        }
+        Reclamation reclamation = reclamationRepository.findById(request.getReclamationId())
+                .orElseThrow(() -> new ResourceNotFoundException("Réclamation non trouvée"));
+        boolean isAdmin = "ADMIN".equals(role);
+        boolean isComplaintOwner = reclamation.getUtilisateur() != null && reclamation.getUtilisateur().getId().equals(userId);
+        boolean isAssignedAgent = reclamation.getAgentAssigne() != null && reclamation.getAgentAssigne().getId().equals(userId);
+        if (!(isAdmin || isComplaintOwner || isAssignedAgent)) {
+            throw new AccessDeniedException("Accès refusé");
+        }
+        ChunkedUpload upload;
+        try {
+            upload = ChunkedUpload.creer(dossier, request.getTaille(), fsync, Map.of(
+                    RECLAMATION, request.getReclamationId().toString(),
+                    UTILISATEUR, userId.toString(),
+                    NOM, request.getNomOriginal(),
+                    TYPE, request.getTypeMime()), System.currentTimeMillis());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create upload session", e);
+        }
+        sessions.put(upload.getId(), upload);
+        return toResponse(upload);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public UploadSessionResponse ecrire(UUID sessionId, long offset, InputStream contenu, long longueur, UUID userId) throws IOException {
+        if (longueur <= 0) {
+            throw new BadRequestException("La longueur du morceau (Content-Length) est obligatoire");
+        }
+        if (longueur > morceauMax) {
+            throw new BadRequestException("Un morceau ne peut pas dépasser " + morceauMax + " octets");
+        }
+        ChunkedUpload upload = session(sessionId, userId);
+        try {
+            upload.ecrire(offset, contenu, longueur, System.currentTimeMillis());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        return toResponse(upload);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public UploadSessionResponse getSession(UUID sessionId, UUID userId) {
+        return toResponse(session(sessionId, userId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Fichier terminer(UUID sessionId, UUID userId) throws IOException {
+        ChunkedUpload upload = session(sessionId, userId);
+        HashingFileWriter.Resultat resultat;
+        try {
+            resultat = upload.terminer();
+        } catch (IllegalStateException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        // Closed by terminer() and kept in the map while it is stored, so a concurrent commit is rejected
+        Map<String, String> attributs = upload.getAttributs();
+        try {
+            Fichier fichier = fichierService.enregistrer(upload.getDonnees(), resultat.getSha256(), resultat.getTaille(),
+                    attributs.get(NOM), attributs.get(TYPE), UUID.fromString(attributs.get(RECLAMATION)), userId);
+            upload.abandonner();
+            return fichier;
+        } catch (IOException | RuntimeException e) {
+            if (!Files.exists(upload.getDonnees())) {
+                // The content went with the rolled back blob: the session cannot be resumed
+                upload.abandonner();
+            }
+            throw e;
+        } finally {
+            // A failed commit can be retried: the session is reopened from disk
+            sessions.remove(sessionId, upload);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void abandonner(UUID sessionId, UUID userId) {
+        ChunkedUpload upload = session(sessionId, userId);
+        sessions.remove(sessionId, upload);
+        upload.abandonner();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.upload.session.purge-ms:3600000}")
+    public int purger() {
+        long limite = System.currentTimeMillis() - expiration.toMillis();
+        List<UUID> expirees;
+        try {
+            expirees = ChunkedUpload.expirees(dossier, limite);
+        } catch (IOException e) {
+            logger.warn("Lecture des sessions d'upload impossible : {}", e.getMessage());
+            return 0;
+        }
+        int supprimees = 0;
+        for (UUID id : expirees) {
+            ChunkedUpload ouverte = sessions.get(id);
+            if (ouverte != null) {
+                if (ouverte.getActiviteMs() >= limite) continue;
+                sessions.remove(id, ouverte);
+                ouverte.abandonner();
+            } else {
+                ChunkedUpload.supprimer(dossier, id);
+            }
+            supprimees++;
+        }
+        if (supprimees > 0) {
+            logger.info("{} session(s) d'upload abandonnée(s) supprimée(s)", supprimees);
+        }
+        return supprimees;
+    }
+
+    private ChunkedUpload session(UUID sessionId, UUID userId) {
+        ChunkedUpload upload = sessions.computeIfAbsent(sessionId, id -> {
+            try {
+                return ChunkedUpload.ouvrir(dossier, id, fsync);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open upload session", e);
+            }
+        });
+        if (upload == null) {
+            throw new ResourceNotFoundException("Session d'upload introuvable : " + sessionId);
+        }
+        if (!userId.toString().equals(upload.getAttributs().get(UTILISATEUR))) {
+            throw new AccessDeniedException("Accès refusé");
+        }
+        return upload;
+    }
+
+    private UploadSessionResponse toResponse(ChunkedUpload upload) {
+        List<UploadSessionResponse.Plage> plages = upload.getPlages().stream()
+                .map(plage -> new UploadSessionResponse.Plage(plage[0], plage[1]))
+                .collect(Collectors.toList());
+        long recus = plages.stream().mapToLong(plage -> plage.getFin() - plage.getDebut()).sum();
+        return UploadSessionResponse.builder()
+                .id(upload.getId())
+                .taille(upload.getTaille())
+                .recus(recus)
+                .plages(plages)
+                .expiration(LocalDateTime.ofInstant(Instant.ofEpochMilli(upload.getActiviteMs()).plus(expiration), ZoneId.systemDefault()))
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.GIRA.Backend.service.interfaces;
+
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.cache.AgentLoadIndex;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service interface for automatic agent assignment.
+ * New complaints go to the least loaded agent of the pool chosen by the routing rules, or else to the least loaded
+ * active agent skilled in their category; the open workload of every agent is kept in memory and updated as
+ * complaints are assigned, reassigned or closed.
+ * @author Mohamed Yahya Jabrane
+ */
+public interface AssignationService {
+    /**
+     * Chooses an agent for a new complaint and counts the complaint in its workload.
+     * A routing rule matching the complaint restricts the choice to its pool; when the pool has no active agent the
+     * complaint falls back to the category skills.
+     * If the current transaction rolls back, the complaint is removed from the workload again.
+     * @param reclamation the new complaint (category, sub-category, priority and location are used)
+     * @return the chosen agent, or empty if automatic assignment is disabled or no agent can take the complaint
+     */
+    Optional<UUID> choisirAgent(Reclamation reclamation);
+
+    /**
+     * Records a change of agent, status or priority of a complaint; applied to the workload once the transaction commits.
+     * @param ancienAgent agent before the change (may be null)
+     * @param ancienStatut status before the change
+     * @param anciennePriorite priority before the change
+     * @param nouvelAgent agent after the change (may be null)
+     * @param nouveauStatut status after the change
+     * @param nouvellePriorite priority after the change
+     */
+    void enregistrerChangement(UUID ancienAgent, Reclamation.Statut ancienStatut, Reclamation.Priorite anciennePriorite,
+                               UUID nouvelAgent, Reclamation.Statut nouveauStatut, Reclamation.Priorite nouvellePriorite);
+
+    /**
+     * Returns the current workload index (built on first use).
+     * @return the index
+     */
+    AgentLoadIndex getIndex();
+
+    /**
+     * Rebuilds the workload from the database: active agents, skills, routing pools and open complaints.
+     * @return the new index
+     */
+    AgentLoadIndex resynchroniser();
+}
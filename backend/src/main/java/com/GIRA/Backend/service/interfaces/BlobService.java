@@ -0,0 +1,104 @@
+package com.GIRA.Backend.service.interfaces;
+
+import com.GIRA.Backend.DTO.response.BlobMigrationResponse;
+import com.GIRA.Backend.DTO.response.TieringResponse;
+import com.GIRA.Backend.Entities.Fichier;
+import com.GIRA.Backend.storage.StoredContent;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Service interface for the content-addressed attachment store.
+ * Every distinct content is stored once under its SHA-256 and reference counted: identical attachments share
+ * one blob, and the blob is deleted with its last file. Contents only referenced by old closed complaints are moved
+ * to a cold directory, compressed when that pays, and read back transparently.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public interface BlobService {
+    /** Storage key prefix of a blob, followed by its SHA-256. */
+    String PREFIXE_BLOB = "sha256:";
+    /** Storage key prefix of a file uploaded before the content-addressed store, followed by its path. */
+    String PREFIXE_CHEMIN = "path:";
+
+    /**
+     * @return a new temporary path, to write an upload to before {@link #retenir}
+     */
+    Path temporaire();
+
+    /**
+     * Adds a reference to a content and stores it if it is new. Must be called in the transaction saving the
+     * file: the reference is rolled back with it, and a blob left unreferenced is deleted.
+     * @param hash the SHA-256 of the content
+     * @param taille its size in bytes
+     * @param temporaire the content, written to a path from {@link #temporaire()}; moved or deleted
+     * @return the path of the blob, to store in {@code Fichier.cheminComplet}
+     * @throws IOException if the blob cannot be put in place
+     */
+    Path retenir(String hash, long taille, Path temporaire) throws IOException;
+
+    /**
+     * Removes a reference to a content, in the transaction deleting the file. The blob is deleted after commit
+     * if no file references it any more.
+     * @param hash the SHA-256 of the content
+     */
+    void liberer(String hash);
+
+    /**
+     * @param fichier a file
+     * @return true if the file is stored as a blob, false for a file uploaded before the content-addressed store
+     */
+    boolean estBlob(Fichier fichier);
+
+    /**
+     * @param fichier a file
+     * @return the key locating its content without the database ({@link #PREFIXE_BLOB} or {@link #PREFIXE_CHEMIN})
+     */
+    String cleStockage(Fichier fichier);
+
+    /**
+     * @param cheminComplet the stored path of a file
+     * @param hash its SHA-256 (may be null)
+     * @return the key locating its content, as {@link #cleStockage(Fichier)}
+     */
+    String cleStockage(String cheminComplet, String hash);
+
+    /**
+     * @param cleStockage a key from {@link #cleStockage(Fichier)}
+     * @return the path of the content (for a blob kept in an object store, its path in the local layout, which does
+     * not exist: read it through {@link #localiser(String)})
+     * @throws IllegalArgumentException if the key is malformed
+     */
+    Path resoudre(String cleStockage);
+
+    /**
+     * Finds the stored copy of a content, hot or cold, without the database.
+     * @param cleStockage a key from {@link #cleStockage(Fichier)}
+     * @return the stored content and its codec; its path does not exist if the content is missing
+     * @throws IllegalArgumentException if the key is malformed
+     */
+    StoredContent localiser(String cleStockage);
+
+    /**
+     * @param fichier a file
+     * @return the stored copy of its content, hot or cold
+     */
+    StoredContent localiser(Fichier fichier);
+
+    /**
+     * Moves the contents only referenced by complaints closed or cancelled for longer than the configured age to
+     * the cold directory, gzip encoded when that saves enough space. Each copy is verified against its hash before
+     * the hot blob is deleted.
+     * @return the report, with the space saved and the measured read cost of cold contents
+     */
+    TieringResponse refroidir();
+
+    /**
+     * Moves the files uploaded before the content-addressed store into it, keeping one copy of each content.
+     * Files are migrated one per transaction; the original is deleted once its row points to the blob.
+     * @return the migration report
+     */
+    BlobMigrationResponse migrer();
+}
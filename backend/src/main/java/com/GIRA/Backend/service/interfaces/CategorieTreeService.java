@@ -0,0 +1,23 @@
+package com.GIRA.Backend.service.interfaces;
+
+import com.GIRA.Backend.cache.CategorieTree;
+
+/**
+ * Service interface for the in-memory category tree snapshot.
+ * Serves category and sub-category lookups without database access and rebuilds the snapshot on writes, on this
+ * node directly and on the other replicas when their poll sees the tables change.
+ * @author Mohamed Yahya Jabrane
+ */
+public interface CategorieTreeService {
+    /**
+     * Returns the current snapshot, building it on first access.
+     * @return the current immutable category tree
+     */
+    CategorieTree getTree();
+
+    /**
+     * Reloads categories and sub-categories from the database and atomically publishes a new snapshot.
+     * @return the newly published snapshot
+     */
+    CategorieTree refresh();
+}
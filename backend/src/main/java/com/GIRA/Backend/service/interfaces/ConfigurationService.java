@@ -0,0 +1,100 @@
+package com.GIRA.Backend.service.interfaces;
+
+import com.GIRA.Backend.DTO.request.ConfigurationUpdateRequest;
+import com.GIRA.Backend.DTO.response.ConfigurationResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service interface for runtime configuration settings.
+ * Reads are served from a local immutable snapshot; writes go to the database and are propagated to the other replicas.
+ * @author Mohamed Yahya Jabrane
+ */
+public interface ConfigurationService {
+    /** PostgreSQL NOTIFY channel used to propagate configuration changes between replicas. */
+    String CHANNEL = "gira_configuration";
+
+    /**
+     * Returns the raw value of a setting.
+     * @param cle the configuration key
+     * @return optional containing the value if the key exists
+     */
+    Optional<String> getValeur(String cle);
+
+    /**
+     * @param cle the configuration key
+     * @param defaut value returned when the key is absent
+     * @return the string value
+     */
+    String getString(String cle, String defaut);
+
+    /**
+     * @param cle the configuration key
+     * @param defaut value returned when the key is absent or not an integer
+     * @return the integer value
+     */
+    int getInt(String cle, int defaut);
+
+    /**
+     * @param cle the configuration key
+     * @param defaut value returned when the key is absent or not a number
+     * @return the long value
+     */
+    long getLong(String cle, long defaut);
+
+    /**
+     * @param cle the configuration key
+     * @param defaut value returned when the key is absent or not a boolean
+     * @return the boolean value
+     */
+    boolean getBoolean(String cle, boolean defaut);
+
+    /**
+     * Returns a JSON setting deserialized to the given type; the result is parsed once per snapshot.
+     * @param cle the configuration key
+     * @param type the target type
+     * @param defaut value returned when the key is absent or the JSON is invalid
+     * @return the deserialized value
+     */
+    <T> T getJson(String cle, Class<T> type, T defaut);
+
+    /**
+     * Returns every setting whose key starts with the given prefix.
+     * @param prefix the key prefix
+     * @return map of key to raw value
+     */
+    Map<String, String> getByPrefix(String prefix);
+
+    /**
+     * Lists all settings from the database (administration).
+     * @return list of configuration DTOs
+     */
+    List<ConfigurationResponse> getAllConfigurations();
+
+    /**
+     * Creates or updates a setting. The value is validated against its type; other replicas are notified on commit.
+     * @param cle the configuration key
+     * @param request the new value, type and description
+     * @return the saved configuration DTO
+     */
+    ConfigurationResponse saveConfiguration(String cle, ConfigurationUpdateRequest request);
+
+    /**
+     * Deletes a setting; other replicas are notified on commit.
+     * @param cle the configuration key
+     */
+    void deleteConfiguration(String cle);
+
+    /**
+     * Reloads the snapshot from the database and publishes a change event for the keys that differ.
+     */
+    void refresh();
+
+    /**
+     * Tells the service whether change notifications are currently being received, so polling can back off.
+     * @param active true while a LISTEN connection is established
+     */
+    void setPushActive(boolean active);
+}
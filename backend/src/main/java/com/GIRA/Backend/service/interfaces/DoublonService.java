@@ -0,0 +1,48 @@
+package com.GIRA.Backend.service.interfaces;
+
+import com.GIRA.Backend.DTO.response.ReclamationListResponse;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.cache.DoublonIndex;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service interface for the near-duplicate detection of new complaints.
+ * Recent complaints are kept in a {@link DoublonIndex}; a new complaint close enough to one of them, in the same
+ * category, is linked to the principal complaint of its cluster ({@code Reclamation.doublonDe}).
+ * @author Mohamed Yahya Jabrane
+ */
+public interface DoublonService {
+    /** Configuration key switching the detection on or off (boolean, default true). */
+    String ENABLED_KEY = "doublons.enabled";
+    /** Configuration key of the minimum similarity, in percent (int, default 70). */
+    String SEUIL_KEY = "doublons.seuil.pourcent";
+
+    /**
+     * Looks for a recent near-duplicate of a new complaint.
+     * @param reclamation the complaint, not saved yet
+     * @return the principal complaint of the matching cluster, or empty
+     */
+    Optional<UUID> rechercher(Reclamation reclamation);
+
+    /**
+     * Adds a saved complaint to the index, after the commit of the current transaction.
+     * @param reclamation the saved complaint
+     */
+    void indexer(Reclamation reclamation);
+
+    /**
+     * Lists the cluster of a complaint: its principal complaint first, then the duplicates, oldest first.
+     * @param reclamationId any complaint of the cluster
+     * @return the complaints of the cluster
+     */
+    List<ReclamationListResponse> getGroupe(UUID reclamationId);
+
+    /**
+     * Loads the complaints created since the last synchronisation (by any node, import included) into the index.
+     * @return the number of complaints added
+     */
+    int synchroniser();
+}
@@ -0,0 +1,36 @@
+package com.GIRA.Backend.service.interfaces;
+
+import com.GIRA.Backend.DTO.request.ReclamationFilterRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
+/**
+ * Service interface for ZIP exports of attachments.
+ * The archive is written to the output while the files are read, one complaint folder per complaint,
+ * so memory use does not depend on the number or size of the files. The caller checks the access rights.
+ * @author Mohamed Yahya Jabrane
+ */
+public interface FichierArchiveService {
+
+    /**
+     * Streams every attachment of a complaint as a ZIP archive.
+     * @param reclamationId the complaint
+     * @param out the destination, flushed but not closed
+     * @return the number of archived files
+     * @throws IOException if writing to the output fails
+     */
+    long archiverReclamation(UUID reclamationId, OutputStream out) throws IOException;
+
+    /**
+     * Streams every attachment of the complaints matching a filter as a ZIP archive.
+     * Pagination and sort fields of the filter are ignored.
+     * @param filter the search criteria (same as /api/reclamations/search, may be null)
+     * @param agentId restricts the export to the complaints assigned to this agent (null for no restriction)
+     * @param out the destination, flushed but not closed
+     * @return the number of archived files
+     * @throws IOException if writing to the output fails
+     */
+    long archiver(ReclamationFilterRequest filter, UUID agentId, OutputStream out) throws IOException;
+}
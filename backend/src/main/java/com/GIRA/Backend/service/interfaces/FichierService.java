@@ -1,8 +1,11 @@
 package com.GIRA.Backend.service.interfaces;
 
+import com.GIRA.Backend.DTO.response.PiecesJointesResume;
 import com.GIRA.Backend.Entities.Fichier;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -27,6 +30,21 @@ public interface FichierService {
      */
     Fichier uploadFile(org.springframework.web.multipart.MultipartFile file, java.util.UUID reclamationId, java.util.UUID userId) throws java.io.IOException;
 
+    /**
+     * Registers content already written to the upload directory (temporary file or completed upload session):
+     * the content is moved into the content-addressed store and the Fichier entity saved.
+     * @param contenu the written content, on the same file system as the store; moved, or deleted if already stored
+     * @param sha256 the SHA-256 of the content
+     * @param taille the size of the content in bytes
+     * @param nomOriginal the original file name
+     * @param typeMime the MIME type
+     * @param reclamationId the complaint UUID
+     * @param userId the user UUID
+     * @return the saved file entity
+     */
+    Fichier enregistrer(java.nio.file.Path contenu, String sha256, long taille, String nomOriginal, String typeMime,
+                        UUID reclamationId, UUID userId) throws java.io.IOException;
+
     /**
      * Retrieves a file by its ID.
      * @param id The file UUID
@@ -41,6 +59,14 @@ public interface FichierService {
      */
     List<Fichier> getFilesByReclamationId(UUID reclamationId);
 
+    /**
+     * Summarizes the attachments of several complaints (count, names, thumbnails) in one grouped query,
+     * for list pages and complaint details.
+     * @param reclamationIds The complaint UUIDs
+     * @return the summary of each complaint having attachments; complaints without attachments are absent
+     */
+    Map<UUID, PiecesJointesResume> getResumesByReclamationIds(Collection<UUID> reclamationIds);
+
     /**
      * Retrieves all files uploaded by a specific user.
      * @param userId The user UUID
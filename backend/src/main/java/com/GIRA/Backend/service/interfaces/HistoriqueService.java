@@ -18,6 +18,13 @@ public interface HistoriqueService {
      */
     Historique addHistorique(Historique historique);
 
+    /**
+     * Adds several history records at once (inserted in JDBC batches).
+     * @param historiques The history entities to add
+     * @return The added history entities
+     */
+    List<Historique> addHistoriques(List<Historique> historiques);
+
     /**
      * Retrieves a history record by its ID.
      * @param id The history UUID
@@ -0,0 +1,50 @@
+package com.GIRA.Backend.service.interfaces;
+
+import com.GIRA.Backend.DTO.request.IncidentReplayRequest;
+import com.GIRA.Backend.DTO.response.IncidentResponse;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.cache.IncidentDetector;
+
+import java.util.List;
+
+/**
+ * Service interface for the detection of incidents: bursts of complaints of one category about one place.
+ * New complaints are fed to an in-memory {@link IncidentDetector}; each incident is pushed once to the supervisors.
+ * @author Mohamed Yahya Jabrane
+ */
+public interface IncidentService {
+    /** Configuration key switching the detection on or off (boolean, default true). */
+    String ENABLED_KEY = "incidents.enabled";
+    /** Configuration key of the number of complaints making a burst (int, default 5). */
+    String SEUIL_KEY = "incidents.seuil";
+    /** Configuration key of the sliding window, in minutes (int, default 15). */
+    String FENETRE_KEY = "incidents.fenetre.minutes";
+    /** Configuration key of the comma-separated ids of the users notified (default: every active admin). */
+    String SUPERVISEURS_KEY = "incidents.superviseurs";
+
+    /**
+     * Feeds a new complaint to the detector, after the commit of the current transaction.
+     * @param reclamation the saved complaint
+     */
+    void enregistrer(Reclamation reclamation);
+
+    /**
+     * Lists the incidents recently detected on this node, most recent first.
+     * @return the incidents
+     */
+    List<IncidentResponse> getIncidents();
+
+    /**
+     * Replays the complaints of a past period through a separate detector, without notification.
+     * @param request the period, the speed and optionally the thresholds to try
+     * @return the incidents that would have been raised
+     * @throws com.GIRA.Backend.exception.BadRequestException if the period, or the time a paced replay would take, is too long
+     */
+    List<IncidentResponse> rejouer(IncidentReplayRequest request);
+
+    /**
+     * Rebuilds the detector from the current settings, reloading the complaints of the current window.
+     * @return the new detector
+     */
+    IncidentDetector reload();
+}
@@ -0,0 +1,31 @@
+package com.GIRA.Backend.service.interfaces;
+
+import com.GIRA.Backend.Entities.Fichier;
+import com.GIRA.Backend.storage.ImageDerivatives;
+
+import java.nio.file.Path;
+
+/**
+ * Service interface for the media pipeline: the thumbnails and previews of uploaded images are generated in the
+ * background, on a bounded worker pool fed by upload events, and stored next to the original.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public interface MediaService {
+
+    /**
+     * Queues the generation of the derivatives of a stored file.
+     * @param original the stored content
+     * @param typeMime its MIME type (may be null)
+     * @return false if the file is not a supported image or the queue is full
+     */
+    boolean soumettre(Path original, String typeMime);
+
+    /**
+     * @param fichier a file
+     * @param variante the derivative
+     * @return the derivative if it is ready, else null, in which case its generation is queued
+     */
+    Path getDerive(Fichier fichier, ImageDerivatives.Variante variante);
+}
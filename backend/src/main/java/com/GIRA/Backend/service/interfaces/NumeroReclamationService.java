@@ -0,0 +1,37 @@
+package com.GIRA.Backend.service.interfaces;
+
+/**
+ * Service interface for complaint numbers ({@code AERO-YYYY-NNNNNN}).
+ * Numbers come from a per-year sequence reserved in blocks (hi/lo): unique across threads and nodes,
+ * increasing on each node, with gaps when a node stops before using its whole block.
+ * @author Mohamed Yahya Jabrane
+ */
+public interface NumeroReclamationService {
+    /**
+     * Returns the next complaint number of the current year.
+     * @return the complaint number, e.g. AERO-2025-000123
+     */
+    String prochainNumero();
+
+    /**
+     * Returns the next complaint number of the given year.
+     * @param annee the year
+     * @return the complaint number
+     */
+    String prochainNumero(int annee);
+
+    /**
+     * Returns the next sequence value of the given year.
+     * @param annee the year
+     * @return the sequence value (starts at 1)
+     */
+    long prochaineSequence(int annee);
+
+    /**
+     * Moves the sequence of a year past a number assigned outside of it (imported complaints), so that the
+     * numbers drawn afterwards for that year are all greater.
+     * @param annee the year
+     * @param sequence the sequence value already used
+     */
+    void avancer(int annee, long sequence);
+}
@@ -0,0 +1,35 @@
+package com.GIRA.Backend.service.interfaces;
+
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.cache.PrioriteClassifier;
+
+/**
+ * Service interface for the automatic priority of new complaints.
+ * Weighted terms are read from the 'priorite.termes' JSON setting and compiled into a {@link PrioriteClassifier},
+ * recompiled whenever the setting changes.
+ * @author Mohamed Yahya Jabrane
+ */
+public interface PrioriteAutomatiqueService {
+    /** Configuration key of the term list (JSON array of {@code PrioriteTermeRequest}). */
+    String TERMES_KEY = "priorite.termes";
+
+    /**
+     * Computes the priority of a new complaint from its title, description and category.
+     * Falls back to {@link Reclamation#prioriteParDefaut()} when no term matches.
+     * @param reclamation the complaint
+     * @return the priority
+     */
+    Reclamation.Priorite determiner(Reclamation reclamation);
+
+    /**
+     * Returns the current classifier (compiled on first use).
+     * @return the classifier
+     */
+    PrioriteClassifier getClassifier();
+
+    /**
+     * Recompiles the classifier from the current configuration snapshot.
+     * @return the new classifier
+     */
+    PrioriteClassifier reload();
+}
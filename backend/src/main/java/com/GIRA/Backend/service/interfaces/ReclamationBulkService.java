@@ -0,0 +1,18 @@
+package com.GIRA.Backend.service.interfaces;
+
+import com.GIRA.Backend.DTO.request.ReclamationBulkUpdateRequest;
+import com.GIRA.Backend.DTO.response.ReclamationBulkUpdateResponse;
+
+/**
+ * Service interface for bulk complaint updates (assignment, status or priority applied to many complaints at once).
+ * @author Mohamed Yahya Jabrane
+ */
+public interface ReclamationBulkService {
+    /**
+     * Applies one operation to all the requested complaints in a single transaction.
+     * Unknown ids and complaints that already have the requested value are reported, not treated as errors.
+     * @param request the operation and the complaint ids
+     * @return the outcome for each requested complaint
+     */
+    ReclamationBulkUpdateResponse appliquer(ReclamationBulkUpdateRequest request);
+}
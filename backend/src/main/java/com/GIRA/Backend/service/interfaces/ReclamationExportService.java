@@ -0,0 +1,63 @@
+package com.GIRA.Backend.service.interfaces;
+
+import com.GIRA.Backend.DTO.request.ReclamationFilterRequest;
+import com.GIRA.Backend.exception.BadRequestException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Service interface for bulk complaint exports.
+ * Rows are read through a server-side cursor and written to the output as they arrive,
+ * so memory use does not depend on the number of exported complaints.
+ * @author Mohamed Yahya Jabrane
+ */
+public interface ReclamationExportService {
+
+    /**
+     * Export file formats.
+     */
+    enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+
+        public String getExtension() { return extension; }
+
+        /**
+         * Parses a format name, case-insensitively.
+         * @param valeur the format name (csv, ndjson)
+         * @return the format
+         * @throws BadRequestException if the format is unknown
+         */
+        public static Format parse(String valeur) {
+            try {
+                return valueOf(valeur.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new BadRequestException("Format d'export non supporté : " + valeur);
+            }
+        }
+    }
+
+    /**
+     * Streams the complaints matching the filter to the output, oldest first.
+     * Pagination and sort fields of the filter are ignored. The output stream is flushed but not closed.
+     * @param filter the search criteria (same as /search)
+     * @param format the file format
+     * @param gzip whether to gzip the output
+     * @param out the destination
+     * @return the number of exported complaints
+     * @throws IOException if writing to the output fails
+     */
+    long exporter(ReclamationFilterRequest filter, Format format, boolean gzip, OutputStream out) throws IOException;
+}
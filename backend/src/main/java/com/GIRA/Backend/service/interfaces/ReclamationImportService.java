@@ -0,0 +1,25 @@
+package com.GIRA.Backend.service.interfaces;
+
+import com.GIRA.Backend.DTO.response.ImportResultResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk complaint imports (historical migrations, kiosk batches).
+ * Accepts the columns produced by {@link ReclamationExportService} plus {@code description},
+ * {@code localisation} and {@code lieuDescription}. Rows are processed in chunks: invalid rows are reported
+ * individually and never prevent the valid rows of the file from being imported.
+ * @author Mohamed Yahya Jabrane
+ */
+public interface ReclamationImportService {
+    /**
+     * Imports complaints from a CSV (with header line) or NDJSON stream.
+     * @param in the input stream (not closed)
+     * @param format the file format
+     * @param gzip whether the stream is gzip-compressed
+     * @return counts and per-row errors
+     * @throws IOException if reading the stream fails
+     */
+    ImportResultResponse importer(InputStream in, ReclamationExportService.Format format, boolean gzip) throws IOException;
+}
@@ -0,0 +1,97 @@
+package com.GIRA.Backend.service.interfaces;
+
+import com.GIRA.Backend.DTO.request.RoutageEquipeRequest;
+import com.GIRA.Backend.DTO.request.RoutageRegleRequest;
+import com.GIRA.Backend.DTO.response.RoutageEquipeResponse;
+import com.GIRA.Backend.DTO.response.RoutageRegleResponse;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.cache.RoutingTable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service interface for the complaint routing rules.
+ * Rules (category, sub-category, priority, location -> team or agents) and teams are stored in the configurations
+ * table and compiled into a {@link RoutingTable}, recompiled whenever one of their keys changes.
+ * @author Mohamed Yahya Jabrane
+ */
+public interface RoutageService {
+    /** Configuration key prefix of the rules: {@code routage.regles.<nom>} holding a JSON {@link RoutageRegleRequest}. */
+    String REGLE_PREFIX = "routage.regles.";
+    /** Configuration key prefix of the teams: {@code routage.equipes.<nom>} holding comma-separated agent ids. */
+    String EQUIPE_PREFIX = "routage.equipes.";
+
+    /**
+     * Returns the current compiled table (compiled on first use).
+     * @return the routing table
+     */
+    RoutingTable getTable();
+
+    /**
+     * Finds the rule routing a complaint, from the compiled table only.
+     * @param categorieId the category
+     * @param sousCategorieId the sub-category (may be null)
+     * @param priorite the priority
+     * @param lieu the free-text location (may be null)
+     * @return the matching rule, or empty
+     */
+    Optional<RoutingTable.Regle> evaluer(UUID categorieId, UUID sousCategorieId, Reclamation.Priorite priorite, String lieu);
+
+    /**
+     * Describes the rule that would route a complaint (administration dry run, nothing is assigned).
+     * @param categorieId the category
+     * @param sousCategorieId the sub-category (may be null)
+     * @param priorite the priority
+     * @param lieu the free-text location (may be null)
+     * @return the matching rule, or empty
+     */
+    Optional<RoutageRegleResponse> simuler(UUID categorieId, UUID sousCategorieId, Reclamation.Priorite priorite, String lieu);
+
+    /**
+     * Recompiles the table from the current configuration snapshot.
+     * @return the new table
+     */
+    RoutingTable reload();
+
+    /**
+     * Lists the rules in evaluation order.
+     * @return list of rules
+     */
+    List<RoutageRegleResponse> getRegles();
+
+    /**
+     * Creates or updates a rule; the table is recompiled once the transaction commits.
+     * @param nom the rule name
+     * @param request the rule
+     * @return the saved rule
+     */
+    RoutageRegleResponse saveRegle(String nom, RoutageRegleRequest request);
+
+    /**
+     * Deletes a rule.
+     * @param nom the rule name
+     */
+    void deleteRegle(String nom);
+
+    /**
+     * Lists the teams.
+     * @return list of teams
+     */
+    List<RoutageEquipeResponse> getEquipes();
+
+    /**
+     * Creates or updates a team.
+     * @param nom the team name
+     * @param request the team members
+     * @return the saved team
+     */
+    RoutageEquipeResponse saveEquipe(String nom, RoutageEquipeRequest request);
+
+    /**
+     * Deletes a team that no rule targets any more.
+     * @param nom the team name
+     */
+    void deleteEquipe(String nom);
+}
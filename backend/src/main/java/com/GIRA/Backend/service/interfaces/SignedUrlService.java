@@ -0,0 +1,32 @@
+package com.GIRA.Backend.service.interfaces;
+
+import com.GIRA.Backend.Entities.Fichier;
+import com.GIRA.Backend.storage.SignedUrlCodec;
+
+/**
+ * Service interface for signed download URLs.
+ * A signed URL authorizes the download of one file until it expires, without authentication and without any
+ * database query: the token carries the storage key, type and name of the file, signed with HMAC-SHA256.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public interface SignedUrlService {
+    /** Path of the signed download endpoint, followed by the token. */
+    String CHEMIN_TELECHARGEMENT = "/api/public/fichiers/";
+
+    /**
+     * Signs a download URL for a file. The caller checks the access rights first.
+     * @param fichier the file
+     * @param dureeSecondes the validity, in seconds (capped by 'app.signed-url.max-seconds')
+     * @return the URL path, relative to the API host
+     */
+    String signer(Fichier fichier, long dureeSecondes);
+
+    /**
+     * Verifies a token.
+     * @param token the token of a signed URL
+     * @return the authorized download, or null if the token is invalid or expired
+     */
+    SignedUrlCodec.Jeton verifier(String token);
+}
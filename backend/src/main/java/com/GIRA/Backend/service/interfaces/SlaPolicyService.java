@@ -0,0 +1,66 @@
+package com.GIRA.Backend.service.interfaces;
+
+import com.GIRA.Backend.DTO.request.SlaRuleRequest;
+import com.GIRA.Backend.DTO.response.SlaRuleResponse;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.cache.SlaMatrix;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service interface for the data-driven SLA policy.
+ * Rules are stored in the configurations table, keyed by category id x priority, and compiled into a {@link SlaMatrix}.
+ * @author Mohamed Yahya Jabrane
+ */
+public interface SlaPolicyService {
+    /** Configuration key prefix of SLA rules: {@code SLA_HEURES.<categorieId>.<PRIORITE>}. */
+    String RULE_PREFIX = "SLA_HEURES.";
+    /** Configuration key of the global fallback duration in hours. */
+    String DEFAULT_KEY = "TEMPS_MAX_RESOLUTION_HEURES";
+    /** Fallback used when no default is configured. */
+    int DEFAULT_HOURS = 48;
+
+    /**
+     * Returns the current compiled matrix, recompiling it if the category tree changed since.
+     * @return the current SLA matrix
+     */
+    SlaMatrix getMatrix();
+
+    /**
+     * Computes the SLA deadline of a complaint.
+     * @param depart the reference date (creation date)
+     * @param categorieId the category UUID
+     * @param priorite the complaint priority
+     * @return the deadline
+     */
+    LocalDateTime calculerEcheance(LocalDateTime depart, UUID categorieId, Reclamation.Priorite priorite);
+
+    /**
+     * Reloads the rules from the database and atomically publishes a new matrix.
+     * @return the newly published matrix
+     */
+    SlaMatrix reload();
+
+    /**
+     * Lists the explicit SLA rules.
+     * @return list of rules
+     */
+    List<SlaRuleResponse> getRules();
+
+    /**
+     * Creates or updates a rule, republishes the matrix and recomputes the deadlines of affected open complaints.
+     * @param request the rule
+     * @return the saved rule with the number of recomputed complaints
+     */
+    SlaRuleResponse saveRule(SlaRuleRequest request);
+
+    /**
+     * Deletes a rule; affected open complaints fall back to the category or global default.
+     * @param categorieId the category UUID
+     * @param priorite the priority
+     * @return the effective rule after deletion with the number of recomputed complaints
+     */
+    SlaRuleResponse deleteRule(UUID categorieId, Reclamation.Priorite priorite);
+}
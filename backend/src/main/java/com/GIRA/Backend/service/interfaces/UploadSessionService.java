@@ -0,0 +1,70 @@
+package com.GIRA.Backend.service.interfaces;
+
+import com.GIRA.Backend.DTO.request.UploadSessionRequest;
+import com.GIRA.Backend.DTO.response.UploadSessionResponse;
+import com.GIRA.Backend.Entities.Fichier;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Service interface for resumable uploads: a session is opened with the total size, chunks are sent at their
+ * offsets (in any order, again after a dropped connection), and the session is committed into a Fichier.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public interface UploadSessionService {
+    /**
+     * Opens an upload session on a complaint the user may attach files to: their own complaint, one assigned
+     * to them, or any complaint for an admin.
+     * @param request the file metadata and total size
+     * @param userId the current user
+     * @param role the current user's role
+     * @return the new session
+     */
+    UploadSessionResponse initier(UploadSessionRequest request, UUID userId, String role);
+
+    /**
+     * Writes a chunk. The bytes received before a failure are kept: the client asks the session state and
+     * resumes after them.
+     * @param sessionId the session
+     * @param offset the position of the chunk
+     * @param contenu the chunk content
+     * @param longueur the chunk length
+     * @param userId the current user (owner of the session)
+     * @return the session state
+     * @throws IOException if the chunk cannot be read or written
+     */
+    UploadSessionResponse ecrire(UUID sessionId, long offset, InputStream contenu, long longueur, UUID userId) throws IOException;
+
+    /**
+     * @param sessionId the session
+     * @param userId the current user (owner of the session)
+     * @return the session state
+     */
+    UploadSessionResponse getSession(UUID sessionId, UUID userId);
+
+    /**
+     * Completes a session: the assembled file is stored and the Fichier entity created.
+     * @param sessionId the session
+     * @param userId the current user (owner of the session)
+     * @return the saved file
+     * @throws IOException if the file cannot be stored
+     */
+    Fichier terminer(UUID sessionId, UUID userId) throws IOException;
+
+    /**
+     * Cancels a session and deletes what was received.
+     * @param sessionId the session
+     * @param userId the current user (owner of the session)
+     */
+    void abandonner(UUID sessionId, UUID userId);
+
+    /**
+     * Deletes the sessions without activity for longer than the expiration delay.
+     * @return the number of sessions deleted
+     */
+    int purger();
+}
@@ -0,0 +1,292 @@
+package com.GIRA.Backend.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed file layout: every distinct content is stored once, under its SHA-256.
+ * <p>
+ * A blob lives at {@code racine/ab/cd/abcd...} (first two bytes of the hash as two directory levels, 65,536
+ * directories), so no directory grows beyond a few hundred entries even with tens of millions of files. New content
+ * is first written to {@code racine/tmp}, on the same file system, then moved into place atomically; a blob path
+ * therefore only ever holds complete content. This class only handles files: reference counting and the decision
+ * to delete a blob belong to {@code BlobService}, which serializes them on the blob's database row.
+ * </p>
+ * <p>
+ * An optional cold root, with the same layout, holds the contents of old attachments moved off the hot disk, gzip
+ * encoded when that pays ({@code racineFroide/ab/cd/abcd....gz}). {@link #localiser(String)} looks for the hot copy
+ * first, then the cold ones, so a file keeps being served while it moves and an upload of cold content simply
+ * stores a hot copy again.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class BlobStore {
+
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path racine;
+    private final Path temporaires;
+    private final Path racineFroide;
+    private final Path temporairesFroids;
+
+    /**
+     * @param racine the root directory, created if needed
+     * @throws IOException if the directories cannot be created
+     */
+    public BlobStore(Path racine) throws IOException {
+        this(racine, null);
+    }
+
+    /**
+     * @param racine       the root directory, created if needed
+     * @param racineFroide the root directory of cold contents, created if needed, or null for a single tier
+     * @throws IOException if the directories cannot be created
+     */
+    public BlobStore(Path racine, Path racineFroide) throws IOException {
+        this.racine = racine.toAbsolutePath().normalize();
+        this.temporaires = this.racine.resolve("tmp");
+        Files.createDirectories(temporaires);
+        this.racineFroide = racineFroide == null ? null : racineFroide.toAbsolutePath().normalize();
+        this.temporairesFroids = this.racineFroide == null ? null : this.racineFroide.resolve("tmp");
+        if (temporairesFroids != null) Files.createDirectories(temporairesFroids);
+    }
+
+    /**
+     * @param hash the SHA-256 of the content, lower case hexadecimal
+     * @return the path of the blob (which may not exist)
+     */
+    public Path chemin(String hash) {
+        if (hash == null || !SHA256.matcher(hash).matches()) throw new IllegalArgumentException("Invalid SHA-256: " + hash);
+        return racine.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    /**
+     * @param hash the SHA-256 of the content, lower case hexadecimal
+     * @return the key of the content in an {@link ObjectStorage}: its path relative to the root
+     */
+    public static String cle(String hash) {
+        if (hash == null || !SHA256.matcher(hash).matches()) throw new IllegalArgumentException("Invalid SHA-256: " + hash);
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash;
+    }
+
+    /**
+     * @param chemin a file path
+     * @param hash   a SHA-256
+     * @return true if the path is the blob of this hash
+     */
+    public boolean estBlob(Path chemin, String hash) {
+        return hash != null && SHA256.matcher(hash).matches() && chemin.toAbsolutePath().normalize().equals(chemin(hash));
+    }
+
+    public boolean existe(String hash) {
+        return Files.isRegularFile(chemin(hash));
+    }
+
+    /**
+     * @param hash  the SHA-256 of the content
+     * @param codec the encoding of the cold copy
+     * @return the path of the cold copy (which may not exist)
+     * @throws IllegalStateException if there is no cold tier
+     */
+    public Path cheminFroid(String hash, StoredContent.Codec codec) {
+        if (racineFroide == null) throw new IllegalStateException("No cold storage directory");
+        Path chaud = chemin(hash);
+        return racineFroide.resolve(racine.relativize(chaud.getParent())).resolve(hash + codec.getExtension());
+    }
+
+    /**
+     * Finds where a content is currently stored: the hot blob, else the gzip cold copy, else the raw cold copy.
+     *
+     * @param hash the SHA-256 of the content
+     * @return the stored content; the hot blob path when no copy exists (reading it fails with NoSuchFileException)
+     */
+    public StoredContent localiser(String hash) {
+        Path chaud = chemin(hash);
+        if (Files.isRegularFile(chaud)) return new StoredContent(chaud, StoredContent.Codec.NONE);
+        StoredContent froid = localiserFroid(hash);
+        return froid != null ? froid : new StoredContent(chaud, StoredContent.Codec.NONE);
+    }
+
+    /**
+     * @param hash the SHA-256 of the content
+     * @return its cold copy, or null if it has none
+     */
+    public StoredContent localiserFroid(String hash) {
+        if (racineFroide == null) return null;
+        for (StoredContent.Codec codec : new StoredContent.Codec[] { StoredContent.Codec.GZIP, StoredContent.Codec.NONE }) {
+            Path froid = cheminFroid(hash, codec);
+            if (Files.isRegularFile(froid)) return new StoredContent(froid, codec);
+        }
+        return null;
+    }
+
+    /**
+     * Writes the cold copy of a hot blob: encoded to a temporary file of the cold tier, then moved into place. The
+     * hot blob is left untouched.
+     *
+     * @param hash  the SHA-256 of the content, whose hot blob must exist
+     * @param codec the encoding
+     * @return the cold copy
+     * @throws IOException if the blob cannot be read or the copy written
+     */
+    public StoredContent refroidir(String hash, StoredContent.Codec codec) throws IOException {
+        Path cible = cheminFroid(hash, codec);
+        Path temporaire = temporairesFroids.resolve(UUID.randomUUID() + ".part");
+        try {
+            StoredContent.encoder(chemin(hash), temporaire, codec);
+            Files.createDirectories(cible.getParent());
+            try {
+                Files.move(temporaire, cible, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaire, cible, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaire);
+        }
+        return new StoredContent(cible, codec);
+    }
+
+    /**
+     * Deletes the cold copies of a content and their image derivatives.
+     *
+     * @param hash the SHA-256
+     * @return the size of the deleted copies, or -1 if there were none
+     * @throws IOException if the deletion fails
+     */
+    public long supprimerFroid(String hash) throws IOException {
+        if (racineFroide == null) return -1;
+        long taille = -1;
+        for (StoredContent.Codec codec : StoredContent.Codec.values()) {
+            Path froid = cheminFroid(hash, codec);
+            long supprime = supprimerFichier(froid);
+            if (supprime >= 0) {
+                taille = Math.max(taille, 0) + supprime;
+                ImageDerivatives.supprimer(froid);
+                nettoyer(froid, racineFroide);
+            }
+        }
+        return taille;
+    }
+
+    /**
+     * @return a new temporary path, on the same file system as the blobs (the file is not created)
+     */
+    public Path temporaire() {
+        return temporaires.resolve(UUID.randomUUID() + ".part");
+    }
+
+    /**
+     * Moves a written file into place as the blob of its hash, or deletes it if the blob already exists.
+     *
+     * @param temporaire the complete content, normally from {@link #temporaire()}
+     * @param hash       its SHA-256
+     * @return true if the file became the blob, false if the content was already stored
+     * @throws IOException if the move fails
+     */
+    public boolean deposer(Path temporaire, String hash) throws IOException {
+        return FileSystemStorage.deplacer(temporaire, chemin(hash));
+    }
+
+    /**
+     * Deletes a content from both tiers, with its image derivatives, then its shard directories if they became empty.
+     *
+     * @param hash the SHA-256
+     * @return the size of the deleted hot blob (or of the cold copies if it had none), or -1 if nothing existed
+     * @throws IOException if the deletion fails
+     */
+    public long supprimer(String hash) throws IOException {
+        long chaud = supprimerChaud(hash);
+        long froid = supprimerFroid(hash);
+        return chaud >= 0 ? chaud : froid;
+    }
+
+    /**
+     * Deletes the hot blob of a content and its image derivatives, then its shard directories if they became empty.
+     * Cold copies are kept.
+     *
+     * @param hash the SHA-256
+     * @return the size of the deleted blob, or -1 if it did not exist
+     * @throws IOException if the deletion fails
+     */
+    public long supprimerChaud(String hash) throws IOException {
+        Path chemin = chemin(hash);
+        long taille = supprimerFichier(chemin);
+        if (taille < 0) return -1;
+        ImageDerivatives.supprimer(chemin);
+        nettoyer(chemin, racine);
+        return taille;
+    }
+
+    private static long supprimerFichier(Path chemin) throws IOException {
+        long taille;
+        try {
+            taille = Files.size(chemin);
+        } catch (NoSuchFileException e) {
+            return -1;
+        }
+        return Files.deleteIfExists(chemin) ? taille : -1;
+    }
+
+    private static void nettoyer(Path fichier, Path jusqua) {
+        for (Path dossier = fichier.getParent(); !dossier.equals(jusqua); dossier = dossier.getParent()) {
+            try {
+                Files.delete(dossier);
+            } catch (IOException nonVide) {
+                break;
+            }
+        }
+    }
+
+    public Path getRacine() { return racine; }
+
+    public Path getRacineFroide() { return racineFroide; }
+
+    /**
+     * Computes the SHA-256 of an existing file, reading it once through a direct buffer.
+     *
+     * @param fichier the file
+     * @return its SHA-256, lower case hexadecimal
+     * @throws IOException if the file cannot be read
+     */
+    public static String hacher(Path fichier) throws IOException {
+        MessageDigest sha256 = HashingFileWriter.sha256();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(65536);
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            while (canal.read(buffer) >= 0) {
+                buffer.flip();
+                sha256.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HashingFileWriter.hex(sha256.digest());
+    }
+
+    /**
+     * Computes the SHA-256 of a stream, read to its end (used to check decoded cold copies).
+     *
+     * @param contenu the content, not closed
+     * @return its SHA-256, lower case hexadecimal
+     * @throws IOException if the stream cannot be read
+     */
+    public static String hacher(InputStream contenu) throws IOException {
+        MessageDigest sha256 = HashingFileWriter.sha256();
+        byte[] buffer = new byte[65536];
+        for (int lus; (lus = contenu.read(buffer)) >= 0; ) {
+            sha256.update(buffer, 0, lus);
+        }
+        return HashingFileWriter.hex(sha256.digest());
+    }
+}
@@ -0,0 +1,236 @@
+package com.GIRA.Backend.storage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * HTTP byte ranges (RFC 9110 section 14) and entity tags for file downloads, independent of the servlet API.
+ * <p>
+ * Ranges are parsed against the file size, sorted and coalesced; a malformed header, or one asking for more than
+ * {@link #MAX_PLAGES} ranges, is ignored (the whole file is sent), a header with no satisfiable range gives a 416.
+ * Bodies are copied with {@link FileChannel#transferTo}, which the JDK turns into {@code sendfile} when the target is
+ * a socket or a file. Entity tags are strong: the SHA-256 of the content, which never changes for a given blob.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class ByteRanges {
+
+    /** Maximum number of ranges served in one response (more usually means a scan, the whole file is sent). */
+    public static final int MAX_PLAGES = 16;
+
+    private static final String CRLF = "\r\n";
+
+    private ByteRanges() {
+    }
+
+    /**
+     * Parses a {@code Range} header.
+     *
+     * @param entete the header value (may be null)
+     * @param taille the size of the file
+     * @return the ranges sorted and coalesced, null if the header is absent, malformed or asks for too many ranges
+     * (send the whole file), or an empty list if no range is satisfiable (416)
+     */
+    public static List<Plage> parser(String entete, long taille) {
+        if (entete == null) return null;
+        String valeur = entete.strip();
+        if (valeur.length() < 6 || !valeur.regionMatches(true, 0, "bytes=", 0, 6)) return null;
+        String[] specs = valeur.substring(6).split(",");
+        if (specs.length > MAX_PLAGES * 4) return null;
+        List<Plage> plages = new ArrayList<>(specs.length);
+        for (String brute : specs) {
+            String spec = brute.strip();
+            int tiret = spec.indexOf('-');
+            if (tiret < 0) return null;
+            try {
+                if (tiret == 0) {
+                    long suffixe = Long.parseLong(spec.substring(1));
+                    if (suffixe < 0) return null;
+                    if (suffixe > 0 && taille > 0) plages.add(new Plage(Math.max(0, taille - suffixe), taille - 1));
+                } else {
+                    long debut = Long.parseLong(spec.substring(0, tiret));
+                    String finTexte = spec.substring(tiret + 1);
+                    long fin = finTexte.isEmpty() ? Long.MAX_VALUE : Long.parseLong(finTexte);
+                    if (debut < 0 || fin < debut) return null;
+                    if (debut < taille) plages.add(new Plage(debut, Math.min(fin, taille - 1)));
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        if (plages.size() <= 1) return plages;
+        plages.sort(Comparator.comparingLong(Plage::getDebut));
+        List<Plage> fusionnees = new ArrayList<>(plages.size());
+        Plage courante = plages.get(0);
+        for (int i = 1; i < plages.size(); i++) {
+            Plage suivante = plages.get(i);
+            if (suivante.debut <= courante.fin + 1) {
+                courante = new Plage(courante.debut, Math.max(courante.fin, suivante.fin));
+            } else {
+                fusionnees.add(courante);
+                courante = suivante;
+            }
+        }
+        fusionnees.add(courante);
+        return fusionnees.size() > MAX_PLAGES ? null : Collections.unmodifiableList(fusionnees);
+    }
+
+    /**
+     * @param hash the SHA-256 of the content
+     * @return the strong entity tag of the content, quoted
+     */
+    public static String etag(String hash) {
+        return "\"" + hash + "\"";
+    }
+
+    /**
+     * Weak comparison of an {@code If-None-Match} header with the entity tag of the file.
+     *
+     * @param ifNoneMatch the header value (may be null)
+     * @param etag        the entity tag, quoted
+     * @return true if the client copy is current (304)
+     */
+    public static boolean correspond(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) return false;
+        for (String candidat : ifNoneMatch.split(",")) {
+            String tag = candidat.strip();
+            if (tag.equals("*")) return true;
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Strong comparison of an {@code If-Range} header: ranges are only served if the client's partial copy is of
+     * the same content. Dates are not compared (downloads carry no {@code Last-Modified}), so they never match.
+     *
+     * @param ifRange the header value (may be null)
+     * @param etag    the entity tag, quoted (may be null)
+     * @return true if the {@code Range} header applies
+     */
+    public static boolean ifRangeValide(String ifRange, String etag) {
+        return ifRange == null || (etag != null && ifRange.strip().equals(etag));
+    }
+
+    /**
+     * @return the {@code Content-Range} value of a range
+     */
+    public static String contentRange(Plage plage, long taille) {
+        return "bytes " + plage.debut + "-" + plage.fin + "/" + taille;
+    }
+
+    /**
+     * @return the {@code Content-Range} value of a 416 response
+     */
+    public static String contentRangeInsatisfiable(long taille) {
+        return "bytes */" + taille;
+    }
+
+    /**
+     * Length of a {@code multipart/byteranges} body, for the {@code Content-Length} header.
+     */
+    public static long longueurMultipart(List<Plage> plages, String typeMime, long taille, String frontiere) {
+        long longueur = 0;
+        for (Plage plage : plages) {
+            longueur += entetePartie(plage, typeMime, taille, frontiere).length + plage.longueur();
+        }
+        return longueur + fin(frontiere).length;
+    }
+
+    /**
+     * Writes a {@code multipart/byteranges} body.
+     *
+     * @param source    the file
+     * @param plages    the ranges (at least two)
+     * @param typeMime  the type of the file
+     * @param taille    the size of the file
+     * @param frontiere the multipart boundary
+     * @param sortie    the response body
+     * @throws IOException if reading or writing fails
+     */
+    public static void ecrireMultipart(FileChannel source, List<Plage> plages, String typeMime, long taille, String frontiere,
+                                       WritableByteChannel sortie) throws IOException {
+        for (Plage plage : plages) {
+            ecrire(sortie, entetePartie(plage, typeMime, taille, frontiere));
+            transferer(source, plage.debut, plage.longueur(), sortie);
+        }
+        ecrire(sortie, fin(frontiere));
+    }
+
+    /**
+     * Copies a region of a file to a channel with {@link FileChannel#transferTo} (kernel copy to sockets and files).
+     *
+     * @throws IOException  if reading or writing fails
+     * @throws EOFException if the file is shorter than expected
+     */
+    public static long transferer(FileChannel source, long position, long longueur, WritableByteChannel cible) throws IOException {
+        long restant = longueur;
+        while (restant > 0) {
+            long envoyes = source.transferTo(position, restant, cible);
+            if (envoyes <= 0) {
+                if (position >= source.size()) throw new EOFException("File truncated at " + position);
+                continue;
+            }
+            position += envoyes;
+            restant -= envoyes;
+        }
+        return longueur;
+    }
+
+    private static byte[] entetePartie(Plage plage, String typeMime, long taille, String frontiere) {
+        return (CRLF + "--" + frontiere + CRLF
+                + "Content-Type: " + typeMime + CRLF
+                + "Content-Range: " + contentRange(plage, taille) + CRLF
+                + CRLF).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] fin(String frontiere) {
+        return (CRLF + "--" + frontiere + "--" + CRLF).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static void ecrire(WritableByteChannel sortie, byte[] octets) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(octets);
+        while (buffer.hasRemaining()) sortie.write(buffer);
+    }
+
+    /**
+     * A byte range, both ends included.
+     */
+    public static final class Plage {
+        private final long debut;
+        private final long fin;
+
+        public Plage(long debut, long fin) {
+            this.debut = debut;
+            this.fin = fin;
+        }
+
+        public long getDebut() { return debut; }
+
+        public long getFin() { return fin; }
+
+        public long longueur() { return fin - debut + 1; }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Plage p && p.debut == debut && p.fin == fin;
+        }
+
+        @Override
+        public int hashCode() { return Long.hashCode(debut) * 31 + Long.hashCode(fin); }
+
+        @Override
+        public String toString() { return debut + "-" + fin; }
+    }
+}
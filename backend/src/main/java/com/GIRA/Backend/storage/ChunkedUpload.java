@@ -0,0 +1,417 @@
+package com.GIRA.Backend.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * A resumable upload: chunks received at any offset are written in place into one file, which becomes the stored
+ * content on completion without being copied.
+ * <p>
+ * Each chunk is written with positional writes ({@link FileChannel#write(ByteBuffer, long)}), so chunks of one
+ * upload can arrive out of order and in parallel. A chunk may not overlap bytes already received or being
+ * received. The SHA-256 covers the contiguous prefix received so far: a chunk starting at the end of that prefix
+ * is hashed while it is written, chunks received ahead are hashed from the file once the gap before them is filled.
+ * Bytes of an interrupted chunk that reached the file are kept, so the client resumes after them.
+ * </p>
+ * <p>
+ * The received ranges and the caller's attributes are saved next to the data ({@code id.session}, replaced
+ * atomically after every chunk), so a session survives a restart; the digest state does not, and the prefix is
+ * hashed again from the file on the next chunk. Instances are thread safe.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class ChunkedUpload {
+
+    private static final String DONNEES = ".part";
+    private static final String ETAT = ".session";
+    private static final String TAILLE = "taille";
+    private static final String PLAGES = "plages";
+    private static final String ACTIVITE = "activite";
+    private static final String ATTRIBUT = "attr.";
+    private static final int TAILLE_BUFFER = 65536;
+
+    private final UUID id;
+    private final Path donnees;
+    private final Path etat;
+    private final long taille;
+    private final HashingFileWriter.Fsync fsync;
+    private final Map<String, String> attributs;
+    /** Received ranges, start to end (excluded), merged. */
+    private final TreeMap<Long, Long> recues = new TreeMap<>();
+    /** Ranges being written, start to end (excluded). */
+    private final TreeMap<Long, Long> enCours = new TreeMap<>();
+    private final FileChannel canal;
+    private final MessageDigest sha256 = HashingFileWriter.sha256();
+    /** End of the hashed prefix. */
+    private long hache;
+    private long activiteMs;
+    private boolean ferme;
+
+    private ChunkedUpload(UUID id, Path dossier, long taille, HashingFileWriter.Fsync fsync, Map<String, String> attributs,
+                          long activiteMs, boolean creer) throws IOException {
+        this.id = id;
+        this.donnees = dossier.resolve(id + DONNEES);
+        this.etat = dossier.resolve(id + ETAT);
+        this.taille = taille;
+        this.fsync = fsync;
+        this.attributs = attributs;
+        this.activiteMs = activiteMs;
+        this.canal = creer
+                ? FileChannel.open(donnees, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(donnees, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Starts an upload.
+     *
+     * @param dossier    the session directory, on the same file system as the stored content
+     * @param taille     the total size announced by the client
+     * @param fsync      when chunks are forced to disk
+     * @param attributs  caller data saved with the session (name, owner...)
+     * @param maintenant the current time, epoch milliseconds
+     * @return the new session
+     * @throws IOException if the files cannot be created
+     */
+    public static ChunkedUpload creer(Path dossier, long taille, HashingFileWriter.Fsync fsync, Map<String, String> attributs,
+                                      long maintenant) throws IOException {
+        if (taille < 0) throw new IllegalArgumentException("Size must not be negative");
+        Files.createDirectories(dossier);
+        ChunkedUpload upload = new ChunkedUpload(UUID.randomUUID(), dossier, taille, fsync, new LinkedHashMap<>(attributs), maintenant, true);
+        try {
+            synchronized (upload) {
+                upload.sauver();
+            }
+        } catch (IOException e) {
+            upload.abandonner();
+            throw e;
+        }
+        return upload;
+    }
+
+    /**
+     * Reopens a saved session.
+     *
+     * @param dossier the session directory
+     * @param id      the session
+     * @param fsync   when chunks are forced to disk
+     * @return the session, or null if it does not exist
+     * @throws IOException if the files cannot be read
+     */
+    public static ChunkedUpload ouvrir(Path dossier, UUID id, HashingFileWriter.Fsync fsync) throws IOException {
+        Path etat = dossier.resolve(id + ETAT);
+        if (!Files.isRegularFile(etat) || !Files.isRegularFile(dossier.resolve(id + DONNEES))) return null;
+        Properties proprietes = lire(etat);
+        Map<String, String> attributs = new LinkedHashMap<>();
+        for (String cle : proprietes.stringPropertyNames()) {
+            if (cle.startsWith(ATTRIBUT)) attributs.put(cle.substring(ATTRIBUT.length()), proprietes.getProperty(cle));
+        }
+        ChunkedUpload upload = new ChunkedUpload(id, dossier, Long.parseLong(proprietes.getProperty(TAILLE)), fsync, attributs,
+                Long.parseLong(proprietes.getProperty(ACTIVITE, "0")), false);
+        String plages = proprietes.getProperty(PLAGES, "");
+        for (String plage : plages.split(",")) {
+            if (plage.isEmpty()) continue;
+            int tiret = plage.indexOf('-');
+            upload.recues.put(Long.parseLong(plage.substring(0, tiret)), Long.parseLong(plage.substring(tiret + 1)));
+        }
+        return upload;
+    }
+
+    /**
+     * Lists the sessions without activity since a date, for garbage collection (the caller calls
+     * {@link #abandonner()} on them).
+     *
+     * @param dossier the session directory
+     * @param avantMs the limit, epoch milliseconds
+     * @return the ids of the expired sessions
+     * @throws IOException if the directory cannot be read
+     */
+    public static List<UUID> expirees(Path dossier, long avantMs) throws IOException {
+        if (!Files.isDirectory(dossier)) return List.of();
+        List<UUID> ids = new ArrayList<>();
+        try (DirectoryStream<Path> fichiers = Files.newDirectoryStream(dossier, "*" + ETAT)) {
+            for (Path fichier : fichiers) {
+                String nom = fichier.getFileName().toString();
+                UUID id;
+                try {
+                    id = UUID.fromString(nom.substring(0, nom.length() - ETAT.length()));
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                long activite;
+                try {
+                    activite = Long.parseLong(lire(fichier).getProperty(ACTIVITE, "0"));
+                } catch (IOException | NumberFormatException e) {
+                    activite = Files.getLastModifiedTime(fichier).toMillis();
+                }
+                if (activite < avantMs) ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Writes a chunk at an offset.
+     *
+     * @param offset     the position of the chunk in the file
+     * @param source     the chunk content; read up to {@code longueur} bytes, not closed
+     * @param longueur   the chunk length
+     * @param maintenant the current time, epoch milliseconds
+     * @return the number of bytes received so far
+     * @throws IOException              if reading the chunk or writing the file fails; the bytes written before the
+     *                                  failure are kept
+     * @throws IllegalArgumentException if the chunk is outside the file, overlaps received bytes, or is shorter than
+     *                                  announced
+     * @throws IllegalStateException    if the session is closed
+     */
+    public long ecrire(long offset, InputStream source, long longueur, long maintenant) throws IOException {
+        if (longueur <= 0 || offset < 0 || offset > taille - longueur) {
+            throw new IllegalArgumentException("Chunk " + offset + "+" + longueur + " outside of the file (" + taille + " bytes)");
+        }
+        long fin = offset + longueur;
+        boolean hacher;
+        synchronized (this) {
+            verifierOuvert();
+            if (chevauche(recues, offset, fin) || chevauche(enCours, offset, fin)) {
+                throw new IllegalArgumentException("Chunk " + offset + "+" + longueur + " overlaps bytes already received");
+            }
+            enCours.put(offset, fin);
+            // Only the chunk starting at the end of the hashed prefix may extend it: no other thread touches the digest
+            hacher = offset == hache;
+        }
+        long[] progression = new long[1];
+        try {
+            copier(source, offset, longueur, hacher, progression);
+            if (progression[0] < longueur) {
+                throw new IllegalArgumentException("Chunk shorter than announced: " + progression[0] + " of " + longueur + " bytes");
+            }
+        } finally {
+            long ecrits = progression[0];
+            if (ecrits > 0 && fsync != HashingFileWriter.Fsync.NONE) canal.force(fsync == HashingFileWriter.Fsync.FULL);
+            synchronized (this) {
+                enCours.remove(offset);
+                if (ecrits > 0) {
+                    ajouter(offset, offset + ecrits);
+                    if (hacher) hache = offset + ecrits;
+                }
+                activiteMs = maintenant;
+                if (!ferme) {
+                    rattraper();
+                    sauver();
+                }
+            }
+        }
+        return getRecus();
+    }
+
+    /**
+     * Completes the upload: checks the file is complete, computes its hash and closes the session, so that only
+     * one caller completes it. The file stays in place, to be moved into the store ({@link BlobStore#deposer});
+     * {@link #abandonner()} then removes the session files. If storing fails, the session can be reopened with
+     * {@link #ouvrir} and completed again.
+     *
+     * @return the size and SHA-256 of the content
+     * @throws IOException           if the file cannot be read
+     * @throws IllegalStateException if the session is closed, bytes are missing or chunks are still being written
+     */
+    public synchronized HashingFileWriter.Resultat terminer() throws IOException {
+        verifierOuvert();
+        if (!enCours.isEmpty() || getRecus() != taille) {
+            throw new IllegalStateException("Upload incomplete: " + getRecus() + " of " + taille + " bytes received");
+        }
+        rattraper();
+        if (hache != taille) throw new IllegalStateException("Upload not fully hashed");
+        fermer();
+        return new HashingFileWriter.Resultat(taille, HashingFileWriter.hex(sha256.digest()));
+    }
+
+    /**
+     * Closes the session and deletes its files (those not moved elsewhere).
+     */
+    public synchronized void abandonner() {
+        ferme = true;
+        try {
+            canal.close();
+        } catch (IOException ignored) {
+            // Deleted below anyway
+        }
+        supprimer(donnees.getParent(), id);
+    }
+
+    /**
+     * Deletes the files of a session that is not open.
+     *
+     * @param dossier the session directory
+     * @param id      the session
+     */
+    public static void supprimer(Path dossier, UUID id) {
+        try {
+            Files.deleteIfExists(dossier.resolve(id + DONNEES));
+            Files.deleteIfExists(dossier.resolve(id + ETAT));
+        } catch (IOException ignored) {
+            // Collected again with the expired sessions
+        }
+    }
+
+    /**
+     * Closes the file without deleting the session (it can be reopened with {@link #ouvrir}).
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    public synchronized void fermer() throws IOException {
+        ferme = true;
+        canal.close();
+    }
+
+    public UUID getId() { return id; }
+
+    public long getTaille() { return taille; }
+
+    /**
+     * @return the file holding the content, to move into the store once {@link #terminer()} succeeded
+     */
+    public Path getDonnees() { return donnees; }
+
+    public Map<String, String> getAttributs() { return Collections.unmodifiableMap(attributs); }
+
+    public synchronized long getActiviteMs() { return activiteMs; }
+
+    /**
+     * @return the number of bytes received
+     */
+    public synchronized long getRecus() {
+        long recus = 0;
+        for (Map.Entry<Long, Long> plage : recues.entrySet()) recus += plage.getValue() - plage.getKey();
+        return recus;
+    }
+
+    /**
+     * @return the received ranges, as {start, end excluded} pairs in order
+     */
+    public synchronized List<long[]> getPlages() {
+        List<long[]> plages = new ArrayList<>(recues.size());
+        for (Map.Entry<Long, Long> plage : recues.entrySet()) plages.add(new long[]{plage.getKey(), plage.getValue()});
+        return plages;
+    }
+
+    /** Copies a chunk; {@code progression[0]} holds the bytes written and hashed, also when the copy fails. */
+    private void copier(InputStream source, long offset, long longueur, boolean hacher, long[] progression) throws IOException {
+        ReadableByteChannel entree = Channels.newChannel(source);
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) Math.min(TAILLE_BUFFER, longueur));
+        long ecrits = 0;
+        while (ecrits < longueur) {
+            buffer.clear();
+            if (longueur - ecrits < buffer.capacity()) buffer.limit((int) (longueur - ecrits));
+            int lus = entree.read(buffer);
+            if (lus < 0) break;
+            if (lus == 0) continue;
+            buffer.flip();
+            long position = offset + ecrits;
+            while (buffer.hasRemaining()) position += canal.write(buffer, position);
+            if (hacher) {
+                buffer.flip();
+                sha256.update(buffer);
+            }
+            ecrits += lus;
+            progression[0] = ecrits;
+        }
+    }
+
+    /** Hashes the received bytes following the hashed prefix, reading them back from the file. */
+    private void rattraper() throws IOException {
+        Map.Entry<Long, Long> plage = recues.floorEntry(hache);
+        if (plage == null || plage.getValue() <= hache) return;
+        long fin = plage.getValue();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(TAILLE_BUFFER);
+        while (hache < fin) {
+            buffer.clear();
+            if (fin - hache < buffer.capacity()) buffer.limit((int) (fin - hache));
+            int lus = canal.read(buffer, hache);
+            if (lus < 0) throw new IOException("Session file truncated at " + hache);
+            buffer.flip();
+            sha256.update(buffer);
+            hache += lus;
+        }
+    }
+
+    private void ajouter(long debut, long fin) {
+        Map.Entry<Long, Long> avant = recues.floorEntry(debut);
+        if (avant != null && avant.getValue() >= debut) {
+            debut = avant.getKey();
+            fin = Math.max(fin, avant.getValue());
+            recues.remove(avant.getKey());
+        }
+        Map.Entry<Long, Long> apres = recues.ceilingEntry(debut);
+        while (apres != null && apres.getKey() <= fin) {
+            fin = Math.max(fin, apres.getValue());
+            recues.remove(apres.getKey());
+            apres = recues.ceilingEntry(debut);
+        }
+        recues.put(debut, fin);
+    }
+
+    private static boolean chevauche(TreeMap<Long, Long> plages, long debut, long fin) {
+        Map.Entry<Long, Long> avant = plages.floorEntry(debut);
+        if (avant != null && avant.getValue() > debut) return true;
+        Map.Entry<Long, Long> apres = plages.ceilingEntry(debut);
+        return apres != null && apres.getKey() < fin;
+    }
+
+    private void verifierOuvert() {
+        if (ferme) throw new IllegalStateException("Upload session " + id + " is closed");
+    }
+
+    /** Saves the state next to the data, replacing the previous one atomically. */
+    private void sauver() throws IOException {
+        Properties proprietes = new Properties();
+        proprietes.setProperty(TAILLE, Long.toString(taille));
+        proprietes.setProperty(ACTIVITE, Long.toString(activiteMs));
+        StringBuilder plages = new StringBuilder();
+        for (Map.Entry<Long, Long> plage : recues.entrySet()) {
+            if (plages.length() > 0) plages.append(',');
+            plages.append(plage.getKey()).append('-').append(plage.getValue());
+        }
+        proprietes.setProperty(PLAGES, plages.toString());
+        attributs.forEach((cle, valeur) -> proprietes.setProperty(ATTRIBUT + cle, valeur));
+        Path temporaire = etat.resolveSibling(etat.getFileName() + ".tmp");
+        try (OutputStream sortie = Files.newOutputStream(temporaire)) {
+            proprietes.store(sortie, null);
+        }
+        try {
+            Files.move(temporaire, etat, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaire, etat, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static Properties lire(Path etat) throws IOException {
+        Properties proprietes = new Properties();
+        try (Reader lecteur = Files.newBufferedReader(etat, StandardCharsets.ISO_8859_1)) {
+            proprietes.load(lecteur);
+        }
+        return proprietes;
+    }
+}
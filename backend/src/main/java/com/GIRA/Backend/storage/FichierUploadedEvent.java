@@ -0,0 +1,34 @@
+package com.GIRA.Backend.storage;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Application event published once an uploaded file and its row are committed, whether it came in one request
+ * or through a resumable upload session.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class FichierUploadedEvent {
+
+    private final UUID fichierId;
+    private final Path chemin;
+    private final String typeMime;
+
+    public FichierUploadedEvent(UUID fichierId, Path chemin, String typeMime) {
+        this.fichierId = fichierId;
+        this.chemin = chemin;
+        this.typeMime = typeMime;
+    }
+
+    public UUID getFichierId() { return fichierId; }
+
+    /**
+     * @return the stored content (a blob, shared by the attachments with the same content), or null when it is kept
+     * in a remote object store
+     */
+    public Path getChemin() { return chemin; }
+
+    public String getTypeMime() { return typeMime; }
+}
@@ -0,0 +1,196 @@
+package com.GIRA.Backend.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Objects stored as files under a root directory, the key being the relative path.
+ * <p>
+ * Objects are written to {@code racine/tmp} then moved into place atomically, so a path only ever holds complete
+ * content; {@link #deposer} moves the uploaded file instead of copying it. Shared between replicas only through a
+ * network file system.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class FileSystemStorage implements ObjectStorage {
+
+    private final Path racine;
+    private final Path temporaires;
+
+    /**
+     * @param racine the root directory, created if needed
+     * @throws IOException if the directories cannot be created
+     */
+    public FileSystemStorage(Path racine) throws IOException {
+        this.racine = racine.toAbsolutePath().normalize();
+        this.temporaires = this.racine.resolve("tmp");
+        Files.createDirectories(temporaires);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ecrire(String cle, InputStream contenu, long taille) throws IOException {
+        Path cible = cheminLocal(cle);
+        Path temporaire = temporaires.resolve(UUID.randomUUID() + ".part");
+        try {
+            long ecrit = Files.copy(contenu, temporaire);
+            if (ecrit != taille) throw new IOException("Object " + cle + ": " + ecrit + " bytes read, " + taille + " expected");
+            Files.createDirectories(cible.getParent());
+            try {
+                Files.move(temporaire, cible, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaire, cible, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaire);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean deposer(String cle, Path fichier) throws IOException {
+        return deplacer(fichier, cheminLocal(cle));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream lire(String cle, long debut, long longueur) throws IOException {
+        FileChannel canal = FileChannel.open(cheminLocal(cle), StandardOpenOption.READ);
+        try {
+            canal.position(debut);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+        InputStream contenu = Channels.newInputStream(canal);
+        return longueur < 0 ? contenu : new Borne(contenu, longueur);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supprimer(String cle) throws IOException {
+        Path chemin = cheminLocal(cle);
+        if (!Files.deleteIfExists(chemin)) return false;
+        for (Path dossier = chemin.getParent(); !dossier.equals(racine); dossier = dossier.getParent()) {
+            try {
+                Files.delete(dossier);
+            } catch (IOException nonVide) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Info informations(String cle) throws IOException {
+        try {
+            return new Info(Files.size(cheminLocal(cle)), null);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Path cheminLocal(String cle) {
+        return racine.resolve(ObjectStorage.verifier(cle));
+    }
+
+    public Path getRacine() { return racine; }
+
+    /**
+     * Moves a complete file to a path where no file exists yet, atomically when the file system allows it.
+     *
+     * @param temporaire the file, deleted if the target already exists
+     * @param cible      the target path
+     * @return true if the file was moved, false if the target already existed
+     * @throws IOException if the move fails
+     */
+    static boolean deplacer(Path temporaire, Path cible) throws IOException {
+        if (Files.isRegularFile(cible)) {
+            Files.deleteIfExists(temporaire);
+            return false;
+        }
+        Files.createDirectories(cible.getParent());
+        try {
+            Files.move(temporaire, cible, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            Files.deleteIfExists(temporaire);
+            return false;
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temporaire, cible);
+            } catch (FileAlreadyExistsException existe) {
+                Files.deleteIfExists(temporaire);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stream ending after a number of bytes.
+     */
+    static final class Borne extends FilterInputStream {
+        private long restant;
+
+        Borne(InputStream contenu, long longueur) {
+            super(contenu);
+            this.restant = longueur;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (restant <= 0) return -1;
+            int octet = super.read();
+            if (octet >= 0) restant--;
+            return octet;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (restant <= 0) return -1;
+            int lus = super.read(b, off, (int) Math.min(len, restant));
+            if (lus > 0) restant -= lus;
+            return lus;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long sautes = super.skip(Math.min(n, restant));
+            restant -= sautes;
+            return sautes;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), restant);
+        }
+    }
+}
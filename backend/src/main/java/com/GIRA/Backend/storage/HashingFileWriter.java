@@ -0,0 +1,160 @@
+package com.GIRA.Backend.storage;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Single-pass file writer: copies a stream to disk and computes its SHA-256 on the way.
+ * <p>
+ * Each chunk read into a pooled direct buffer is fed to the digest, then written to the file channel, so the
+ * content is read once and never held in the heap: an upload costs one buffer, whatever the file size. File
+ * input streams (multipart parts spooled to disk) are read through their own channel straight into the direct
+ * buffer, without the intermediate heap array of {@code Channels.newChannel}.
+ * The file is forced to disk according to the {@link Fsync} policy before the writer returns.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class HashingFileWriter {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    /**
+     * When the written file is forced to the storage device.
+     */
+    public enum Fsync {
+        /** Left to the operating system (fastest, the last seconds of uploads may be lost on a crash). */
+        NONE,
+        /** File content forced before returning ({@code FileChannel.force(false)}). */
+        DATA,
+        /** File content and metadata forced before returning ({@code FileChannel.force(true)}). */
+        FULL
+    }
+
+    private final int tailleBuffer;
+    private final Fsync fsync;
+    private final BlockingQueue<ByteBuffer> buffers;
+
+    /**
+     * @param tailleBuffer size of each direct buffer, in bytes
+     * @param buffersMax   number of buffers kept in the pool; extra concurrent writes allocate temporary ones
+     * @param fsync        the flush policy
+     */
+    public HashingFileWriter(int tailleBuffer, int buffersMax, Fsync fsync) {
+        if (tailleBuffer < 4096 || buffersMax < 1) throw new IllegalArgumentException("Buffer size must be at least 4096 and pool size positive");
+        this.tailleBuffer = tailleBuffer;
+        this.fsync = fsync;
+        this.buffers = new ArrayBlockingQueue<>(buffersMax);
+    }
+
+    /**
+     * Writes a stream to a new file, computing its SHA-256. The file is deleted if the write fails.
+     *
+     * @param source    the content; not closed
+     * @param cible     the file to create (must not exist)
+     * @param tailleMax maximum number of bytes accepted
+     * @return the size and hash of the written content
+     * @throws IOException                 if reading or writing fails
+     * @throws TailleDepasseeException if the content is larger than {@code tailleMax}
+     */
+    public Resultat ecrire(InputStream source, Path cible, long tailleMax) throws IOException {
+        MessageDigest sha256 = sha256();
+        ByteBuffer buffer = acquerir();
+        boolean termine = false;
+        try (FileChannel sortie = FileChannel.open(cible, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ReadableByteChannel entree = source instanceof FileInputStream fichier ? fichier.getChannel() : Channels.newChannel(source);
+            long taille = 0;
+            while (true) {
+                buffer.clear();
+                int lus = entree.read(buffer);
+                if (lus < 0) break;
+                taille += lus;
+                if (taille > tailleMax) throw new TailleDepasseeException(tailleMax);
+                buffer.flip();
+                sha256.update(buffer);
+                buffer.flip();
+                while (buffer.hasRemaining()) sortie.write(buffer);
+            }
+            if (fsync != Fsync.NONE) sortie.force(fsync == Fsync.FULL);
+            termine = true;
+            return new Resultat(taille, HEX.formatHex(sha256.digest()));
+        } finally {
+            liberer(buffer);
+            if (!termine) Files.deleteIfExists(cible);
+        }
+    }
+
+    public Fsync getFsync() { return fsync; }
+
+    /**
+     * @param octets bytes
+     * @return the lower case hexadecimal form
+     */
+    public static String hex(byte[] octets) {
+        return HEX.formatHex(octets);
+    }
+
+    /**
+     * @return a new SHA-256 digest
+     */
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private ByteBuffer acquerir() {
+        ByteBuffer buffer = buffers.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(tailleBuffer);
+    }
+
+    private void liberer(ByteBuffer buffer) {
+        buffer.clear();
+        buffers.offer(buffer);
+    }
+
+    /**
+     * Size and SHA-256 of a written file.
+     */
+    public static final class Resultat {
+        private final long taille;
+        private final String sha256;
+
+        public Resultat(long taille, String sha256) {
+            this.taille = taille;
+            this.sha256 = sha256;
+        }
+
+        public long getTaille() { return taille; }
+
+        /**
+         * @return the SHA-256 of the content, 64 lower case hexadecimal digits
+         */
+        public String getSha256() { return sha256; }
+    }
+
+    /**
+     * Raised when a stream is larger than the accepted size.
+     */
+    public static final class TailleDepasseeException extends IllegalArgumentException {
+        public TailleDepasseeException(long tailleMax) {
+            super("File size exceeds maximum allowed size (" + tailleMax + " bytes)");
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.GIRA.Backend.storage;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Generates the downscaled derivatives of an uploaded image with pure-Java ImageIO: a thumbnail and a preview,
+ * both JPEG, stored next to the original ({@code <original>.thumb.jpg}, {@code <original>.preview.jpg}).
+ * <p>
+ * Large photos are decoded with source subsampling, so a 12 MP phone photo is never held at full size, and
+ * images above a pixel limit are refused before decoding. The EXIF orientation is applied to the pixels, then the
+ * derivatives are encoded from bare pixels: no EXIF (GPS position, device, dates) nor any other metadata is
+ * copied. Files are written under a temporary name and moved into place, so readers never see a partial file.
+ * Derivatives of a content-addressed blob are shared by every attachment with that content. Instances are
+ * immutable and thread safe.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class ImageDerivatives {
+
+    /**
+     * The derivatives of an image.
+     */
+    public enum Variante {
+        MINIATURE("thumb"),
+        APERCU("preview");
+
+        private final String suffixe;
+
+        Variante(String suffixe) {
+            this.suffixe = suffixe;
+        }
+
+        /**
+         * @return the name used in file names and URLs
+         */
+        public String getSuffixe() { return suffixe; }
+
+        /**
+         * @param suffixe a name from {@link #getSuffixe()}
+         * @return the variant, or null if unknown
+         */
+        public static Variante parSuffixe(String suffixe) {
+            for (Variante variante : values()) {
+                if (variante.suffixe.equals(suffixe)) return variante;
+            }
+            return null;
+        }
+    }
+
+    private final int coteMiniature;
+    private final int coteApercu;
+    private final float qualite;
+    private final long pixelsMax;
+
+    /**
+     * @param coteMiniature the largest side of a thumbnail, in pixels
+     * @param coteApercu    the largest side of a preview, in pixels
+     * @param qualite       the JPEG quality, 0 to 1
+     * @param pixelsMax     the largest image accepted, in pixels (protects against decompression bombs)
+     */
+    public ImageDerivatives(int coteMiniature, int coteApercu, float qualite, long pixelsMax) {
+        if (coteMiniature <= 0 || coteApercu < coteMiniature) throw new IllegalArgumentException("Invalid derivative sizes");
+        if (qualite <= 0 || qualite > 1) throw new IllegalArgumentException("Quality must be in (0, 1]");
+        this.coteMiniature = coteMiniature;
+        this.coteApercu = coteApercu;
+        this.qualite = qualite;
+        this.pixelsMax = pixelsMax;
+    }
+
+    /**
+     * @param original the original file
+     * @param variante the derivative
+     * @return the path of the derivative, next to the original
+     */
+    public static Path chemin(Path original, Variante variante) {
+        return original.resolveSibling(original.getFileName() + "." + variante.suffixe + ".jpg");
+    }
+
+    /**
+     * @param typeMime a MIME type (may be null)
+     * @return true if ImageIO can decode that type
+     */
+    public static boolean supporte(String typeMime) {
+        if (typeMime == null || !typeMime.toLowerCase(Locale.ROOT).startsWith("image/")) return false;
+        return ImageIO.getImageReadersByMIMEType(typeMime.toLowerCase(Locale.ROOT)).hasNext();
+    }
+
+    /**
+     * @param original the original file
+     * @return true if every derivative exists
+     */
+    public static boolean existent(Path original) {
+        for (Variante variante : Variante.values()) {
+            if (!Files.exists(chemin(original, variante))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Deletes the derivatives of a file, if any.
+     *
+     * @param original the original file
+     * @throws IOException if a derivative cannot be deleted
+     */
+    public static void supprimer(Path original) throws IOException {
+        for (Variante variante : Variante.values()) {
+            Files.deleteIfExists(chemin(original, variante));
+        }
+    }
+
+    /**
+     * Generates the derivatives of an image, replacing existing ones.
+     *
+     * @param original the image
+     * @return false if the file is not an image ImageIO can decode
+     * @throws IOException if the image is too large, cannot be read or the derivatives cannot be written
+     */
+    public boolean generer(Path original) throws IOException {
+        BufferedImage image = decoder(original);
+        if (image == null) return false;
+        int orientation = orientation(original);
+        BufferedImage apercu = orienter(reduire(image, coteApercu), orientation);
+        image.flush();
+        BufferedImage miniature = reduire(apercu, coteMiniature);
+        ecrire(apercu, chemin(original, Variante.APERCU));
+        ecrire(miniature, chemin(original, Variante.MINIATURE));
+        return true;
+    }
+
+    /**
+     * Decodes an image, subsampled to about twice the preview size, as opaque RGB.
+     */
+    private BufferedImage decoder(Path original) throws IOException {
+        try (ImageInputStream entree = ImageIO.createImageInputStream(original.toFile())) {
+            if (entree == null) return null;
+            Iterator<ImageReader> lecteurs = ImageIO.getImageReaders(entree);
+            if (!lecteurs.hasNext()) return null;
+            ImageReader lecteur = lecteurs.next();
+            try {
+                lecteur.setInput(entree, true, true);
+                int largeur = lecteur.getWidth(0);
+                int hauteur = lecteur.getHeight(0);
+                if ((long) largeur * hauteur > pixelsMax) {
+                    throw new IOException("Image of " + largeur + "x" + hauteur + " exceeds " + pixelsMax + " pixels");
+                }
+                ImageReadParam parametres = lecteur.getDefaultReadParam();
+                int pas = Math.max(1, Math.max(largeur, hauteur) / (2 * coteApercu));
+                parametres.setSourceSubsampling(pas, pas, 0, 0);
+                return opaque(lecteur.read(0, parametres));
+            } finally {
+                lecteur.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage opaque(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) return image;
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            // Transparent areas become white rather than black
+            g.drawImage(image, 0, 0, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    /**
+     * Fits an image in a square of the given side, halving the size step by step so bilinear filtering does not
+     * skip source pixels. Images already small enough are returned as is.
+     */
+    static BufferedImage reduire(BufferedImage image, int cote) {
+        int largeur = image.getWidth();
+        int hauteur = image.getHeight();
+        if (largeur <= cote && hauteur <= cote) return image;
+        double echelle = Math.min((double) cote / largeur, (double) cote / hauteur);
+        int largeurCible = Math.max(1, (int) Math.round(largeur * echelle));
+        int hauteurCible = Math.max(1, (int) Math.round(hauteur * echelle));
+        BufferedImage courante = image;
+        do {
+            largeur = Math.max(largeurCible, largeur / 2);
+            hauteur = Math.max(hauteurCible, hauteur / 2);
+            BufferedImage suivante = new BufferedImage(largeur, hauteur, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = suivante.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(courante, 0, 0, largeur, hauteur, null);
+            } finally {
+                g.dispose();
+            }
+            courante = suivante;
+        } while (largeur != largeurCible || hauteur != hauteurCible);
+        return courante;
+    }
+
+    /**
+     * Applies an EXIF orientation (1 to 8) to the pixels.
+     */
+    static BufferedImage orienter(BufferedImage image, int orientation) {
+        if (orientation < 2 || orientation > 8) return image;
+        int l = image.getWidth();
+        int h = image.getHeight();
+        boolean transpose = orientation >= 5;
+        BufferedImage resultat = new BufferedImage(transpose ? h : l, transpose ? l : h, BufferedImage.TYPE_INT_RGB);
+        int[] ligne = new int[l];
+        for (int y = 0; y < h; y++) {
+            image.getRGB(0, y, l, 1, ligne, 0, l);
+            for (int x = 0; x < l; x++) {
+                int rx;
+                int ry;
+                switch (orientation) {
+                    case 2 -> { rx = l - 1 - x; ry = y; }
+                    case 3 -> { rx = l - 1 - x; ry = h - 1 - y; }
+                    case 4 -> { rx = x; ry = h - 1 - y; }
+                    case 5 -> { rx = y; ry = x; }
+                    case 6 -> { rx = h - 1 - y; ry = x; }
+                    case 7 -> { rx = h - 1 - y; ry = l - 1 - x; }
+                    default -> { rx = y; ry = l - 1 - x; }
+                }
+                resultat.setRGB(rx, ry, ligne[x]);
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Reads the EXIF orientation of a JPEG file.
+     *
+     * @param fichier the file
+     * @return the orientation, 1 (as stored) when absent or not a JPEG
+     * @throws IOException if the file cannot be read
+     */
+    static int orientation(Path fichier) throws IOException {
+        byte[] debut;
+        try (InputStream entree = Files.newInputStream(fichier)) {
+            debut = entree.readNBytes(128 * 1024);
+        }
+        if (debut.length < 4 || (debut[0] & 0xFF) != 0xFF || (debut[1] & 0xFF) != 0xD8) return 1;
+        int i = 2;
+        while (i + 4 <= debut.length && (debut[i] & 0xFF) == 0xFF) {
+            int marqueur = debut[i + 1] & 0xFF;
+            int longueur = ((debut[i + 2] & 0xFF) << 8) | (debut[i + 3] & 0xFF);
+            if (marqueur == 0xDA || longueur < 2) return 1;
+            if (marqueur == 0xE1 && longueur >= 16 && i + 2 + longueur <= debut.length
+                    && debut[i + 4] == 'E' && debut[i + 5] == 'x' && debut[i + 6] == 'i' && debut[i + 7] == 'f') {
+                return orientationTiff(debut, i + 10, i + 2 + longueur);
+            }
+            i += 2 + longueur;
+        }
+        return 1;
+    }
+
+    /** Looks for tag 0x0112 in IFD0 of the TIFF structure held in {@code [tiff, fin)}. */
+    private static int orientationTiff(byte[] octets, int tiff, int fin) {
+        boolean intel = octets[tiff] == 'I';
+        long ifd = entier(octets, tiff + 4, 4, intel);
+        int entrees = tiff + (int) ifd;
+        if (ifd < 8 || entrees + 2 > fin) return 1;
+        int nombre = (int) entier(octets, entrees, 2, intel);
+        for (int e = 0; e < nombre; e++) {
+            int entree = entrees + 2 + 12 * e;
+            if (entree + 12 > fin) return 1;
+            if (entier(octets, entree, 2, intel) == 0x0112) {
+                int valeur = (int) entier(octets, entree + 8, 2, intel);
+                return valeur >= 1 && valeur <= 8 ? valeur : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static long entier(byte[] octets, int position, int taille, boolean intel) {
+        long valeur = 0;
+        for (int i = 0; i < taille; i++) {
+            int octet = octets[position + (intel ? taille - 1 - i : i)] & 0xFF;
+            valeur = (valeur << 8) | octet;
+        }
+        return valeur;
+    }
+
+    /**
+     * Encodes pixels as a JPEG without metadata, under a temporary name moved into place.
+     */
+    private void ecrire(BufferedImage image, Path cible) throws IOException {
+        Path temporaire = cible.resolveSibling(cible.getFileName() + "." + UUID.randomUUID() + ".part");
+        ImageWriter ecrivain = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream sortie = ImageIO.createImageOutputStream(temporaire.toFile())) {
+            ImageWriteParam parametres = ecrivain.getDefaultWriteParam();
+            parametres.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            parametres.setCompressionQuality(qualite);
+            ecrivain.setOutput(sortie);
+            ecrivain.write(null, new IIOImage(image, null, null), parametres);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporaire);
+            throw e;
+        } finally {
+            ecrivain.dispose();
+        }
+        try {
+            Files.move(temporaire, cible, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaire, cible, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
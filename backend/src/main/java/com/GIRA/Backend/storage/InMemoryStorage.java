@@ -0,0 +1,70 @@
+package com.GIRA.Backend.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Objects kept in memory, for tests and local development without a disk or an object store. Objects are limited
+ * to 2 GB.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class InMemoryStorage implements ObjectStorage {
+
+    private final Map<String, byte[]> objets = new ConcurrentHashMap<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ecrire(String cle, InputStream contenu, long taille) throws IOException {
+        ObjectStorage.verifier(cle);
+        if (taille > Integer.MAX_VALUE - 8) throw new IOException("Object " + cle + " too large for memory: " + taille);
+        byte[] octets = contenu.readNBytes((int) taille);
+        if (octets.length != taille || contenu.read() >= 0) {
+            throw new IOException("Object " + cle + ": size differs from " + taille + " bytes");
+        }
+        objets.put(cle, octets);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream lire(String cle, long debut, long longueur) throws IOException {
+        byte[] octets = objets.get(ObjectStorage.verifier(cle));
+        if (octets == null) throw new NoSuchFileException(cle);
+        int depart = (int) Math.min(debut, octets.length);
+        int fin = longueur < 0 ? octets.length : (int) Math.min(octets.length, depart + longueur);
+        return new ByteArrayInputStream(octets, depart, fin - depart);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supprimer(String cle) {
+        return objets.remove(ObjectStorage.verifier(cle)) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Info informations(String cle) {
+        byte[] octets = objets.get(ObjectStorage.verifier(cle));
+        return octets == null ? null : new Info(octets.length, null);
+    }
+
+    /**
+     * @return the number of objects stored
+     */
+    public int nombre() {
+        return objets.size();
+    }
+}
@@ -0,0 +1,119 @@
+package com.GIRA.Backend.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+/**
+ * Storage backend of attachment contents: objects addressed by a relative key ({@code ab/cd/abcd...}), written
+ * whole, read whole or by byte range.
+ * <p>
+ * {@link FileSystemStorage} keeps them on a local (or network mounted) disk, {@link S3Storage} in an S3 compatible
+ * object store shared by every replica, {@link InMemoryStorage} in memory for tests. Callers needing a local file
+ * (zero-copy transfer, image derivatives, cold tier) check {@link #cheminLocal(String)}.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public interface ObjectStorage {
+
+    /** Relative key: segments of letters, digits, '.', '_' and '-' separated by '/', no '.' or '..' segment. */
+    Pattern CLE = Pattern.compile("(?!\\.{1,2}(/|$))[A-Za-z0-9._-]+(/(?!\\.{1,2}(/|$))[A-Za-z0-9._-]+)*");
+
+    /**
+     * Writes an object, replacing any previous one. The object becomes visible only once complete.
+     *
+     * @param cle     the key
+     * @param contenu the content, read to its end (not closed)
+     * @param taille  its size in bytes
+     * @throws IOException if the content cannot be read, is not of the given size, or cannot be stored
+     */
+    void ecrire(String cle, InputStream contenu, long taille) throws IOException;
+
+    /**
+     * Stores a local file as an object unless the key already exists; the file is moved or deleted.
+     *
+     * @param cle     the key
+     * @param fichier the complete content, on a local disk
+     * @return true if the file was stored, false if the object already existed
+     * @throws IOException if the object cannot be stored (the file is then left in place)
+     */
+    default boolean deposer(String cle, Path fichier) throws IOException {
+        if (informations(cle) == null) {
+            try (InputStream contenu = Files.newInputStream(fichier)) {
+                ecrire(cle, contenu, Files.size(fichier));
+            }
+            Files.deleteIfExists(fichier);
+            return true;
+        }
+        Files.deleteIfExists(fichier);
+        return false;
+    }
+
+    /**
+     * Reads an object or a byte range of it.
+     *
+     * @param cle      the key
+     * @param debut    the first byte
+     * @param longueur the number of bytes, or -1 to the end
+     * @return the content, to close
+     * @throws java.nio.file.NoSuchFileException if the object does not exist
+     * @throws IOException                       if it cannot be read
+     */
+    InputStream lire(String cle, long debut, long longueur) throws IOException;
+
+    /**
+     * @param cle the key
+     * @return false if the object was known not to exist
+     * @throws IOException if it cannot be deleted
+     */
+    boolean supprimer(String cle) throws IOException;
+
+    /**
+     * @param cle the key
+     * @return the size and entity tag of the object, or null if it does not exist
+     * @throws IOException if the backend cannot be queried
+     */
+    Info informations(String cle) throws IOException;
+
+    /**
+     * @param cle the key
+     * @return the local file of the object when the backend stores objects as files, null otherwise
+     */
+    default Path cheminLocal(String cle) {
+        return null;
+    }
+
+    /**
+     * @param cle a key
+     * @return the key
+     * @throws IllegalArgumentException if it is not a relative key
+     */
+    static String verifier(String cle) {
+        if (cle == null || !CLE.matcher(cle).matches()) throw new IllegalArgumentException("Invalid object key: " + cle);
+        return cle;
+    }
+
+    /**
+     * Description of a stored object.
+     */
+    final class Info {
+        private final long taille;
+        private final String etag;
+
+        public Info(long taille, String etag) {
+            this.taille = taille;
+            this.etag = etag;
+        }
+
+        public long getTaille() { return taille; }
+
+        /**
+         * @return the backend's entity tag, or null if it has none
+         */
+        public String getEtag() { return etag; }
+    }
+}
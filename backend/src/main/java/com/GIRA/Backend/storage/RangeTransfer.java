@@ -0,0 +1,192 @@
+package com.GIRA.Backend.storage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes a stored file to a servlet response, with conditional GET and byte ranges.
+ * <p>
+ * Answers 304 when {@code If-None-Match} matches the entity tag, 206 for one range, 206
+ * {@code multipart/byteranges} for several, 416 when no range is satisfiable. A whole file or a single range is
+ * handed to Tomcat's sendfile when the connector supports it: the servlet writes no byte, the kernel copies the
+ * file to the socket. Otherwise, and for multi-range bodies, the content goes through
+ * {@link FileChannel#transferTo} into the response. An encoded (cold, gzip) file is decoded on the fly and sent
+ * whole: it has no byte offsets to seek to, so ranges are not offered for it. A remote object is streamed from its
+ * store, a single range being read as a range; several ranges get the whole content, as RFC 9110 allows.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class RangeTransfer {
+
+    /** Smaller bodies are written directly (same threshold as Tomcat's default servlet). */
+    private static final long SENDFILE_MIN = 48 * 1024;
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private RangeTransfer() {
+    }
+
+    /**
+     * Sends a file.
+     *
+     * @param request     the request (method, Range, If-Range, If-None-Match)
+     * @param response    the response
+     * @param fichier     the file
+     * @param hash        the SHA-256 of the content, for the entity tag (may be null: no entity tag)
+     * @param typeMime    the content type (may be null)
+     * @param nomFichier  the file name for Content-Disposition
+     * @throws IOException if the file cannot be read or the response written
+     */
+    public static void envoyer(HttpServletRequest request, HttpServletResponse response, Path fichier, String hash,
+                               String typeMime, String nomFichier) throws IOException {
+        String etag = hash != null ? ByteRanges.etag(hash) : null;
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (nonModifie(request, response, etag)) return;
+        String type = typeMime != null ? typeMime : "application/octet-stream";
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            List<ByteRanges.Plage> plages = null;
+            if ("GET".equals(request.getMethod()) && ByteRanges.ifRangeValide(request.getHeader(HttpHeaders.IF_RANGE), etag)) {
+                plages = ByteRanges.parser(request.getHeader(HttpHeaders.RANGE), taille);
+            }
+            if (plages != null && plages.isEmpty()) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, ByteRanges.contentRangeInsatisfiable(taille));
+                return;
+            }
+            if (nomFichier != null) {
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nomFichier + "\"");
+            }
+            if (plages == null) {
+                response.setStatus(HttpServletResponse.SC_OK);
+                response.setContentType(type);
+                response.setContentLengthLong(taille);
+                corps(request, response, canal, fichier, 0, taille);
+            } else if (plages.size() == 1) {
+                ByteRanges.Plage plage = plages.get(0);
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setContentType(type);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, ByteRanges.contentRange(plage, taille));
+                response.setContentLengthLong(plage.longueur());
+                corps(request, response, canal, fichier, plage.getDebut(), plage.longueur());
+            } else {
+                String frontiere = UUID.randomUUID().toString().replace("-", "");
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setContentType("multipart/byteranges; boundary=" + frontiere);
+                response.setContentLengthLong(ByteRanges.longueurMultipart(plages, type, taille, frontiere));
+                if (!"HEAD".equals(request.getMethod())) {
+                    ByteRanges.ecrireMultipart(canal, plages, type, taille, frontiere, Channels.newChannel(response.getOutputStream()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends a stored file, decoding it if it is encoded.
+     *
+     * @param request    the request (method, Range, If-Range, If-None-Match)
+     * @param response   the response
+     * @param contenu    the stored file
+     * @param hash       the SHA-256 of the decoded content, for the entity tag (may be null: no entity tag)
+     * @param typeMime   the content type (may be null)
+     * @param nomFichier the file name for Content-Disposition
+     * @throws IOException if the file cannot be read or the response written
+     */
+    public static void envoyer(HttpServletRequest request, HttpServletResponse response, StoredContent contenu, String hash,
+                               String typeMime, String nomFichier) throws IOException {
+        if (contenu.estLocal() && !contenu.estEncode()) {
+            envoyer(request, response, contenu.getChemin(), hash, typeMime, nomFichier);
+            return;
+        }
+        if (!contenu.estEncode()) {
+            envoyerDistant(request, response, contenu, hash, typeMime, nomFichier);
+            return;
+        }
+        String etag = hash != null ? ByteRanges.etag(hash) : null;
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "none");
+        if (nonModifie(request, response, etag)) return;
+        long taille = contenu.taille();
+        if (nomFichier != null) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nomFichier + "\"");
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(typeMime != null ? typeMime : "application/octet-stream");
+        response.setContentLengthLong(taille);
+        if ("HEAD".equals(request.getMethod()) || taille == 0) return;
+        try (InputStream decode = contenu.ouvrir()) {
+            decode.transferTo(response.getOutputStream());
+        }
+    }
+
+    private static void envoyerDistant(HttpServletRequest request, HttpServletResponse response, StoredContent contenu,
+                                       String hash, String typeMime, String nomFichier) throws IOException {
+        String etag = hash != null ? ByteRanges.etag(hash) : null;
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (nonModifie(request, response, etag)) return;
+        long taille = contenu.taille();
+        List<ByteRanges.Plage> plages = null;
+        if ("GET".equals(request.getMethod()) && ByteRanges.ifRangeValide(request.getHeader(HttpHeaders.IF_RANGE), etag)) {
+            plages = ByteRanges.parser(request.getHeader(HttpHeaders.RANGE), taille);
+        }
+        if (plages != null && plages.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, ByteRanges.contentRangeInsatisfiable(taille));
+            return;
+        }
+        if (nomFichier != null) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nomFichier + "\"");
+        }
+        response.setContentType(typeMime != null ? typeMime : "application/octet-stream");
+        ByteRanges.Plage plage = plages != null && plages.size() == 1 ? plages.get(0) : null;
+        if (plage != null) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, ByteRanges.contentRange(plage, taille));
+            response.setContentLengthLong(plage.longueur());
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentLengthLong(taille);
+        }
+        if ("HEAD".equals(request.getMethod()) || taille == 0) return;
+        try (InputStream corps = plage != null ? contenu.ouvrir(plage.getDebut(), plage.longueur()) : contenu.ouvrir()) {
+            corps.transferTo(response.getOutputStream());
+        }
+    }
+
+    /**
+     * Sets the entity tag headers and answers 304 if the client's copy is current.
+     */
+    private static boolean nonModifie(HttpServletRequest request, HttpServletResponse response, String etag) {
+        if (etag == null) return false;
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (!ByteRanges.correspond(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) return false;
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        return true;
+    }
+
+    private static void corps(HttpServletRequest request, HttpServletResponse response, FileChannel canal, Path fichier,
+                              long debut, long longueur) throws IOException {
+        if ("HEAD".equals(request.getMethod()) || longueur == 0) return;
+        if (longueur >= SENDFILE_MIN && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, fichier.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, debut);
+            request.setAttribute(SENDFILE_END, debut + longueur);
+            return;
+        }
+        ByteRanges.transferer(canal, debut, longueur, Channels.newChannel(response.getOutputStream()));
+    }
+}
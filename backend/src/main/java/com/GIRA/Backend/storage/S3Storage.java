@@ -0,0 +1,275 @@
+package com.GIRA.Backend.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Objects stored in an S3 compatible object store (AWS S3, MinIO, Ceph RGW...), over the plain REST API with path
+ * style URLs ({@code endpoint/bucket/key}) and SigV4 signed requests.
+ * <p>
+ * An object up to one part is sent in a single PUT. A larger one is streamed as a multipart upload: parts are read
+ * into two buffers in turn, so one part is read and hashed while the previous one is on the wire, and memory stays
+ * at two parts per upload whatever the object size. A failed multipart upload is aborted, leaving no parts billed.
+ * Reads of a byte range are served by the store ({@code Range} header).
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class S3Storage implements ObjectStorage {
+
+    /** Smallest part accepted by S3 (except the last one). */
+    public static final int TAILLE_PARTIE_MIN = 5 * 1024 * 1024;
+    private static final int PARTIES_MAX = 10_000;
+    private static final Pattern UPLOAD_ID = Pattern.compile("<UploadId>([^<]+)</UploadId>");
+
+    private final HttpClient client;
+    private final String base;
+    private final String prefixe;
+    private final String hote;
+    private final SigV4Signer signer;
+    private final int taillePartie;
+
+    /**
+     * @param endpoint     the store URL ({@code http://minio:9000})
+     * @param region       the region ({@code us-east-1} for most self-hosted stores)
+     * @param bucket       the bucket, which must exist
+     * @param cleAcces     the access key id
+     * @param cleSecrete   the secret access key
+     * @param taillePartie the multipart part size, at least 5 MB
+     */
+    public S3Storage(URI endpoint, String region, String bucket, String cleAcces, String cleSecrete, int taillePartie) {
+        if (taillePartie < TAILLE_PARTIE_MIN) throw new IllegalArgumentException("Part size below 5 MB: " + taillePartie);
+        if (endpoint.getHost() == null) throw new IllegalArgumentException("Invalid S3 endpoint: " + endpoint);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.base = endpoint.getScheme() + "://" + endpoint.getRawAuthority();
+        String chemin = endpoint.getPath() == null ? "" : endpoint.getPath().replaceAll("/+$", "");
+        this.prefixe = chemin + "/" + bucket + "/";
+        int port = endpoint.getPort();
+        boolean portParDefaut = port == -1 || port == ("https".equalsIgnoreCase(endpoint.getScheme()) ? 443 : 80);
+        // As sent by HttpClient, which does not let the Host header be set
+        this.hote = portParDefaut ? endpoint.getHost() : endpoint.getHost() + ":" + port;
+        this.signer = new SigV4Signer(cleAcces, cleSecrete, region, "s3");
+        this.taillePartie = taillePartie;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ecrire(String cle, InputStream contenu, long taille) throws IOException {
+        ObjectStorage.verifier(cle);
+        if (taille <= taillePartie) {
+            byte[] octets = contenu.readNBytes((int) taille);
+            verifierFin(cle, contenu, octets.length, taille);
+            HttpResponse<String> reponse = executer("PUT", cle, Map.of(), Map.of(), octets, octets.length);
+            verifier(reponse, "PUT", cle);
+            return;
+        }
+        if ((taille + taillePartie - 1) / taillePartie > PARTIES_MAX) {
+            throw new IOException("Object " + cle + " needs more than " + PARTIES_MAX + " parts of " + taillePartie + " bytes");
+        }
+        String uploadId = creerMultipart(cle);
+        Deque<CompletableFuture<String>> enVol = new ArrayDeque<>(2);
+        try {
+            byte[][] tampons = { new byte[taillePartie], new byte[taillePartie] };
+            List<String> etags = new ArrayList<>();
+            long lus = 0;
+            for (int numero = 1; lus < taille; numero++) {
+                // The buffer is reused once the part sent from it two parts ago is acknowledged
+                if (enVol.size() == 2) etags.add(attendre(enVol.poll()));
+                byte[] tampon = tampons[numero % 2];
+                int attendu = (int) Math.min(taillePartie, taille - lus);
+                int n = contenu.readNBytes(tampon, 0, attendu);
+                if (n < attendu) verifierFin(cle, contenu, lus + n, taille);
+                lus += n;
+                enVol.add(envoyerPartie(cle, uploadId, numero, tampon, n));
+            }
+            verifierFin(cle, contenu, lus, taille);
+            while (!enVol.isEmpty()) etags.add(attendre(enVol.poll()));
+            terminerMultipart(cle, uploadId, etags);
+        } catch (IOException | RuntimeException e) {
+            enVol.forEach(partie -> partie.cancel(true));
+            try {
+                abandonnerMultipart(cle, uploadId);
+            } catch (IOException | RuntimeException abandon) {
+                e.addSuppressed(abandon);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream lire(String cle, long debut, long longueur) throws IOException {
+        ObjectStorage.verifier(cle);
+        if (longueur == 0) return InputStream.nullInputStream();
+        Map<String, String> entetes = debut > 0 || longueur > 0
+                ? Map.of("range", "bytes=" + debut + "-" + (longueur > 0 ? String.valueOf(debut + longueur - 1) : ""))
+                : Map.of();
+        HttpResponse<InputStream> reponse = client(requete("GET", cle, Map.of(), entetes,
+                HttpRequest.BodyPublishers.noBody(), SigV4Signer.SHA256_VIDE), HttpResponse.BodyHandlers.ofInputStream());
+        int statut = reponse.statusCode();
+        if (statut == 206 || (statut == 200 && entetes.isEmpty())) return reponse.body();
+        String erreur;
+        try (InputStream corps = reponse.body()) {
+            erreur = new String(corps.readNBytes(4096), StandardCharsets.UTF_8);
+        }
+        if (statut == 404) throw new NoSuchFileException(cle);
+        throw new IOException("S3 GET " + cle + ": HTTP " + statut + " " + erreur);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supprimer(String cle) throws IOException {
+        ObjectStorage.verifier(cle);
+        HttpResponse<String> reponse = executer("DELETE", cle, Map.of(), Map.of(), null, 0);
+        if (reponse.statusCode() == 404) return false;
+        verifier(reponse, "DELETE", cle);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Info informations(String cle) throws IOException {
+        ObjectStorage.verifier(cle);
+        HttpResponse<Void> reponse = client(requete("HEAD", cle, Map.of(), Map.of(),
+                HttpRequest.BodyPublishers.noBody(), SigV4Signer.SHA256_VIDE), HttpResponse.BodyHandlers.discarding());
+        if (reponse.statusCode() == 404) return null;
+        if (reponse.statusCode() != 200) throw new IOException("S3 HEAD " + cle + ": HTTP " + reponse.statusCode());
+        long taille = reponse.headers().firstValueAsLong("content-length")
+                .orElseThrow(() -> new IOException("S3 HEAD " + cle + ": no Content-Length"));
+        return new Info(taille, reponse.headers().firstValue("etag").orElse(null));
+    }
+
+    private String creerMultipart(String cle) throws IOException {
+        HttpResponse<String> reponse = executer("POST", cle, Map.of("uploads", ""), Map.of(), new byte[0], 0);
+        verifier(reponse, "POST uploads", cle);
+        Matcher id = UPLOAD_ID.matcher(reponse.body());
+        if (!id.find()) throw new IOException("S3 multipart upload of " + cle + ": no UploadId");
+        return id.group(1).replace("&amp;", "&").replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"");
+    }
+
+    private CompletableFuture<String> envoyerPartie(String cle, String uploadId, int numero, byte[] tampon, int longueur) {
+        HttpRequest requete = requete("PUT", cle, Map.of("partNumber", String.valueOf(numero), "uploadId", uploadId), Map.of(),
+                HttpRequest.BodyPublishers.ofByteArray(tampon, 0, longueur), SigV4Signer.sha256(tampon, 0, longueur));
+        return client.sendAsync(requete, HttpResponse.BodyHandlers.ofString()).thenApply(reponse -> {
+            if (reponse.statusCode() != 200) {
+                throw new UncheckedIOException(new IOException("S3 PUT part " + numero + " of " + cle + ": HTTP "
+                        + reponse.statusCode() + " " + reponse.body()));
+            }
+            return reponse.headers().firstValue("etag").orElseThrow(() ->
+                    new UncheckedIOException(new IOException("S3 PUT part " + numero + " of " + cle + ": no ETag")));
+        });
+    }
+
+    private void terminerMultipart(String cle, String uploadId, List<String> etags) throws IOException {
+        StringBuilder xml = new StringBuilder(64 + etags.size() * 96).append("<CompleteMultipartUpload>");
+        for (int i = 0; i < etags.size(); i++) {
+            xml.append("<Part><PartNumber>").append(i + 1).append("</PartNumber><ETag>")
+                    .append(etags.get(i).replace("&", "&amp;").replace("<", "&lt;")).append("</ETag></Part>");
+        }
+        byte[] corps = xml.append("</CompleteMultipartUpload>").toString().getBytes(StandardCharsets.UTF_8);
+        HttpResponse<String> reponse = executer("POST", cle, Map.of("uploadId", uploadId), Map.of("content-type", "application/xml"),
+                corps, corps.length);
+        verifier(reponse, "POST complete", cle);
+        // S3 may answer 200 and report the failure in the body
+        if (reponse.body().contains("<Error>")) throw new IOException("S3 multipart upload of " + cle + " failed: " + reponse.body());
+    }
+
+    private void abandonnerMultipart(String cle, String uploadId) throws IOException {
+        executer("DELETE", cle, Map.of("uploadId", uploadId), Map.of(), null, 0);
+    }
+
+    private HttpResponse<String> executer(String methode, String cle, Map<String, String> parametres, Map<String, String> entetes,
+                                          byte[] corps, int longueur) throws IOException {
+        HttpRequest.BodyPublisher publieur = corps == null ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(corps, 0, longueur);
+        String hash = corps == null ? SigV4Signer.SHA256_VIDE : SigV4Signer.sha256(corps, 0, longueur);
+        return client(requete(methode, cle, parametres, entetes, publieur, hash), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest requete(String methode, String cle, Map<String, String> parametres, Map<String, String> entetes,
+                                HttpRequest.BodyPublisher corps, String hashCorps) {
+        String chemin = prefixe + cle;
+        Instant maintenant = Instant.now();
+        Map<String, String> signes = new TreeMap<>(entetes);
+        signes.put("host", hote);
+        signes.put("x-amz-date", SigV4Signer.horodatage(maintenant));
+        signes.put("x-amz-content-sha256", hashCorps);
+        String autorisation = signer.autorisation(methode, chemin, parametres, signes, hashCorps, maintenant);
+        String requete = SigV4Signer.requete(parametres);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(base + SigV4Signer.encoder(chemin, false)
+                        + (requete.isEmpty() ? "" : "?" + requete)))
+                .method(methode, corps)
+                .header("Authorization", autorisation);
+        signes.forEach((nom, valeur) -> {
+            if (!nom.equals("host")) builder.header(nom, valeur);
+        });
+        return builder.build();
+    }
+
+    private <T> HttpResponse<T> client(HttpRequest requete, HttpResponse.BodyHandler<T> lecteur) throws IOException {
+        try {
+            return client.send(requete, lecteur);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("S3 " + requete.method() + " " + requete.uri() + " interrupted");
+        }
+    }
+
+    private static String attendre(CompletableFuture<String> partie) throws IOException {
+        try {
+            return partie.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("S3 multipart upload interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException u ? u.getCause() : e.getCause();
+            if (cause instanceof IOException io) throw io;
+            throw new IOException("S3 multipart upload failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static void verifier(HttpResponse<String> reponse, String operation, String cle) throws IOException {
+        int statut = reponse.statusCode();
+        if (statut < 200 || statut >= 300) {
+            throw new IOException("S3 " + operation + " " + cle + ": HTTP " + statut + " " + reponse.body());
+        }
+    }
+
+    private static void verifierFin(String cle, InputStream contenu, long lus, long taille) throws IOException {
+        if (lus != taille || contenu.read() >= 0) {
+            throw new IOException("Object " + cle + ": size differs from " + taille + " bytes");
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.GIRA.Backend.storage;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * AWS Signature Version 4 of S3 requests (header based), as accepted by AWS S3, MinIO, Ceph RGW, Garage and the
+ * other S3 compatible stores.
+ * <p>
+ * The canonical request covers the method, the URI encoded path, the sorted query, every header passed in (lower
+ * case names, which must include {@code host}, {@code x-amz-date} and {@code x-amz-content-sha256}) and the payload
+ * hash. The signing key only changes with the date: it is derived once per day.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class SigV4Signer {
+
+    /** SHA-256 of an empty payload. */
+    public static final String SHA256_VIDE = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+    private static final String ALGORITHME = "AWS4-HMAC-SHA256";
+    private static final DateTimeFormatter HORODATAGE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final String cleAcces;
+    private final String cleSecrete;
+    private final String region;
+    private final String service;
+    private volatile CleDuJour cleDuJour;
+
+    /**
+     * @param cleAcces   the access key id
+     * @param cleSecrete the secret access key
+     * @param region     the region ({@code us-east-1} for most self-hosted stores)
+     * @param service    the service name, {@code s3}
+     */
+    public SigV4Signer(String cleAcces, String cleSecrete, String region, String service) {
+        this.cleAcces = cleAcces;
+        this.cleSecrete = cleSecrete;
+        this.region = region;
+        this.service = service;
+    }
+
+    /**
+     * @param date an instant
+     * @return its {@code x-amz-date} form
+     */
+    public static String horodatage(Instant date) {
+        return HORODATAGE.format(date);
+    }
+
+    /**
+     * Computes the Authorization header of a request.
+     *
+     * @param methode    the HTTP method
+     * @param chemin     the path, not encoded ({@code /bucket/ab/cd/abcd...})
+     * @param parametres the query parameters, not encoded (empty value for a bare name)
+     * @param entetes    the headers to sign, lower case names
+     * @param hashCorps  the hex SHA-256 of the payload, or {@code UNSIGNED-PAYLOAD}
+     * @param date       the request date, equal to the {@code x-amz-date} header
+     * @return the Authorization header value
+     */
+    public String autorisation(String methode, String chemin, Map<String, String> parametres, Map<String, String> entetes,
+                               String hashCorps, Instant date) {
+        String horodatage = horodatage(date);
+        String jour = horodatage.substring(0, 8);
+        String portee = jour + "/" + region + "/" + service + "/aws4_request";
+
+        StringBuilder canonique = new StringBuilder(512);
+        canonique.append(methode).append('\n').append(encoder(chemin, false)).append('\n').append(requete(parametres)).append('\n');
+        StringBuilder signes = new StringBuilder();
+        for (Map.Entry<String, String> entete : new TreeMap<>(entetes).entrySet()) {
+            canonique.append(entete.getKey()).append(':').append(entete.getValue().strip()).append('\n');
+            if (signes.length() > 0) signes.append(';');
+            signes.append(entete.getKey());
+        }
+        canonique.append('\n').append(signes).append('\n').append(hashCorps);
+
+        String aSigner = ALGORITHME + '\n' + horodatage + '\n' + portee + '\n' + sha256(canonique.toString());
+        String signature = HashingFileWriter.hex(hmac(cle(jour), aSigner));
+        return ALGORITHME + " Credential=" + cleAcces + "/" + portee + ", SignedHeaders=" + signes + ", Signature=" + signature;
+    }
+
+    /**
+     * @param parametres query parameters, not encoded
+     * @return the canonical query string: encoded names and values, sorted by name
+     */
+    public static String requete(Map<String, String> parametres) {
+        TreeMap<String, String> tries = new TreeMap<>();
+        parametres.forEach((nom, valeur) -> tries.put(encoder(nom, true), encoder(valeur == null ? "" : valeur, true)));
+        StringBuilder requete = new StringBuilder();
+        tries.forEach((nom, valeur) -> {
+            if (requete.length() > 0) requete.append('&');
+            requete.append(nom).append('=').append(valeur);
+        });
+        return requete.toString();
+    }
+
+    /**
+     * URI encodes a string as SigV4 requires (RFC 3986: everything but letters, digits and {@code -_.~}).
+     *
+     * @param valeur       the string
+     * @param encoderSlash false to keep {@code /} (paths)
+     * @return the encoded string
+     */
+    public static String encoder(String valeur, boolean encoderSlash) {
+        StringBuilder encode = new StringBuilder(valeur.length() + 16);
+        for (byte octet : valeur.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (octet & 0xFF);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~' || (c == '/' && !encoderSlash)) {
+                encode.append(c);
+            } else {
+                encode.append('%').append(HEX[(octet >> 4) & 0xF]).append(HEX[octet & 0xF]);
+            }
+        }
+        return encode.toString();
+    }
+
+    /**
+     * @param contenu bytes
+     * @param debut   the first byte
+     * @param longueur the number of bytes
+     * @return their SHA-256, lower case hexadecimal
+     */
+    public static String sha256(byte[] contenu, int debut, int longueur) {
+        MessageDigest sha256 = HashingFileWriter.sha256();
+        sha256.update(contenu, debut, longueur);
+        return HashingFileWriter.hex(sha256.digest());
+    }
+
+    private static String sha256(String texte) {
+        byte[] octets = texte.getBytes(StandardCharsets.UTF_8);
+        return sha256(octets, 0, octets.length);
+    }
+
+    private byte[] cle(String jour) {
+        CleDuJour courante = cleDuJour;
+        if (courante != null && courante.jour.equals(jour)) return courante.cle;
+        byte[] cle = hmac(("AWS4" + cleSecrete).getBytes(StandardCharsets.UTF_8), jour);
+        cle = hmac(cle, region);
+        cle = hmac(cle, service);
+        cle = hmac(cle, "aws4_request");
+        cleDuJour = new CleDuJour(jour, cle);
+        return cle;
+    }
+
+    private static byte[] hmac(byte[] cle, String donnees) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(cle, "HmacSHA256"));
+            return mac.doFinal(donnees.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    private static final class CleDuJour {
+        private final String jour;
+        private final byte[] cle;
+
+        CleDuJour(String jour, byte[] cle) {
+            this.jour = jour;
+            this.cle = cle;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.GIRA.Backend.storage;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stateless download tokens signed with HMAC-SHA256.
+ * <p>
+ * A token carries everything needed to serve the file: its id, storage key, MIME type, name and expiry, so the
+ * download needs no database query. Format: {@code base64url(payload).base64url(hmac)}, the payload starting with
+ * a version and the id of the signing key. Several keys can be accepted at once for rotation: tokens are signed
+ * with the current key and verified with the key they name, so a new key can be introduced, then made current,
+ * then the old one removed once the tokens it signed have expired. Instances are immutable and thread safe.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class SignedUrlCodec {
+
+    private static final byte VERSION = 1;
+    private static final String ALGORITHME = "HmacSHA256";
+    private static final Base64.Encoder ENCODEUR = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODEUR = Base64.getUrlDecoder();
+
+    private final String cleCourante;
+    private final Map<String, ThreadLocal<Mac>> macs = new HashMap<>();
+
+    /**
+     * @param cles        the accepted keys by id (at least 32 bytes each)
+     * @param cleCourante the id of the key used to sign
+     */
+    public SignedUrlCodec(Map<String, byte[]> cles, String cleCourante) {
+        if (!cles.containsKey(cleCourante)) throw new IllegalArgumentException("Unknown current key: " + cleCourante);
+        for (Map.Entry<String, byte[]> cle : cles.entrySet()) {
+            if (cle.getValue().length < 32) throw new IllegalArgumentException("Key " + cle.getKey() + " is shorter than 32 bytes");
+            SecretKeySpec secret = new SecretKeySpec(cle.getValue().clone(), ALGORITHME);
+            // Mac instances are not thread safe: one per thread and key
+            macs.put(cle.getKey(), ThreadLocal.withInitial(() -> mac(secret)));
+        }
+        this.cleCourante = cleCourante;
+    }
+
+    /**
+     * Signs a token with the current key.
+     *
+     * @param jeton the download to authorize
+     * @return the token, URL safe
+     */
+    public String signer(Jeton jeton) {
+        ByteArrayOutputStream octets = new ByteArrayOutputStream(160);
+        try (DataOutputStream sortie = new DataOutputStream(octets)) {
+            sortie.writeByte(VERSION);
+            sortie.writeUTF(cleCourante);
+            sortie.writeLong(jeton.fichierId.getMostSignificantBits());
+            sortie.writeLong(jeton.fichierId.getLeastSignificantBits());
+            sortie.writeLong(jeton.expiration);
+            sortie.writeUTF(jeton.cleStockage);
+            sortie.writeUTF(jeton.typeMime != null ? jeton.typeMime : "");
+            sortie.writeUTF(jeton.nom != null ? jeton.nom : "");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] charge = octets.toByteArray();
+        byte[] signature = macs.get(cleCourante).get().doFinal(charge);
+        return ENCODEUR.encodeToString(charge) + "." + ENCODEUR.encodeToString(signature);
+    }
+
+    /**
+     * Verifies a token.
+     *
+     * @param token        the token
+     * @param maintenantS  the current time, epoch seconds
+     * @return the authorized download, or null if the token is malformed, forged, signed with an unknown key or expired
+     */
+    public Jeton verifier(String token, long maintenantS) {
+        if (token == null) return null;
+        int point = token.indexOf('.');
+        if (point <= 0 || point != token.lastIndexOf('.')) return null;
+        try {
+            byte[] charge = DECODEUR.decode(token.substring(0, point));
+            byte[] signature = DECODEUR.decode(token.substring(point + 1));
+            DataInputStream entree = new DataInputStream(new ByteArrayInputStream(charge));
+            if (entree.readByte() != VERSION) return null;
+            ThreadLocal<Mac> mac = macs.get(entree.readUTF());
+            if (mac == null || !MessageDigest.isEqual(mac.get().doFinal(charge), signature)) return null;
+            UUID fichierId = new UUID(entree.readLong(), entree.readLong());
+            long expiration = entree.readLong();
+            if (maintenantS > expiration) return null;
+            String cleStockage = entree.readUTF();
+            String typeMime = entree.readUTF();
+            String nom = entree.readUTF();
+            return new Jeton(fichierId, cleStockage, typeMime.isEmpty() ? null : typeMime, nom.isEmpty() ? null : nom, expiration);
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+    }
+
+    public String getCleCourante() { return cleCourante; }
+
+    /**
+     * Parses a key ring: {@code id:base64,id:base64}.
+     *
+     * @param cles the key ring
+     * @return the keys by id, in order
+     */
+    public static Map<String, byte[]> parserCles(String cles) {
+        Map<String, byte[]> resultat = new LinkedHashMap<>();
+        for (String entree : cles.split(",")) {
+            String cle = entree.strip();
+            if (cle.isEmpty()) continue;
+            int deuxPoints = cle.indexOf(':');
+            if (deuxPoints <= 0) throw new IllegalArgumentException("Key must be written id:base64");
+            resultat.put(cle.substring(0, deuxPoints), Base64.getDecoder().decode(cle.substring(deuxPoints + 1)));
+        }
+        return resultat;
+    }
+
+    /**
+     * Derives a signing key from another secret, for deployments without a dedicated key ring.
+     *
+     * @param secret  the secret
+     * @param contexte a label separating the uses of the secret
+     * @return a 32-byte key
+     */
+    public static byte[] deriver(String secret, String contexte) {
+        Mac mac = mac(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHME));
+        return mac.doFinal(contexte.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Mac mac(SecretKeySpec secret) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHME);
+            mac.init(secret);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    /**
+     * A download authorized by a token.
+     */
+    public static final class Jeton {
+        private final UUID fichierId;
+        private final String cleStockage;
+        private final String typeMime;
+        private final String nom;
+        private final long expiration;
+
+        /**
+         * @param fichierId   the file
+         * @param cleStockage where its content is stored
+         * @param typeMime    its MIME type (may be null)
+         * @param nom         its name for the download (may be null)
+         * @param expiration  the end of validity, epoch seconds
+         */
+        public Jeton(UUID fichierId, String cleStockage, String typeMime, String nom, long expiration) {
+            this.fichierId = fichierId;
+            this.cleStockage = cleStockage;
+            this.typeMime = typeMime;
+            this.nom = nom;
+            this.expiration = expiration;
+        }
+
+        public UUID getFichierId() { return fichierId; }
+
+        public String getCleStockage() { return cleStockage; }
+
+        public String getTypeMime() { return typeMime; }
+
+        public String getNom() { return nom; }
+
+        public long getExpiration() { return expiration; }
+    }
+}
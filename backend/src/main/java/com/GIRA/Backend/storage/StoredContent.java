@@ -0,0 +1,176 @@
+package com.GIRA.Backend.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A stored file and the codec its bytes are encoded with, read back transparently. The file is either local or an
+ * object of a remote {@link ObjectStorage}, read by byte range.
+ * <p>
+ * Cold files of compressible types are gzip encoded (deflate with a CRC-32 trailer, readable with {@code zcat}):
+ * {@link #ouvrir()} decodes them on the fly and {@link #taille()} reads the decoded size from the gzip trailer, so
+ * a download can announce its length without decoding anything. Only contents below 4 GB are compressed, the
+ * limit of that trailer.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class StoredContent {
+
+    private static final int BUFFER = 64 * 1024;
+    /** Largest content compressed: the gzip trailer holds the size modulo 2^32. */
+    public static final long TAILLE_MAX_COMPRESSION = 0xFFFFFFFFL;
+
+    /**
+     * Encoding of the stored bytes.
+     */
+    public enum Codec {
+        /** Stored as is. */
+        NONE(""),
+        /** Gzip (deflate) encoded. */
+        GZIP(".gz");
+
+        private final String extension;
+
+        Codec(String extension) {
+            this.extension = extension;
+        }
+
+        /**
+         * @return the suffix of the stored file name
+         */
+        public String getExtension() { return extension; }
+    }
+
+    private final Path chemin;
+    private final Codec codec;
+    private final ObjectStorage stockage;
+    private final String cle;
+
+    public StoredContent(Path chemin, Codec codec) {
+        this(chemin, codec, null, null);
+    }
+
+    private StoredContent(Path chemin, Codec codec, ObjectStorage stockage, String cle) {
+        this.chemin = chemin;
+        this.codec = codec;
+        this.stockage = stockage;
+        this.cle = cle;
+    }
+
+    /**
+     * @param stockage the remote storage
+     * @param cle      the key of the object (stored as is)
+     * @return the object
+     */
+    public static StoredContent distant(ObjectStorage stockage, String cle) {
+        return new StoredContent(null, Codec.NONE, stockage, cle);
+    }
+
+    /**
+     * @return the local file, or null for a remote object
+     */
+    public Path getChemin() { return chemin; }
+
+    /**
+     * @return true if the content is a local file (zero-copy transfer, image decoding)
+     */
+    public boolean estLocal() { return chemin != null; }
+
+    public Codec getCodec() { return codec; }
+
+    /**
+     * @return true if the bytes must be decoded (no byte range, no zero-copy transfer)
+     */
+    public boolean estEncode() { return codec != Codec.NONE; }
+
+    /**
+     * @return the decoded size, in bytes
+     * @throws IOException if the file cannot be read
+     */
+    public long taille() throws IOException {
+        if (!estLocal()) {
+            ObjectStorage.Info info = stockage.informations(cle);
+            if (info == null) throw new NoSuchFileException(cle);
+            return info.getTaille();
+        }
+        if (codec == Codec.NONE) return Files.size(chemin);
+        try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.READ)) {
+            ByteBuffer trailer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            canal.read(trailer, canal.size() - 4);
+            return Integer.toUnsignedLong(trailer.getInt(0));
+        }
+    }
+
+    /**
+     * @return the decoded content
+     * @throws IOException if the file cannot be opened
+     */
+    public InputStream ouvrir() throws IOException {
+        if (!estLocal()) return stockage.lire(cle, 0, -1);
+        InputStream brut = Files.newInputStream(chemin);
+        if (codec == Codec.NONE) return brut;
+        try {
+            return new GZIPInputStream(brut, BUFFER);
+        } catch (IOException | RuntimeException e) {
+            brut.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a byte range of a content stored as is.
+     *
+     * @param debut    the first byte
+     * @param longueur the number of bytes
+     * @return the range
+     * @throws IOException                   if the content cannot be read
+     * @throws UnsupportedOperationException if the content is encoded
+     */
+    public InputStream ouvrir(long debut, long longueur) throws IOException {
+        if (estEncode()) throw new UnsupportedOperationException("No byte range in " + codec + " content");
+        if (!estLocal()) return stockage.lire(cle, debut, longueur);
+        InputStream contenu = Files.newInputStream(chemin);
+        try {
+            contenu.skipNBytes(debut);
+        } catch (IOException | RuntimeException e) {
+            contenu.close();
+            throw e;
+        }
+        return new FileSystemStorage.Borne(contenu, longueur);
+    }
+
+    /**
+     * Encodes a file.
+     *
+     * @param source the content
+     * @param cible  the encoded file, created
+     * @param codec  the codec
+     * @return the size of the encoded file
+     * @throws IOException if the source cannot be read or the target written
+     */
+    public static long encoder(Path source, Path cible, Codec codec) throws IOException {
+        if (codec == Codec.NONE) {
+            Files.copy(source, cible);
+            return Files.size(cible);
+        }
+        try (InputStream entree = Files.newInputStream(source);
+             OutputStream sortie = new GZIPOutputStream(new BufferedOutputStream(
+                     Files.newOutputStream(cible, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), BUFFER), BUFFER)) {
+            entree.transferTo(sortie);
+        }
+        return Files.size(cible);
+    }
+}
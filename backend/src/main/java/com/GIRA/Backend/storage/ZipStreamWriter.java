@@ -0,0 +1,383 @@
+package com.GIRA.Backend.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a ZIP archive to a stream, one entry at a time, without knowing the content in advance.
+ * <p>
+ * Each entry is written with a data descriptor (general purpose flag bit 3): the CRC and sizes follow the data
+ * instead of preceding it, so files are read once, straight from disk to the output through a 64 KB buffer, and
+ * nothing is buffered per entry. Media that is already compressed (images, video, PDF, office documents, archives)
+ * is STORED; the rest is deflated. Only the central directory is kept until {@link #terminer()}, about 100 bytes
+ * per entry. ZIP64 records are written when an entry, the archive or the number of entries exceeds the classic
+ * limits (4 GB, 65535 entries). Names are UTF-8 (flag bit 11) and made unique.
+ * </p>
+ * <p>
+ * Readers relying on the central directory (unzip, 7-Zip, Windows and macOS, {@code java.util.zip.ZipFile}) read
+ * these archives; {@code ZipInputStream} does not accept STORED entries with a data descriptor. Not thread safe.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+public final class ZipStreamWriter {
+
+    private static final int BUFFER = 64 * 1024;
+    private static final long LIMITE_32 = 0xFFFFFFFFL;
+    /** Entries at least this large get ZIP64 sizes, leaving room for deflate expansion. */
+    private static final long SEUIL_ZIP64 = 0xF0000000L;
+    private static final int FLAGS = 0x0808;
+    private static final int VERSION = 20;
+    private static final int VERSION_ZIP64 = 45;
+
+    private static final Set<String> TYPES_COMPRESSES = Set.of(
+            "application/pdf", "application/zip", "application/gzip", "application/x-gzip", "application/x-7z-compressed",
+            "application/x-rar-compressed", "application/vnd.rar", "application/x-bzip2", "application/zstd",
+            "application/x-xz", "application/msword", "application/vnd.ms-excel");
+    private static final Set<String> IMAGES_NON_COMPRESSEES = Set.of(
+            "image/bmp", "image/x-ms-bmp", "image/svg+xml", "image/tiff", "image/x-icon", "image/vnd.microsoft.icon");
+    private static final Set<String> EXTENSIONS_COMPRESSEES = Set.of(
+            "jpg", "jpeg", "png", "gif", "webp", "heic", "heif", "avif", "mp4", "m4v", "mov", "webm", "mkv", "avi", "3gp",
+            "mp3", "m4a", "aac", "ogg", "opus", "flac", "zip", "gz", "tgz", "7z", "rar", "bz2", "xz", "zst", "pdf",
+            "docx", "xlsx", "pptx", "odt", "ods", "odp");
+
+    private final Compteur sortie;
+    private final byte[] tampon = new byte[BUFFER];
+    private final byte[] compresse = new byte[BUFFER];
+    private final CRC32 crc = new CRC32();
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final List<Entree> entrees = new ArrayList<>();
+    private final Set<String> noms = new HashSet<>();
+    private boolean termine;
+
+    /**
+     * @param out the destination; flushed by {@link #terminer()} but not closed
+     */
+    public ZipStreamWriter(OutputStream out) {
+        this.sortie = new Compteur(new BufferedOutputStream(out, BUFFER));
+    }
+
+    /**
+     * Adds a file.
+     *
+     * @param nom        the name in the archive, {@code /} separated; made unique if already used
+     * @param fichier    the file
+     * @param compresser whether to deflate the content ({@link #dejaCompresse} tells which media gains nothing)
+     * @param date       the modification date shown for the entry (may be null)
+     * @return the name used
+     * @throws IOException if the file cannot be read or the output written; the archive is then unusable
+     */
+    public String ajouter(String nom, Path fichier, boolean compresser, LocalDateTime date) throws IOException {
+        try (InputStream contenu = Files.newInputStream(fichier)) {
+            return ajouter(nom, contenu, Files.size(fichier), compresser, date);
+        }
+    }
+
+    /**
+     * Adds an entry from a stream, read to its end.
+     *
+     * @param nom        the name in the archive, {@code /} separated; made unique if already used
+     * @param contenu    the content
+     * @param tailleMax  an upper bound of the content size, deciding whether ZIP64 sizes are needed
+     * @param compresser whether to deflate the content
+     * @param date       the modification date shown for the entry (may be null)
+     * @return the name used
+     * @throws IOException if the content cannot be read or the output written; the archive is then unusable
+     */
+    public String ajouter(String nom, InputStream contenu, long tailleMax, boolean compresser, LocalDateTime date) throws IOException {
+        if (termine) throw new IllegalStateException("Archive already finished");
+        String unique = unique(nom);
+        byte[] octetsNom = unique.getBytes(StandardCharsets.UTF_8);
+        Entree entree = new Entree(octetsNom, compresser ? Deflater.DEFLATED : 0, dos(date), sortie.ecrits, tailleMax >= SEUIL_ZIP64);
+
+        // Local header, CRC and sizes deferred to the data descriptor
+        entier32(0x04034b50);
+        entier16(entree.zip64 ? VERSION_ZIP64 : VERSION);
+        entier16(FLAGS);
+        entier16(entree.methode);
+        entier32(entree.dateDos);
+        entier32(0);
+        entier32(entree.zip64 ? LIMITE_32 : 0);
+        entier32(entree.zip64 ? LIMITE_32 : 0);
+        entier16(octetsNom.length);
+        entier16(entree.zip64 ? 20 : 0);
+        sortie.write(octetsNom);
+        if (entree.zip64) {
+            entier16(0x0001);
+            entier16(16);
+            entier64(0);
+            entier64(0);
+        }
+
+        crc.reset();
+        long debut = sortie.ecrits;
+        long lus = 0;
+        if (compresser) {
+            deflater.reset();
+            for (int n; (n = contenu.read(tampon)) > 0; lus += n) {
+                crc.update(tampon, 0, n);
+                deflater.setInput(tampon, 0, n);
+                while (!deflater.needsInput()) {
+                    sortie.write(compresse, 0, deflater.deflate(compresse));
+                }
+            }
+            deflater.finish();
+            while (!deflater.finished()) {
+                sortie.write(compresse, 0, deflater.deflate(compresse));
+            }
+        } else {
+            for (int n; (n = contenu.read(tampon)) > 0; lus += n) {
+                crc.update(tampon, 0, n);
+                sortie.write(tampon, 0, n);
+            }
+        }
+        entree.crc = crc.getValue();
+        entree.taille = lus;
+        entree.tailleCompressee = sortie.ecrits - debut;
+        if (!entree.zip64 && (entree.taille >= LIMITE_32 || entree.tailleCompressee >= LIMITE_32)) {
+            throw new IOException("Entry " + unique + " is larger than announced: " + lus + " bytes");
+        }
+
+        entier32(0x08074b50);
+        entier32(entree.crc);
+        if (entree.zip64) {
+            entier64(entree.tailleCompressee);
+            entier64(entree.taille);
+        } else {
+            entier32(entree.tailleCompressee);
+            entier32(entree.taille);
+        }
+        entrees.add(entree);
+        return unique;
+    }
+
+    /**
+     * Writes the central directory and flushes the output. No entry can be added afterwards.
+     *
+     * @return the size of the archive, in bytes
+     * @throws IOException if the output cannot be written
+     */
+    public long terminer() throws IOException {
+        if (termine) return sortie.ecrits;
+        termine = true;
+        deflater.end();
+        long debutRepertoire = sortie.ecrits;
+        for (Entree entree : entrees) {
+            boolean tailleLongue = entree.taille >= LIMITE_32 || entree.tailleCompressee >= LIMITE_32;
+            boolean positionLongue = entree.position >= LIMITE_32;
+            int extra = (tailleLongue ? 16 : 0) + (positionLongue ? 8 : 0);
+            int version = entree.zip64 || extra > 0 ? VERSION_ZIP64 : VERSION;
+            entier32(0x02014b50);
+            entier16(0x0300 | version); // made by UNIX, so the permissions below apply
+            entier16(version);
+            entier16(FLAGS);
+            entier16(entree.methode);
+            entier32(entree.dateDos);
+            entier32(entree.crc);
+            entier32(tailleLongue ? LIMITE_32 : entree.tailleCompressee);
+            entier32(tailleLongue ? LIMITE_32 : entree.taille);
+            entier16(entree.nom.length);
+            entier16(extra > 0 ? extra + 4 : 0);
+            entier16(0);
+            entier16(0);
+            entier16(0);
+            entier32(0100644L << 16);
+            entier32(positionLongue ? LIMITE_32 : entree.position);
+            sortie.write(entree.nom);
+            if (extra > 0) {
+                entier16(0x0001);
+                entier16(extra);
+                if (tailleLongue) {
+                    entier64(entree.taille);
+                    entier64(entree.tailleCompressee);
+                }
+                if (positionLongue) entier64(entree.position);
+            }
+        }
+        long tailleRepertoire = sortie.ecrits - debutRepertoire;
+        int nombre = entrees.size();
+        if (nombre > 0xFFFF || debutRepertoire >= LIMITE_32 || tailleRepertoire >= LIMITE_32) {
+            long debutZip64 = sortie.ecrits;
+            entier32(0x06064b50);
+            entier64(44);
+            entier16(0x0300 | VERSION_ZIP64);
+            entier16(VERSION_ZIP64);
+            entier32(0);
+            entier32(0);
+            entier64(nombre);
+            entier64(nombre);
+            entier64(tailleRepertoire);
+            entier64(debutRepertoire);
+            entier32(0x07064b50);
+            entier32(0);
+            entier64(debutZip64);
+            entier32(1);
+        }
+        entier32(0x06054b50);
+        entier16(0);
+        entier16(0);
+        entier16(Math.min(nombre, 0xFFFF));
+        entier16(Math.min(nombre, 0xFFFF));
+        entier32(Math.min(tailleRepertoire, LIMITE_32));
+        entier32(Math.min(debutRepertoire, LIMITE_32));
+        entier16(0);
+        sortie.flush();
+        return sortie.ecrits;
+    }
+
+    /**
+     * @return the number of entries added
+     */
+    public int getEntrees() { return entrees.size(); }
+
+    /**
+     * @return the number of bytes written so far
+     */
+    public long getOctets() { return sortie.ecrits; }
+
+    /**
+     * Tells whether deflating a file would gain nothing: images, audio and video, PDF, office documents and archives
+     * already compress their content.
+     *
+     * @param typeMime the MIME type (may be null)
+     * @param nom      the file name, used when the type is missing or generic (may be null)
+     * @return true to store the file as is
+     */
+    public static boolean dejaCompresse(String typeMime, String nom) {
+        if (typeMime != null) {
+            String type = typeMime.toLowerCase(Locale.ROOT);
+            int parametres = type.indexOf(';');
+            if (parametres >= 0) type = type.substring(0, parametres).strip();
+            if (type.startsWith("image/")) return !IMAGES_NON_COMPRESSEES.contains(type);
+            if (type.startsWith("video/")) return true;
+            if (type.startsWith("audio/")) return !type.contains("wav");
+            if (TYPES_COMPRESSES.contains(type) || type.startsWith("application/vnd.openxmlformats-")
+                    || type.startsWith("application/vnd.oasis.opendocument.")) {
+                return true;
+            }
+            if (!type.equals("application/octet-stream")) return false;
+        }
+        if (nom == null) return false;
+        int point = nom.lastIndexOf('.');
+        return point >= 0 && EXTENSIONS_COMPRESSEES.contains(nom.substring(point + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Makes a user supplied name safe as one path segment: no separator, no {@code .} or {@code ..}, no control
+     * character.
+     *
+     * @param nom    the name (may be null)
+     * @param defaut the name used when nothing is left
+     * @return the segment
+     */
+    public static String segment(String nom, String defaut) {
+        if (nom == null) return defaut;
+        StringBuilder resultat = new StringBuilder(nom.length());
+        for (int i = 0; i < nom.length(); i++) {
+            char c = nom.charAt(i);
+            resultat.append(c == '/' || c == '\\' || c == ':' || Character.isISOControl(c) ? '_' : c);
+        }
+        String segment = resultat.toString().strip();
+        return segment.isEmpty() || segment.equals(".") || segment.equals("..") ? defaut : segment;
+    }
+
+    private String unique(String nom) {
+        if (noms.add(nom)) return nom;
+        int barre = nom.lastIndexOf('/');
+        int point = nom.lastIndexOf('.');
+        if (point <= barre + 1) point = nom.length();
+        for (int i = 2; ; i++) {
+            String candidat = nom.substring(0, point) + " (" + i + ")" + nom.substring(point);
+            if (noms.add(candidat)) return candidat;
+        }
+    }
+
+    /** MS-DOS date (high 16 bits) and time (low 16 bits), local time, 2 second resolution. */
+    private static long dos(LocalDateTime date) {
+        if (date == null || date.getYear() < 1980) return (1 << 21) | (1 << 16);
+        if (date.getYear() > 2107) date = LocalDateTime.of(2107, 12, 31, 23, 59, 58);
+        long jour = ((date.getYear() - 1980L) << 9) | (date.getMonthValue() << 5) | date.getDayOfMonth();
+        long heure = (date.getHour() << 11) | (date.getMinute() << 5) | (date.getSecond() >> 1);
+        return (jour << 16) | heure;
+    }
+
+    private void entier16(int valeur) throws IOException {
+        sortie.write(valeur & 0xFF);
+        sortie.write((valeur >>> 8) & 0xFF);
+    }
+
+    private void entier32(long valeur) throws IOException {
+        entier16((int) (valeur & 0xFFFF));
+        entier16((int) ((valeur >>> 16) & 0xFFFF));
+    }
+
+    private void entier64(long valeur) throws IOException {
+        entier32(valeur & LIMITE_32);
+        entier32(valeur >>> 32);
+    }
+
+    /**
+     * Central directory record of a written entry.
+     */
+    private static final class Entree {
+        private final byte[] nom;
+        private final int methode;
+        private final long dateDos;
+        private final long position;
+        private final boolean zip64;
+        private long crc;
+        private long taille;
+        private long tailleCompressee;
+
+        Entree(byte[] nom, int methode, long dateDos, long position, boolean zip64) {
+            this.nom = nom;
+            this.methode = methode;
+            this.dateDos = dateDos;
+            this.position = position;
+            this.zip64 = zip64;
+        }
+    }
+
+    /**
+     * Counts the bytes written; closing it does not close the destination.
+     */
+    private static final class Compteur extends FilterOutputStream {
+        private long ecrits;
+
+        Compteur(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            ecrits++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            ecrits += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
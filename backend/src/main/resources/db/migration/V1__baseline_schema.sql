@@ -0,0 +1,200 @@
+-- ================================
+-- GIRA SCHEMA: BASELINE (V1)
+-- ================================
+-- Schema as previously generated by Hibernate (ddl-auto=update).
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate) and skip this script;
+-- new databases are created from it. Every later schema change goes into a new V<n>__*.sql file.
+
+CREATE TABLE roles (
+    id                UUID PRIMARY KEY,
+    date_creation     TIMESTAMP(6) NOT NULL,
+    date_modification TIMESTAMP(6),
+    actif             BOOLEAN NOT NULL,
+    nom               VARCHAR(50) NOT NULL,
+    description       VARCHAR(255),
+    permissions       TEXT,
+    CONSTRAINT uk_roles_nom UNIQUE (nom)
+);
+
+CREATE TABLE users (
+    id                       UUID PRIMARY KEY,
+    date_creation            TIMESTAMP(6) NOT NULL,
+    date_modification        TIMESTAMP(6),
+    actif                    BOOLEAN NOT NULL,
+    email                    VARCHAR(100) NOT NULL,
+    mot_de_passe             VARCHAR(255) NOT NULL,
+    nom                      VARCHAR(50),
+    prenom                   VARCHAR(50),
+    telephone                VARCHAR(30),
+    langue                   VARCHAR(10),
+    email_verifie            BOOLEAN NOT NULL,
+    token_verification_email VARCHAR(255),
+    token_reset_password     VARCHAR(255),
+    preferences              TEXT,
+    derniere_connexion       TIMESTAMP(6),
+    role_id                  UUID NOT NULL REFERENCES roles (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE categories (
+    id                      UUID PRIMARY KEY,
+    date_creation           TIMESTAMP(6) NOT NULL,
+    date_modification       TIMESTAMP(6),
+    actif                   BOOLEAN NOT NULL,
+    nom                     VARCHAR(100) NOT NULL,
+    description             VARCHAR(255),
+    icone                   VARCHAR(100),
+    couleur                 VARCHAR(20),
+    temps_resolution_estime INTEGER,
+    ordre_affichage         INTEGER,
+    parent_id               UUID REFERENCES categories (id)
+);
+
+CREATE TABLE sous_categories (
+    id                UUID PRIMARY KEY,
+    date_creation     TIMESTAMP(6) NOT NULL,
+    date_modification TIMESTAMP(6),
+    actif             BOOLEAN NOT NULL,
+    categorie_id      UUID NOT NULL REFERENCES categories (id),
+    nom               VARCHAR(100) NOT NULL,
+    description       VARCHAR(255),
+    champs_requis     TEXT,
+    ordre_affichage   INTEGER,
+    ordre             INTEGER
+);
+
+CREATE TABLE reclamations (
+    id                       UUID PRIMARY KEY,
+    date_creation            TIMESTAMP(6) NOT NULL,
+    date_modification        TIMESTAMP(6),
+    actif                    BOOLEAN NOT NULL,
+    numero                   VARCHAR(30) NOT NULL,
+    utilisateur_id           UUID NOT NULL REFERENCES users (id),
+    categorie_id             UUID NOT NULL REFERENCES categories (id),
+    sous_categorie_id        UUID REFERENCES sous_categories (id),
+    titre                    VARCHAR(100) NOT NULL,
+    description              TEXT NOT NULL,
+    priorite                 VARCHAR(10) NOT NULL CHECK (priorite IN ('BASSE', 'NORMALE', 'HAUTE', 'URGENTE')),
+    statut                   VARCHAR(20) NOT NULL CHECK (statut IN ('SOUMISE', 'EN_COURS', 'EN_ATTENTE_INFO', 'RESOLUE', 'FERMEE', 'ANNULEE')),
+    date_resolution          TIMESTAMP(6),
+    date_echeance            TIMESTAMP(6),
+    sla_breached             BOOLEAN NOT NULL,
+    localisation             TEXT,
+    lieu_description         VARCHAR(255),
+    agent_assigne_id         UUID REFERENCES users (id),
+    satisfaction             INTEGER,
+    commentaire_satisfaction TEXT,
+    metadonnees              TEXT,
+    CONSTRAINT uk_reclamations_numero UNIQUE (numero)
+);
+
+CREATE TABLE fichiers (
+    id                UUID PRIMARY KEY,
+    date_creation     TIMESTAMP(6) NOT NULL,
+    date_modification TIMESTAMP(6),
+    actif             BOOLEAN NOT NULL,
+    reclamation_id    UUID NOT NULL REFERENCES reclamations (id),
+    nom_original      VARCHAR(255) NOT NULL,
+    chemin_complet    VARCHAR(500) NOT NULL,
+    type_mime         VARCHAR(100) NOT NULL,
+    taille            BIGINT NOT NULL,
+    hash_fichier      VARCHAR(128),
+    date_upload       TIMESTAMP(6) NOT NULL,
+    uploade_par_id    UUID REFERENCES users (id),
+    description       VARCHAR(500)
+);
+
+CREATE TABLE historiques (
+    id                UUID PRIMARY KEY,
+    date_creation     TIMESTAMP(6) NOT NULL,
+    date_modification TIMESTAMP(6),
+    actif             BOOLEAN NOT NULL,
+    reclamation_id    UUID NOT NULL REFERENCES reclamations (id),
+    utilisateur_id    UUID NOT NULL REFERENCES users (id),
+    action            VARCHAR(50) NOT NULL,
+    ancienne_valeur   TEXT,
+    nouvelle_valeur   TEXT,
+    date_action       TIMESTAMP(6) NOT NULL,
+    commentaire       VARCHAR(255),
+    ip_adresse        VARCHAR(45)
+);
+
+CREATE TABLE notifications (
+    id                UUID PRIMARY KEY,
+    date_creation     TIMESTAMP(6) NOT NULL,
+    date_modification TIMESTAMP(6),
+    actif             BOOLEAN NOT NULL,
+    destinataire_id   UUID NOT NULL REFERENCES users (id),
+    type              VARCHAR(20) NOT NULL CHECK (type IN ('EMAIL', 'PUSH', 'SMS')),
+    sujet             VARCHAR(255),
+    contenu           TEXT,
+    date_envoi        TIMESTAMP(6),
+    date_lecture      TIMESTAMP(6),
+    statut            VARCHAR(20) NOT NULL CHECK (statut IN ('EN_ATTENTE', 'ENVOYE', 'ECHEC', 'LU')),
+    reclamation_id    UUID REFERENCES reclamations (id),
+    donnees_contexte  TEXT,
+    metadonnees       TEXT
+);
+
+CREATE TABLE commentaires (
+    id                UUID PRIMARY KEY,
+    date_creation     TIMESTAMP(6) NOT NULL,
+    date_modification TIMESTAMP(6),
+    actif             BOOLEAN NOT NULL,
+    reclamation_id    UUID NOT NULL REFERENCES reclamations (id),
+    auteur_id         UUID NOT NULL REFERENCES users (id),
+    contenu           TEXT NOT NULL,
+    type              VARCHAR(20),
+    modifie_par       UUID REFERENCES users (id),
+    lu                BOOLEAN NOT NULL,
+    date_markage_lu   TIMESTAMP(6)
+);
+
+CREATE TABLE evaluations (
+    id                 UUID PRIMARY KEY,
+    date_creation      TIMESTAMP(6) NOT NULL,
+    date_modification  TIMESTAMP(6),
+    actif              BOOLEAN NOT NULL,
+    reclamation_id     UUID NOT NULL REFERENCES reclamations (id),
+    evaluateur_id      UUID NOT NULL REFERENCES users (id),
+    note_globale       INTEGER NOT NULL,
+    note_rapidite      INTEGER,
+    note_qualite       INTEGER,
+    note_communication INTEGER,
+    note_resolution    INTEGER,
+    commentaire        TEXT,
+    date_evaluation    TIMESTAMP(6) NOT NULL,
+    recommande         BOOLEAN
+);
+
+CREATE TABLE feedback_services (
+    id                       UUID PRIMARY KEY,
+    date_creation            TIMESTAMP(6) NOT NULL,
+    date_modification        TIMESTAMP(6),
+    actif                    BOOLEAN NOT NULL,
+    utilisateur_id           UUID NOT NULL REFERENCES users (id),
+    type_service             VARCHAR(30) NOT NULL CHECK (type_service IN ('WIFI', 'TOILETTES', 'PARKING', 'SECURITE', 'INFORMATION', 'PORTES_EMBARQUEMENT', 'AUTRE')),
+    nom_service              VARCHAR(100),
+    localisation             TEXT,
+    localisation_description TEXT,
+    visible                  BOOLEAN,
+    note                     INTEGER NOT NULL,
+    commentaire              TEXT,
+    modere                   BOOLEAN NOT NULL,
+    approuve                 BOOLEAN,
+    modere_par               UUID REFERENCES users (id),
+    date_moderation          TIMESTAMP(6)
+);
+
+CREATE TABLE configurations (
+    id                UUID PRIMARY KEY,
+    date_creation     TIMESTAMP(6) NOT NULL,
+    date_modification TIMESTAMP(6),
+    actif             BOOLEAN NOT NULL,
+    cle               VARCHAR(100) NOT NULL,
+    valeur            TEXT,
+    type              VARCHAR(20) NOT NULL CHECK (type IN ('STRING', 'INTEGER', 'BOOLEAN', 'JSON')),
+    description       VARCHAR(255),
+    modifie_par       UUID REFERENCES users (id),
+    CONSTRAINT uk_configurations_cle UNIQUE (cle)
+);
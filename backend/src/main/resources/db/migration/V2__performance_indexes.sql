@@ -0,0 +1,98 @@
+-- ================================
+-- GIRA SCHEMA: PERFORMANCE INDEXES (V2)
+-- ================================
+-- Indexes for the predicates used by the repositories (see ReclamationRepository, NotificationRepository...).
+-- "Open" complaints are those the overdue/urgent queries select with statut NOT IN ('RESOLUE', 'FERMEE'):
+-- they are a small, hot fraction of the table, so the queue indexes only cover those rows.
+-- CONCURRENTLY keeps the tables writable while the indexes are built on an existing database;
+-- Flyway runs this script outside a transaction for that reason. QueryPlanRegressionTest checks the plans.
+
+-- ====== reclamations ======
+
+-- Agent dashboards and queues: agent + statut, with the dashboard columns included for index-only counts
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reclamations_agent_statut
+    ON reclamations (agent_assigne_id, statut) INCLUDE (priorite, date_echeance);
+
+-- Status filters and status + due date sorting
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reclamations_statut_echeance
+    ON reclamations (statut, date_echeance);
+
+-- Overdue complaints (findOverdueReclamations, countOverdueReclamations)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reclamations_open_echeance
+    ON reclamations (date_echeance)
+    WHERE statut NOT IN ('RESOLUE', 'FERMEE');
+
+-- Overdue complaints of one agent
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reclamations_open_agent_echeance
+    ON reclamations (agent_assigne_id, date_echeance)
+    WHERE statut NOT IN ('RESOLUE', 'FERMEE');
+
+-- Urgent open complaints, newest first (findUrgentReclamations and the per-agent variant)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reclamations_open_urgent
+    ON reclamations (date_creation DESC, agent_assigne_id)
+    WHERE priorite = 'URGENTE' AND statut NOT IN ('RESOLUE', 'FERMEE');
+
+-- SLA deadline recalculation for one category and priority (recalculerEcheances)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reclamations_open_categorie_priorite
+    ON reclamations (categorie_id, priorite)
+    WHERE statut NOT IN ('RESOLUE', 'FERMEE');
+
+-- Date ranges, daily trends and statistics
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reclamations_date_creation
+    ON reclamations (date_creation);
+
+-- Passenger's own complaints
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reclamations_utilisateur
+    ON reclamations (utilisateur_id, date_creation DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reclamations_categorie
+    ON reclamations (categorie_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reclamations_sous_categorie
+    ON reclamations (sous_categorie_id);
+
+-- ====== notifications ======
+
+-- Unread counters and per-recipient filters (countUnreadByDestinataireId, findByDestinataireAndStatut)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_destinataire_statut
+    ON notifications (destinataire_id, statut);
+
+-- Delivery queue: only pending and failed notifications
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_a_traiter
+    ON notifications (date_envoi)
+    WHERE statut IN ('EN_ATTENTE', 'ECHEC');
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_reclamation
+    ON notifications (reclamation_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_date_envoi
+    ON notifications (date_envoi);
+
+-- ====== complaint children ======
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fichiers_reclamation
+    ON fichiers (reclamation_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_commentaires_reclamation
+    ON commentaires (reclamation_id, date_creation);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_historiques_reclamation
+    ON historiques (reclamation_id, date_action);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_evaluations_reclamation
+    ON evaluations (reclamation_id);
+
+-- ====== reference data ======
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_role
+    ON users (role_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_sous_categories_categorie
+    ON sous_categories (categorie_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_categories_parent
+    ON categories (parent_id);
+
+-- Prefix lookups (findByCleStartingWith, e.g. 'SLA_HEURES.%')
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_configurations_cle_prefix
+    ON configurations (cle varchar_pattern_ops);
@@ -0,0 +1,17 @@
+-- ================================
+-- GIRA SCHEMA: COMPLAINT NUMBER COUNTERS (V3)
+-- ================================
+-- One row per year; valeur_haute is the last reserved number (see NumeroReclamationServiceImpl).
+
+CREATE TABLE sequences_numero (
+    annee             INTEGER PRIMARY KEY,
+    valeur_haute      BIGINT NOT NULL,
+    date_modification TIMESTAMP(6)
+);
+
+-- Numbers issued before this migration were random: start every year after its highest existing number
+INSERT INTO sequences_numero (annee, valeur_haute, date_modification)
+SELECT CAST(substring(numero FROM 6 FOR 4) AS INTEGER), MAX(CAST(substring(numero FROM 11) AS BIGINT)), now()
+FROM reclamations
+WHERE numero ~ '^AERO-[0-9]{4}-[0-9]{1,18}$'
+GROUP BY 1;
@@ -0,0 +1,7 @@
+-- ================================
+-- GIRA SCHEMA: NEAR-DUPLICATE COMPLAINT CLUSTERS (V4)
+-- ================================
+-- doublon_de points to the principal complaint of the cluster (see DoublonServiceImpl); null for principals.
+-- Its index is built concurrently by V7.
+
+ALTER TABLE reclamations ADD COLUMN doublon_de UUID REFERENCES reclamations(id) ON DELETE SET NULL;
@@ -0,0 +1,13 @@
+-- ================================
+-- GIRA SCHEMA: CONTENT-ADDRESSED FILE STORE (V5)
+-- ================================
+-- One row per distinct attachment content, keyed by its SHA-256 (see BlobServiceImpl).
+-- Files uploaded before this migration keep their own path until the blob migration job moves them.
+-- The index of the files by hash is built concurrently by V8.
+
+CREATE TABLE contenus_fichiers (
+    hash              VARCHAR(64) PRIMARY KEY,
+    taille            BIGINT NOT NULL,
+    nombre_references INTEGER NOT NULL DEFAULT 0,
+    date_creation     TIMESTAMP(6) NOT NULL
+);
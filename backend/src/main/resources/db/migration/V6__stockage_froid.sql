@@ -0,0 +1,10 @@
+-- ================================
+-- GIRA SCHEMA: COLD ATTACHMENT STORAGE (V6)
+-- ================================
+-- Attachments of complaints closed for a while are moved to the cold storage directory, gzip encoded when that
+-- pays (see BlobServiceImpl.refroidir). Reads locate the content on disk; these columns record where it went.
+
+ALTER TABLE fichiers ADD COLUMN niveau_stockage VARCHAR(10) NOT NULL DEFAULT 'CHAUD'
+    CHECK (niveau_stockage IN ('CHAUD', 'FROID'));
+ALTER TABLE fichiers ADD COLUMN codec_stockage VARCHAR(10) NOT NULL DEFAULT 'NONE'
+    CHECK (codec_stockage IN ('NONE', 'GZIP'));
@@ -0,0 +1,10 @@
+-- ================================
+-- GIRA SCHEMA: NEAR-DUPLICATE CLUSTER INDEX (V7)
+-- ================================
+-- Cluster listing (ReclamationRepository.findByDoublonDeOrderByDateCreationAsc) and ON DELETE SET NULL of the
+-- principal complaint. Kept apart from V4: CONCURRENTLY keeps the complaints writable while the index is built,
+-- and Flyway runs this script outside a transaction for that reason.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reclamations_doublon_de
+    ON reclamations (doublon_de)
+    WHERE doublon_de IS NOT NULL;
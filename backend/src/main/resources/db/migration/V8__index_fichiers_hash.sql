@@ -0,0 +1,10 @@
+-- ================================
+-- GIRA SCHEMA: FILES BY CONTENT HASH (V8)
+-- ================================
+-- Lookups of the files sharing a content (FichierRepository.findHashesInactifs and countActifsParHash).
+-- Kept apart from V5: CONCURRENTLY keeps the files writable while the index is built, and Flyway runs this script
+-- outside a transaction for that reason.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fichiers_hash
+    ON fichiers (hash_fichier)
+    WHERE hash_fichier IS NOT NULL;
@@ -0,0 +1,52 @@
+package com.GIRA.Backend.Entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the UUIDv7 identifier generator.
+ */
+class UuidV7GeneratorTest {
+
+    @Test
+    void next_HasVersion7AndRfcVariantAndCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        long timestamp = UuidV7Generator.timestampOf(uuid);
+        // The timestamp may run slightly ahead of the clock when the per-millisecond counter overflowed
+        assertTrue(timestamp >= before && timestamp <= after + 10, "timestamp " + timestamp);
+    }
+
+    @Test
+    void next_IsStrictlyIncreasingInTextualOrder() {
+        // PostgreSQL orders uuid values bytewise, which matches the lowercase hex string order
+        String previous = UuidV7Generator.next().toString();
+        for (int i = 0; i < 200_000; i++) {
+            String current = UuidV7Generator.next().toString();
+            assertTrue(current.compareTo(previous) > 0, previous + " >= " + current);
+            previous = current;
+        }
+    }
+
+    @Test
+    void next_IsUniqueAcrossThreads() {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 400_000).parallel().forEach(i -> ids.add(UuidV7Generator.next()));
+        assertEquals(400_000, ids.size());
+    }
+
+    @Test
+    void timestampOf_RejectsRandomUuid() {
+        assertThrows(IllegalArgumentException.class, () -> UuidV7Generator.timestampOf(UUID.randomUUID()));
+    }
+}
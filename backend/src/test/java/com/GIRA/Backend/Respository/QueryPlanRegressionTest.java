@@ -0,0 +1,158 @@
+package com.GIRA.Backend.Respository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query plan regression test for the performance indexes (db/migration/V2__performance_indexes.sql).
+ * <p>
+ * Applies the Flyway migrations to a real PostgreSQL, loads a realistic volume (100k complaints, 5% open),
+ * then fails if the plan of a critical repository query falls back to a sequential scan of the queried table.
+ * Skipped when Docker is not available.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanRegressionTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17");
+
+    /** Deterministic ids so the queries below can reference existing rows. */
+    private static final String AGENT = "md5('u7')::uuid";
+    private static final String PASSAGER = "md5('u123')::uuid";
+    private static final String RECLAMATION = "md5('r4242')::uuid";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        // Same lock mode as application.properties (spring.flyway.postgresql.transactional-lock)
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO roles (id, date_creation, actif, nom) VALUES (md5('role')::uuid, now(), true, 'PASSAGER')""");
+            statement.execute("""
+                    INSERT INTO users (id, date_creation, actif, email, mot_de_passe, email_verifie, role_id)
+                    SELECT md5('u' || g)::uuid, now(), true, 'user' || g || '@example.com', 'x', true, md5('role')::uuid
+                    FROM generate_series(0, 999) g""");
+            statement.execute("""
+                    INSERT INTO categories (id, date_creation, actif, nom)
+                    SELECT md5('c' || g)::uuid, now(), true, 'Categorie ' || g FROM generate_series(0, 19) g""");
+            // 5% of the complaints are open, 1 in 7 is urgent; agents are the first 47 users
+            statement.execute("""
+                    INSERT INTO reclamations (id, date_creation, actif, numero, utilisateur_id, categorie_id, titre, description,
+                                              priorite, statut, date_echeance, sla_breached, agent_assigne_id)
+                    SELECT md5('r' || g)::uuid, now() - g * INTERVAL '1 minute', true, 'AERO-2025-' || lpad(g::text, 6, '0'),
+                           md5('u' || (g % 1000))::uuid, md5('c' || (g % 19))::uuid, 'Titre ' || g, 'Description ' || g,
+                           CASE WHEN g % 7 = 0 THEN 'URGENTE' ELSE 'NORMALE' END,
+                           CASE WHEN g % 20 = 0 THEN (CASE WHEN g % 40 = 0 THEN 'SOUMISE' ELSE 'EN_COURS' END)
+                                ELSE (CASE WHEN g % 2 = 0 THEN 'RESOLUE' ELSE 'FERMEE' END) END,
+                           now() - g * INTERVAL '1 minute' + INTERVAL '48 hours', false, md5('u' || (g % 47))::uuid
+                    FROM generate_series(1, 100000) g""");
+            statement.execute("""
+                    INSERT INTO notifications (id, date_creation, actif, destinataire_id, type, statut, reclamation_id, date_envoi)
+                    SELECT md5('n' || g)::uuid, now(), true, md5('u' || (g % 1000))::uuid, 'EMAIL',
+                           CASE WHEN g % 10 = 0 THEN 'EN_ATTENTE' ELSE 'LU' END,
+                           md5('r' || (g % 100000 + 1))::uuid, now() - g * INTERVAL '1 minute'
+                    FROM generate_series(1, 100000) g""");
+            statement.execute("""
+                    INSERT INTO fichiers (id, date_creation, actif, reclamation_id, nom_original, chemin_complet, type_mime, taille, date_upload)
+                    SELECT md5('f' || g)::uuid, now(), true, md5('r' || (g % 100000 + 1))::uuid,
+                           'photo' || g || '.jpg', 'uploads/photo' || g || '.jpg', 'image/jpeg', 1024, now()
+                    FROM generate_series(1, 100000) g""");
+            statement.execute("""
+                    INSERT INTO commentaires (id, date_creation, actif, reclamation_id, auteur_id, contenu, lu)
+                    SELECT md5('m' || g)::uuid, now(), true, md5('r' || (g % 100000 + 1))::uuid, md5('u' || (g % 1000))::uuid,
+                           'Commentaire ' || g, false
+                    FROM generate_series(1, 100000) g""");
+            statement.execute("""
+                    INSERT INTO historiques (id, date_creation, actif, reclamation_id, utilisateur_id, action, date_action)
+                    SELECT md5('h' || g)::uuid, now(), true, md5('r' || (g % 100000 + 1))::uuid, md5('u' || (g % 1000))::uuid,
+                           'CHANGEMENT_STATUT', now()
+                    FROM generate_series(1, 100000) g""");
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @DisplayName("Critical queries never fall back to a sequential scan")
+    @CsvSource(delimiter = '|', quoteCharacter = '"', textBlock = """
+            overdue complaints          | reclamations  | SELECT * FROM reclamations r WHERE r.date_echeance < now() AND r.statut NOT IN ('RESOLUE', 'FERMEE') ORDER BY r.date_echeance
+            overdue complaints of agent | reclamations  | SELECT count(*) FROM reclamations r WHERE r.agent_assigne_id = %AGENT% AND r.date_echeance < now() AND r.statut NOT IN ('RESOLUE', 'FERMEE')
+            urgent open complaints      | reclamations  | SELECT * FROM reclamations r WHERE r.priorite = 'URGENTE' AND r.statut NOT IN ('RESOLUE', 'FERMEE') ORDER BY r.date_creation DESC
+            agent queue by status       | reclamations  | SELECT * FROM reclamations r WHERE r.agent_assigne_id = %AGENT% AND r.statut = 'EN_COURS'
+            open by status and due date | reclamations  | SELECT * FROM reclamations r WHERE r.statut = 'SOUMISE' ORDER BY r.date_echeance
+            passenger complaints        | reclamations  | SELECT * FROM reclamations r WHERE r.utilisateur_id = %PASSAGER%
+            complaints of one day       | reclamations  | SELECT count(*) FROM reclamations r WHERE r.date_creation BETWEEN now() - INTERVAL '2 days' AND now() - INTERVAL '1 day'
+            SLA deadline recalculation  | reclamations  | UPDATE reclamations SET date_echeance = date_creation + (24 * INTERVAL '1 hour') WHERE categorie_id = md5('c3')::uuid AND priorite = 'URGENTE' AND statut NOT IN ('RESOLUE', 'FERMEE', 'ANNULEE')
+            unread notifications        | notifications | SELECT count(*) FROM notifications n WHERE n.destinataire_id = %PASSAGER% AND n.statut = 'EN_ATTENTE'
+            complaint notifications     | notifications | SELECT * FROM notifications n WHERE n.reclamation_id = %RECLAMATION%
+            complaint files             | fichiers      | SELECT * FROM fichiers f WHERE f.reclamation_id = %RECLAMATION%
+            files of a complaint page   | fichiers      | SELECT f.reclamation_id, f.id, f.nom_original, f.type_mime FROM fichiers f WHERE f.reclamation_id IN (md5('r4240')::uuid, md5('r4241')::uuid, md5('r4242')::uuid, md5('r4243')::uuid, md5('r4244')::uuid) ORDER BY f.date_upload, f.id
+            complaint comments          | commentaires  | SELECT * FROM commentaires c WHERE c.reclamation_id = %RECLAMATION%
+            complaint history           | historiques   | SELECT * FROM historiques h WHERE h.reclamation_id = %RECLAMATION%
+            """)
+    void criticalQuery_UsesAnIndex(String name, String table, String sql) throws Exception {
+        String query = sql.replace("%AGENT%", AGENT).replace("%PASSAGER%", PASSAGER).replace("%RECLAMATION%", RECLAMATION);
+        JsonNode plan = explain(query);
+
+        List<String> scans = new ArrayList<>();
+        collectScans(plan, table, scans);
+        assertFalse(scans.isEmpty(), "No scan of " + table + " in plan: " + plan.toPrettyString());
+        assertTrue(scans.stream().noneMatch("Seq Scan"::equals),
+                name + " falls back to a sequential scan of " + table + ": " + plan.toPrettyString());
+    }
+
+    /**
+     * Runs EXPLAIN (FORMAT JSON) without executing the statement and returns the root plan node.
+     */
+    private JsonNode explain(String sql) throws Exception {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN (FORMAT JSON) " + sql)) {
+            rs.next();
+            return objectMapper.readTree(rs.getString(1)).get(0).get("Plan");
+        }
+    }
+
+    private void collectScans(JsonNode node, String table, List<String> scans) {
+        if (table.equals(node.path("Relation Name").asText())) {
+            scans.add(node.path("Node Type").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectScans(child, table, scans);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
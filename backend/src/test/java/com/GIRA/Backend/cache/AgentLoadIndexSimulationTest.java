@@ -0,0 +1,217 @@
+package com.GIRA.Backend.cache;
+
+import com.GIRA.Backend.Entities.Reclamation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests and simulation benchmark of the in-memory agent workload used by the automatic assignment.
+ * <p>
+ * The simulation replays one hour of traffic at 50 complaints per second over 500 agents (40% specialised in one
+ * or two of 20 categories), with complaints resolved after an exponentially distributed handling time. Every
+ * assignment is checked against a brute-force scan of the candidates; the unit suite replays five minutes of it.
+ * The full hour and its latency bound are tagged {@code benchmark}: run them with {@code mvn test -Pbenchmark}.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+class AgentLoadIndexSimulationTest {
+    private static final int AGENTS = 500;
+    private static final int CATEGORIES = 20;
+    private static final int ARRIVEES_PAR_SECONDE = 50;
+    private static final int DUREE_S = 3_600;
+    private static final double TRAITEMENT_MOYEN_S = 1_200;
+    private static final Reclamation.Priorite[] PRIORITES = {
+            Reclamation.Priorite.BASSE, Reclamation.Priorite.BASSE,
+            Reclamation.Priorite.NORMALE, Reclamation.Priorite.NORMALE, Reclamation.Priorite.NORMALE,
+            Reclamation.Priorite.NORMALE, Reclamation.Priorite.NORMALE,
+            Reclamation.Priorite.HAUTE, Reclamation.Priorite.HAUTE, Reclamation.Priorite.URGENTE
+    };
+
+    @Test
+    @DisplayName("A skilled agent is preferred on equal load, the least loaded agent wins otherwise")
+    void assigner_PrefersLeastLoadedSkilledAgent() {
+        UUID bagages = UUID.randomUUID();
+        UUID retards = UUID.randomUUID();
+        UUID specialiste = UUID.randomUUID();
+        UUID generaliste = UUID.randomUUID();
+        UUID autre = UUID.randomUUID();
+        AgentLoadIndex index = AgentLoadIndex.build(List.of(generaliste, specialiste, autre),
+                Map.of(specialiste, Set.of(bagages), autre, Set.of(retards)),
+                Map.of(generaliste, Map.of(Reclamation.Priorite.NORMALE, 1L)));
+
+        assertEquals(Optional.of(specialiste), index.assigner(bagages, Reclamation.Priorite.BASSE));
+        // specialiste 1 < generaliste 2
+        assertEquals(Optional.of(specialiste), index.assigner(bagages, Reclamation.Priorite.BASSE));
+        // specialiste 2 = generaliste 2: the specialist still wins
+        assertEquals(Optional.of(specialiste), index.assigner(bagages, Reclamation.Priorite.URGENTE));
+        // specialiste 7 > generaliste 2
+        assertEquals(Optional.of(generaliste), index.assigner(bagages, Reclamation.Priorite.NORMALE));
+        assertEquals(Optional.of(autre), index.assigner(retards, Reclamation.Priorite.NORMALE));
+        // Unknown category: generalists only
+        assertEquals(Optional.of(generaliste), index.assigner(UUID.randomUUID(), Reclamation.Priorite.NORMALE));
+
+        index.retirer(specialiste, Reclamation.Priorite.URGENTE);
+        assertEquals(2, index.getCharge(specialiste));
+        assertEquals(2, index.getOuvertes(specialiste));
+        assertEquals(-1, index.getCharge(UUID.randomUUID()));
+        assertTrue(AgentLoadIndex.empty().assigner(bagages, Reclamation.Priorite.NORMALE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Routing pools pick their least loaded member and share the load with the category heaps")
+    void assignerDansPool_SharesLoadWithCategoryHeaps() {
+        UUID securite = UUID.randomUUID();
+        UUID senior = UUID.randomUUID();
+        UUID junior = UUID.randomUUID();
+        UUID inactif = UUID.randomUUID();
+        AgentLoadIndex index = AgentLoadIndex.build(List.of(senior, junior), Map.of(),
+                Map.of("equipe:SECURITE", Set.of(senior, inactif), "equipe:VIDE", Set.of(inactif)), 3,
+                Map.of(junior, Map.of(Reclamation.Priorite.HAUTE, 1L)));
+
+        assertEquals(3, index.getVersionRoutage());
+        assertEquals(Optional.of(senior), index.assignerDansPool("equipe:SECURITE", Reclamation.Priorite.URGENTE));
+        assertEquals(Optional.of(senior), index.assignerDansPool("equipe:SECURITE", Reclamation.Priorite.BASSE));
+        // senior now carries 6 against 3 for junior
+        assertEquals(Optional.of(junior), index.assigner(securite, Reclamation.Priorite.NORMALE));
+        assertTrue(index.assignerDansPool("equipe:VIDE", Reclamation.Priorite.NORMALE).isEmpty());
+        assertTrue(index.assignerDansPool("equipe:INCONNUE", Reclamation.Priorite.NORMALE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("5 minutes at 50 complaints/s over 500 agents: every pick is a least loaded candidate")
+    void simulation_500Agents_EveryPickIsLeastLoaded() {
+        assertEquals(ARRIVEES_PAR_SECONDE * 300, simuler(300).length);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("1 hour at 50 complaints/s over 500 agents: p99 assignment latency under 1 ms")
+    void simulation_500Agents_50ComplaintsPerSecond() {
+        long[] latences = simuler(DUREE_S);
+        Arrays.sort(latences);
+        long p99 = latences[latences.length * 99 / 100];
+        assertTrue(p99 < 1_000_000, "p99 assignment latency above 1 ms: " + p99 + " ns");
+    }
+
+    @Test
+    @DisplayName("Concurrent assignments and resolutions keep the counters consistent")
+    void assigner_Concurrent_KeepsCountersConsistent() throws Exception {
+        List<UUID> agents = new ArrayList<>();
+        for (int i = 0; i < AGENTS; i++) agents.add(UUID.randomUUID());
+        AgentLoadIndex index = AgentLoadIndex.build(agents, Map.of(), Map.of());
+        UUID categorie = UUID.randomUUID();
+        int threads = 8;
+        int parThread = 20_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> taches = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                taches.add(executor.submit(() -> {
+                    for (int i = 0; i < parThread; i++) {
+                        UUID agent = index.assigner(categorie, Reclamation.Priorite.HAUTE).orElseThrow();
+                        if (i % 2 == 0) index.retirer(agent, Reclamation.Priorite.HAUTE);
+                    }
+                }));
+            }
+            for (Future<?> tache : taches) tache.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long ouvertes = 0;
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        for (UUID agent : agents) {
+            ouvertes += index.getOuvertes(agent);
+            min = Math.min(min, index.getOuvertes(agent));
+            max = Math.max(max, index.getOuvertes(agent));
+        }
+        assertEquals((long) threads * parThread / 2, ouvertes);
+        assertTrue(max - min <= threads, "Unbalanced open counts " + min + ".." + max);
+    }
+
+    /**
+     * Replays the traffic for a number of seconds, checking every pick against a brute-force scan.
+     * @return the assignment latencies in nanoseconds
+     */
+    private static long[] simuler(int dureeS) {
+        Random random = new Random(42);
+        List<UUID> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) categories.add(UUID.randomUUID());
+        List<UUID> agents = new ArrayList<>();
+        Map<UUID, Set<UUID>> competences = new HashMap<>();
+        Map<UUID, Map<Reclamation.Priorite, Long>> ouvertes = new HashMap<>();
+        for (int i = 0; i < AGENTS; i++) {
+            UUID agent = UUID.randomUUID();
+            agents.add(agent);
+            if (i % 5 < 2) {
+                Set<UUID> skills = new HashSet<>();
+                skills.add(categories.get(random.nextInt(CATEGORIES)));
+                if (random.nextBoolean()) skills.add(categories.get(random.nextInt(CATEGORIES)));
+                competences.put(agent, skills);
+            }
+            ouvertes.put(agent, Map.of(Reclamation.Priorite.NORMALE, (long) random.nextInt(5)));
+        }
+        AgentLoadIndex index = AgentLoadIndex.build(agents, competences, ouvertes);
+        List<UUID> generalistes = agents.stream().filter(a -> !competences.containsKey(a)).toList();
+        Map<UUID, List<UUID>> candidats = new HashMap<>();
+        for (UUID categorie : categories) {
+            List<UUID> liste = new ArrayList<>(generalistes);
+            competences.forEach((agent, skills) -> { if (skills.contains(categorie)) liste.add(agent); });
+            candidats.put(categorie, liste);
+        }
+
+        // Resolution events: [time in ms, agent index, priority ordinal]
+        PriorityQueue<long[]> resolutions = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        Map<UUID, Integer> indexAgent = new HashMap<>();
+        for (int i = 0; i < agents.size(); i++) indexAgent.put(agents.get(i), i);
+        long[] latences = new long[ARRIVEES_PAR_SECONDE * dureeS];
+        int n = 0;
+        for (int seconde = 0; seconde < dureeS; seconde++) {
+            for (int k = 0; k < ARRIVEES_PAR_SECONDE; k++) {
+                long maintenant = seconde * 1_000L + k * (1_000L / ARRIVEES_PAR_SECONDE);
+                while (!resolutions.isEmpty() && resolutions.peek()[0] <= maintenant) {
+                    long[] resolution = resolutions.poll();
+                    index.retirer(agents.get((int) resolution[1]), Reclamation.Priorite.values()[(int) resolution[2]]);
+                }
+                UUID categorie = categories.get(random.nextInt(CATEGORIES));
+                Reclamation.Priorite priorite = PRIORITES[random.nextInt(PRIORITES.length)];
+                long minimum = Long.MAX_VALUE;
+                for (UUID candidat : candidats.get(categorie)) {
+                    minimum = Math.min(minimum, index.getCharge(candidat));
+                }
+
+                long debut = System.nanoTime();
+                UUID choisi = index.assigner(categorie, priorite).orElseThrow();
+                latences[n++] = System.nanoTime() - debut;
+
+                assertTrue(candidats.get(categorie).contains(choisi), "Agent not skilled for the category");
+                assertEquals(minimum + AgentLoadIndex.poids(priorite), index.getCharge(choisi), "Agent was not a least loaded candidate");
+                long traitement = (long) (-Math.log(1 - random.nextDouble()) * TRAITEMENT_MOYEN_S * 1_000);
+                resolutions.add(new long[]{maintenant + traitement, indexAgent.get(choisi), priorite.ordinal()});
+            }
+        }
+        return latences;
+    }
+}
@@ -0,0 +1,160 @@
+package com.GIRA.Backend.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests and benchmark of the near-duplicate index.
+ * <p>
+ * The index is filled with random complaints spread over a 48 hour window and 50 categories, plus 500 generated
+ * complaints rewritten with a few words changed. The unit suite checks, over 100,000 complaints, that the rewrites
+ * find their original and random ones nothing. The lookup latency over 1,000,000 complaints is tagged
+ * {@code benchmark} ({@code mvn test -Pbenchmark}).
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+class DoublonIndexBenchmarkTest {
+    private static final long HEURE = 3_600_000L;
+    private static final long FENETRE = 48 * HEURE;
+    private static final long MAINTENANT = 100 * FENETRE;
+    private static final int ENTREES = 1_000_000;
+    private static final int ORIGINAUX = 500;
+    private static final int RECHERCHES = 100_000;
+    private static final String[] MOTS = {
+            "bagage", "valise", "retard", "vol", "annulé", "porte", "comptoir", "enregistrement", "sûreté", "contrôle",
+            "passeport", "douane", "navette", "parking", "taxi", "accueil", "agent", "personnel", "impoli", "attente",
+            "heure", "minutes", "toilettes", "propreté", "café", "restaurant", "prix", "remboursement", "carte", "wifi",
+            "fauteuil", "handicapé", "enfant", "poussette", "animal", "objet", "oublié", "perdu", "cassé", "endommagé",
+            "incendie", "fumée", "blessé", "malaise", "médecin", "sécurité", "alarme", "évacuation", "terminal", "tapis"
+    };
+
+    @Test
+    @DisplayName("Rewritten complaints match within the category and the window, unrelated ones do not")
+    void rechercher_FindsNearDuplicates() {
+        long maintenant = 100 * FENETRE;
+        UUID bagages = UUID.randomUUID();
+        UUID original = UUID.randomUUID();
+        DoublonIndex index = new DoublonIndex(FENETRE, 1_000);
+        char[] signature = DoublonIndex.signature("Tapis bagages 4 en panne",
+                "Le tapis à bagages numéro 4 du terminal 2 est bloqué depuis une heure, aucune valise n'arrive.");
+        index.ajouter(original, bagages, signature, maintenant - HEURE, null);
+
+        char[] reecrite = DoublonIndex.signature("TAPIS BAGAGES 4 EN PANNE !",
+                "Le tapis a bagages numero 4 du terminal 2 est bloque depuis une heure, aucune valise n'arrive toujours.");
+        Optional<DoublonIndex.Candidat> candidat = index.rechercher(bagages, reecrite, maintenant, 0.7);
+        assertTrue(candidat.isPresent());
+        assertEquals(original, candidat.get().getId());
+        assertEquals(original, candidat.get().getGroupe());
+        assertTrue(candidat.get().getSimilarite() >= 0.7);
+
+        assertTrue(index.rechercher(UUID.randomUUID(), reecrite, maintenant, 0.7).isEmpty());
+        assertTrue(index.rechercher(bagages, reecrite, maintenant + FENETRE, 0.7).isEmpty());
+        assertTrue(index.rechercher(bagages, DoublonIndex.signature("Personnel impoli au comptoir",
+                "L'agent d'enregistrement a refusé de répondre à mes questions."), maintenant, 0.7).isEmpty());
+        assertNull(DoublonIndex.signature("Le", "a de la"));
+
+        // Duplicates point to the principal complaint of the cluster
+        UUID doublon = UUID.randomUUID();
+        index.ajouter(doublon, bagages, reecrite, maintenant, original);
+        assertEquals(original, index.rechercher(bagages, reecrite, maintenant, 0.7).get().getGroupe());
+        assertTrue(index.contient(doublon));
+        assertEquals(2, index.size());
+
+        // A later entry pushes the expired slices out
+        index.ajouter(UUID.randomUUID(), bagages, signature, maintenant + 2 * FENETRE, null);
+        assertFalse(index.contient(original));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("100,000 indexed complaints: rewrites found, no false positive")
+    void rechercher_100kComplaints_FindsRewrites() {
+        Corpus corpus = new Corpus(100_000);
+        assertEquals(100_000 + ORIGINAUX, corpus.index.size());
+
+        int trouves = 0;
+        for (int o = 0; o < ORIGINAUX; o++) {
+            Optional<DoublonIndex.Candidat> candidat = corpus.index.rechercher(corpus.categorieOriginaux[o],
+                    corpus.reecritures[o], MAINTENANT, 0.7);
+            if (candidat.isPresent() && candidat.get().getId().equals(corpus.originaux[o])) trouves++;
+        }
+        assertTrue(trouves >= ORIGINAUX * 95 / 100, "Recall below 95%: " + trouves);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(corpus.index.rechercher(corpus.categorie(), corpus.aleatoire(), MAINTENANT, 0.7).isEmpty());
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("1,000,000 indexed complaints: sub-millisecond lookups")
+    void benchmark_1MComplaints() {
+        Corpus corpus = new Corpus(ENTREES);
+        long[] latences = new long[RECHERCHES];
+        for (int i = 0; i < RECHERCHES; i++) {
+            char[] requete = i % 2 == 0 ? corpus.reecritures[corpus.random.nextInt(ORIGINAUX)] : corpus.aleatoire();
+            UUID categorie = corpus.categorie();
+            long debut = System.nanoTime();
+            corpus.index.rechercher(categorie, requete, MAINTENANT, 0.7);
+            latences[i] = System.nanoTime() - debut;
+        }
+        Arrays.sort(latences);
+        long p99 = latences[latences.length * 99 / 100];
+        assertTrue(p99 < 1_000_000, "p99 lookup latency above 1 ms: " + p99 + " ns");
+    }
+
+    /**
+     * Random signatures spread over the window and 50 categories, plus {@link #ORIGINAUX} generated complaints
+     * and their rewrites.
+     */
+    private static final class Corpus {
+        final Random random = new Random(13);
+        final List<UUID> categories = new ArrayList<>();
+        final DoublonIndex index;
+        final UUID[] originaux = new UUID[ORIGINAUX];
+        final UUID[] categorieOriginaux = new UUID[ORIGINAUX];
+        final char[][] reecritures = new char[ORIGINAUX][];
+
+        Corpus(int entrees) {
+            for (int c = 0; c < 50; c++) categories.add(UUID.randomUUID());
+            index = new DoublonIndex(FENETRE, entrees + ORIGINAUX);
+            for (int i = 0; i < entrees; i++) {
+                index.ajouter(new UUID(random.nextLong(), random.nextLong()), categorie(), aleatoire(),
+                        MAINTENANT - FENETRE + 1 + (long) i * (FENETRE - 2) / entrees, null);
+            }
+            for (int o = 0; o < ORIGINAUX; o++) {
+                String[] mots = new String[30];
+                for (int m = 0; m < mots.length; m++) mots[m] = MOTS[random.nextInt(MOTS.length)] + random.nextInt(100);
+                originaux[o] = UUID.randomUUID();
+                categorieOriginaux[o] = categorie();
+                index.ajouter(originaux[o], categorieOriginaux[o], DoublonIndex.signature(mots[0] + " " + mots[1],
+                        String.join(" ", Arrays.copyOfRange(mots, 2, mots.length))), MAINTENANT - random.nextInt(40) * HEURE, null);
+                mots[2 + random.nextInt(mots.length - 2)] = MOTS[random.nextInt(MOTS.length)].toUpperCase();
+                reecritures[o] = DoublonIndex.signature(mots[0] + " " + mots[1],
+                        String.join(" ", Arrays.copyOfRange(mots, 2, mots.length)) + " merci");
+            }
+        }
+
+        UUID categorie() {
+            return categories.get(random.nextInt(categories.size()));
+        }
+
+        char[] aleatoire() {
+            char[] signature = new char[DoublonIndex.K];
+            for (int k = 0; k < DoublonIndex.K; k++) signature[k] = (char) random.nextInt(1 << 16);
+            return signature;
+        }
+    }
+}
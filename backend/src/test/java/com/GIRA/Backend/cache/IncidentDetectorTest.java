@@ -0,0 +1,131 @@
+package com.GIRA.Backend.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the incident burst detector and of its replay harness.
+ * <p>
+ * The replay test feeds a generated day of complaints (background noise plus three bursts) at 100 times real
+ * speed on a simulated clock, checking the incidents raised and the pacing. The raw throughput of a million
+ * complaints replayed without pacing is tagged {@code benchmark} ({@code mvn test -Pbenchmark}).
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+class IncidentDetectorTest {
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    @DisplayName("N complaints at one place within the window raise one incident; later ones join it")
+    void enregistrer_RaisesOneIncidentPerBurst() {
+        UUID bagages = UUID.randomUUID();
+        IncidentDetector detecteur = new IncidentDetector(3, 10 * MINUTE);
+        long t = 1_000 * MINUTE;
+
+        assertTrue(detecteur.enregistrer(evenement(bagages, "Tapis 4", null, t)).isEmpty());
+        // Other category, no location, other place: not counted with the first one
+        assertTrue(detecteur.enregistrer(evenement(UUID.randomUUID(), "Tapis 4", null, t + MINUTE)).isEmpty());
+        assertTrue(detecteur.enregistrer(evenement(bagages, null, null, t + MINUTE)).isEmpty());
+        assertTrue(detecteur.enregistrer(evenement(bagages, "Porte 12", null, t + MINUTE)).isEmpty());
+        assertTrue(detecteur.enregistrer(evenement(bagages, "TAPIS  4", null, t + 2 * MINUTE)).isEmpty());
+        Optional<IncidentDetector.Incident> incident = detecteur.enregistrer(evenement(bagages, "tapis 4", null, t + 9 * MINUTE));
+        assertTrue(incident.isPresent());
+        assertEquals("tapis 4", incident.get().getLieu());
+        assertEquals(3, incident.get().getReclamations().size());
+        assertEquals(t, incident.get().getDebutMs());
+
+        // Joins the open incident instead of raising a new one
+        assertTrue(detecteur.enregistrer(evenement(bagages, "Tapis 4", null, t + 15 * MINUTE)).isEmpty());
+        assertEquals(4, incident.get().getReclamations().size());
+        assertEquals(t + 15 * MINUTE, incident.get().getFinMs());
+
+        // After a quiet window, a new burst raises a new incident
+        long t2 = t + 60 * MINUTE;
+        detecteur.enregistrer(evenement(bagages, "Tapis 4", null, t2));
+        detecteur.enregistrer(evenement(bagages, "Tapis 4", null, t2 + MINUTE));
+        Optional<IncidentDetector.Incident> second = detecteur.enregistrer(evenement(bagages, "Tapis 4", null, t2 + 2 * MINUTE));
+        assertTrue(second.isPresent());
+        assertNotEquals(incident.get().getId(), second.get().getId());
+
+        // Three complaints spread over more than the window are not a burst
+        UUID parking = UUID.randomUUID();
+        detecteur.enregistrer(evenement(parking, "P1", null, t));
+        detecteur.enregistrer(evenement(parking, "P1", null, t + 6 * MINUTE));
+        assertTrue(detecteur.enregistrer(evenement(parking, "P1", null, t + 11 * MINUTE)).isEmpty());
+
+        detecteur.purger(t2 + 2 * MINUTE + 10 * MINUTE + 1);
+        assertEquals(0, detecteur.size());
+    }
+
+    @Test
+    @DisplayName("Coordinates are grouped by cell of about 100 m, before the free-text location")
+    void lieu_UsesCoordinateCells() {
+        assertEquals(IncidentDetector.lieu("Hall A", "POINT(2.55123 49.00951)"), IncidentDetector.lieu(null, "POINT (2.55178 49.00999)"));
+        assertEquals(IncidentDetector.lieu(null, "POINT(2.55123 49.00951)"),
+                IncidentDetector.lieu(null, "{\"type\":\"Point\",\"coordinates\":[2.55123,49.00951]}"));
+        assertNotEquals(IncidentDetector.lieu(null, "POINT(2.55123 49.00951)"), IncidentDetector.lieu(null, "POINT(2.55323 49.00951)"));
+        assertEquals("hall a", IncidentDetector.lieu(" Hall  À ", "inconnu"));
+        assertNull(IncidentDetector.lieu("  ", null));
+    }
+
+    @Test
+    @DisplayName("Replay of one day at 100x: bursts found, paced on the simulated clock")
+    void rejouer_OneDayAt100x() throws InterruptedException {
+        Random random = new Random(5);
+        long debut = 20_000 * 1_440 * MINUTE;
+        List<IncidentDetector.Evenement> journee = new ArrayList<>();
+        UUID[] categories = new UUID[10];
+        for (int c = 0; c < categories.length; c++) categories[c] = UUID.randomUUID();
+        // About one complaint a minute over 40 places, then three bursts of 8 complaints in 5 minutes
+        for (long t = debut; t < debut + 1_440 * MINUTE; t += 30_000 + random.nextInt(60_000)) {
+            journee.add(evenement(categories[random.nextInt(categories.length)], "Lieu " + random.nextInt(40), null, t));
+        }
+        for (int rafale = 0; rafale < 3; rafale++) {
+            long t = debut + (rafale * 400 + 100) * MINUTE;
+            for (int i = 0; i < 8; i++) journee.add(evenement(categories[0], "Porte 3" + rafale, null, t + i * 37_000L));
+        }
+        journee.sort((a, b) -> Long.compare(a.getDateMs(), b.getDateMs()));
+
+        long[] horloge = {0};
+        IncidentReplay replay = new IncidentReplay(() -> horloge[0], ms -> horloge[0] += ms);
+        List<IncidentDetector.Incident> incidents = replay.rejouer(new IncidentDetector(5, 15 * MINUTE), journee.iterator(), 100);
+        assertEquals(3, incidents.size(), "Background noise must not raise incidents");
+        assertEquals(List.of("porte 30", "porte 31", "porte 32"), incidents.stream().map(IncidentDetector.Incident::getLieu).toList());
+        long duree = journee.get(journee.size() - 1).getDateMs() - journee.get(0).getDateMs();
+        assertEquals(duree / 100.0, horloge[0], 1.0 * journee.size());
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Replay without pacing: more than 100,000 complaints/s")
+    void benchmark_RejouerSansRythme() throws InterruptedException {
+        Random random = new Random(5);
+        long debut = 20_000 * 1_440 * MINUTE;
+        UUID[] categories = new UUID[10];
+        for (int c = 0; c < categories.length; c++) categories[c] = UUID.randomUUID();
+        List<IncidentDetector.Evenement> volume = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            volume.add(evenement(categories[i % categories.length], "Lieu " + random.nextInt(500), null, debut + i * 100L));
+        }
+        IncidentReplay.systeme().rejouer(new IncidentDetector(5, 15 * MINUTE), volume.iterator(), 0);
+        long t0 = System.nanoTime();
+        IncidentReplay.systeme().rejouer(new IncidentDetector(5, 15 * MINUTE), volume.iterator(), 0);
+        double secondes = (System.nanoTime() - t0) / 1e9;
+        assertTrue(volume.size() / secondes > 100_000, "Replay throughput below 100k complaints/s");
+    }
+
+    private static IncidentDetector.Evenement evenement(UUID categorieId, String lieu, String localisation, long dateMs) {
+        return new IncidentDetector.Evenement(UUID.randomUUID(), categorieId, lieu, localisation, dateMs);
+    }
+}
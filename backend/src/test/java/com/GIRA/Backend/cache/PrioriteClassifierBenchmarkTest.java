@@ -0,0 +1,172 @@
+package com.GIRA.Backend.cache;
+
+import com.GIRA.Backend.Entities.Reclamation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests and throughput benchmark of the keyword priority classifier.
+ * <p>
+ * The benchmark compiles 2,000 words and phrases (a tenth of them reserved to a category) and classifies 20,000
+ * generated complaints of about 600 characters. The unit suite checks the results of 2,000 of them against a
+ * reference implementation searching each term separately. The throughput, measured over repeated passes on all
+ * 20,000, is tagged {@code benchmark} ({@code mvn test -Pbenchmark}).
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+class PrioriteClassifierBenchmarkTest {
+    private static final int TERMES = 2_000;
+    private static final int RECLAMATIONS = 20_000;
+    private static final int PASSES = 5;
+    private static final String[] MOTS = {
+            "bagage", "valise", "retard", "vol", "annulé", "porte", "comptoir", "enregistrement", "sûreté", "contrôle",
+            "passeport", "douane", "navette", "parking", "taxi", "accueil", "agent", "personnel", "impoli", "attente",
+            "heure", "minutes", "toilettes", "propreté", "café", "restaurant", "prix", "remboursement", "carte", "wifi",
+            "fauteuil", "handicapé", "enfant", "poussette", "animal", "objet", "oublié", "perdu", "cassé", "endommagé",
+            "incendie", "fumée", "blessé", "malaise", "médecin", "sécurité", "alarme", "évacuation", "urgent", "danger"
+    };
+
+    @Test
+    @DisplayName("Whole words and prefixes, accents and case ignored, category terms and weights applied")
+    void classer_MatchesWordsPhrasesAndCategories() {
+        UUID bagages = UUID.randomUUID();
+        PrioriteClassifier classifier = PrioriteClassifier.build(List.of(
+                new PrioriteClassifier.Terme("urgent*", Reclamation.Priorite.URGENTE, 10, null),
+                new PrioriteClassifier.Terme("vol", Reclamation.Priorite.HAUTE, 4, null),
+                new PrioriteClassifier.Terme("bagage perdu", Reclamation.Priorite.HAUTE, 5, bagages),
+                new PrioriteClassifier.Terme("sœur", Reclamation.Priorite.BASSE, 1, null),
+                new PrioriteClassifier.Terme("café", Reclamation.Priorite.BASSE, 2, null),
+                new PrioriteClassifier.Terme("froid", Reclamation.Priorite.NORMALE, 2, null),
+                new PrioriteClassifier.Terme("  ", Reclamation.Priorite.URGENTE, 100, null)
+        ), 1);
+
+        assertEquals(6, classifier.size());
+        assertEquals(Optional.of(Reclamation.Priorite.URGENTE), classifier.classer("URGENTISSIME", null, null));
+        assertEquals(Optional.of(Reclamation.Priorite.URGENTE), classifier.classer(null, "C'est très urgent !", null));
+        // Whole word only: "volume" and "envol" are not "vol"
+        assertTrue(classifier.classer("Volume sonore", "Envol retardé", null).isEmpty());
+        assertEquals(Optional.of(Reclamation.Priorite.HAUTE), classifier.classer("Vol AF123", null, null));
+        // Phrase across punctuation and extra spaces, only for its category
+        assertEquals(Optional.of(Reclamation.Priorite.HAUTE), classifier.classer("Bagage,   PERDU", null, bagages));
+        assertTrue(classifier.classer("Bagage perdu", null, UUID.randomUUID()).isEmpty());
+        // No phrase across the title and the description
+        assertTrue(classifier.classer("Bagage", "perdu", bagages).isEmpty());
+        assertEquals(Optional.of(Reclamation.Priorite.BASSE), classifier.classer("SOEUR", "Cafe", null));
+        // Repeated terms count once: BASSE 2 (café) = NORMALE 2 (froid), the higher priority wins
+        assertEquals(Optional.of(Reclamation.Priorite.NORMALE), classifier.classer("Café café café", "café froid", null));
+        assertTrue(PrioriteClassifier.build(List.of(), 2).classer("urgent", "danger", null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("2,000 terms over 2,000 complaints: same result as a term-by-term search")
+    void classer_2000Terms_MatchesReference() {
+        Corpus corpus = new Corpus(2_000);
+        for (int i = 0; i < corpus.titres.length; i++) {
+            assertEquals(reference(corpus.termes, corpus.titres[i], corpus.descriptions[i], corpus.categorieIds[i]),
+                    corpus.classifier.classer(corpus.titres[i], corpus.descriptions[i], corpus.categorieIds[i]),
+                    "Complaint " + i);
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("2,000 terms over 20,000 complaints: more than 5 M chars/s")
+    void benchmark_2000Terms() {
+        Corpus corpus = new Corpus(RECLAMATIONS);
+        long debut = 0;
+        for (int passe = -1; passe < PASSES; passe++) {
+            // Pass -1 warms up the JIT
+            if (passe == 0) debut = System.nanoTime();
+            for (int i = 0; i < RECLAMATIONS; i++) {
+                corpus.classifier.classer(corpus.titres[i], corpus.descriptions[i], corpus.categorieIds[i]);
+            }
+        }
+        double secondes = (System.nanoTime() - debut) / 1e9;
+        double mbParSeconde = corpus.caracteres * PASSES / secondes / 1e6;
+        assertTrue(mbParSeconde > 5, "Throughput below 5 M chars/s: " + mbParSeconde);
+    }
+
+    /** 2,000 random terms, their classifier and generated complaints of about 600 characters. */
+    private static final class Corpus {
+        final List<PrioriteClassifier.Terme> termes = new ArrayList<>();
+        final PrioriteClassifier classifier;
+        final String[] titres;
+        final String[] descriptions;
+        final UUID[] categorieIds;
+        long caracteres;
+
+        Corpus(int reclamations) {
+            Random random = new Random(11);
+            List<UUID> categories = new ArrayList<>();
+            for (int i = 0; i < 20; i++) categories.add(UUID.randomUUID());
+            Reclamation.Priorite[] priorites = Reclamation.Priorite.values();
+            for (int i = 0; i < TERMES; i++) {
+                StringBuilder terme = new StringBuilder(MOTS[random.nextInt(MOTS.length)]);
+                if (i >= MOTS.length) {
+                    int mots = 1 + random.nextInt(2);
+                    for (int m = 0; m < mots; m++) terme.append(' ').append(MOTS[random.nextInt(MOTS.length)]);
+                }
+                if (random.nextInt(8) == 0) terme.append('*');
+                UUID categorie = random.nextInt(10) == 0 ? categories.get(random.nextInt(categories.size())) : null;
+                termes.add(new PrioriteClassifier.Terme(terme.toString(), priorites[random.nextInt(priorites.length)],
+                        1 + random.nextInt(10), categorie));
+            }
+            classifier = PrioriteClassifier.build(termes, 1);
+
+            titres = new String[reclamations];
+            descriptions = new String[reclamations];
+            categorieIds = new UUID[reclamations];
+            for (int i = 0; i < reclamations; i++) {
+                titres[i] = texte(random, 6);
+                descriptions[i] = texte(random, 80);
+                categorieIds[i] = categories.get(random.nextInt(categories.size()));
+                caracteres += titres[i].length() + descriptions[i].length();
+            }
+        }
+    }
+
+    private static String texte(Random random, int mots) {
+        StringBuilder texte = new StringBuilder();
+        for (int m = 0; m < mots; m++) {
+            String mot = MOTS[random.nextInt(MOTS.length)];
+            if (random.nextInt(5) == 0) mot = mot.toUpperCase();
+            if (random.nextInt(7) == 0) mot = mot + "s";
+            texte.append(mot).append(random.nextInt(9) == 0 ? ", " : " ");
+        }
+        return texte.toString();
+    }
+
+    /** Term-by-term search over the folded texts, with the same scoring rules. */
+    private static Optional<Reclamation.Priorite> reference(List<PrioriteClassifier.Terme> termes, String titre,
+                                                            String description, UUID categorieId) {
+        String t = titre != null ? PrioriteClassifier.motif(titre) : null;
+        String d = description != null ? PrioriteClassifier.motif(description) : null;
+        long[] scores = new long[Reclamation.Priorite.values().length];
+        boolean trouve = false;
+        for (PrioriteClassifier.Terme terme : termes) {
+            if (terme.getCategorieId() != null && !terme.getCategorieId().equals(categorieId)) continue;
+            String motif = PrioriteClassifier.motif(terme.getTerme());
+            if ((t != null && t.contains(motif)) || (d != null && d.contains(motif))) {
+                scores[terme.getPriorite().ordinal()] += terme.getPoids();
+                trouve = true;
+            }
+        }
+        if (!trouve) return Optional.empty();
+        int meilleure = 0;
+        for (int p = 1; p < scores.length; p++) {
+            if (scores[p] >= scores[meilleure]) meilleure = p;
+        }
+        return Optional.of(Reclamation.Priorite.values()[meilleure]);
+    }
+}
@@ -0,0 +1,146 @@
+package com.GIRA.Backend.cache;
+
+import com.GIRA.Backend.Entities.Reclamation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests and benchmark of the compiled routing decision table.
+ * <p>
+ * The benchmark compiles 5,000 random rules over 200 categories, 1,000 sub-categories and 20 locations, then
+ * evaluates random complaints, checking every decision against a linear scan of the rules. The latency bound on
+ * 200,000 evaluations is tagged {@code benchmark} ({@code mvn test -Pbenchmark}).
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+class RoutingTableBenchmarkTest {
+    private static final int REGLES = 5_000;
+    private static final int CATEGORIES = 200;
+    private static final int SOUS_CATEGORIES_PAR_CATEGORIE = 5;
+    private static final int EVALUATIONS = 200_000;
+    private static final String[] LIEUX = {
+            "Terminal 1", "Terminal 2", "Terminal 3", "Hall A", "Hall B", "Porte 12", "Porte 34", "Parking P1",
+            "Parking P2", "Zone de transit", "Salon affaires", "Tapis bagages 4", "Tapis bagages 7", "Contrôle sûreté",
+            "Douane", "Gare TGV", "Navette", "Restaurant", "Boutique hors taxes", "Accueil"
+    };
+
+    @Test
+    @DisplayName("Lower order wins, then the most specific rule; location ignores case and accents")
+    void evaluer_AppliesOrderSpecificityAndLocation() {
+        UUID securite = UUID.randomUUID();
+        UUID bagages = UUID.randomUUID();
+        UUID bagagePerdu = UUID.randomUUID();
+        UUID agent = UUID.randomUUID();
+        RoutingTable table = RoutingTable.build(List.of(
+                new RoutingTable.Regle("defaut", 1_000, null, null, null, null, "ACCUEIL", Set.of(agent)),
+                new RoutingTable.Regle("securite", 10, securite, null, null, null, "SECURITE", Set.of(agent)),
+                new RoutingTable.Regle("urgent", 20, null, null, Reclamation.Priorite.URGENTE, null, "SENIORS", Set.of(agent)),
+                new RoutingTable.Regle("bagages-t2", 50, bagages, null, null, "terminal 2", null, Set.of(agent)),
+                new RoutingTable.Regle("bagages-perdus-t2", 50, bagages, bagagePerdu, null, "Terminal 2", null, Set.of(agent))
+        ), 1);
+
+        assertEquals("securite", nom(table.evaluer(securite, null, Reclamation.Priorite.URGENTE, null)));
+        assertEquals("urgent", nom(table.evaluer(bagages, bagagePerdu, Reclamation.Priorite.URGENTE, "Terminal 2")));
+        // Same order: the rule with more criteria wins
+        assertEquals("bagages-perdus-t2", nom(table.evaluer(bagages, bagagePerdu, Reclamation.Priorite.NORMALE, "Tapis 5, TERMINAL  2")));
+        assertEquals("bagages-t2", nom(table.evaluer(bagages, null, Reclamation.Priorite.NORMALE, "Términal 2 - porte 14")));
+        assertEquals("defaut", nom(table.evaluer(bagages, bagagePerdu, Reclamation.Priorite.NORMALE, "Terminal 1")));
+        assertEquals("defaut", nom(table.evaluer(UUID.randomUUID(), null, Reclamation.Priorite.BASSE, null)));
+
+        assertEquals("equipe:SECURITE", table.getRegles().get(0).getPool());
+        assertEquals(Set.of("equipe:ACCUEIL", "equipe:SECURITE", "equipe:SENIORS", "regle:bagages-t2", "regle:bagages-perdus-t2"),
+                table.getPools().keySet());
+        assertTrue(RoutingTable.empty(2).evaluer(securite, null, Reclamation.Priorite.URGENTE, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("5,000 rules: every decision matches a linear scan")
+    void evaluer_5000Rules_MatchesLinearScan() {
+        assertEquals(5_000, evaluer(5_000).length);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("5,000 rules, 200,000 evaluations: p99 evaluation latency under 1 ms")
+    void benchmark_5000Rules() {
+        long[] latences = evaluer(EVALUATIONS);
+        Arrays.sort(latences);
+        long p99 = latences[latences.length * 99 / 100];
+        assertTrue(p99 < 1_000_000, "p99 evaluation latency above 1 ms: " + p99 + " ns");
+    }
+
+    /**
+     * Compiles the random rules and evaluates random complaints, checking every decision against a linear scan.
+     * @return the evaluation latencies in nanoseconds
+     */
+    private static long[] evaluer(int evaluations) {
+        Random random = new Random(7);
+        List<UUID> categories = new ArrayList<>();
+        List<List<UUID>> sousCategories = new ArrayList<>();
+        for (int c = 0; c < CATEGORIES; c++) {
+            categories.add(UUID.randomUUID());
+            List<UUID> sous = new ArrayList<>();
+            for (int s = 0; s < SOUS_CATEGORIES_PAR_CATEGORIE; s++) sous.add(UUID.randomUUID());
+            sousCategories.add(sous);
+        }
+        Reclamation.Priorite[] priorites = Reclamation.Priorite.values();
+        List<RoutingTable.Regle> regles = new ArrayList<>();
+        for (int i = 0; i < REGLES; i++) {
+            int c = random.nextInt(CATEGORIES);
+            UUID categorie = random.nextInt(10) < 9 ? categories.get(c) : null;
+            UUID sousCategorie = categorie != null && random.nextBoolean()
+                    ? sousCategories.get(c).get(random.nextInt(SOUS_CATEGORIES_PAR_CATEGORIE)) : null;
+            Reclamation.Priorite priorite = random.nextInt(3) == 0 ? priorites[random.nextInt(priorites.length)] : null;
+            String lieu = random.nextInt(4) == 0 ? LIEUX[random.nextInt(LIEUX.length)] : null;
+            regles.add(new RoutingTable.Regle("regle-" + i, random.nextInt(50), categorie, sousCategorie, priorite, lieu,
+                    "EQUIPE-" + random.nextInt(40), Set.of()));
+        }
+
+        RoutingTable table = RoutingTable.build(regles, 1);
+        List<RoutingTable.Regle> ordre = table.getRegles();
+
+        long[] latences = new long[evaluations];
+        int routees = 0;
+        for (int i = 0; i < evaluations; i++) {
+            int c = random.nextInt(CATEGORIES);
+            UUID categorie = categories.get(c);
+            UUID sousCategorie = random.nextBoolean() ? sousCategories.get(c).get(random.nextInt(SOUS_CATEGORIES_PAR_CATEGORIE)) : null;
+            Reclamation.Priorite priorite = priorites[random.nextInt(priorites.length)];
+            String lieu = random.nextBoolean() ? "Près de " + LIEUX[random.nextInt(LIEUX.length)].toUpperCase() : null;
+
+            long debut = System.nanoTime();
+            Optional<RoutingTable.Regle> decision = table.evaluer(categorie, sousCategorie, priorite, lieu);
+            latences[i] = System.nanoTime() - debut;
+
+            RoutingTable.Regle attendue = null;
+            for (RoutingTable.Regle regle : ordre) {
+                if (regle.accepte(categorie, sousCategorie, priorite, lieu)) {
+                    attendue = regle;
+                    break;
+                }
+            }
+            assertEquals(Optional.ofNullable(attendue), decision);
+            if (decision.isPresent()) routees++;
+        }
+
+        assertTrue(routees > 0);
+        return latences;
+    }
+
+    private static String nom(Optional<RoutingTable.Regle> regle) {
+        return regle.map(RoutingTable.Regle::getNom).orElse(null);
+    }
+}
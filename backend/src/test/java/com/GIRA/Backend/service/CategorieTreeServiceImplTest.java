@@ -0,0 +1,53 @@
+package com.GIRA.Backend.service;
+
+import com.GIRA.Backend.Entities.Categorie;
+import com.GIRA.Backend.Respository.CategorieRepository;
+import com.GIRA.Backend.service.impl.CategorieTreeServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the category tree snapshot: changes written without going through this node's service
+ * (as another replica would) are picked up by the fingerprint poll (H2).
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CategorieTreeServiceImplTest {
+
+    @Autowired
+    private CategorieTreeServiceImpl categorieTreeService;
+    @Autowired
+    private CategorieRepository categorieRepository;
+
+    @Test
+    void pollForChanges_WriteFromAnotherNode_RebuildsTree() {
+        categorieTreeService.refresh();
+        long version = categorieTreeService.getTree().getVersion();
+
+        categorieTreeService.pollForChanges();
+        assertEquals(version, categorieTreeService.getTree().getVersion(), "Unchanged tables must not rebuild the tree");
+
+        Categorie categorie = new Categorie();
+        categorie.setNom("Objets trouvés");
+        categorie.setActif(true);
+        categorie = categorieRepository.saveAndFlush(categorie);
+        assertTrue(categorieTreeService.getTree().findCategorie(categorie.getId()).isEmpty());
+
+        categorieTreeService.pollForChanges();
+        assertTrue(categorieTreeService.getTree().findCategorie(categorie.getId()).isPresent());
+
+        categorie.setNom("Objets perdus");
+        categorieRepository.saveAndFlush(categorie);
+        categorieTreeService.pollForChanges();
+        assertEquals("Objets perdus", categorieTreeService.getTree().getCategorieNom(categorie.getId()));
+    }
+}
@@ -0,0 +1,114 @@
+package com.GIRA.Backend.service;
+
+import com.GIRA.Backend.Entities.Configuration;
+import com.GIRA.Backend.Respository.ConfigurationRepository;
+import com.GIRA.Backend.Respository.UserRepository;
+import com.GIRA.Backend.cache.ConfigurationChangedEvent;
+import com.GIRA.Backend.service.impl.ConfigurationServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the snapshot-backed ConfigurationServiceImpl.
+ */
+class ConfigurationServiceImplTest {
+    @Mock
+    private ConfigurationRepository configurationRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ConfigurationServiceImpl configurationService;
+    private final LocalDateTime modified = LocalDateTime.of(2025, 7, 10, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        configurationService = new ConfigurationServiceImpl(configurationRepository, userRepository, jdbcTemplate, new ObjectMapper(), eventPublisher);
+    }
+
+    @Test
+    void typedGetters_ReadFromSnapshotWithoutFurtherQueries() {
+        when(configurationRepository.findAll()).thenReturn(List.of(
+                config("TEMPS_MAX_RESOLUTION_HEURES", "72", Configuration.Type.INTEGER),
+                config("MAINTENANCE", "true", Configuration.Type.BOOLEAN),
+                config("LANGUES_SUPPORTEES", "[\"fr\",\"en\"]", Configuration.Type.JSON),
+                config("BROKEN", "abc", Configuration.Type.INTEGER)));
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(72, configurationService.getInt("TEMPS_MAX_RESOLUTION_HEURES", 48));
+        }
+        assertTrue(configurationService.getBoolean("MAINTENANCE", false));
+        assertEquals(List.of("fr", "en"), configurationService.getJson("LANGUES_SUPPORTEES", List.class, null));
+        assertEquals(5, configurationService.getInt("BROKEN", 5));
+        assertEquals("fallback", configurationService.getString("ABSENT", "fallback"));
+
+        verify(configurationRepository, times(1)).findAll();
+    }
+
+    @Test
+    void pollForChanges_ReloadsOnlyWhenFingerprintChangesAndPublishesChangedKeys() {
+        when(configurationRepository.findAll())
+                .thenReturn(List.of(config("A", "1", Configuration.Type.INTEGER), config("B", "x", Configuration.Type.STRING)))
+                .thenReturn(List.of(config("A", "2", Configuration.Type.INTEGER)));
+        List<Object[]> unchanged = new ArrayList<>();
+        unchanged.add(new Object[] {2L, modified});
+        List<Object[]> changed = new ArrayList<>();
+        changed.add(new Object[] {1L, modified.plusSeconds(1)});
+        when(configurationRepository.findFingerprint()).thenReturn(unchanged, changed);
+
+        assertEquals(1, configurationService.getInt("A", 0));
+        configurationService.pollForChanges();
+        verify(configurationRepository, times(1)).findAll();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+        configurationService.pollForChanges();
+        assertEquals(2, configurationService.getInt("A", 0));
+        assertEquals("gone", configurationService.getString("B", "gone"));
+
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(Set.of("A", "B"), ((ConfigurationChangedEvent) event.getValue()).getCles());
+    }
+
+    @Test
+    void pollForChanges_EmptyTable_LoadsEmptySnapshotOnce() {
+        when(configurationRepository.findAll()).thenReturn(Collections.emptyList());
+        List<Object[]> empty = new ArrayList<>();
+        empty.add(new Object[] {0L, null});
+        when(configurationRepository.findFingerprint()).thenReturn(empty);
+
+        configurationService.pollForChanges();
+        configurationService.pollForChanges();
+
+        verify(configurationRepository, times(1)).findAll();
+        assertTrue(configurationService.getByPrefix("SLA_HEURES.").isEmpty());
+    }
+
+    private Configuration config(String cle, String valeur, Configuration.Type type) {
+        Configuration configuration = new Configuration();
+        configuration.setCle(cle);
+        configuration.setValeur(valeur);
+        configuration.setType(type);
+        configuration.setDateModification(modified);
+        return configuration;
+    }
+}
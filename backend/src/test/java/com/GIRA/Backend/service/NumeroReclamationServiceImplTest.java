@@ -0,0 +1,106 @@
+package com.GIRA.Backend.service;
+
+import com.GIRA.Backend.Respository.SequenceNumeroRepository;
+import com.GIRA.Backend.service.impl.NumeroReclamationServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency test for the hi/lo complaint number allocator.
+ * <p>
+ * Two allocator instances share the same counter table, as two application nodes would, and 16 threads
+ * draw 1,000,000 numbers from them. Every number must be unique and each thread must see increasing numbers.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class NumeroReclamationServiceImplTest {
+    private static final int ANNEE = 2999;
+    private static final int THREADS = 16;
+    private static final int PAR_THREAD = 62_500;
+    private static final int TAILLE_BLOC = 1_000;
+
+    @Autowired
+    private SequenceNumeroRepository sequenceNumeroRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        sequenceNumeroRepository.deleteById(ANNEE);
+    }
+
+    @Test
+    @DisplayName("1M numbers drawn concurrently on two nodes are all distinct")
+    void prochaineSequence_ConcurrentNodes_NoDuplicates() throws Exception {
+        NumeroReclamationServiceImpl noeudA = new NumeroReclamationServiceImpl(sequenceNumeroRepository, transactionManager, TAILLE_BLOC);
+        NumeroReclamationServiceImpl noeudB = new NumeroReclamationServiceImpl(sequenceNumeroRepository, transactionManager, TAILLE_BLOC);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<long[]>> resultats = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                NumeroReclamationServiceImpl noeud = t % 2 == 0 ? noeudA : noeudB;
+                Callable<long[]> tirage = () -> {
+                    long[] sequences = new long[PAR_THREAD];
+                    for (int i = 0; i < PAR_THREAD; i++) {
+                        sequences[i] = noeud.prochaineSequence(ANNEE);
+                    }
+                    return sequences;
+                };
+                resultats.add(executor.submit(tirage));
+            }
+
+            BitSet vus = new BitSet();
+            long total = 0;
+            for (Future<long[]> resultat : resultats) {
+                long[] sequences = resultat.get();
+                for (int i = 0; i < sequences.length; i++) {
+                    long sequence = sequences[i];
+                    assertTrue(sequence >= 1, "Sequence must start at 1: " + sequence);
+                    if (i > 0) {
+                        assertTrue(sequence > sequences[i - 1], "Numbers must increase on a thread");
+                    }
+                    assertFalse(vus.get((int) sequence), "Duplicate number " + sequence);
+                    vus.set((int) sequence);
+                    total++;
+                }
+            }
+            assertEquals((long) THREADS * PAR_THREAD, total);
+            // At most one partially used block per node
+            long valeurHaute = sequenceNumeroRepository.findValeurHaute(ANNEE).orElseThrow();
+            assertTrue(valeurHaute >= total && valeurHaute <= total + 2L * TAILLE_BLOC, "High value " + valeurHaute);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Numbers use the AERO-YYYY-NNNNNN format and keep increasing across blocks")
+    void prochainNumero_FormatsSequence() {
+        NumeroReclamationServiceImpl service = new NumeroReclamationServiceImpl(sequenceNumeroRepository, transactionManager, 2);
+
+        assertEquals("AERO-2999-000001", service.prochainNumero(ANNEE));
+        assertEquals("AERO-2999-000002", service.prochainNumero(ANNEE));
+        assertEquals("AERO-2999-000003", service.prochainNumero(ANNEE));
+        assertEquals(4L, sequenceNumeroRepository.findValeurHaute(ANNEE).orElseThrow());
+    }
+}
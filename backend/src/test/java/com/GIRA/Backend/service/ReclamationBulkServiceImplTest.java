@@ -0,0 +1,172 @@
+package com.GIRA.Backend.service;
+
+import com.GIRA.Backend.DTO.request.ReclamationBulkUpdateRequest;
+import com.GIRA.Backend.DTO.response.ReclamationBulkUpdateResponse;
+import com.GIRA.Backend.Entities.Categorie;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.Entities.Role;
+import com.GIRA.Backend.Entities.User;
+import com.GIRA.Backend.Respository.CategorieRepository;
+import com.GIRA.Backend.Respository.HistoriqueRepository;
+import com.GIRA.Backend.Respository.NotificationRepository;
+import com.GIRA.Backend.Respository.ReclamationRepository;
+import com.GIRA.Backend.Respository.RoleRepository;
+import com.GIRA.Backend.Respository.UserRepository;
+import com.GIRA.Backend.security.UserPrincipal;
+import com.GIRA.Backend.service.interfaces.ReclamationBulkService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for bulk complaint updates (H2).
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ReclamationBulkServiceImplTest {
+
+    @Autowired
+    private ReclamationBulkService reclamationBulkService;
+    @Autowired
+    private ReclamationRepository reclamationRepository;
+    @Autowired
+    private HistoriqueRepository historiqueRepository;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private CategorieRepository categorieRepository;
+
+    private User agent;
+    private User passagerA;
+    private User passagerB;
+    private Reclamation r1;
+    private Reclamation r2;
+    private Reclamation r3;
+
+    @BeforeEach
+    void setUp() {
+        User superviseur = user("superviseur-bulk@example.com", role("AGENT"));
+        agent = user("agent-bulk@example.com", role("AGENT"));
+        passagerA = user("passager-a-bulk@example.com", role("PASSAGER"));
+        passagerB = user("passager-b-bulk@example.com", role("PASSAGER"));
+        Categorie categorie = new Categorie();
+        categorie.setNom("Bulk");
+        categorie.setActif(true);
+        categorie = categorieRepository.save(categorie);
+        r1 = reclamation(passagerA, categorie, 1, null);
+        r2 = reclamation(passagerA, categorie, 2, null);
+        r3 = reclamation(passagerB, categorie, 3, agent);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(UserPrincipal.create(superviseur), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void appliquer_Assigner_ReportsOutcomePerIdAndCoalescesNotifications() {
+        ReclamationBulkUpdateRequest request = new ReclamationBulkUpdateRequest();
+        request.setOperation(ReclamationBulkUpdateRequest.Operation.ASSIGNER);
+        request.setAgentAssigneId(agent.getId());
+        UUID inconnue = UUID.randomUUID();
+        request.setIds(List.of(r1.getId(), r2.getId(), r3.getId(), inconnue, r1.getId()));
+
+        ReclamationBulkUpdateResponse response = reclamationBulkService.appliquer(request);
+
+        assertEquals(4, response.getDemandees());
+        assertEquals(2, response.getModifiees());
+        assertEquals(1, response.getInchangees());
+        assertEquals(1, response.getIntrouvables());
+        assertEquals(ReclamationBulkUpdateResponse.Issue.MODIFIEE, response.getResultats().get(0).getIssue());
+        assertEquals(ReclamationBulkUpdateResponse.Issue.INCHANGEE, response.getResultats().get(2).getIssue());
+        assertEquals(inconnue, response.getResultats().get(3).getId());
+        assertEquals(ReclamationBulkUpdateResponse.Issue.INTROUVABLE, response.getResultats().get(3).getIssue());
+
+        assertEquals(agent.getId(), reclamationRepository.findById(r2.getId()).orElseThrow().getAgentAssigne().getId());
+        assertEquals(1, historiqueRepository.findByReclamation_Id(r1.getId()).size());
+        assertTrue(historiqueRepository.findByReclamation_Id(r3.getId()).isEmpty());
+        // One PUSH and one EMAIL for both assignments
+        assertEquals(2, notificationRepository.findByDestinataire(agent).size());
+    }
+
+    @Test
+    void appliquer_ChangerStatut_UpdatesAllAndNotifiesEachOwnerOnce() {
+        ReclamationBulkUpdateRequest request = new ReclamationBulkUpdateRequest();
+        request.setOperation(ReclamationBulkUpdateRequest.Operation.CHANGER_STATUT);
+        request.setStatut(Reclamation.Statut.RESOLUE);
+        request.setCommentaire("Clôture du vol AF123");
+        request.setIds(List.of(r1.getId(), r2.getId(), r3.getId()));
+
+        ReclamationBulkUpdateResponse response = reclamationBulkService.appliquer(request);
+
+        assertEquals(3, response.getModifiees());
+        for (Reclamation r : reclamationRepository.findAllById(List.of(r1.getId(), r2.getId(), r3.getId()))) {
+            assertEquals(Reclamation.Statut.RESOLUE, r.getStatut());
+            assertNotNull(r.getDateResolution());
+        }
+        var historique = historiqueRepository.findByReclamation_Id(r2.getId());
+        assertEquals(1, historique.size());
+        assertEquals("CHANGEMENT_STATUT", historique.get(0).getAction());
+        assertEquals("SOUMISE", historique.get(0).getAncienneValeur());
+        assertTrue(historique.get(0).getCommentaire().endsWith("Clôture du vol AF123"));
+        // PUSH + EMAIL per owner, whatever the number of complaints
+        assertEquals(2, notificationRepository.findByDestinataire(passagerA).size());
+        assertEquals(2, notificationRepository.findByDestinataire(passagerB).size());
+    }
+
+    private Role role(String nom) {
+        return roleRepository.findByNom(nom).orElseGet(() -> {
+            Role r = new Role();
+            r.setNom(nom);
+            r.setActif(true);
+            return roleRepository.save(r);
+        });
+    }
+
+    private User user(String email, Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setNom("Test");
+        user.setPrenom(email.substring(0, email.indexOf('@')));
+        user.setMotDePasse("x");
+        user.setRole(role);
+        user.setActif(true);
+        return userRepository.save(user);
+    }
+
+    private Reclamation reclamation(User passager, Categorie categorie, int sequence, User agentAssigne) {
+        Reclamation reclamation = new Reclamation();
+        reclamation.genererNumero(2997, sequence);
+        reclamation.setUtilisateur(passager);
+        reclamation.setCategorie(categorie);
+        reclamation.setTitre("Réclamation " + sequence);
+        reclamation.setDescription("Description");
+        reclamation.setPriorite(Reclamation.Priorite.NORMALE);
+        reclamation.setStatut(Reclamation.Statut.SOUMISE);
+        reclamation.setAgentAssigne(agentAssigne);
+        reclamation.setDateCreation(LocalDateTime.now());
+        return reclamationRepository.saveAndFlush(reclamation);
+    }
+}
@@ -0,0 +1,135 @@
+package com.GIRA.Backend.service;
+
+import com.GIRA.Backend.DTO.request.ReclamationFilterRequest;
+import com.GIRA.Backend.Entities.Categorie;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.Entities.Role;
+import com.GIRA.Backend.Entities.User;
+import com.GIRA.Backend.Respository.CategorieRepository;
+import com.GIRA.Backend.Respository.ReclamationRepository;
+import com.GIRA.Backend.Respository.RoleRepository;
+import com.GIRA.Backend.Respository.UserRepository;
+import com.GIRA.Backend.service.interfaces.CategorieTreeService;
+import com.GIRA.Backend.service.interfaces.ReclamationExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the streaming complaint export (H2).
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ReclamationExportServiceImplTest {
+
+    @Autowired
+    private ReclamationExportService reclamationExportService;
+    @Autowired
+    private ReclamationRepository reclamationRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private CategorieRepository categorieRepository;
+    @Autowired
+    private CategorieTreeService categorieTreeService;
+
+    private Categorie categorie;
+
+    @BeforeEach
+    void setUp() {
+        Role role = roleRepository.findByNom("PASSAGER").orElseGet(() -> {
+            Role r = new Role();
+            r.setNom("PASSAGER");
+            r.setActif(true);
+            return roleRepository.save(r);
+        });
+        User passager = new User();
+        passager.setEmail("export@example.com");
+        passager.setMotDePasse("x");
+        passager.setRole(role);
+        passager.setActif(true);
+        passager = userRepository.save(passager);
+        categorie = new Categorie();
+        categorie.setNom("Bagages");
+        categorie.setActif(true);
+        categorie = categorieRepository.save(categorie);
+        categorieTreeService.refresh();
+
+        reclamation(passager, 1, "Valise \"cassée\", poignée arrachée", Reclamation.Statut.SOUMISE);
+        reclamation(passager, 2, "Retard", Reclamation.Statut.EN_COURS);
+        reclamation(passager, 3, "Sac perdu\nterminal 2", Reclamation.Statut.SOUMISE);
+    }
+
+    @Test
+    void exporter_Csv_WritesHeaderAndEscapedRows() throws Exception {
+        ReclamationFilterRequest filter = new ReclamationFilterRequest();
+        filter.setCategorieId(categorie.getId());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long lignes = reclamationExportService.exporter(filter, ReclamationExportService.Format.CSV, false, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertEquals(3, lignes);
+        assertTrue(csv.startsWith("numero,titre,statut,priorite,categorie,"));
+        assertTrue(csv.contains("AERO-2999-000001,\"Valise \"\"cassée\"\", poignée arrachée\",SOUMISE,NORMALE,Bagages,,export@example.com,,"));
+        assertTrue(csv.contains("\"Sac perdu\nterminal 2\""));
+        assertTrue(csv.endsWith("\r\n"));
+    }
+
+    @Test
+    void exporter_NdjsonGzip_AppliesFilterCriteria() throws Exception {
+        ReclamationFilterRequest filter = new ReclamationFilterRequest();
+        filter.setStatut("SOUMISE");
+        filter.setCategorieId(categorie.getId());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long lignes = reclamationExportService.exporter(filter, ReclamationExportService.Format.NDJSON, true, out);
+
+        String ndjson;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ndjson = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<String> rows = ndjson.lines().toList();
+        assertEquals(2, lignes);
+        assertEquals(2, rows.size());
+        JsonNode premier = new ObjectMapper().readTree(rows.get(0));
+        assertEquals("AERO-2999-000001", premier.get("numero").asText());
+        assertEquals("Bagages", premier.get("categorie").asText());
+        assertTrue(premier.get("agentAssigne").isNull());
+        assertFalse(premier.get("slaBreached").asBoolean());
+        assertEquals("AERO-2999-000003", new ObjectMapper().readTree(rows.get(1)).get("numero").asText());
+    }
+
+    private void reclamation(User passager, int sequence, String titre, Reclamation.Statut statut) {
+        Reclamation reclamation = new Reclamation();
+        reclamation.genererNumero(2999, sequence);
+        reclamation.setUtilisateur(passager);
+        reclamation.setCategorie(categorie);
+        reclamation.setTitre(titre);
+        reclamation.setDescription("Description");
+        reclamation.setPriorite(Reclamation.Priorite.NORMALE);
+        reclamation.setStatut(statut);
+        reclamation.setDateCreation(LocalDateTime.of(2999, 1, 1, 10, 0).plusMinutes(sequence));
+        reclamationRepository.saveAndFlush(reclamation);
+    }
+}
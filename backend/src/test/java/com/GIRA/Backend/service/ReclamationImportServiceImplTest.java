@@ -0,0 +1,176 @@
+package com.GIRA.Backend.service;
+
+import com.GIRA.Backend.DTO.response.ImportResultResponse;
+import com.GIRA.Backend.Entities.Categorie;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.Entities.Role;
+import com.GIRA.Backend.Entities.User;
+import com.GIRA.Backend.Respository.CategorieRepository;
+import com.GIRA.Backend.Respository.ReclamationRepository;
+import com.GIRA.Backend.Respository.RoleRepository;
+import com.GIRA.Backend.Respository.UserRepository;
+import com.GIRA.Backend.Respository.SequenceNumeroRepository;
+import com.GIRA.Backend.service.interfaces.CategorieTreeService;
+import com.GIRA.Backend.service.interfaces.NumeroReclamationService;
+import com.GIRA.Backend.service.interfaces.ReclamationExportService;
+import com.GIRA.Backend.service.interfaces.ReclamationImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the bulk complaint import (H2).
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ReclamationImportServiceImplTest {
+    private static final int ANNEE_SEQUENCE = 2997;
+
+    @Autowired
+    private ReclamationImportService reclamationImportService;
+    @Autowired
+    private ReclamationRepository reclamationRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private CategorieRepository categorieRepository;
+    @Autowired
+    private CategorieTreeService categorieTreeService;
+    @Autowired
+    private NumeroReclamationService numeroReclamationService;
+    @Autowired
+    private SequenceNumeroRepository sequenceNumeroRepository;
+
+    private Categorie categorie;
+    private User passager;
+
+    @BeforeEach
+    void setUp() {
+        Role role = roleRepository.findByNom("PASSAGER").orElseGet(() -> {
+            Role r = new Role();
+            r.setNom("PASSAGER");
+            r.setActif(true);
+            return roleRepository.save(r);
+        });
+        passager = new User();
+        passager.setEmail("import@example.com");
+        passager.setMotDePasse("x");
+        passager.setRole(role);
+        passager.setActif(true);
+        userRepository.saveAndFlush(passager);
+        categorie = new Categorie();
+        categorie.setNom("Objets trouvés");
+        categorie.setActif(true);
+        categorie = categorieRepository.saveAndFlush(categorie);
+        categorieTreeService.refresh();
+    }
+
+    @Test
+    void importer_Csv_ImportsValidRowsAndReportsRejectedLines() throws Exception {
+        String csv = "numero,titre,description,statut,priorite,categorie,utilisateur,dateCreation,dateEcheance\r\n"
+                + "AERO-2998-900001,\"Valise, \"\"cassée\"\"\",\"Ligne 1\nligne 2\",EN_COURS,haute,objets TROUVÉS,import@example.com,2998-01-01T10:00,2998-01-02T10:00\r\n"
+                + "AERO-2998-900002,Retard,,,,Objets trouvés,inconnu@example.com,,\r\n"
+                + "AERO-2998-900003,Retard,,,CRITIQUE,Objets trouvés,import@example.com,,\r\n"
+                + "AERO-2998-900001,Doublon,,,,Objets trouvés,import@example.com,,\r\n"
+                + "," + "Sans numéro,,,," + categorie.getId() + ",import@example.com,2998-02-01,\r\n";
+
+        ImportResultResponse result = reclamationImportService.importer(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ReclamationExportService.Format.CSV, false);
+
+        assertEquals(5, result.getTotal());
+        assertEquals(2, result.getImportees());
+        assertEquals(3, result.getRejetees());
+        assertEquals(4, result.getErreurs().get(0).getLigne());
+        assertTrue(result.getErreurs().get(0).getMessage().contains("utilisateur inconnu"));
+        assertEquals(5, result.getErreurs().get(1).getLigne());
+        assertTrue(result.getErreurs().get(1).getMessage().contains("priorite invalide"));
+        assertEquals(6, result.getErreurs().get(2).getLigne());
+        assertTrue(result.getErreurs().get(2).getMessage().contains("double"));
+
+        Reclamation importee = reclamationRepository.findByNumero("AERO-2998-900001").orElseThrow();
+        assertEquals("Valise, \"cassée\"", importee.getTitre());
+        assertEquals("Ligne 1\nligne 2", importee.getDescription());
+        assertEquals(Reclamation.Statut.EN_COURS, importee.getStatut());
+        assertEquals(Reclamation.Priorite.HAUTE, importee.getPriorite());
+        assertEquals(categorie.getId(), importee.getCategorie().getId());
+        assertFalse(importee.isSlaBreached());
+        assertEquals(LocalDateTime.of(2998, 1, 1, 10, 0), importee.getDateCreation());
+        assertTrue(reclamationRepository.findAll().stream()
+                .anyMatch(r -> "Sans numéro".equals(r.getTitre()) && r.getNumero().startsWith("AERO-2998-")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Counters are committed in their own transaction, outside the test's rollback
+        sequenceNumeroRepository.findById(ANNEE_SEQUENCE).ifPresent(sequenceNumeroRepository::delete);
+    }
+
+    @Test
+    void importer_NumeroDeLaSequence_NotReissuedToNewComplaints() throws Exception {
+        long derniere = numeroReclamationService.prochaineSequence(ANNEE_SEQUENCE);
+        // The next number of this node's block, imported before the node hands it out
+        String importe = Reclamation.formaterNumero(ANNEE_SEQUENCE, derniere + 1);
+        String csv = "numero,titre,categorie,utilisateur\n" + importe + ",Importée,Objets trouvés,import@example.com\n";
+
+        ImportResultResponse result = reclamationImportService.importer(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ReclamationExportService.Format.CSV, false);
+        assertEquals(1, result.getImportees());
+
+        Reclamation creee = new Reclamation();
+        creee.setNumero(numeroReclamationService.prochainNumero(ANNEE_SEQUENCE));
+        creee.setTitre("Créée après l'import");
+        creee.setDescription("Créée après l'import");
+        creee.setUtilisateur(passager);
+        creee.setCategorie(categorie);
+        creee.setPriorite(Reclamation.Priorite.NORMALE);
+        creee.setStatut(Reclamation.Statut.SOUMISE);
+        reclamationRepository.saveAndFlush(creee);
+
+        assertEquals(Reclamation.formaterNumero(ANNEE_SEQUENCE, derniere + 2), creee.getNumero());
+        assertTrue(sequenceNumeroRepository.findValeurHaute(ANNEE_SEQUENCE).orElseThrow() >= derniere + 1);
+    }
+
+    @Test
+    void importer_NdjsonGzip_SkipsMalformedLines() throws Exception {
+        String ndjson = "{\"numero\":\"AERO-2998-910001\",\"titre\":\"Bagage retardé\",\"categorie\":\"Objets trouvés\",\"utilisateur\":\"import@example.com\",\"priorite\":\"URGENTE\"}\n"
+                + "{\"numero\":\"AERO-2998-910002\",\"titre\":\n"
+                + "\n"
+                + "{\"numero\":\"AERO-2998-910003\",\"titre\":\"Chariot\",\"categorie\":\"" + categorie.getId() + "\",\"utilisateur\":\"import@example.com\",\"satisfaction\":null}\n";
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(ndjson.getBytes(StandardCharsets.UTF_8));
+        }
+
+        ImportResultResponse result = reclamationImportService.importer(
+                new ByteArrayInputStream(gzip.toByteArray()), ReclamationExportService.Format.NDJSON, true);
+
+        assertEquals(3, result.getTotal());
+        assertEquals(2, result.getImportees());
+        assertEquals(1, result.getErreurs().size());
+        assertEquals(2, result.getErreurs().get(0).getLigne());
+        assertFalse(result.isErreursTronquees());
+        Reclamation urgente = reclamationRepository.findByNumero("AERO-2998-910001").orElseThrow();
+        assertEquals(Reclamation.Priorite.URGENTE, urgente.getPriorite());
+        assertEquals(Reclamation.Statut.SOUMISE, urgente.getStatut());
+        assertEquals("Bagage retardé", urgente.getDescription());
+        assertTrue(reclamationRepository.findByNumero("AERO-2998-910003").isPresent());
+    }
+}
@@ -8,6 +8,16 @@ import com.GIRA.Backend.service.impl.ReclamationServiceImpl;
 import com.GIRA.Backend.service.interfaces.UserService;
 import com.GIRA.Backend.service.interfaces.CategorieService;
 import com.GIRA.Backend.service.interfaces.SousCategorieService;
+import com.GIRA.Backend.service.interfaces.CategorieTreeService;
+import com.GIRA.Backend.service.interfaces.SlaPolicyService;
+import com.GIRA.Backend.service.interfaces.NumeroReclamationService;
+import com.GIRA.Backend.service.interfaces.AssignationService;
+import com.GIRA.Backend.service.interfaces.PrioriteAutomatiqueService;
+import com.GIRA.Backend.service.interfaces.DoublonService;
+import com.GIRA.Backend.service.interfaces.IncidentService;
+import com.GIRA.Backend.service.interfaces.FichierService;
+import com.GIRA.Backend.DTO.response.FichierResponse;
+import com.GIRA.Backend.DTO.response.PiecesJointesResume;
 import com.GIRA.Backend.Respository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,10 +31,12 @@ import org.springframework.data.domain.Pageable;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.when;
 import com.GIRA.Backend.service.interfaces.NotificationService;
 import com.GIRA.Backend.Entities.Notification;
@@ -55,6 +67,22 @@ class ReclamationServiceImplTest {
     private NotificationService notificationService;
     @Mock
     private HistoriqueService historiqueService;
+    @Mock
+    private CategorieTreeService categorieTreeService;
+    @Mock
+    private SlaPolicyService slaPolicyService;
+    @Mock
+    private NumeroReclamationService numeroReclamationService;
+    @Mock
+    private AssignationService assignationService;
+    @Mock
+    private PrioriteAutomatiqueService prioriteAutomatiqueService;
+    @Mock
+    private DoublonService doublonService;
+    @Mock
+    private IncidentService incidentService;
+    @Mock
+    private FichierService fichierService;
 
     @InjectMocks
     private ReclamationServiceImpl reclamationService;
@@ -105,6 +133,32 @@ class ReclamationServiceImplTest {
         assertEquals(0, result.getTotalElements());
     }
 
+    @Test
+    void testFindWithFiltersDto_AttachmentsLoadedOncePerPage() {
+        ReclamationFilterRequest filter = new ReclamationFilterRequest();
+        filter.setPage(0);
+        filter.setSize(10);
+        Reclamation avecFichiers = new Reclamation();
+        avecFichiers.setId(UUID.randomUUID());
+        Reclamation sansFichier = new Reclamation();
+        sansFichier.setId(UUID.randomUUID());
+        PiecesJointesResume resume = PiecesJointesResume.vide();
+        resume.ajouter(FichierResponse.builder().id(UUID.randomUUID()).fileName("photo.jpg").typeMime("image/jpeg")
+                .thumbnailUrl("/api/fichiers/download/x/thumb").build());
+        resume.ajouter(FichierResponse.builder().id(UUID.randomUUID()).fileName("billet.pdf").typeMime("application/pdf").build());
+        when(reclamationRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(avecFichiers, sansFichier)));
+        when(fichierService.getResumesByReclamationIds(anyCollection())).thenReturn(Map.of(avecFichiers.getId(), resume));
+
+        Page<ReclamationListResponse> result = reclamationService.findWithFiltersDto(filter);
+
+        assertEquals(2, result.getContent().get(0).getNombreFichiers());
+        assertEquals("/api/fichiers/download/x/thumb", result.getContent().get(0).getFichiers().get(0).getThumbnailUrl());
+        assertEquals(0, result.getContent().get(1).getNombreFichiers());
+        assertTrue(result.getContent().get(1).getFichiers().isEmpty());
+        verify(fichierService, times(1)).getResumesByReclamationIds(List.of(avecFichiers.getId(), sansFichier.getId()));
+    }
+
     @Test
     void testUpdateReclamation_AssignmentSendsNotifications() {
         // Setup
@@ -0,0 +1,215 @@
+package com.GIRA.Backend.service;
+
+import com.GIRA.Backend.DTO.request.ReclamationUpdateRequest;
+import com.GIRA.Backend.Entities.Categorie;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.Entities.Role;
+import com.GIRA.Backend.Entities.User;
+import com.GIRA.Backend.Respository.CategorieRepository;
+import com.GIRA.Backend.Respository.ReclamationRepository;
+import com.GIRA.Backend.Respository.RoleRepository;
+import com.GIRA.Backend.Respository.UserRepository;
+import com.GIRA.Backend.security.UserPrincipal;
+import com.GIRA.Backend.service.interfaces.ReclamationService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration test for JDBC batching on the complaint write path.
+ * <p>
+ * Counts the write statements actually sent to the database (one per {@code executeUpdate} or
+ * {@code executeBatch} call) during a complaint update that changes priority, status and assignment.
+ * That update queues 3 historiques, 5 notifications and the complaint update; with batching and
+ * ordered inserts it must cost exactly 3 write round trips instead of 9.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ReclamationWriteBatchingIntegrationTest {
+
+    @Autowired
+    private ReclamationService reclamationService;
+    @Autowired
+    private ReclamationRepository reclamationRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private CategorieRepository categorieRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private RoundTripCounter roundTripCounter;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("One complaint update sends its inserts as one batch per table")
+    void updateReclamation_GroupsInsertsIntoBatches() {
+        User admin = user("admin-batch@example.com", role("ADMIN"));
+        User agent = user("agent-batch@example.com", role("AGENT"));
+        User passager = user("passager-batch@example.com", role("PASSAGER"));
+        Categorie categorie = new Categorie();
+        categorie.setNom("Bagages");
+        categorie = categorieRepository.save(categorie);
+
+        Reclamation reclamation = new Reclamation();
+        reclamation.genererNumero(2025, 1);
+        reclamation.setUtilisateur(passager);
+        reclamation.setCategorie(categorie);
+        reclamation.setTitre("Valise endommagée");
+        reclamation.setDescription("La poignée de ma valise est cassée");
+        reclamation.setPriorite(Reclamation.Priorite.NORMALE);
+        reclamation.setStatut(Reclamation.Statut.SOUMISE);
+        reclamation = reclamationRepository.save(reclamation);
+        entityManager.flush();
+        entityManager.clear();
+
+        UserPrincipal principal = UserPrincipal.create(admin);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        ReclamationUpdateRequest request = new ReclamationUpdateRequest();
+        request.setPriorite("HAUTE");
+        request.setStatut("EN_COURS");
+        request.setAgentAssigneId(agent.getId().toString());
+
+        roundTripCounter.reset();
+        reclamationService.updateReclamation(reclamation.getId(), request);
+        entityManager.flush();
+
+        List<String> writes = roundTripCounter.getWrites();
+        assertEquals(3, writes.size(), "Write round trips: " + writes);
+        assertEquals(List.of("historiques", "notifications", "reclamations"),
+                writes.stream().map(RoundTripCounter::table).sorted().toList());
+    }
+
+    private Role role(String nom) {
+        return roleRepository.findByNom(nom).orElseGet(() -> {
+            Role role = new Role();
+            role.setNom(nom);
+            role.setActif(true);
+            return roleRepository.save(role);
+        });
+    }
+
+    private User user(String email, Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setMotDePasse("x");
+        user.setNom("Test");
+        user.setPrenom(role.getNom());
+        user.setRole(role);
+        user.setActif(true);
+        user.setEmailVerifie(true);
+        return userRepository.save(user);
+    }
+
+    /**
+     * Wraps the DataSource so every executed write statement is recorded.
+     */
+    @TestConfiguration
+    static class RoundTripCounterConfig {
+        @Bean
+        RoundTripCounter roundTripCounter() {
+            return new RoundTripCounter();
+        }
+
+        @Bean
+        static BeanPostProcessor roundTripCountingDataSource(ObjectProvider<RoundTripCounter> counter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? counter.getObject().wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Records one entry per write round trip (executeUpdate / executeBatch) on prepared statements.
+     */
+    static class RoundTripCounter {
+        private final List<String> writes = new CopyOnWriteArrayList<>();
+
+        void reset() { writes.clear(); }
+
+        List<String> getWrites() { return List.copyOf(writes); }
+
+        static String table(String sql) {
+            String[] tokens = sql.trim().toLowerCase(Locale.ROOT).split("\\s+");
+            // insert into <t> / update <t> / delete from <t>
+            return tokens[0].equals("update") ? tokens[1] : tokens[2];
+        }
+
+        DataSource wrap(DataSource target) {
+            return proxy(DataSource.class, target, (method, result, args) ->
+                    result instanceof Connection connection ? wrapConnection(connection) : result);
+        }
+
+        private Connection wrapConnection(Connection target) {
+            return proxy(Connection.class, target, (method, result, args) ->
+                    method.getName().startsWith("prepare") && result instanceof PreparedStatement statement
+                            ? wrapStatement(statement, (String) args[0]) : result);
+        }
+
+        private PreparedStatement wrapStatement(PreparedStatement target, String sql) {
+            boolean write = sql.trim().toLowerCase(Locale.ROOT).matches("(?s)(insert|update|delete)\\b.*");
+            return proxy(PreparedStatement.class, target, (method, result, args) -> {
+                String name = method.getName();
+                if (write && (name.equals("executeUpdate") || name.equals("executeLargeUpdate")
+                        || name.equals("executeBatch") || name.equals("executeLargeBatch") || name.equals("execute"))) {
+                    writes.add(sql);
+                }
+                return result;
+            });
+        }
+
+        private interface AfterCall {
+            Object apply(Method method, Object result, Object[] args);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, AfterCall after) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (p, method, args) -> {
+                try {
+                    return after.apply(method, method.invoke(target, args), args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.GIRA.Backend.service;
+
+import com.GIRA.Backend.DTO.request.UploadSessionRequest;
+import com.GIRA.Backend.DTO.response.UploadSessionResponse;
+import com.GIRA.Backend.Entities.Categorie;
+import com.GIRA.Backend.Entities.Fichier;
+import com.GIRA.Backend.Entities.Reclamation;
+import com.GIRA.Backend.Entities.Role;
+import com.GIRA.Backend.Entities.User;
+import com.GIRA.Backend.Respository.CategorieRepository;
+import com.GIRA.Backend.Respository.FichierRepository;
+import com.GIRA.Backend.Respository.ReclamationRepository;
+import com.GIRA.Backend.Respository.RoleRepository;
+import com.GIRA.Backend.Respository.UserRepository;
+import com.GIRA.Backend.exception.AccessDeniedException;
+import com.GIRA.Backend.service.interfaces.BlobService;
+import com.GIRA.Backend.service.interfaces.UploadSessionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for resumable uploads, from the opening of the session to the saved file (H2).
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class UploadSessionServiceImplTest {
+    private static final int MORCEAU = 64 * 1024;
+
+    @Autowired
+    private UploadSessionService uploadSessionService;
+    @Autowired
+    private BlobService blobService;
+    @Autowired
+    private FichierRepository fichierRepository;
+    @Autowired
+    private ReclamationRepository reclamationRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private CategorieRepository categorieRepository;
+
+    private User passager;
+    private User autre;
+    private Reclamation reclamation;
+
+    @BeforeEach
+    void setUp() {
+        Role role = roleRepository.findByNom("PASSAGER").orElseGet(() -> {
+            Role r = new Role();
+            r.setNom("PASSAGER");
+            r.setActif(true);
+            return roleRepository.save(r);
+        });
+        passager = utilisateur("session@example.com", role);
+        autre = utilisateur("autre-session@example.com", role);
+        Categorie categorie = new Categorie();
+        categorie.setNom("Bagages");
+        categorie.setActif(true);
+        categorie = categorieRepository.saveAndFlush(categorie);
+        reclamation = new Reclamation();
+        reclamation.setNumero("AERO-2996-000001");
+        reclamation.setTitre("Valise endommagée");
+        reclamation.setDescription("Valise endommagée");
+        reclamation.setUtilisateur(passager);
+        reclamation.setCategorie(categorie);
+        reclamation.setPriorite(Reclamation.Priorite.NORMALE);
+        reclamation.setStatut(Reclamation.Statut.SOUMISE);
+        reclamation = reclamationRepository.saveAndFlush(reclamation);
+    }
+
+    @Test
+    void terminer_ChunksInAnyOrder_SavesFileAttachedToComplaint() throws Exception {
+        byte[] contenu = new byte[2 * MORCEAU + 1000];
+        new Random(44).nextBytes(contenu);
+        UploadSessionResponse session = uploadSessionService.initier(requete(contenu.length), passager.getId(), "PASSAGER");
+
+        uploadSessionService.ecrire(session.getId(), MORCEAU, morceau(contenu, MORCEAU, contenu.length - MORCEAU),
+                contenu.length - MORCEAU, passager.getId());
+        uploadSessionService.ecrire(session.getId(), 0, morceau(contenu, 0, MORCEAU), MORCEAU, passager.getId());
+        Fichier fichier = uploadSessionService.terminer(session.getId(), passager.getId());
+
+        Fichier enregistre = fichierRepository.findById(fichier.getId()).orElseThrow();
+        assertEquals(reclamation.getId(), enregistre.getReclamation().getId());
+        assertEquals(passager.getId(), enregistre.getUploadePar().getId());
+        assertEquals(contenu.length, enregistre.getTaille());
+        try (InputStream lu = blobService.localiser(enregistre).ouvrir()) {
+            assertArrayEquals(contenu, lu.readAllBytes());
+        }
+    }
+
+    @Test
+    void initier_ComplaintOfAnotherUser_Denied() {
+        assertThrows(AccessDeniedException.class,
+                () -> uploadSessionService.initier(requete(10), autre.getId(), "PASSAGER"));
+        UploadSessionResponse admin = uploadSessionService.initier(requete(10), autre.getId(), "ADMIN");
+        assertNotNull(admin.getId());
+        uploadSessionService.abandonner(admin.getId(), autre.getId());
+    }
+
+    private User utilisateur(String email, Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setMotDePasse("x");
+        user.setRole(role);
+        user.setActif(true);
+        return userRepository.saveAndFlush(user);
+    }
+
+    private UploadSessionRequest requete(long taille) {
+        UploadSessionRequest request = new UploadSessionRequest();
+        request.setReclamationId(reclamation.getId());
+        request.setNomOriginal("rapport.bin");
+        request.setTypeMime("application/octet-stream");
+        request.setTaille(taille);
+        return request;
+    }
+
+    private static InputStream morceau(byte[] contenu, int debut, int longueur) {
+        return new ByteArrayInputStream(contenu, debut, longueur);
+    }
+}
@@ -0,0 +1,64 @@
+package com.GIRA.Backend.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the content-addressed file layout.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+class BlobStoreTest {
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    @DisplayName("Blobs are sharded by hash prefix and stored once per content")
+    void deposer_StoresEachContentOnce() throws Exception {
+        BlobStore store = new BlobStore(dossier);
+        HashingFileWriter writer = new HashingFileWriter(4096, 1, HashingFileWriter.Fsync.NONE);
+        byte[] contenu = "carte d'embarquement".getBytes(StandardCharsets.UTF_8);
+
+        Path premier = store.temporaire();
+        String hash = writer.ecrire(new ByteArrayInputStream(contenu), premier, 1000).getSha256();
+        Path second = store.temporaire();
+        writer.ecrire(new ByteArrayInputStream(contenu), second, 1000);
+
+        assertTrue(store.deposer(premier, hash));
+        assertFalse(store.deposer(second, hash));
+        Path blob = store.chemin(hash);
+        assertEquals(dossier.toAbsolutePath().resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash), blob);
+        assertArrayEquals(contenu, Files.readAllBytes(blob));
+        assertFalse(Files.exists(premier));
+        assertFalse(Files.exists(second));
+        assertEquals(hash, BlobStore.hacher(blob));
+        assertTrue(store.estBlob(blob, hash));
+        assertFalse(store.estBlob(dossier.resolve("ancien.pdf"), hash));
+    }
+
+    @Test
+    @DisplayName("Deleting a blob removes its empty shard directories")
+    void supprimer_RemovesEmptyShards() throws Exception {
+        BlobStore store = new BlobStore(dossier);
+        Path temporaire = store.temporaire();
+        Files.writeString(temporaire, "photo");
+        String hash = BlobStore.hacher(temporaire);
+        store.deposer(temporaire, hash);
+
+        assertEquals(5, store.supprimer(hash));
+        assertEquals(-1, store.supprimer(hash));
+        assertFalse(store.existe(hash));
+        assertFalse(Files.exists(dossier.resolve(hash.substring(0, 2))));
+        assertThrows(IllegalArgumentException.class, () -> store.chemin("../../etc/passwd"));
+    }
+}
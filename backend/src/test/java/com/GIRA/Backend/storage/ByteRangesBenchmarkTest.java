@@ -0,0 +1,180 @@
+package com.GIRA.Backend.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the byte range support and benchmark of the zero-copy download path.
+ * <p>
+ * The benchmark, tagged {@code benchmark} ({@code mvn test -Pbenchmark}), sends a 256 MB file several times over a
+ * loopback socket, with {@code FileChannel.transferTo} (sendfile) and with the 8 KB stream copy used before, and
+ * compares the CPU time of the sending thread per GB served.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+class ByteRangesBenchmarkTest {
+    private static final int TAILLE = 256 * 1024 * 1024;
+    private static final int PASSES = 8;
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    @DisplayName("Range headers are parsed, sorted, coalesced and bounded by the file size")
+    void parser_HandlesRangeForms() {
+        assertNull(ByteRanges.parser(null, 1000));
+        assertNull(ByteRanges.parser("items=0-10", 1000));
+        assertNull(ByteRanges.parser("bytes=10-5", 1000));
+        assertNull(ByteRanges.parser("bytes=a-b", 1000));
+        assertEquals(List.of(new ByteRanges.Plage(0, 499)), ByteRanges.parser("bytes=0-499", 1000));
+        assertEquals(List.of(new ByteRanges.Plage(900, 999)), ByteRanges.parser("bytes=-100", 1000));
+        assertEquals(List.of(new ByteRanges.Plage(0, 999)), ByteRanges.parser("bytes=-5000", 1000));
+        assertEquals(List.of(new ByteRanges.Plage(500, 999)), ByteRanges.parser("Bytes=500-", 1000));
+        assertEquals(List.of(new ByteRanges.Plage(990, 999)), ByteRanges.parser("bytes=990-2000", 1000));
+        // Sorted and coalesced (overlapping and adjacent)
+        assertEquals(List.of(new ByteRanges.Plage(0, 199), new ByteRanges.Plage(500, 599)),
+                ByteRanges.parser("bytes=500-599, 100-199, 0-50, 51-120", 1000));
+        // Unsatisfiable
+        assertTrue(ByteRanges.parser("bytes=1000-", 1000).isEmpty());
+        assertTrue(ByteRanges.parser("bytes=-0", 1000).isEmpty());
+        // Too many ranges: whole file
+        StringBuilder plages = new StringBuilder("bytes=0-0");
+        for (int i = 1; i <= ByteRanges.MAX_PLAGES; i++) plages.append(',').append(i * 10).append('-').append(i * 10);
+        assertNull(ByteRanges.parser(plages.toString(), 1000));
+    }
+
+    @Test
+    @DisplayName("Entity tags: weak comparison for If-None-Match, strong for If-Range")
+    void etag_Comparisons() {
+        String etag = ByteRanges.etag("abc");
+        assertEquals("\"abc\"", etag);
+        assertTrue(ByteRanges.correspond("\"x\", W/\"abc\"", etag));
+        assertTrue(ByteRanges.correspond("*", etag));
+        assertFalse(ByteRanges.correspond("\"abd\"", etag));
+        assertFalse(ByteRanges.correspond(null, etag));
+        assertTrue(ByteRanges.ifRangeValide(null, etag));
+        assertTrue(ByteRanges.ifRangeValide("\"abc\"", etag));
+        assertFalse(ByteRanges.ifRangeValide("W/\"abc\"", etag));
+        assertFalse(ByteRanges.ifRangeValide("Wed, 21 Oct 2026 07:28:00 GMT", etag));
+    }
+
+    @Test
+    @DisplayName("Multipart bodies contain each range and match the announced length")
+    void ecrireMultipart_WritesPartsAndLength() throws Exception {
+        Path fichier = dossier.resolve("f.txt");
+        Files.writeString(fichier, "0123456789abcdefghij");
+        List<ByteRanges.Plage> plages = ByteRanges.parser("bytes=0-3,-4", 20);
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            ByteRanges.ecrireMultipart(canal, plages, "text/plain", 20, "B", Channels.newChannel(sortie));
+        }
+        String corps = sortie.toString(StandardCharsets.US_ASCII);
+        assertEquals("\r\n--B\r\nContent-Type: text/plain\r\nContent-Range: bytes 0-3/20\r\n\r\n0123"
+                + "\r\n--B\r\nContent-Type: text/plain\r\nContent-Range: bytes 16-19/20\r\n\r\nghij"
+                + "\r\n--B--\r\n", corps);
+        assertEquals(sortie.size(), ByteRanges.longueurMultipart(plages, "text/plain", 20, "B"));
+    }
+
+    @Test
+    @DisplayName("Transfers exactly the requested range, and fails on a truncated file")
+    void transferer_SendsRange() throws Exception {
+        Path fichier = dossier.resolve("f.bin");
+        byte[] contenu = new byte[3 * 1024 * 1024];
+        new Random(5).nextBytes(contenu);
+        Files.write(fichier, contenu);
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            assertEquals(contenu.length - 2000, ByteRanges.transferer(canal, 1000, contenu.length - 2000, Channels.newChannel(sortie)));
+            assertThrows(EOFException.class, () -> ByteRanges.transferer(canal, contenu.length - 10, 20,
+                    Channels.newChannel(new ByteArrayOutputStream())));
+        }
+        assertArrayEquals(Arrays.copyOfRange(contenu, 1000, contenu.length - 1000), sortie.toByteArray());
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Zero-copy transfer against stream copy: less CPU per GB")
+    void benchmark_TransferToAgainstStreamCopy() throws Exception {
+        Path fichier = dossier.resolve("video.bin");
+        byte[] bloc = new byte[1 << 20];
+        new Random(5).nextBytes(bloc);
+        try (OutputStream out = Files.newOutputStream(fichier)) {
+            for (int i = 0; i < TAILLE / bloc.length; i++) out.write(bloc);
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        double[] zeroCopie = null;
+        double[] flux = null;
+        for (int essai = 0; essai < 2; essai++) {
+            // The first round warms up the JIT and the page cache
+            zeroCopie = mesurer(threads, fichier, true);
+            flux = mesurer(threads, fichier, false);
+        }
+        assertTrue(zeroCopie[1] < flux[1], "transferTo used " + zeroCopie[1] + " ms CPU/GB, stream copy " + flux[1]);
+    }
+
+    /** @return throughput in MB/s and CPU time of the sending thread in ms per GB */
+    private static double[] mesurer(ThreadMXBean threads, Path fichier, boolean transferTo) throws Exception {
+        try (ServerSocketChannel serveur = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0))) {
+            Thread lecteur = new Thread(() -> {
+                try (SocketChannel client = serveur.accept()) {
+                    ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+                    while (client.read(buffer) >= 0) buffer.clear();
+                } catch (IOException ignored) {
+                    // Connection closed
+                }
+            });
+            lecteur.start();
+            long cpu;
+            long debut;
+            try (SocketChannel socket = SocketChannel.open(serveur.getLocalAddress())) {
+                cpu = threads.getCurrentThreadCpuTime();
+                debut = System.nanoTime();
+                for (int passe = 0; passe < PASSES; passe++) {
+                    if (transferTo) {
+                        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+                            ByteRanges.transferer(canal, 0, canal.size(), socket);
+                        }
+                    } else {
+                        OutputStream sortie = Channels.newOutputStream(socket);
+                        try (InputStream entree = Files.newInputStream(fichier)) {
+                            byte[] buffer = new byte[8192];
+                            for (int lus; (lus = entree.read(buffer)) > 0; ) sortie.write(buffer, 0, lus);
+                        }
+                    }
+                }
+                cpu = threads.getCurrentThreadCpuTime() - cpu;
+            }
+            double secondes = (System.nanoTime() - debut) / 1e9;
+            lecteur.join();
+            double go = (double) TAILLE * PASSES / (1L << 30);
+            return new double[]{go * 1024 / secondes, cpu / 1e6 / go};
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.GIRA.Backend.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fault-injection tests of resumable uploads: interrupted chunks, chunks out of order and in parallel, sessions
+ * reopened after a stop, and expired sessions.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+class ChunkedUploadTest {
+    private static final int TAILLE = 5 * 1024 * 1024 + 123;
+    private static final int MORCEAU = 256 * 1024;
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    @DisplayName("A chunk interrupted mid-stream keeps its received bytes; the client resumes after them")
+    void ecrire_InterruptedChunk_Resumes() throws Exception {
+        byte[] contenu = contenu(1);
+        ChunkedUpload upload = ChunkedUpload.creer(dossier, TAILLE, HashingFileWriter.Fsync.NONE, Map.of(), 0);
+
+        // The connection drops after 1 MB of a chunk covering the whole file
+        assertThrows(IOException.class, () -> upload.ecrire(0, new Coupure(contenu, 0, 1024 * 1024 + 17), TAILLE, 1));
+        long recus = upload.getRecus();
+        assertTrue(recus > 0 && recus <= 1024 * 1024 + 17, "Received " + recus);
+        assertEquals(1, upload.getPlages().size());
+        assertThrows(IllegalStateException.class, upload::terminer);
+
+        // Resume from the received offset, with a second interruption
+        assertThrows(IOException.class, () -> upload.ecrire(recus, new Coupure(contenu, (int) recus, 300_000), TAILLE - recus, 2));
+        long reprise = upload.getRecus();
+        upload.ecrire(reprise, new ByteArrayInputStream(contenu, (int) reprise, TAILLE - (int) reprise), TAILLE - reprise, 3);
+
+        assertEquals(sha256(contenu), upload.terminer().getSha256());
+        assertArrayEquals(contenu, Files.readAllBytes(upload.getDonnees()));
+        // Completed once only
+        assertThrows(IllegalStateException.class, upload::terminer);
+    }
+
+    @Test
+    @DisplayName("Chunks out of order and in parallel give the same hash")
+    void ecrire_OutOfOrderParallel_SameHash() throws Exception {
+        byte[] contenu = contenu(2);
+        ChunkedUpload upload = ChunkedUpload.creer(dossier, TAILLE, HashingFileWriter.Fsync.DATA, Map.of(), 0);
+        List<Integer> offsets = new ArrayList<>();
+        for (int offset = 0; offset < TAILLE; offset += MORCEAU) offsets.add(offset);
+        Collections.shuffle(offsets, new Random(7));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Long>> resultats = new ArrayList<>();
+        for (int offset : offsets) {
+            int longueur = Math.min(MORCEAU, TAILLE - offset);
+            resultats.add(executor.submit(() -> upload.ecrire(offset, new ByteArrayInputStream(contenu, offset, longueur), longueur, 1)));
+        }
+        for (Future<Long> resultat : resultats) resultat.get();
+        executor.shutdown();
+
+        assertEquals(1, upload.getPlages().size());
+        assertEquals(sha256(contenu), upload.terminer().getSha256());
+    }
+
+    @Test
+    @DisplayName("Overlapping, out-of-bounds and short chunks are rejected")
+    void ecrire_InvalidChunks_Rejected() throws Exception {
+        byte[] contenu = contenu(3);
+        ChunkedUpload upload = ChunkedUpload.creer(dossier, TAILLE, HashingFileWriter.Fsync.NONE, Map.of(), 0);
+        upload.ecrire(0, new ByteArrayInputStream(contenu, 0, MORCEAU), MORCEAU, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> upload.ecrire(MORCEAU - 1, new ByteArrayInputStream(contenu), 10, 2));
+        assertThrows(IllegalArgumentException.class, () -> upload.ecrire(TAILLE - 5, new ByteArrayInputStream(contenu), 10, 2));
+        assertThrows(IllegalArgumentException.class, () -> upload.ecrire(-1, new ByteArrayInputStream(contenu), 10, 2));
+        // The stream ends before the announced length: the bytes received are kept
+        assertThrows(IllegalArgumentException.class,
+                () -> upload.ecrire(MORCEAU, new ByteArrayInputStream(contenu, MORCEAU, 1000), 5000, 2));
+        assertEquals(MORCEAU + 1000, upload.getRecus());
+    }
+
+    @Test
+    @DisplayName("A session stopped mid-upload is reopened from disk and completes with the right hash")
+    void ouvrir_AfterStop_Completes() throws Exception {
+        byte[] contenu = contenu(4);
+        ChunkedUpload upload = ChunkedUpload.creer(dossier, TAILLE, HashingFileWriter.Fsync.DATA,
+                Map.of("nom", "passeport é.pdf", "utilisateur", "u1"), 10);
+        int moitie = TAILLE / 2;
+        upload.ecrire(0, new ByteArrayInputStream(contenu, 0, moitie - 1000), moitie - 1000, 20);
+        // A chunk ahead of the prefix, then the node stops without cleaning up
+        upload.ecrire(moitie, new ByteArrayInputStream(contenu, moitie, TAILLE - moitie), TAILLE - moitie, 30);
+        upload.fermer();
+        assertThrows(IllegalStateException.class, () -> upload.ecrire(moitie - 1000, new ByteArrayInputStream(contenu), 1000, 40));
+
+        ChunkedUpload reprise = ChunkedUpload.ouvrir(dossier, upload.getId(), HashingFileWriter.Fsync.DATA);
+        assertNotNull(reprise);
+        assertEquals("passeport é.pdf", reprise.getAttributs().get("nom"));
+        assertEquals(30, reprise.getActiviteMs());
+        assertEquals(TAILLE - 1000, reprise.getRecus());
+        reprise.ecrire(moitie - 1000, new ByteArrayInputStream(contenu, moitie - 1000, 1000), 1000, 40);
+
+        assertEquals(sha256(contenu), reprise.terminer().getSha256());
+        assertNull(ChunkedUpload.ouvrir(dossier, java.util.UUID.randomUUID(), HashingFileWriter.Fsync.NONE));
+    }
+
+    @Test
+    @DisplayName("Sessions without recent activity are listed for collection and deleted")
+    void expirees_ListsStaleSessions() throws Exception {
+        ChunkedUpload ancienne = ChunkedUpload.creer(dossier, 100, HashingFileWriter.Fsync.NONE, Map.of(), 1_000);
+        ChunkedUpload recente = ChunkedUpload.creer(dossier, 100, HashingFileWriter.Fsync.NONE, Map.of(), 5_000);
+        recente.ecrire(0, new ByteArrayInputStream(new byte[10]), 10, 9_000);
+        ancienne.ecrire(0, new ByteArrayInputStream(new byte[10]), 10, 2_000);
+
+        assertEquals(List.of(ancienne.getId()), ChunkedUpload.expirees(dossier, 5_000));
+        ancienne.abandonner();
+        assertFalse(Files.exists(ancienne.getDonnees()));
+        assertTrue(ChunkedUpload.expirees(dossier, 5_000).isEmpty());
+        assertNull(ChunkedUpload.ouvrir(dossier, ancienne.getId(), HashingFileWriter.Fsync.NONE));
+    }
+
+    private static byte[] contenu(long graine) {
+        byte[] contenu = new byte[TAILLE];
+        new Random(graine).nextBytes(contenu);
+        return contenu;
+    }
+
+    private static String sha256(byte[] contenu) throws Exception {
+        return HashingFileWriter.hex(MessageDigest.getInstance("SHA-256").digest(contenu));
+    }
+
+    /** A request body whose connection drops after a number of bytes. */
+    private static final class Coupure extends InputStream {
+        private final byte[] contenu;
+        private int position;
+        private int restant;
+
+        Coupure(byte[] contenu, int debut, int avantCoupure) {
+            this.contenu = contenu;
+            this.position = debut;
+            this.restant = avantCoupure;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] un = new byte[1];
+            return read(un, 0, 1) < 0 ? -1 : un[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (restant == 0) throw new IOException("Connection reset");
+            int n = Math.min(Math.min(len, restant), 8192);
+            System.arraycopy(contenu, position, b, off, n);
+            position += n;
+            restant -= n;
+            return n;
+        }
+    }
+}
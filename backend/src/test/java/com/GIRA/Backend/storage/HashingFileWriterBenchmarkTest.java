@@ -0,0 +1,194 @@
+package com.GIRA.Backend.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests and benchmark of the single-pass upload writer.
+ * <p>
+ * Generated uploads are streamed concurrently, as many simultaneous multipart requests would, and their hashes
+ * checked against a separate digest of the same content. The unit suite sends 20 uploads of 1 MB. The run of 200
+ * uploads of 10 MB and the bound on the heap allocated per upload (measured on the calling thread) are tagged
+ * {@code benchmark} ({@code mvn test -Pbenchmark}).
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+class HashingFileWriterBenchmarkTest {
+    private static final int UPLOADS = 200;
+    private static final int TAILLE = 10 * 1024 * 1024;
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    @DisplayName("Writes the content and returns its size and SHA-256")
+    void ecrire_WritesContentAndHash() throws Exception {
+        byte[] contenu = new byte[200_000];
+        new Random(3).nextBytes(contenu);
+        HashingFileWriter writer = new HashingFileWriter(8192, 2, HashingFileWriter.Fsync.FULL);
+
+        HashingFileWriter.Resultat resultat = writer.ecrire(new ByteArrayInputStream(contenu), dossier.resolve("a.bin"), contenu.length);
+
+        assertEquals(contenu.length, resultat.getTaille());
+        assertEquals(HashingFileWriter.hex(MessageDigest.getInstance("SHA-256").digest(contenu)), resultat.getSha256());
+        assertArrayEquals(contenu, Files.readAllBytes(dossier.resolve("a.bin")));
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+                writer.ecrire(new ByteArrayInputStream(new byte[0]), dossier.resolve("vide"), 0).getSha256());
+    }
+
+    @Test
+    @DisplayName("File input streams are read through their channel from their current position")
+    void ecrire_FileInputStream_ReadsThroughChannel() throws Exception {
+        byte[] contenu = new byte[100_000];
+        new Random(4).nextBytes(contenu);
+        Path source = Files.write(dossier.resolve("part.tmp"), contenu);
+        HashingFileWriter writer = new HashingFileWriter(8192, 1, HashingFileWriter.Fsync.NONE);
+
+        try (FileInputStream entree = new FileInputStream(source.toFile())) {
+            assertEquals(10, entree.skip(10));
+            assertEquals(contenu.length - 10, writer.ecrire(entree, dossier.resolve("b.bin"), contenu.length).getTaille());
+        }
+        assertArrayEquals(Arrays.copyOfRange(contenu, 10, contenu.length), Files.readAllBytes(dossier.resolve("b.bin")));
+    }
+
+    @Test
+    @DisplayName("Oversized streams are rejected and the partial file deleted")
+    void ecrire_TooLarge_DeletesFile() {
+        HashingFileWriter writer = new HashingFileWriter(4096, 1, HashingFileWriter.Fsync.NONE);
+        Path cible = dossier.resolve("gros.bin");
+
+        assertThrows(HashingFileWriter.TailleDepasseeException.class,
+                () -> writer.ecrire(new Generateur(1, 100_000), cible, 50_000));
+        assertFalse(Files.exists(cible));
+    }
+
+    @Test
+    @DisplayName("20 concurrent 1 MB uploads, each with the hash of its own content")
+    void ecrire_ConcurrentUploads_HashEachContent() throws Exception {
+        HashingFileWriter writer = new HashingFileWriter(65536, 8, HashingFileWriter.Fsync.NONE);
+        List<String> hashes = envoyer(writer, 20, 1024 * 1024);
+        for (int i = 0; i < hashes.size(); i++) {
+            assertEquals(reference(i, 1024 * 1024), hashes.get(i), "Upload " + i);
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("200 concurrent 10 MB uploads, constant heap per upload")
+    void benchmark_200ConcurrentUploads() throws Exception {
+        HashingFileWriter writer = new HashingFileWriter(65536, 64, HashingFileWriter.Fsync.DATA);
+
+        // Heap allocated by one upload on this thread, after a warm-up
+        writer.ecrire(new Generateur(0, TAILLE), dossier.resolve("chauffe"), TAILLE);
+        Files.delete(dossier.resolve("chauffe"));
+        long avant = alloue();
+        writer.ecrire(new Generateur(0, TAILLE), dossier.resolve("mesure"), TAILLE);
+        long parUpload = alloue() - avant;
+        Files.delete(dossier.resolve("mesure"));
+
+        List<String> hashes = envoyer(writer, UPLOADS, TAILLE);
+        for (int i = 0; i < UPLOADS; i += 40) {
+            assertEquals(reference(i, TAILLE), hashes.get(i), "Upload " + i);
+        }
+        if (parUpload >= 0) {
+            assertTrue(parUpload < 256 * 1024, "Heap allocated per upload: " + parUpload);
+        }
+    }
+
+    /** Streams generated uploads all at once, one thread each, and returns their hashes in order. */
+    private List<String> envoyer(HashingFileWriter writer, int uploads, int taille) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(uploads);
+        try {
+            CountDownLatch depart = new CountDownLatch(1);
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < uploads; i++) {
+                int graine = i;
+                futures.add(executor.submit(() -> {
+                    depart.await();
+                    Path cible = dossier.resolve("upload-" + graine);
+                    String hash = writer.ecrire(new Generateur(graine, taille), cible, taille).getSha256();
+                    Files.delete(cible);
+                    return hash;
+                }));
+            }
+            depart.countDown();
+            List<String> hashes = new ArrayList<>();
+            for (Future<String> future : futures) hashes.add(future.get());
+            return hashes;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /** Bytes allocated by the current thread, or -1 if the JVM does not report it. */
+    private static long alloue() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static String reference(int graine, int taille) throws IOException {
+        MessageDigest sha256 = HashingFileWriter.sha256();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = new Generateur(graine, taille)) {
+            for (int lus; (lus = in.read(buffer)) > 0; ) sha256.update(buffer, 0, lus);
+        }
+        return HashingFileWriter.hex(sha256.digest());
+    }
+
+    /** Deterministic pseudo-random content, generated on the fly like a request body. */
+    private static final class Generateur extends InputStream {
+        private long etat;
+        private long restant;
+
+        Generateur(long graine, long taille) {
+            this.etat = graine * 0x9E3779B97F4A7C15L + 1;
+            this.restant = taille;
+        }
+
+        @Override
+        public int read() {
+            byte[] un = new byte[1];
+            return read(un, 0, 1) < 0 ? -1 : un[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (restant == 0) return -1;
+            int n = (int) Math.min(len, restant);
+            for (int i = 0; i < n; i++) {
+                etat ^= etat << 13;
+                etat ^= etat >>> 7;
+                etat ^= etat << 17;
+                b[off + i] = (byte) etat;
+            }
+            restant -= n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.GIRA.Backend.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the image derivatives: sizes, EXIF orientation and metadata stripping.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+class ImageDerivativesTest {
+
+    @TempDir
+    Path dossier;
+
+    private final ImageDerivatives derives = new ImageDerivatives(320, 1280, 0.8f, 50_000_000L);
+
+    /**
+     * A 2000x1000 JPEG, left half red and right half blue, with an EXIF block holding an orientation and a
+     * GPS-like marker.
+     */
+    private static byte[] photo(int orientation) throws IOException {
+        BufferedImage image = new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, 1000, 1000);
+        g.setColor(Color.BLUE);
+        g.fillRect(1000, 0, 1000, 1000);
+        g.dispose();
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", jpeg);
+        byte[] brut = jpeg.toByteArray();
+
+        ByteArrayOutputStream tiff = new ByteArrayOutputStream();
+        tiff.write(new byte[]{'M', 'M', 0, 42, 0, 0, 0, 8, 0, 1});
+        tiff.write(new byte[]{0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, (byte) orientation, 0, 0});
+        tiff.write(new byte[]{0, 0, 0, 0});
+        tiff.write("GPS 48.7262N 2.3652E".getBytes(StandardCharsets.US_ASCII));
+        byte[] exif = tiff.toByteArray();
+        int longueur = 2 + 6 + exif.length;
+
+        ByteArrayOutputStream resultat = new ByteArrayOutputStream();
+        resultat.write(brut, 0, 2);
+        resultat.write(new byte[]{(byte) 0xFF, (byte) 0xE1, (byte) (longueur >> 8), (byte) longueur});
+        resultat.write("Exif\0\0".getBytes(StandardCharsets.US_ASCII));
+        resultat.write(exif);
+        resultat.write(brut, 2, brut.length - 2);
+        return resultat.toByteArray();
+    }
+
+    @Test
+    @DisplayName("Thumbnail and preview fit their box, follow the EXIF orientation and carry no metadata")
+    void generer_OrientedAndStripped() throws IOException {
+        Path original = dossier.resolve("ab".repeat(32));
+        Files.write(original, photo(6));
+        assertEquals(6, ImageDerivatives.orientation(original));
+
+        assertTrue(derives.generer(original));
+        assertTrue(ImageDerivatives.existent(original));
+
+        // Rotated a quarter turn clockwise: red (left) on top, blue at the bottom
+        BufferedImage apercu = ImageIO.read(ImageDerivatives.chemin(original, ImageDerivatives.Variante.APERCU).toFile());
+        assertEquals(640, apercu.getWidth());
+        assertEquals(1280, apercu.getHeight());
+        assertTrue(new Color(apercu.getRGB(320, 100)).getRed() > 200);
+        assertTrue(new Color(apercu.getRGB(320, 1180)).getBlue() > 200);
+        BufferedImage miniature = ImageIO.read(ImageDerivatives.chemin(original, ImageDerivatives.Variante.MINIATURE).toFile());
+        assertEquals(160, miniature.getWidth());
+        assertEquals(320, miniature.getHeight());
+
+        for (ImageDerivatives.Variante variante : ImageDerivatives.Variante.values()) {
+            String contenu = new String(Files.readAllBytes(ImageDerivatives.chemin(original, variante)), StandardCharsets.ISO_8859_1);
+            assertFalse(contenu.contains("Exif"), variante + " must not carry EXIF");
+            assertFalse(contenu.contains("GPS"), variante + " must not carry the position");
+            assertEquals(1, ImageDerivatives.orientation(ImageDerivatives.chemin(original, variante)));
+        }
+        assertTrue(Files.size(ImageDerivatives.chemin(original, ImageDerivatives.Variante.MINIATURE)) < Files.size(original) / 5);
+
+        ImageDerivatives.supprimer(original);
+        assertFalse(ImageDerivatives.existent(original));
+        assertTrue(Files.exists(original));
+    }
+
+    @Test
+    @DisplayName("Orientations map pixels like the EXIF specification, non images are skipped")
+    void orienter_AllOrientations() throws IOException {
+        BufferedImage image = new BufferedImage(3, 2, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, 0xFF0000);
+        // Where the top-left pixel lands, and the resulting size
+        int[][] attendus = {{0, 0, 3, 2}, {2, 0, 3, 2}, {2, 1, 3, 2}, {0, 1, 3, 2}, {0, 0, 2, 3}, {1, 0, 2, 3}, {1, 2, 2, 3}, {0, 2, 2, 3}};
+        for (int orientation = 1; orientation <= 8; orientation++) {
+            BufferedImage oriente = ImageDerivatives.orienter(image, orientation);
+            int[] attendu = attendus[orientation - 1];
+            assertEquals(attendu[2], oriente.getWidth(), "orientation " + orientation);
+            assertEquals(attendu[3], oriente.getHeight(), "orientation " + orientation);
+            assertEquals(0xFF0000, oriente.getRGB(attendu[0], attendu[1]) & 0xFFFFFF, "orientation " + orientation);
+        }
+
+        Path texte = dossier.resolve("note.txt");
+        Files.writeString(texte, "pas une image");
+        assertFalse(derives.generer(texte));
+        assertEquals(1, ImageDerivatives.orientation(texte));
+        assertTrue(ImageDerivatives.supporte("image/jpeg"));
+        assertTrue(ImageDerivatives.supporte("image/png"));
+        assertFalse(ImageDerivatives.supporte("application/pdf"));
+        assertFalse(ImageDerivatives.supporte(null));
+
+        Path bombe = dossier.resolve("bombe.png");
+        ImageIO.write(new BufferedImage(8000, 8000, BufferedImage.TYPE_BYTE_BINARY), "png", bombe.toFile());
+        assertThrows(IOException.class, () -> derives.generer(bombe));
+    }
+}
@@ -0,0 +1,220 @@
+package com.GIRA.Backend.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the signed download tokens and benchmark of the signed download path.
+ * <p>
+ * The benchmark serves a 64 KB attachment over loopback sockets the way the public endpoint does: verify the
+ * token, open the file named by its storage key, {@code transferTo} the socket, with no database query. It bounds
+ * the cost of the verification alone and the downloads per second on one thread and on one thread per core. It is
+ * tagged {@code benchmark} ({@code mvn test -Pbenchmark}); the unit suite serves 50 downloads on four connections.
+ * </p>
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+class SignedUrlCodecBenchmarkTest {
+    private static final long MAINTENANT = 1_800_000_000L;
+    private static final int TAILLE = 64 * 1024;
+
+    @TempDir
+    Path dossier;
+
+    private static byte[] cle(int graine) {
+        byte[] octets = new byte[32];
+        new Random(graine).nextBytes(octets);
+        return octets;
+    }
+
+    private static SignedUrlCodec codec(String courante, String... ids) {
+        Map<String, byte[]> cles = new LinkedHashMap<>();
+        for (String id : ids) cles.put(id, cle(id.hashCode()));
+        return new SignedUrlCodec(cles, courante);
+    }
+
+    private static SignedUrlCodec.Jeton jeton(String cleStockage, long expiration) {
+        return new SignedUrlCodec.Jeton(UUID.randomUUID(), cleStockage, "image/jpeg", "photo quai 3 é.jpg", expiration);
+    }
+
+    @Test
+    @DisplayName("A signed token verifies and carries the download back")
+    void signer_RoundTrip() {
+        SignedUrlCodec codec = codec("k1", "k1");
+        SignedUrlCodec.Jeton jeton = jeton("sha256:" + "ab".repeat(32), MAINTENANT + 300);
+        String token = codec.signer(jeton);
+
+        SignedUrlCodec.Jeton verifie = codec.verifier(token, MAINTENANT);
+        assertNotNull(verifie);
+        assertEquals(jeton.getFichierId(), verifie.getFichierId());
+        assertEquals(jeton.getCleStockage(), verifie.getCleStockage());
+        assertEquals("image/jpeg", verifie.getTypeMime());
+        assertEquals("photo quai 3 é.jpg", verifie.getNom());
+        assertEquals(MAINTENANT + 300, verifie.getExpiration());
+        assertFalse(token.contains("/") || token.contains("+") || token.contains("="), "token must be URL safe");
+    }
+
+    @Test
+    @DisplayName("Expired, tampered, truncated and foreign tokens are rejected")
+    void verifier_RejectsInvalidTokens() {
+        SignedUrlCodec codec = codec("k1", "k1");
+        String token = codec.signer(jeton("path:/data/a.pdf", MAINTENANT + 300));
+
+        assertNotNull(codec.verifier(token, MAINTENANT + 300));
+        assertNull(codec.verifier(token, MAINTENANT + 301), "expired");
+
+        // Payload changed to another file, signature kept
+        byte[] charge = Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.')));
+        charge[charge.length - 1] ^= 1;
+        String falsifie = Base64.getUrlEncoder().withoutPadding().encodeToString(charge) + token.substring(token.indexOf('.'));
+        assertNull(codec.verifier(falsifie, MAINTENANT), "tampered payload");
+        assertNull(codec.verifier(token.substring(0, token.length() - 2), MAINTENANT), "truncated signature");
+        assertNull(codec.verifier(token + ".x", MAINTENANT));
+        assertNull(codec.verifier("", MAINTENANT));
+        assertNull(codec.verifier("%%%.%%%", MAINTENANT));
+        assertNull(codec.verifier(null, MAINTENANT));
+
+        // Same key id, different secret (another deployment)
+        Map<String, byte[]> autre = new LinkedHashMap<>();
+        autre.put("k1", cle(42));
+        assertNull(new SignedUrlCodec(autre, "k1").verifier(token, MAINTENANT), "foreign key");
+    }
+
+    @Test
+    @DisplayName("Key rotation: tokens of the old key verify while it stays in the ring, not after")
+    void verifier_KeyRotation() {
+        SignedUrlCodec avant = codec("k1", "k1");
+        String ancien = avant.signer(jeton("path:/data/a.pdf", MAINTENANT + 300));
+
+        // Step 1: new key accepted everywhere, old key still signing
+        SignedUrlCodec introduite = codec("k1", "k1", "k2");
+        assertNotNull(introduite.verifier(ancien, MAINTENANT));
+        // Step 2: new key signing, old key still accepted
+        SignedUrlCodec basculee = codec("k2", "k1", "k2");
+        String nouveau = basculee.signer(jeton("path:/data/a.pdf", MAINTENANT + 300));
+        assertNotNull(basculee.verifier(ancien, MAINTENANT));
+        assertNotNull(introduite.verifier(nouveau, MAINTENANT), "a node not yet switched accepts the new tokens");
+        // Step 3: old key removed
+        SignedUrlCodec retiree = codec("k2", "k2");
+        assertNull(retiree.verifier(ancien, MAINTENANT));
+        assertNotNull(retiree.verifier(nouveau, MAINTENANT));
+
+        assertThrows(IllegalArgumentException.class, () -> codec("k3", "k1"));
+        assertThrows(IllegalArgumentException.class, () -> new SignedUrlCodec(Map.of("k1", new byte[16]), "k1"));
+        assertEquals(2, SignedUrlCodec.parserCles(" k1:" + Base64.getEncoder().encodeToString(cle(1)) + ", k2:"
+                + Base64.getEncoder().encodeToString(cle(2)) + ",").size());
+        assertArrayEquals(SignedUrlCodec.deriver("secret", "a"), SignedUrlCodec.deriver("secret", "a"));
+        assertFalse(java.util.Arrays.equals(SignedUrlCodec.deriver("secret", "a"), SignedUrlCodec.deriver("secret", "b")));
+    }
+
+    @Test
+    @DisplayName("Signed downloads served on several connections at once, without database")
+    void telecharger_ConcurrentConnections_ServeWholeFile() throws Exception {
+        SignedUrlCodec codec = codec("k2", "k1", "k2");
+        String token = codec.signer(jeton("path:" + piece(), Long.MAX_VALUE));
+        assertTrue(telechargements(codec, token, 4, 50) > 0);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: signed downloads per second, no database query")
+    void benchmark_SignedDownloads() throws Exception {
+        SignedUrlCodec codec = codec("k2", "k1", "k2");
+        String token = codec.signer(jeton("path:" + piece(), Long.MAX_VALUE));
+
+        int verifications = 500_000;
+        for (int i = 0; i < 50_000; i++) codec.verifier(token, MAINTENANT);
+        long debut = System.nanoTime();
+        for (int i = 0; i < verifications; i++) assertNotNull(codec.verifier(token, MAINTENANT));
+        double nsParVerification = (System.nanoTime() - debut) / (double) verifications;
+        assertTrue(nsParVerification < 100_000, "verification must stay well under the cost of a query");
+
+        int coeurs = Runtime.getRuntime().availableProcessors();
+        telechargements(codec, token, 1, 3000);
+        double seul = telechargements(codec, token, 1, 10_000);
+        double tous = telechargements(codec, token, coeurs, 10_000);
+        assertTrue(seul > 1_000 && tous > 1_000, "Signed downloads per second: " + seul + " on 1 thread, " + tous
+                + " on " + coeurs);
+    }
+
+    /** Writes a random 64 KB attachment. */
+    private Path piece() throws IOException {
+        Path fichier = dossier.resolve("piece.jpg");
+        byte[] contenu = new byte[TAILLE];
+        new Random(7).nextBytes(contenu);
+        return Files.write(fichier, contenu);
+    }
+
+    /**
+     * Serves {@code parThread} downloads on each of {@code threads} threads, each with its own loopback connection.
+     * @return the downloads per second
+     */
+    private double telechargements(SignedUrlCodec codec, String token, int threads, int parThread) throws Exception {
+        ExecutorService executeur = Executors.newFixedThreadPool(threads * 2);
+        try (ServerSocketChannel serveur = ServerSocketChannel.open()) {
+            serveur.bind(new InetSocketAddress("127.0.0.1", 0));
+            List<Future<?>> taches = new ArrayList<>();
+            long debut = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                SocketChannel client = SocketChannel.open(serveur.getLocalAddress());
+                SocketChannel accepte = serveur.accept();
+                taches.add(executeur.submit(() -> lire(client, (long) parThread * TAILLE)));
+                taches.add(executeur.submit(() -> {
+                    try (accepte) {
+                        for (int i = 0; i < parThread; i++) {
+                            SignedUrlCodec.Jeton jeton = codec.verifier(token, MAINTENANT);
+                            Path chemin = Path.of(jeton.getCleStockage().substring("path:".length()));
+                            try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.READ)) {
+                                ByteRanges.transferer(canal, 0, canal.size(), accepte);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tache : taches) tache.get();
+            return threads * (double) parThread / ((System.nanoTime() - debut) / 1e9);
+        } finally {
+            executeur.shutdownNow();
+        }
+    }
+
+    private static Void lire(SocketChannel client, long attendu) throws IOException {
+        ByteBuffer tampon = ByteBuffer.allocateDirect(256 * 1024);
+        long lus = 0;
+        try (client) {
+            while (lus < attendu) {
+                int n = client.read(tampon);
+                if (n < 0) throw new IOException("Connection closed after " + lus + " bytes");
+                lus += n;
+                tampon.clear();
+            }
+        }
+        return null;
+    }
+}
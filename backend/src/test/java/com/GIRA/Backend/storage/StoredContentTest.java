@@ -0,0 +1,110 @@
+package com.GIRA.Backend.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of cold storage: gzip encoded copies read back transparently, and lookup across tiers. The read latency
+ * comparison is tagged {@code benchmark} ({@code mvn test -Pbenchmark}).
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+class StoredContentTest {
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    @DisplayName("A cold gzip copy decodes to the blob, announces its size and is found once the hot blob is gone")
+    void refroidir_CompressesAndFallsBackToColdCopy() throws Exception {
+        BlobStore store = new BlobStore(dossier.resolve("chaud"), dossier.resolve("froid"));
+        String hash = deposer(store, texte(4 * 1024 * 1024));
+        long taille = Files.size(store.chemin(hash));
+
+        StoredContent froid = store.refroidir(hash, StoredContent.Codec.GZIP);
+        assertTrue(froid.getChemin().toString().endsWith(hash + ".gz"));
+        assertTrue(Files.size(froid.getChemin()) < taille / 2, "text should compress");
+        assertEquals(taille, froid.taille());
+        try (InputStream contenu = froid.ouvrir()) {
+            assertEquals(hash, BlobStore.hacher(contenu));
+        }
+        // The hot blob wins while it exists, the cold copy is used once it is deleted
+        assertEquals(StoredContent.Codec.NONE, store.localiser(hash).getCodec());
+        assertEquals(taille, store.supprimerChaud(hash));
+        StoredContent localise = store.localiser(hash);
+        assertEquals(StoredContent.Codec.GZIP, localise.getCodec());
+        assertEquals(froid.getChemin(), localise.getChemin());
+
+        // An upload of the same content stores a hot blob again; deleting the content removes both tiers
+        assertEquals(hash, deposer(store, Files.readAllBytes(decoder(localise))));
+        assertEquals(StoredContent.Codec.NONE, store.localiser(hash).getCodec());
+        assertEquals(taille, store.supprimer(hash));
+        assertFalse(Files.exists(froid.getChemin()));
+        assertNull(store.localiserFroid(hash));
+        assertFalse(Files.exists(dossier.resolve("froid").resolve(hash.substring(0, 2))));
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Reading a cold gzip copy costs more than the hot blob")
+    void ouvrir_MeasuresColdReadLatency() throws Exception {
+        BlobStore store = new BlobStore(dossier.resolve("chaud"), dossier.resolve("froid"));
+        String hash = deposer(store, texte(32 * 1024 * 1024));
+        StoredContent chaud = store.localiser(hash);
+        StoredContent froid = store.refroidir(hash, StoredContent.Codec.GZIP);
+        double mo = chaud.taille() / (1024.0 * 1024.0);
+
+        long[] meilleur = { Long.MAX_VALUE, Long.MAX_VALUE };
+        for (int tour = 0; tour < 5; tour++) {
+            StoredContent[] copies = { chaud, froid };
+            for (int i = 0; i < 2; i++) {
+                long debut = System.nanoTime();
+                try (InputStream contenu = copies[i].ouvrir()) {
+                    assertEquals(hash, BlobStore.hacher(contenu));
+                }
+                meilleur[i] = Math.min(meilleur[i], System.nanoTime() - debut);
+            }
+        }
+        assertEquals(chaud.taille(), froid.taille());
+        assertTrue(meilleur[1] > meilleur[0], "Cold read " + meilleur[1] / 1e6 / mo + " ms/MB, hot read "
+                + meilleur[0] / 1e6 / mo + " ms/MB");
+    }
+
+    private static String deposer(BlobStore store, byte[] contenu) throws Exception {
+        Path temporaire = store.temporaire();
+        Files.write(temporaire, contenu);
+        String hash = BlobStore.hacher(temporaire);
+        store.deposer(temporaire, hash);
+        return hash;
+    }
+
+    private Path decoder(StoredContent contenu) throws Exception {
+        Path decode = dossier.resolve("decode");
+        try (InputStream entree = contenu.ouvrir()) {
+            Files.copy(entree, decode);
+        }
+        return decode;
+    }
+
+    /** Log-like text: repetitive, as the PDF and text attachments that get compressed. */
+    private static byte[] texte(int taille) {
+        Random aleatoire = new Random(42);
+        StringBuilder texte = new StringBuilder(taille + 100);
+        while (texte.length() < taille) {
+            texte.append("Réclamation ").append(aleatoire.nextInt(100000)).append(" : bagage retardé au terminal ")
+                    .append(aleatoire.nextInt(4) + 1).append(", vol AT").append(aleatoire.nextInt(1000)).append('\n');
+        }
+        return texte.substring(0, taille).getBytes(StandardCharsets.UTF_8);
+    }
+}
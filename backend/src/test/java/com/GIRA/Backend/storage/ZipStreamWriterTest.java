@@ -0,0 +1,114 @@
+package com.GIRA.Backend.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the streaming ZIP writer: archives are read back with {@code java.util.zip.ZipFile}.
+ *
+ * @author Mohamed Yahya Jabrane
+ * @since 1.0
+ */
+class ZipStreamWriterTest {
+
+    @TempDir
+    Path dossier;
+
+    @Test
+    @DisplayName("Stored and deflated entries read back intact, names are unique and UTF-8")
+    void ajouter_StoredAndDeflated() throws IOException {
+        byte[] photo = new byte[300_000];
+        new Random(3).nextBytes(photo);
+        Path fichierPhoto = dossier.resolve("photo.jpg");
+        Files.write(fichierPhoto, photo);
+        byte[] texte = "quai 3, escalator en panne\n".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+        Path archive = dossier.resolve("a.zip");
+        LocalDateTime date = LocalDateTime.of(2026, 3, 14, 15, 9, 26);
+
+        try (OutputStream out = Files.newOutputStream(archive)) {
+            ZipStreamWriter zip = new ZipStreamWriter(out);
+            assertEquals("R-1/photo.jpg", zip.ajouter("R-1/photo.jpg", fichierPhoto, false, date));
+            assertEquals("R-1/photo (2).jpg", zip.ajouter("R-1/photo.jpg", fichierPhoto, false, date));
+            assertEquals("R-1/note é.txt", zip.ajouter("R-1/note é.txt", new ByteArrayInputStream(texte), texte.length, true, null));
+            zip.ajouter("R-1/vide", new ByteArrayInputStream(new byte[0]), 0, true, date);
+            assertEquals(4, zip.getEntrees());
+            long taille = zip.terminer();
+            out.flush();
+            assertTrue(taille > 2L * photo.length);
+        }
+
+        try (ZipFile zip = new ZipFile(archive.toFile(), StandardCharsets.UTF_8)) {
+            assertEquals(4, zip.size());
+            ZipEntry stockee = zip.getEntry("R-1/photo (2).jpg");
+            assertEquals(ZipEntry.STORED, stockee.getMethod());
+            assertEquals(photo.length, stockee.getCompressedSize());
+            assertEquals(date, stockee.getTimeLocal());
+            assertArrayEquals(photo, lire(zip, stockee));
+            ZipEntry compressee = zip.getEntry("R-1/note é.txt");
+            assertEquals(ZipEntry.DEFLATED, compressee.getMethod());
+            assertTrue(compressee.getCompressedSize() < texte.length / 50);
+            assertArrayEquals(texte, lire(zip, compressee));
+            assertEquals(0, lire(zip, zip.getEntry("R-1/vide")).length);
+        }
+    }
+
+    @Test
+    @DisplayName("More than 65535 entries switch to ZIP64 records")
+    void terminer_Zip64ForManyEntries() throws IOException {
+        Path archive = dossier.resolve("many.zip");
+        int nombre = 70_000;
+        try (OutputStream out = Files.newOutputStream(archive)) {
+            ZipStreamWriter zip = new ZipStreamWriter(out);
+            for (int i = 0; i < nombre; i++) {
+                byte[] contenu = ("piece " + i).getBytes(StandardCharsets.UTF_8);
+                zip.ajouter("R-" + (i / 10) + "/f.txt", new ByteArrayInputStream(contenu), contenu.length, i % 2 == 0, null);
+            }
+            zip.terminer();
+        }
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            assertEquals(nombre, zip.size());
+            assertEquals("piece 69999", new String(lire(zip, zip.getEntry("R-6999/f (10).txt")), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Compression is skipped for media that is already compressed")
+    void dejaCompresse_ByTypeThenExtension() {
+        assertTrue(ZipStreamWriter.dejaCompresse("image/jpeg", "a.jpg"));
+        assertTrue(ZipStreamWriter.dejaCompresse("video/mp4", null));
+        assertTrue(ZipStreamWriter.dejaCompresse("application/pdf; charset=binary", null));
+        assertTrue(ZipStreamWriter.dejaCompresse("application/vnd.openxmlformats-officedocument.wordprocessingml.document", null));
+        assertTrue(ZipStreamWriter.dejaCompresse("application/octet-stream", "scan.HEIC"));
+        assertTrue(ZipStreamWriter.dejaCompresse(null, "clip.mov"));
+        assertFalse(ZipStreamWriter.dejaCompresse("image/bmp", "a.bmp"));
+        assertFalse(ZipStreamWriter.dejaCompresse("audio/wav", null));
+        assertFalse(ZipStreamWriter.dejaCompresse("text/plain", "a.jpg"));
+        assertFalse(ZipStreamWriter.dejaCompresse(null, "journal.log"));
+        assertFalse(ZipStreamWriter.dejaCompresse(null, null));
+
+        assertEquals("_.._etc_passwd", ZipStreamWriter.segment("/../etc/passwd", "f"));
+        assertEquals("f", ZipStreamWriter.segment(" .. ", "f"));
+        assertEquals("f", ZipStreamWriter.segment(null, "f"));
+    }
+
+    private static byte[] lire(ZipFile zip, ZipEntry entree) throws IOException {
+        try (InputStream in = zip.getInputStream(entree)) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+#!/bin/bash
+
+# ================================
+# GIRA BENCHMARK: STREAMING COMPLAINT EXPORT
+# ================================
+# Seeds ROWS complaints (default 5M) into the dev database, then times
+# POST /api/reclamations/export in CSV, CSV+gzip and NDJSON while sampling the
+# backend container memory. The export must stay at constant memory.
+#
+# Usage (dev stack running, admin JWT in TOKEN):
+#   TOKEN=<admin access token> ./bench-export.sh [rows] [--keep]
+# Seeded rows use the BENCH- number prefix and are deleted at the end unless --keep is given.
+
+set -e
+
+ROWS="${1:-5000000}"
+KEEP="${2:-}"
+API_URL="${API_URL:-http://localhost:8081}"
+DB_CONTAINER="${DB_CONTAINER:-gira-postgres-dev}"
+BACKEND_CONTAINER="${BACKEND_CONTAINER:-gira-backend-dev}"
+DB_USER="${DB_USER:-postgres}"
+DB_NAME="${DB_NAME:-gira_db}"
+OUT_DIR="$(mktemp -d)"
+
+if [ -z "$TOKEN" ]; then
+    echo "[GIRA] TOKEN must hold an ADMIN access token" >&2
+    exit 1
+fi
+
+psql_exec() {
+    docker exec -i "$DB_CONTAINER" psql -v ON_ERROR_STOP=1 -q -U "$DB_USER" -d "$DB_NAME" "$@"
+}
+
+echo "[GIRA] Seeding $ROWS complaints..."
+psql_exec -v rows="$ROWS" <<'SQL'
+\timing on
+INSERT INTO roles (id, date_creation, actif, nom) VALUES (md5('bench-role')::uuid, now(), true, 'BENCH')
+ON CONFLICT DO NOTHING;
+INSERT INTO users (id, date_creation, actif, email, mot_de_passe, email_verifie, role_id)
+SELECT md5('bench-u' || g)::uuid, now(), true, 'bench' || g || '@example.com', 'x', true, md5('bench-role')::uuid
+FROM generate_series(0, 999) g
+ON CONFLICT DO NOTHING;
+INSERT INTO categories (id, date_creation, actif, nom) VALUES (md5('bench-c')::uuid, now(), true, 'Bench')
+ON CONFLICT DO NOTHING;
+INSERT INTO reclamations (id, date_creation, actif, numero, utilisateur_id, categorie_id, titre, description,
+                          priorite, statut, date_echeance, sla_breached, agent_assigne_id)
+SELECT gen_random_uuid(), now() - g * INTERVAL '1 second', true, 'BENCH-' || g,
+       md5('bench-u' || (g % 1000))::uuid, md5('bench-c')::uuid, 'Réclamation, numéro ' || g,
+       'Description', 'NORMALE', 'RESOLUE', now(), false, md5('bench-u' || (g % 47))::uuid
+FROM generate_series(1, :rows) g;
+ANALYZE reclamations;
+SQL
+
+# Samples the backend memory every second into $1 until the export finishes
+sample_memory() {
+    while true; do
+        docker stats --no-stream --format '{{.MemUsage}}' "$BACKEND_CONTAINER" | cut -d/ -f1 >> "$1"
+        sleep 1
+    done
+}
+
+run_export() {
+    local name="$1" query="$2" file="$OUT_DIR/$1"
+    sample_memory "$file.mem" &
+    local sampler=$!
+    local start=$(date +%s.%N)
+    curl -sf -X POST "$API_URL/api/reclamations/export?$query" \
+        -H "Authorization: Bearer $TOKEN" -H 'Content-Type: application/json' \
+        -d "{\"categorieId\": \"$(psql_exec -tA -c "SELECT md5('bench-c')::uuid")\"}" -o "$file"
+    local end=$(date +%s.%N)
+    kill "$sampler" 2>/dev/null || true
+    local seconds=$(echo "$end - $start" | bc)
+    local bytes=$(stat -c %s "$file")
+    printf "[GIRA] %-10s %8.1f s  %12s bytes  %10.0f rows/s  backend memory %s .. %s\n" \
+        "$name" "$seconds" "$bytes" "$(echo "$ROWS / $seconds" | bc -l)" \
+        "$(sort -h "$file.mem" | head -1)" "$(sort -h "$file.mem" | tail -1)"
+}
+
+run_export csv      "format=csv"
+run_export csv.gz   "format=csv&gzip=true"
+run_export ndjson   "format=ndjson"
+
+echo "[GIRA] CSV lines (header included): $(wc -l < "$OUT_DIR/csv")"
+rm -rf "$OUT_DIR"
+
+if [ "$KEEP" != "--keep" ]; then
+    echo "[GIRA] Removing seeded rows..."
+    psql_exec <<'SQL'
+DELETE FROM reclamations WHERE categorie_id = md5('bench-c')::uuid;
+DELETE FROM categories WHERE id = md5('bench-c')::uuid;
+DELETE FROM users WHERE role_id = md5('bench-role')::uuid;
+DELETE FROM roles WHERE id = md5('bench-role')::uuid;
+SQL
+fi
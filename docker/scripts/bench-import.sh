@@ -0,0 +1,87 @@
+#!/bin/bash
+
+# ================================
+# GIRA BENCHMARK: BULK COMPLAINT IMPORT
+# ================================
+# Generates a CSV of ROWS complaints (default 200k) referencing seeded users and
+# a seeded category, uploads it to POST /api/reclamations/import and reports the
+# throughput. The target is at least 10,000 rows/s.
+#
+# Usage (dev stack running, admin JWT in TOKEN):
+#   TOKEN=<admin access token> ./bench-import.sh [rows] [--keep]
+# Imported rows use the BENCHI- number prefix and are deleted at the end unless --keep is given.
+
+set -e
+
+ROWS="${1:-200000}"
+KEEP="${2:-}"
+TARGET_RATE="${TARGET_RATE:-10000}"
+API_URL="${API_URL:-http://localhost:8081}"
+DB_CONTAINER="${DB_CONTAINER:-gira-postgres-dev}"
+DB_USER="${DB_USER:-postgres}"
+DB_NAME="${DB_NAME:-gira_db}"
+OUT_DIR="$(mktemp -d)"
+
+if [ -z "$TOKEN" ]; then
+    echo "[GIRA] TOKEN must hold an ADMIN access token" >&2
+    exit 1
+fi
+
+psql_exec() {
+    docker exec -i "$DB_CONTAINER" psql -v ON_ERROR_STOP=1 -q -U "$DB_USER" -d "$DB_NAME" "$@"
+}
+
+echo "[GIRA] Seeding reference data..."
+psql_exec <<'SQL'
+INSERT INTO roles (id, date_creation, actif, nom) VALUES (md5('bench-role')::uuid, now(), true, 'BENCH')
+ON CONFLICT DO NOTHING;
+INSERT INTO users (id, date_creation, actif, email, mot_de_passe, email_verifie, role_id)
+SELECT md5('bench-u' || g)::uuid, now(), true, 'bench' || g || '@example.com', 'x', true, md5('bench-role')::uuid
+FROM generate_series(0, 999) g
+ON CONFLICT DO NOTHING;
+INSERT INTO categories (id, date_creation, actif, nom) VALUES (md5('bench-c')::uuid, now(), true, 'Bench')
+ON CONFLICT DO NOTHING;
+SQL
+
+echo "[GIRA] Generating $ROWS rows..."
+awk -v rows="$ROWS" 'BEGIN {
+    print "numero,titre,description,statut,priorite,categorie,utilisateur,agentAssigne,dateCreation"
+    split("BASSE NORMALE HAUTE URGENTE", priorites, " ")
+    for (g = 1; g <= rows; g++) {
+        printf "BENCHI-%d,\"Réclamation, numéro %d\",Description %d,RESOLUE,%s,Bench,bench%d@example.com,bench%d@example.com,2024-%02d-%02dT10:00:00\n",
+            g, g, g, priorites[g % 4 + 1], g % 1000, g % 47, g % 12 + 1, g % 28 + 1
+    }
+}' > "$OUT_DIR/import.csv"
+
+run_import() {
+    local name="$1" query="$2" file="$3" type="$4"
+    local start=$(date +%s.%N)
+    local response=$(curl -sf -X POST "$API_URL/api/reclamations/import?$query" \
+        -H "Authorization: Bearer $TOKEN" -H "Content-Type: $type" --data-binary "@$file")
+    local end=$(date +%s.%N)
+    local seconds=$(echo "$end - $start" | bc)
+    local imported=$(echo "$response" | grep -o '"importees":[0-9]*' | cut -d: -f2)
+    local rate=$(echo "$imported / $seconds" | bc)
+    printf "[GIRA] %-8s %8.1f s  %10s rows imported  %8s rows/s\n" "$name" "$seconds" "$imported" "$rate"
+    if [ "$rate" -lt "$TARGET_RATE" ]; then
+        echo "[GIRA] WARNING: below the $TARGET_RATE rows/s target" >&2
+    fi
+}
+
+run_import csv "format=csv" "$OUT_DIR/import.csv" "text/csv"
+
+echo "[GIRA] Re-importing gzip-compressed..."
+psql_exec -c "DELETE FROM reclamations WHERE numero LIKE 'BENCHI-%'"
+gzip -c "$OUT_DIR/import.csv" > "$OUT_DIR/import.csv.gz"
+run_import csv.gz "format=csv&gzip=true" "$OUT_DIR/import.csv.gz" "application/gzip"
+rm -rf "$OUT_DIR"
+
+if [ "$KEEP" != "--keep" ]; then
+    echo "[GIRA] Removing imported rows..."
+    psql_exec <<'SQL'
+DELETE FROM reclamations WHERE categorie_id = md5('bench-c')::uuid;
+DELETE FROM categories WHERE id = md5('bench-c')::uuid;
+DELETE FROM users WHERE role_id = md5('bench-role')::uuid;
+DELETE FROM roles WHERE id = md5('bench-role')::uuid;
+SQL
+fi
@@ -0,0 +1,87 @@
+-- ================================
+-- GIRA BENCHMARK: UUIDv4 vs UUIDv7 PRIMARY KEYS
+-- ================================
+-- Compares insert throughput and primary-key index size for random (v4) and
+-- time-ordered (v7) identifiers on tables shaped like reclamations,
+-- notifications and historiques.
+--
+-- Run against a scratch database (never production), e.g. on the dev stack:
+--   docker exec -i gira-postgres-dev psql -U "$DB_USER" -d gira_db -v rows=10000000 < bench-uuid-v7.sql
+-- Default is 10M rows per table; pass -v rows=1000000 for a quick run.
+-- Use a shared_buffers setting smaller than the index so cache misses show up as they do in production.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+  \set rows 10000000
+\endif
+\set batch 100000
+\timing on
+
+-- Same layout as UuidV7Generator: 48-bit ms timestamp, version 7, RFC variant, random tail
+CREATE OR REPLACE FUNCTION bench_uuid_v7() RETURNS uuid AS $$
+  SELECT encode(
+           set_bit(set_bit(
+             overlay(uuid_send(gen_random_uuid())
+                     PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                     FROM 1 FOR 6),
+           52, 1), 53, 1),
+         'hex')::uuid;
+$$ LANGUAGE sql VOLATILE;
+
+DROP SCHEMA IF EXISTS bench_uuid CASCADE;
+CREATE SCHEMA bench_uuid;
+
+CREATE TABLE bench_uuid.reclamations_v4   (id uuid PRIMARY KEY, date_creation timestamp NOT NULL, statut varchar(20) NOT NULL, titre varchar(100) NOT NULL);
+CREATE TABLE bench_uuid.reclamations_v7   (LIKE bench_uuid.reclamations_v4 INCLUDING ALL);
+CREATE TABLE bench_uuid.notifications_v4  (id uuid PRIMARY KEY, date_creation timestamp NOT NULL, destinataire_id uuid NOT NULL, contenu text);
+CREATE TABLE bench_uuid.notifications_v7  (LIKE bench_uuid.notifications_v4 INCLUDING ALL);
+CREATE TABLE bench_uuid.historiques_v4    (id uuid PRIMARY KEY, date_action timestamp NOT NULL, reclamation_id uuid NOT NULL, action varchar(50) NOT NULL);
+CREATE TABLE bench_uuid.historiques_v7    (LIKE bench_uuid.historiques_v4 INCLUDING ALL);
+
+-- Inserts are issued in committed batches, like the application does, rather than one huge statement
+CREATE OR REPLACE PROCEDURE bench_uuid.fill(target text, v7 boolean, total bigint, batch int) AS $$
+DECLARE
+  done bigint := 0;
+  id_expr text := CASE WHEN v7 THEN 'bench_uuid_v7()' ELSE 'gen_random_uuid()' END;
+  started timestamptz := clock_timestamp();
+BEGIN
+  WHILE done < total LOOP
+    EXECUTE format(
+      CASE
+        WHEN target LIKE 'reclamations%' THEN
+          'INSERT INTO bench_uuid.%I SELECT %s, now(), ''SOUMISE'', md5(g::text) FROM generate_series(1, %s) g'
+        WHEN target LIKE 'notifications%' THEN
+          'INSERT INTO bench_uuid.%I SELECT %s, now(), gen_random_uuid(), md5(g::text) FROM generate_series(1, %s) g'
+        ELSE
+          'INSERT INTO bench_uuid.%I SELECT %s, now(), gen_random_uuid(), ''CHANGEMENT_STATUT'' FROM generate_series(1, %s) g'
+      END, target, id_expr, batch);
+    COMMIT;
+    done := done + batch;
+  END LOOP;
+  RAISE NOTICE '% : % rows in % (% rows/s)', target, total, clock_timestamp() - started,
+    round(total / greatest(extract(epoch FROM clock_timestamp() - started), 0.001));
+END;
+$$ LANGUAGE plpgsql;
+
+CALL bench_uuid.fill('reclamations_v4',  false, :rows, :batch);
+CALL bench_uuid.fill('reclamations_v7',  true,  :rows, :batch);
+CALL bench_uuid.fill('notifications_v4', false, :rows, :batch);
+CALL bench_uuid.fill('notifications_v7', true,  :rows, :batch);
+CALL bench_uuid.fill('historiques_v4',   false, :rows, :batch);
+CALL bench_uuid.fill('historiques_v7',   true,  :rows, :batch);
+
+-- Primary key index size and leaf density per table
+CREATE EXTENSION IF NOT EXISTS pgstattuple;
+SELECT c.relname                                       AS table_name,
+       pg_size_pretty(pg_relation_size(i.indexrelid))  AS pk_index_size,
+       round((pgstatindex(i.indexrelid::regclass)).avg_leaf_density::numeric, 1) AS avg_leaf_density,
+       pg_size_pretty(pg_relation_size(c.oid))         AS heap_size
+FROM pg_index i
+JOIN pg_class c ON c.oid = i.indrelid
+JOIN pg_namespace n ON n.oid = c.relnamespace
+WHERE n.nspname = 'bench_uuid' AND i.indisprimary
+ORDER BY c.relname;
+
+DROP SCHEMA bench_uuid CASCADE;
+DROP FUNCTION bench_uuid_v7();